@@ -27,7 +27,7 @@ import nl.xillio.xill.plugins.template.services.ConfigurationFactory;
 import nl.xillio.xill.plugins.template.services.ConfigurationParser;
 import nl.xillio.xill.services.files.FileResolver;
 
-import java.util.HashMap;
+import java.util.Map;
 
 /**
  * This construct generates a new file using a template and a data model
@@ -58,7 +58,7 @@ public class GetEngineConstruct extends Construct {
     }
 
     private MetaExpression process(MetaExpression options, ConstructContext context) {
-        HashMap<String, MetaExpression> optionsObject = options.getValue();
+        Map<String, MetaExpression> optionsObject = options.getValue();
         Configuration defaultConfiguration = getConfiguration(optionsObject, context);
         Configuration cfg = configurationParser.parseConfiguration(defaultConfiguration, optionsObject);
 
@@ -68,7 +68,7 @@ public class GetEngineConstruct extends Construct {
         return result;
     }
 
-    private Configuration getConfiguration(HashMap<String, MetaExpression> options, ConstructContext context) {
+    private Configuration getConfiguration(Map<String, MetaExpression> options, ConstructContext context) {
         if (options.isEmpty() || !options.containsKey(TEMPLATES_DIRECTORY)) {
             return configurationFactory.buildDefaultConfiguration(context);
         } else {
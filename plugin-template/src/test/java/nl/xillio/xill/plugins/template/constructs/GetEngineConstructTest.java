@@ -87,4 +87,32 @@ public class GetEngineConstructTest extends TestUtils {
         // Verify
         verify(fileResolver, times(1)).buildPath(any(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAppendedOptions() {
+        // Mock
+        Configuration configuration1 = mock(Configuration.class);
+        Configuration configuration2 = mock(Configuration.class);
+        ConfigurationFactory configurationFactory = mock(ConfigurationFactory.class);
+        ConfigurationParser configurationParser = mock(ConfigurationParser.class);
+        FileResolver fileResolver = mock(FileResolver.class);
+
+        when(configurationFactory.buildDefaultConfiguration(any(Path.class), any())).thenReturn(configuration1);
+        when(configurationParser.parseConfiguration(eq(configuration1), any())).thenReturn(configuration2);
+
+        // Instantiate
+        GetEngineConstruct getEngineConstruct = new GetEngineConstruct(configurationFactory, configurationParser, fileResolver);
+        LinkedHashMap<String, MetaExpression> options = new LinkedHashMap<>();
+        options.put("templatesDirectory", fromValue("."));
+
+        // Run
+        MetaExpression result = process(getEngineConstruct, fromAppended(emptyObject(), options));
+
+        // Assert
+        Configuration resultConfiguration = result.getMeta(EngineMetadata.class).getConfiguration();
+        assertSame(resultConfiguration, configuration2);
+
+        // Verify
+        verify(fileResolver, times(1)).buildPath(any(), any());
+    }
+}
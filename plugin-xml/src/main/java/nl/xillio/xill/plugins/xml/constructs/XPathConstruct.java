@@ -176,7 +176,7 @@ public class XPathConstruct extends Construct {
     private static MetaExpression addToGroup(final MetaExpression group, final Node add, final String xpath) {
         if (group.getType() == ExpressionDataType.OBJECT) {
             // Add the node name and value to the object.
-            ((LinkedHashMap<String, MetaExpression>) group.getValue()).put(add.getNodeName(), fromValue(add.getNodeValue()));
+            ((Map<String, MetaExpression>) group.getValue()).put(add.getNodeName(), fromValue(add.getNodeValue()));
         } else if (group.getType() == ExpressionDataType.LIST) {
             // Add the node to the list.
             ((List<MetaExpression>) group.getValue()).add(xpathResultToMetaExpression(add, xpath));
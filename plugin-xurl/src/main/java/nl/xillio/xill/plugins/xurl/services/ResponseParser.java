@@ -37,6 +37,7 @@ import org.apache.http.entity.ContentType;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static nl.xillio.xill.api.components.ExpressionBuilderHelper.TRUE;
 import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
@@ -136,11 +137,9 @@ public class ResponseParser {
         return response.getEntity().getContentType().getValue();
     }
 
-    private MetaExpression bodyAsJson(InputStream inputStream, MetaExpression status) throws IOException {
+    private MetaExpression bodyAsJson(InputStream inputStream, MetaExpression status) {
         try {
-            String content = IOUtils.toString(inputStream);
-            Object value = jsonParser.fromJson(content, Object.class);
-            return MetaExpression.parseObject(value);
+            return jsonParser.parse(inputStream);
         } catch (JsonException e1) {
             throw throwBodyParseError(e1, "JSON", status);
         } catch (IllegalArgumentException e2) {
@@ -161,7 +160,7 @@ public class ResponseParser {
     }
 
     private OperationFailedException throwBodyParseError(Throwable e, String parseType, MetaExpression status) {
-        LinkedHashMap<String, MetaExpression> statusValue = status.getValue();
+        Map<String, MetaExpression> statusValue = status.getValue();
         return new OperationFailedException("ParseResponseBodyAs" + parseType, e.getMessage() + " Response status code: " + statusValue.get("code"),
                 "Fix by setting responseContentType=\"text/plain\"", e);
     }
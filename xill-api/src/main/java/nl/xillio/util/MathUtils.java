@@ -28,6 +28,11 @@ public class MathUtils {
     private static final int INT_MAX_VALUE_LENGTH = Integer.toString(Integer.MAX_VALUE).length();
     private static final int LONG_MAX_VALUE_LENGTH = Long.toString(Long.MAX_VALUE).length();
 
+    /**
+     * A shared boxed {@link Double#NaN}. Use this instead of autoboxing NaN on paths that return it often.
+     */
+    public static final Double NOT_A_NUMBER = Double.NaN;
+
     /**
      * Private constructor since this class contains only static methods
      */
@@ -253,6 +258,100 @@ public class MathUtils {
         }
     }
 
+    /**
+     * Parses a number in the strict notation used for string values: either an optional minus sign followed by digits,
+     * or an optional minus sign, optional digits, a decimal point, at least one digit and an optional exponent in the
+     * form {@code E+5} or {@code E-5}.
+     * <p>
+     * The value is classified in a single pass without a regular expression. Integral values are returned as the same
+     * {@link Integer}, {@link Long} or {@link BigInteger} that {@link #parse(String)} would return.
+     *
+     * @param value the String representing a number
+     * @return the actual number or {@link #NOT_A_NUMBER} if the value is not in the strict notation
+     */
+    public static Number parseStrict(String value) {
+        int length = value.length();
+        int index = 0;
+        boolean negative = length > 0 && value.charAt(0) == '-';
+        if (negative) {
+            index++;
+        }
+
+        // Integral part, accumulated as a long until it overflows
+        int integralStart = index;
+        long magnitude = 0;
+        boolean overflow = false;
+        while (index < length && isDigit(value.charAt(index))) {
+            int digit = value.charAt(index) - '0';
+            if (overflow || magnitude > (Long.MAX_VALUE - digit) / 10) {
+                overflow = true;
+            } else {
+                magnitude = magnitude * 10 + digit;
+            }
+            index++;
+        }
+
+        if (index == length) {
+            if (index == integralStart) {
+                return NOT_A_NUMBER;
+            }
+            return integralValue(value, negative, magnitude, overflow);
+        }
+
+        // Fraction
+        if (value.charAt(index) != '.') {
+            return NOT_A_NUMBER;
+        }
+        int fractionStart = ++index;
+        index = skipDigits(value, index);
+        if (index == fractionStart) {
+            return NOT_A_NUMBER;
+        }
+
+        // Exponent
+        if (index < length) {
+            if (value.charAt(index) != 'E' || index + 1 == length) {
+                return NOT_A_NUMBER;
+            }
+            char sign = value.charAt(index + 1);
+            if (sign != '+' && sign != '-') {
+                return NOT_A_NUMBER;
+            }
+            int exponentStart = index + 2;
+            index = skipDigits(value, exponentStart);
+            if (index == exponentStart || index != length) {
+                return NOT_A_NUMBER;
+            }
+        }
+
+        return Double.parseDouble(value);
+    }
+
+    private static Number integralValue(String value, boolean negative, long magnitude, boolean overflow) {
+        // The length rules are the same as in parseNonDecimal so both methods return the same type
+        if (value.length() <= INT_MAX_VALUE_LENGTH && magnitude <= (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) {
+            return (int) (negative ? -magnitude : magnitude);
+        }
+
+        if (value.length() <= LONG_MAX_VALUE_LENGTH && !overflow) {
+            return negative ? -magnitude : magnitude;
+        }
+
+        return new BigInteger(value);
+    }
+
+    private static int skipDigits(String value, int index) {
+        int current = index;
+        while (current < value.length() && isDigit(value.charAt(current))) {
+            current++;
+        }
+        return current;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
     private static Number tryParse(String value) {
         if (value.contains(".")) {
             // This is a decimal value
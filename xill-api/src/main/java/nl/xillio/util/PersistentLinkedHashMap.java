@@ -0,0 +1,660 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.util;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * An insertion ordered map that can be forked in constant time. The fork and the original share their structure and
+ * each of them copies only the part it changes, so creating a slightly different version of a large map does not
+ * copy the whole map.
+ * <p>
+ * The keys are indexed by a hash array mapped trie and the entries are kept in insertion order in a
+ * {@link PersistentList}. Removing an entry leaves a gap in that list, the
+ * gaps are removed once they outnumber the entries.
+ * <p>
+ * <strong>Note that this implementation is not synchronized.</strong>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class PersistentLinkedHashMap<K, V> extends AbstractMap<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final TrieNode EMPTY_NODE = new TrieNode(null, 0, new Object[0]);
+
+    private Object owner = new Object();
+    private TrieNode root;
+    private PersistentList<Map.Entry<K, V>> entries;
+    private int size;
+    private int modifications;
+    private Runnable beforeChange;
+
+    /**
+     * Create an empty map.
+     */
+    public PersistentLinkedHashMap() {
+        this(EMPTY_NODE, new PersistentList<>(), 0);
+    }
+
+    /**
+     * Create a map containing the entries of another map.
+     *
+     * @param map the map
+     */
+    public PersistentLinkedHashMap(Map<? extends K, ? extends V> map) {
+        this();
+        putAll(map);
+    }
+
+    private PersistentLinkedHashMap(TrieNode root, PersistentList<Map.Entry<K, V>> entries, int size) {
+        this.root = root;
+        this.entries = entries;
+        this.size = size;
+    }
+
+    /**
+     * Create a map with the same entries as a given map. If the given map is a {@link PersistentLinkedHashMap} this is
+     * a constant time fork, otherwise the entries are copied.
+     *
+     * @param map the map
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @return a new map that can be changed independently of the given map
+     */
+    public static <K, V> PersistentLinkedHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentLinkedHashMap) {
+            @SuppressWarnings("unchecked")
+            PersistentLinkedHashMap<K, V> persistentMap = (PersistentLinkedHashMap<K, V>) map;
+            return persistentMap.fork();
+        }
+        return new PersistentLinkedHashMap<>(map);
+    }
+
+    /**
+     * Create a new map with the same entries in constant time. Changes to either map are not visible in the other.
+     *
+     * @return the new map
+     */
+    public PersistentLinkedHashMap<K, V> fork() {
+        // All current nodes become shared, so this map must copy them before it changes them as well
+        owner = new Object();
+        return new PersistentLinkedHashMap<>(root, entries.fork(), size);
+    }
+
+    /**
+     * Check if this map and another map still share a part of their entries, for example because one of them is a
+     * fork of the other and neither changed that part.
+     *
+     * @param other the other map
+     * @return true if at least one non-empty node is used by both maps
+     */
+    public boolean sharesStructureWith(PersistentLinkedHashMap<?, ?> other) {
+        return (root != EMPTY_NODE && root == other.root) || entries.sharesStructureWith(other.entries);
+    }
+
+    /**
+     * Run an action once, right before this map is changed for the first time after this call. Forks of this map do
+     * not run the action.
+     *
+     * @param action the action to run
+     */
+    public void onFirstChange(Runnable action) {
+        beforeChange = action;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        return getOrDefault(key, null);
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        int position = position(key);
+        return position < 0 ? defaultValue : entries.get(position).getValue();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return position(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (Map.Entry<K, V> entry : entries) {
+            if (entry != null && Objects.equals(entry.getValue(), value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        changing();
+        int position = position(key);
+        if (position >= 0) {
+            Map.Entry<K, V> previous = entries.get(position);
+            entries.set(position, new AbstractMap.SimpleImmutableEntry<>(previous.getKey(), value));
+            return previous.getValue();
+        }
+
+        root = insert(root, 0, hash(key), key, entries.size());
+        entries.add(new AbstractMap.SimpleImmutableEntry<>(key, value));
+        size++;
+        modifications++;
+        return null;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        V previous = removeKey(key);
+        if (entries.size() - size > Math.max(size, MASK)) {
+            compact();
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        changing();
+        root = EMPTY_NODE;
+        entries = new PersistentList<>();
+        size = 0;
+        modifications++;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new EntryIterator<K>() {
+                    @Override
+                    public K next() {
+                        return nextEntry().getKey();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                if (!containsKey(o)) {
+                    return false;
+                }
+                PersistentLinkedHashMap.this.remove(o);
+                return true;
+            }
+
+            @Override
+            public void clear() {
+                PersistentLinkedHashMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new EntryIterator<V>() {
+                    @Override
+                    public V next() {
+                        return nextEntry().getValue();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public void clear() {
+                PersistentLinkedHashMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator<Map.Entry<K, V>>() {
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        return new WriteThroughEntry(nextEntry());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry)) {
+                    return false;
+                }
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+                int position = position(entry.getKey());
+                return position >= 0 && Objects.equals(entries.get(position).getValue(), entry.getValue());
+            }
+
+            @Override
+            public void clear() {
+                PersistentLinkedHashMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        int expectedModifications = modifications;
+        for (Map.Entry<K, V> entry : entries) {
+            if (entry != null) {
+                action.accept(entry.getKey(), entry.getValue());
+            }
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        changing();
+        int expectedModifications = modifications;
+        for (int i = 0; i < entries.size(); i++) {
+            Map.Entry<K, V> entry = entries.get(i);
+            if (entry != null) {
+                V value = function.apply(entry.getKey(), entry.getValue());
+                entries.set(i, new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), value));
+            }
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        V current = get(key);
+        return current == null ? put(key, value) : current;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        int position = position(key);
+        if (position < 0 || !Objects.equals(entries.get(position).getValue(), value)) {
+            return false;
+        }
+        remove(key);
+        return true;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        int position = position(key);
+        if (position < 0 || !Objects.equals(entries.get(position).getValue(), oldValue)) {
+            return false;
+        }
+        put(key, newValue);
+        return true;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        return containsKey(key) ? put(key, value) : null;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V current = get(key);
+        if (current != null) {
+            return current;
+        }
+        V value = mappingFunction.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V current = get(key);
+        if (current == null) {
+            return null;
+        }
+        V value = remappingFunction.apply(key, current);
+        if (value == null) {
+            remove(key);
+        } else {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V value = remappingFunction.apply(key, get(key));
+        if (value == null) {
+            remove(key);
+        } else {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value);
+        V current = get(key);
+        V result = current == null ? value : remappingFunction.apply(current, value);
+        if (result == null) {
+            remove(key);
+        } else {
+            put(key, result);
+        }
+        return result;
+    }
+
+    private void changing() {
+        if (beforeChange != null) {
+            Runnable action = beforeChange;
+            beforeChange = null;
+            action.run();
+        }
+    }
+
+    private V removeKey(Object key) {
+        int position = position(key);
+        if (position < 0) {
+            return null;
+        }
+        changing();
+
+        V previous = entries.get(position).getValue();
+        TrieNode newRoot = remove(root, 0, hash(key), key);
+        root = newRoot == null ? EMPTY_NODE : newRoot;
+        if (position == entries.size() - 1) {
+            entries.remove(position);
+        } else {
+            entries.set(position, null);
+        }
+        size--;
+        modifications++;
+        return previous;
+    }
+
+    private void compact() {
+        List<Map.Entry<K, V>> live = new ArrayList<>(size);
+        for (Map.Entry<K, V> entry : entries) {
+            if (entry != null) {
+                live.add(entry);
+            }
+        }
+
+        root = EMPTY_NODE;
+        entries = new PersistentList<>();
+        for (Map.Entry<K, V> entry : live) {
+            root = insert(root, 0, hash(entry.getKey()), entry.getKey(), entries.size());
+            entries.add(entry);
+        }
+        modifications++;
+    }
+
+    private static int hash(Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private int position(Object key) {
+        int hash = hash(key);
+        TrieNode node = root;
+        for (int shift = 0; ; shift += BITS) {
+            int bit = bit(hash, shift);
+            if ((node.bitmap & bit) == 0) {
+                return -1;
+            }
+            Object child = node.array[node.index(bit)];
+            if (child instanceof TrieNode) {
+                node = (TrieNode) child;
+            } else {
+                for (Leaf leaf = (Leaf) child; leaf != null; leaf = leaf.next) {
+                    if (leaf.hash == hash && Objects.equals(leaf.key, key)) {
+                        return leaf.position;
+                    }
+                }
+                return -1;
+            }
+        }
+    }
+
+    private TrieNode insert(TrieNode node, int shift, int hash, Object key, int position) {
+        int bit = bit(hash, shift);
+        int index = node.index(bit);
+
+        if ((node.bitmap & bit) == 0) {
+            Object[] array = new Object[node.array.length + 1];
+            System.arraycopy(node.array, 0, array, 0, index);
+            array[index] = new Leaf(key, hash, position, null);
+            System.arraycopy(node.array, index, array, index + 1, node.array.length - index);
+            return new TrieNode(owner, node.bitmap | bit, array);
+        }
+
+        Object child = node.array[index];
+        Object replacement;
+        if (child instanceof TrieNode) {
+            replacement = insert((TrieNode) child, shift + BITS, hash, key, position);
+        } else {
+            Leaf leaf = (Leaf) child;
+            if (leaf.hash == hash) {
+                replacement = new Leaf(key, hash, position, leaf);
+            } else {
+                TrieNode split = new TrieNode(owner, bit(leaf.hash, shift + BITS), new Object[]{leaf});
+                replacement = insert(split, shift + BITS, hash, key, position);
+            }
+        }
+
+        TrieNode result = editable(node);
+        result.array[index] = replacement;
+        return result;
+    }
+
+    /**
+     * Remove a key that is known to be in the trie.
+     *
+     * @return the new node or null if the node became empty
+     */
+    private TrieNode remove(TrieNode node, int shift, int hash, Object key) {
+        int bit = bit(hash, shift);
+        int index = node.index(bit);
+
+        Object child = node.array[index];
+        Object replacement = child instanceof TrieNode
+                ? remove((TrieNode) child, shift + BITS, hash, key)
+                : without((Leaf) child, key);
+
+        if (replacement != null) {
+            TrieNode result = editable(node);
+            result.array[index] = replacement;
+            return result;
+        }
+
+        if (node.array.length == 1) {
+            return null;
+        }
+        Object[] array = new Object[node.array.length - 1];
+        System.arraycopy(node.array, 0, array, 0, index);
+        System.arraycopy(node.array, index + 1, array, index, array.length - index);
+        return new TrieNode(owner, node.bitmap & ~bit, array);
+    }
+
+    private static Leaf without(Leaf leaf, Object key) {
+        if (Objects.equals(leaf.key, key)) {
+            return leaf.next;
+        }
+        return new Leaf(leaf.key, leaf.hash, leaf.position, without(leaf.next, key));
+    }
+
+    private TrieNode editable(TrieNode node) {
+        if (node.owner == owner) {
+            return node;
+        }
+        return new TrieNode(owner, node.bitmap, node.array.clone());
+    }
+
+    /**
+     * A node in the trie. The array only holds the children for the bits that are set in the bitmap.
+     */
+    private static final class TrieNode {
+        private final Object owner;
+        private final int bitmap;
+        private final Object[] array;
+
+        TrieNode(Object owner, int bitmap, Object[] array) {
+            this.owner = owner;
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+    }
+
+    /**
+     * A key and the position of its entry. Keys with the same hash are chained.
+     */
+    private static final class Leaf {
+        private final Object key;
+        private final int hash;
+        private final int position;
+        private final Leaf next;
+
+        Leaf(Object key, int hash, int position, Leaf next) {
+            this.key = key;
+            this.hash = hash;
+            this.position = position;
+            this.next = next;
+        }
+    }
+
+    /**
+     * An entry that writes changes of its value back to the map.
+     */
+    private final class WriteThroughEntry extends AbstractMap.SimpleEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        WriteThroughEntry(Map.Entry<K, V> entry) {
+            super(entry);
+        }
+
+        @Override
+        public V setValue(V value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    /**
+     * Iterates over the entries in insertion order, skipping the gaps left by removed entries.
+     */
+    private abstract class EntryIterator<T> implements Iterator<T> {
+        private int next = skipGaps(0);
+        private int current = -1;
+        private int expectedModifications = modifications;
+
+        @Override
+        public boolean hasNext() {
+            return next < entries.size();
+        }
+
+        Map.Entry<K, V> nextEntry() {
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            next = skipGaps(next + 1);
+            return entries.get(current);
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+            removeKey(entries.get(current).getKey());
+            expectedModifications = modifications;
+            current = -1;
+        }
+
+        private int skipGaps(int from) {
+            int position = from;
+            while (position < entries.size() && entries.get(position) == null) {
+                position++;
+            }
+            return position;
+        }
+    }
+}
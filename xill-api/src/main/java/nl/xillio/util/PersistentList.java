@@ -0,0 +1,392 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.util;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list that can be forked in constant time. The fork and the original share their structure and each of them copies
+ * only the part it changes, so creating a slightly different version of a large list does not copy the whole list.
+ * <p>
+ * The elements are stored in a 32-way trie with a separate tail array, so {@code get}, {@code set} and {@code add}
+ * at the end run in effectively constant time. Nodes that were created by this list since its last fork are changed
+ * in place, which means that repeatedly appending to the same list does not allocate more than an {@link java.util.ArrayList}.
+ * Inserting or removing anywhere but at the end rebuilds the list in linear time.
+ * <p>
+ * <strong>Note that this implementation is not synchronized.</strong>
+ *
+ * @param <E> the type of element stored in this list
+ */
+public class PersistentList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+
+    private Object owner = new Object();
+    private Node root;
+    private Node tail;
+    private int shift;
+    private int size;
+    private Runnable beforeChange;
+
+    /**
+     * Create an empty list.
+     */
+    public PersistentList() {
+        this(EMPTY_NODE, EMPTY_NODE, BITS, 0);
+    }
+
+    /**
+     * Create a list containing the elements of a collection.
+     *
+     * @param elements the elements
+     */
+    public PersistentList(Collection<? extends E> elements) {
+        this();
+        addAll(elements);
+    }
+
+    private PersistentList(Node root, Node tail, int shift, int size) {
+        this.root = root;
+        this.tail = tail;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    /**
+     * Create a list with the same elements as a given list. If the given list is a {@link PersistentList} this is a
+     * constant time fork, otherwise the elements are copied.
+     *
+     * @param list the list
+     * @param <E>  the type of the elements
+     * @return a new list that can be changed independently of the given list
+     */
+    public static <E> PersistentList<E> copyOf(List<? extends E> list) {
+        if (list instanceof PersistentList) {
+            @SuppressWarnings("unchecked")
+            PersistentList<E> persistentList = (PersistentList<E>) list;
+            return persistentList.fork();
+        }
+        return new PersistentList<>(list);
+    }
+
+    /**
+     * Create a new list with the same elements in constant time. Changes to either list are not visible in the other.
+     *
+     * @return the new list
+     */
+    public PersistentList<E> fork() {
+        // All current nodes become shared, so this list must copy them before it changes them as well
+        owner = new Object();
+        return new PersistentList<>(root, tail, shift, size);
+    }
+
+    /**
+     * Check if this list and another list still share a part of their elements, for example because one of them is a
+     * fork of the other and neither changed that part.
+     *
+     * @param other the other list
+     * @return true if at least one non-empty node is used by both lists
+     */
+    public boolean sharesStructureWith(PersistentList<?> other) {
+        int length = Math.min(size, other.size);
+        for (int i = 0; i < length; i += WIDTH) {
+            Node leaf = leafFor(i);
+            if (leaf != EMPTY_NODE && leaf == other.leafFor(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Run an action once, right before this list is changed for the first time after this call. Forks of this list do
+     * not run the action.
+     *
+     * @param action the action to run
+     */
+    public void onFirstChange(Runnable action) {
+        beforeChange = action;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(int index) {
+        rangeCheck(index);
+        return (E) leafFor(index).array[index & MASK];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E set(int index, E element) {
+        rangeCheck(index);
+        changing();
+
+        Node leaf;
+        if (index >= tailOffset()) {
+            tail = editable(tail);
+            leaf = tail;
+        } else {
+            root = editable(root);
+            leaf = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                int child = (index >>> level) & MASK;
+                Node node = editable((Node) leaf.array[child]);
+                leaf.array[child] = node;
+                leaf = node;
+            }
+        }
+
+        E previous = (E) leaf.array[index & MASK];
+        leaf.array[index & MASK] = element;
+        return previous;
+    }
+
+    @Override
+    public boolean add(E element) {
+        changing();
+        modCount++;
+        if (size - tailOffset() < WIDTH) {
+            tail = editable(tail);
+            tail.array[size & MASK] = element;
+            size++;
+            return true;
+        }
+
+        // The tail is full, move it into the trie
+        Node fullTail = tail;
+        if ((size >>> BITS) > (1 << shift)) {
+            Node newRoot = new Node(owner, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(shift, fullTail);
+            root = newRoot;
+            shift += BITS;
+        } else {
+            root = pushTail(shift, root, fullTail);
+        }
+
+        tail = new Node(owner, new Object[WIDTH]);
+        tail.array[0] = element;
+        size++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index == size) {
+            add(element);
+            return;
+        }
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+        changing();
+
+        Object[] elements = toArray();
+        clear();
+        rebuild(elements, 0, index);
+        add(element);
+        rebuild(elements, index, elements.length);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E remove(int index) {
+        rangeCheck(index);
+        changing();
+        if (index == size - 1) {
+            return removeLast();
+        }
+
+        Object[] elements = toArray();
+        clear();
+        rebuild(elements, 0, index);
+        rebuild(elements, index + 1, elements.length);
+        return (E) elements[index];
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        changing();
+        Object[] elements = toArray();
+        clear();
+        rebuild(elements, 0, fromIndex);
+        rebuild(elements, toIndex, elements.length);
+    }
+
+    @Override
+    public void clear() {
+        changing();
+        modCount++;
+        root = EMPTY_NODE;
+        tail = EMPTY_NODE;
+        shift = BITS;
+        size = 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        int tailOffset = tailOffset();
+        for (int i = 0; i < tailOffset; i += WIDTH) {
+            System.arraycopy(leafFor(i).array, 0, result, i, WIDTH);
+        }
+        System.arraycopy(tail.array, 0, result, tailOffset, size - tailOffset);
+        return result;
+    }
+
+    private void changing() {
+        if (beforeChange != null) {
+            Runnable action = beforeChange;
+            beforeChange = null;
+            action.run();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E removeLast() {
+        modCount++;
+        int last = size - 1;
+        Object previous = tail.array[last & MASK];
+
+        if (size == 1) {
+            clear();
+        } else if (size - tailOffset() > 1) {
+            tail = editable(tail);
+            tail.array[last & MASK] = null;
+            size--;
+        } else {
+            // The tail becomes empty, so the last leaf of the trie becomes the new tail
+            Node newTail = leafFor(last - 1);
+            Node newRoot = popTail(shift, root);
+            if (newRoot == null) {
+                newRoot = EMPTY_NODE;
+            }
+            if (shift > BITS && newRoot.array[1] == null) {
+                newRoot = (Node) newRoot.array[0];
+                shift -= BITS;
+            }
+            root = newRoot;
+            tail = newTail;
+            size--;
+        }
+
+        return (E) previous;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuild(Object[] elements, int from, int to) {
+        for (int i = from; i < to; i++) {
+            add((E) elements[i]);
+        }
+    }
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Node leafFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Node editable(Node node) {
+        if (node.owner == owner) {
+            return node;
+        }
+        return new Node(owner, node.array.clone());
+    }
+
+    private Node pushTail(int level, Node parent, Node tailNode) {
+        Node result = editable(parent);
+        int child = ((size - 1) >>> level) & MASK;
+        Node toInsert;
+        if (level == BITS) {
+            toInsert = tailNode;
+        } else {
+            Node current = (Node) result.array[child];
+            toInsert = current == null ? newPath(level - BITS, tailNode) : pushTail(level - BITS, current, tailNode);
+        }
+        result.array[child] = toInsert;
+        return result;
+    }
+
+    private Node newPath(int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        Node result = new Node(owner, new Object[WIDTH]);
+        result.array[0] = newPath(level - BITS, node);
+        return result;
+    }
+
+    private Node popTail(int level, Node node) {
+        int child = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node newChild = popTail(level - BITS, (Node) node.array[child]);
+            if (newChild == null && child == 0) {
+                return null;
+            }
+            Node result = editable(node);
+            result.array[child] = newChild;
+            return result;
+        }
+        if (child == 0) {
+            return null;
+        }
+        Node result = editable(node);
+        result.array[child] = null;
+        return result;
+    }
+
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    private String outOfBoundsMsg(int index) {
+        return "Index: " + index + ", Size: " + size;
+    }
+
+    /**
+     * A node in the trie. The array holds either child nodes or elements.
+     */
+    private static final class Node {
+        private final Object owner;
+        private final Object[] array;
+
+        Node(Object owner, Object[] array) {
+            this.owner = owner;
+            this.array = array;
+        }
+    }
+}
@@ -36,6 +36,20 @@ public class Breakpoint {
         this.lineNumber = lineNumber;
     }
 
+    /**
+     * @return the id of the robot this breakpoint is set on
+     */
+    public RobotID getRobotID() {
+        return robotID;
+    }
+
+    /**
+     * @return the line number of this breakpoint
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
     /**
      * Returns whether the breakpoint was reached.
      *
@@ -13,26 +13,20 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package nl.xillio.xill.plugins.collection.services.duplicate;
-
-import com.google.inject.ImplementedBy;
-import nl.xillio.xill.plugins.collection.CollectionXillPlugin;
-import nl.xillio.xill.services.XillService;
+package nl.xillio.xill.api;
 
 /**
- * This interface represents the duplicate operation for the {@link CollectionXillPlugin}
- *
- * @author Sander Visser
+ * This enum represents the way a robot is executed by a {@link XillProcessor}.
  */
-@ImplementedBy(DuplicateImpl.class)
-public interface Duplicate extends XillService {
-
+public enum ExecutionMode {
     /**
-     * Receives either a LIST or an OBJECT and returns a deepcopy of it.
-     *
-     * @param input the list
-     * @return the copy of the list.
+     * Every instruction is reported to the debugger so breakpoints, pausing and stepping are supported.
      */
-    public Object duplicate(Object input);
+    DEBUG,
 
+    /**
+     * Only stop requests and errors are handled by the debugger. Use this mode for headless runs where nobody can
+     * interact with the robot.
+     */
+    PRODUCTION
 }
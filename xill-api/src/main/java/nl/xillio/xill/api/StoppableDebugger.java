@@ -76,6 +76,15 @@ public class StoppableDebugger extends NullDebugger {
     }
 
 
+    /**
+     * Clear the stack and the error state so this debugger can be used for another run of the same robot.
+     */
+    @Override
+    public void reset() {
+        currentStack.clear();
+        errorOccurred = false;
+    }
+
     @Override
     public void setErrorHandler(ErrorHandlingPolicy handler) {
         this.errorHandlingPolicy = handler;
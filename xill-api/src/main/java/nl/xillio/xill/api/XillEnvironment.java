@@ -138,6 +138,30 @@ public interface XillEnvironment extends AutoCloseable {
      */
     XillProcessor buildProcessor(Path workingDirectory, RobotID robotID, Debugger debugger, Path... robotPath) throws IOException;
 
+    /**
+     * Builds a processor for a specific execution in the given execution mode.
+     * <p>
+     * In {@link ExecutionMode#PRODUCTION production mode} breakpoints, pausing and stepping are not supported.
+     *
+     * @param workingDirectory   the working directory of the project
+     * @param fullyQualifiedName the fully qualified name of the robot that should be started
+     * @param executionMode      the execution mode
+     * @return the processor
+     * @throws IOException if we could not load the processor
+     */
+    XillProcessor buildProcessor(Path workingDirectory, String fullyQualifiedName, ExecutionMode executionMode, Path... robotPath) throws IOException;
+
+    /**
+     * Builds a processor for a specific execution in the given execution mode.
+     *
+     * @param workingDirectory the working directory of the project
+     * @param robotID          the robot that should be started
+     * @param executionMode    the execution mode
+     * @return the processor
+     * @throws IOException if we could not load the processor
+     */
+    XillProcessor buildProcessor(Path workingDirectory, RobotID robotID, ExecutionMode executionMode, Path... robotPath) throws IOException;
+
     /**
      * Gets a list of all loaded plugins.
      *
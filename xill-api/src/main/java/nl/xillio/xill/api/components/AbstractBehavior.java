@@ -15,6 +15,7 @@
  */
 package nl.xillio.xill.api.components;
 
+import nl.xillio.util.MathUtils;
 import nl.xillio.xill.api.io.IOStream;
 
 /**
@@ -27,7 +28,7 @@ abstract class AbstractBehavior implements Expression {
 
     @Override
     public Number getNumberValue() {
-        return Double.NaN;
+        return MathUtils.NOT_A_NUMBER;
     }
 
     @Override
@@ -30,6 +30,7 @@ import java.util.function.Function;
 public class ExpressionBuilder extends ExpressionBuilderHelper implements Processable {
 
     private final Function<Debugger, MetaExpression> expressionFunction;
+    private final boolean constant;
 
     /**
      * Creates a new expression builder that will produce a Number.
@@ -38,6 +39,7 @@ public class ExpressionBuilder extends ExpressionBuilderHelper implements Proces
      */
     public ExpressionBuilder(final Number value) {
         expressionFunction = debugger -> fromValue(value);
+        constant = true;
     }
 
     /**
@@ -47,6 +49,7 @@ public class ExpressionBuilder extends ExpressionBuilderHelper implements Proces
      */
     public ExpressionBuilder(final String value) {
         expressionFunction = debugger -> fromValue(value);
+        constant = true;
     }
 
     /**
@@ -57,6 +60,7 @@ public class ExpressionBuilder extends ExpressionBuilderHelper implements Proces
      */
     public ExpressionBuilder(final String value, final boolean isConstant) {
         expressionFunction = debugger -> fromValue(value, isConstant);
+        constant = true;
     }
 
     /**
@@ -74,6 +78,7 @@ public class ExpressionBuilder extends ExpressionBuilderHelper implements Proces
 
             return fromValue(result);
         };
+        constant = false;
     }
 
     /**
@@ -91,6 +96,7 @@ public class ExpressionBuilder extends ExpressionBuilderHelper implements Proces
 
             return fromValue(entries);
         };
+        constant = false;
     }
 
     /**
@@ -100,6 +106,16 @@ public class ExpressionBuilder extends ExpressionBuilderHelper implements Proces
      */
     public ExpressionBuilder(final boolean value) {
         expressionFunction = debugger -> fromValue(value);
+        constant = true;
+    }
+
+    /**
+     * Check if this builder produces the same atomic value every time it is processed.
+     *
+     * @return true if this builder represents an atomic literal
+     */
+    public boolean isConstant() {
+        return constant;
     }
 
     @Override
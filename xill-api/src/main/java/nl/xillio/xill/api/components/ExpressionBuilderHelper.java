@@ -20,6 +20,7 @@ import nl.xillio.xill.api.io.IOStream;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
 /**
@@ -132,6 +133,43 @@ public class ExpressionBuilderHelper {
         return buildOrNull(value, ObjectExpression::new);
     }
 
+    /**
+     * Creates a new {@link ExpressionDataType#LIST} with the elements of a list followed by other elements.
+     * The result shares its structure with the list, so appending to a long list does not copy it.
+     *
+     * @param list     a {@link ExpressionDataType#LIST} expression
+     * @param elements the elements to append
+     * @return the expression
+     */
+    public static MetaExpression fromAppended(final MetaExpression list, final List<MetaExpression> elements) {
+        return ListExpression.append(list, elements);
+    }
+
+    /**
+     * Creates a new {@link ExpressionDataType#OBJECT} with the entries of an object followed by other entries.
+     * Entries with a key that is already in the object replace its value.
+     * The result shares its structure with the object, so adding to a large object does not copy it.
+     *
+     * @param object  an {@link ExpressionDataType#OBJECT} expression
+     * @param entries the entries to append
+     * @return the expression
+     */
+    public static MetaExpression fromAppended(final MetaExpression object, final Map<String, MetaExpression> entries) {
+        return ObjectExpression.append(object, entries);
+    }
+
+    /**
+     * Creates a new string expression that contains the string values of the given expressions, one after another.
+     * Long results are only built when their string value is requested.
+     *
+     * @param parts the expressions to concatenate
+     * @return the expression
+     * @see MetaExpression#writeStringValue(java.io.Writer)
+     */
+    public static MetaExpression fromConcatenation(final List<MetaExpression> parts) {
+        return RopeBehavior.concat(parts);
+    }
+
     /**
      * Creates a new {@link ListExpression} with no values (empty List).
      *
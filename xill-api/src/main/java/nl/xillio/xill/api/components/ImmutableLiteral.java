@@ -24,7 +24,7 @@ import java.util.Collection;
 /**
  * This class represents a constant literal in the Xill language.
  */
-class ImmutableLiteral extends MetaExpression {
+public class ImmutableLiteral extends MetaExpression {
 
     private final Expression value;
 
@@ -15,9 +15,12 @@
  */
 package nl.xillio.xill.api.components;
 
+import nl.xillio.util.PersistentList;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**
@@ -34,7 +37,8 @@ import java.util.stream.Collectors;
 
 class ListExpression extends CollectionExpression {
 
-    private final List<? extends MetaExpression> value;
+    private List<? extends MetaExpression> value;
+    private SharedReferences sharedReferences;
 
     /**
      * @param value the value to set
@@ -47,6 +51,55 @@ class ListExpression extends CollectionExpression {
         value.forEach(MetaExpression::registerReference);
     }
 
+    private ListExpression(final PersistentList<MetaExpression> value, final SharedReferences sharedReferences) {
+        this.value = value;
+        this.sharedReferences = sharedReferences;
+
+        setValue(value);
+        // A changed list no longer matches the chain, so it registers its own references first
+        value.onFirstChange(this::registerOwnReferences);
+    }
+
+    /**
+     * Create a list with the elements of a list followed by other elements. The result shares its structure and the
+     * references on the elements with the list, so only the appended elements are registered.
+     *
+     * @param list     the list to append to
+     * @param elements the elements to append
+     * @return the list
+     */
+    static ListExpression append(final MetaExpression list, final List<MetaExpression> elements) {
+        PersistentList<MetaExpression> result = PersistentList.copyOf(list.getValue());
+        result.addAll(elements);
+
+        SharedReferences previous = list instanceof ListExpression ? ((ListExpression) list).sharedReferences : null;
+        if (previous == null) {
+            // The first append registers all elements once, the appends after it share them
+            return new ListExpression(result, new SharedReferences(null, result));
+        }
+        return new ListExpression(result, new SharedReferences(previous, elements));
+    }
+
+    private void registerOwnReferences() {
+        if (sharedReferences == null) {
+            return;
+        }
+        value.forEach(MetaExpression::registerReference);
+        sharedReferences.release();
+        sharedReferences = null;
+    }
+
+    @Override
+    void releaseChildren() {
+        if (sharedReferences == null) {
+            super.releaseChildren();
+            return;
+        }
+        SharedReferences references = sharedReferences;
+        sharedReferences = null;
+        references.release();
+    }
+
     @Override
     public Collection<Processable> getChildren() {
         return new ArrayList<>(value);
@@ -58,6 +111,46 @@ class ListExpression extends CollectionExpression {
         return new ListExpression(value.stream().map(MetaExpression::copy).collect(Collectors.toList()));
     }
 
+    @Override
+    ListExpression shallowDuplicate() {
+        assertOpen();
+        return new ListExpression(shareableValue().fork());
+    }
+
+    /**
+     * Replace a plain list by a {@link PersistentList} with the same elements the first time this list is duplicated,
+     * so it and all its duplicates can be forked in constant time from then on. The plain list itself is not changed,
+     * so iterators over it keep running over the elements it had.
+     *
+     * @return the current value
+     */
+    @SuppressWarnings("unchecked")
+    private PersistentList<MetaExpression> shareableValue() {
+        List<MetaExpression> current = getValue();
+        if (current instanceof PersistentList) {
+            return (PersistentList<MetaExpression>) current;
+        }
+
+        PersistentList<MetaExpression> persistent = new PersistentList<>(current);
+        value = persistent;
+        setValue(persistent);
+        return persistent;
+    }
+
+    @Override
+    void duplicateChildren(final MetaExpression copy, final UnaryOperator<MetaExpression> duplicateOf) {
+        // Only nested collections need a copy of their own, the fork changes just the nodes that hold them
+        List<MetaExpression> target = copy.getValue();
+        for (int i = 0; i < value.size(); i++) {
+            MetaExpression child = value.get(i);
+            if (child instanceof CollectionExpression) {
+                MetaExpression childCopy = duplicateOf.apply(child);
+                childCopy.registerReference();
+                target.set(i, childCopy).releaseReference();
+            }
+        }
+    }
+
     @Override
     public Number getSize() {
         return value.size();
@@ -28,9 +28,12 @@ import nl.xillio.xill.api.errors.RobotRuntimeException;
 import nl.xillio.xill.services.json.JsonException;
 import nl.xillio.xill.services.json.JsonParser;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.time.Instant;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**
@@ -159,11 +162,11 @@ public abstract class MetaExpression implements Expression, Processable {
     /**
      * Sets the value of this variable to an {@link ExpressionDataType#OBJECT} value.
      *
-     * @param value in a linked hash map to enforce order
+     * @param value an insertion ordered map
      * @return self
      * @throws IllegalStateException if this expression has been closed
      */
-    protected MetaExpression setValue(final LinkedHashMap<String, MetaExpression> value) {
+    protected MetaExpression setValue(final Map<String, MetaExpression> value) {
         assertOpen();
         this.value = value;
         type = ExpressionDataType.OBJECT;
@@ -243,7 +246,23 @@ public abstract class MetaExpression implements Expression, Processable {
      * @throws JsonException if the value cannot be parsed by the JsonParser
      */
     public String toString(final JsonParser jsonParser) throws JsonException {
-        return jsonParser.toJson((Object) extractValue(this));
+        return jsonParser.toJson(this);
+    }
+
+    /**
+     * Writes the string value of this expression to a writer. A long string that was built using concatenation is
+     * written part by part, so it never has to be built in memory.
+     *
+     * @param writer the writer
+     * @throws IOException if writing failed
+     */
+    public void writeStringValue(final Writer writer) throws IOException {
+        Object behavior = getValue();
+        if (getType() == ExpressionDataType.ATOMIC && behavior instanceof RopeBehavior) {
+            ((RopeBehavior) behavior).writeTo(writer);
+        } else {
+            writer.write(getStringValue());
+        }
     }
 
     public Number getSize() {
@@ -356,6 +375,50 @@ public abstract class MetaExpression implements Expression, Processable {
         return (T) extractValue(expression, new IdentityHashMap<>(), metaExpressionSerializer);
     }
 
+    /**
+     * Extracts the actual Java Object value for an {@link ExpressionDataType#ATOMIC} expression in the same way as
+     * {@link #extractValue(MetaExpression, MetaExpressionSerializer)}. Unlike that method this does not allocate any
+     * bookkeeping for collections.
+     *
+     * @param expression               the atomic expression
+     * @param metaExpressionSerializer the serializer that is asked first
+     * @return the value
+     * @throws UnsupportedOperationException if the behavior of the expression cannot be extracted
+     */
+    public static Object extractAtomicValue(final MetaExpression expression, final MetaExpressionSerializer metaExpressionSerializer) {
+        // null
+        if (expression.isNull()) {
+            return null;
+        }
+
+        Object result = metaExpressionSerializer.extractValue(expression);
+
+        if (result != null) {
+            return result;
+        }
+
+        // First we check for the presence of a date
+        Date date = expression.getMeta(Date.class);
+        if (date != null) {
+            // We have a Date, convert it to a java.util.Date
+            return java.util.Date.from(date.getZoned().toInstant());
+        }
+
+        Object behaviour = expression.getValue();
+
+        if (behaviour instanceof BooleanBehavior) {
+            return expression.getBooleanValue();
+        } else if (behaviour instanceof StringBehavior) {
+            return expression.getStringValue();
+        } else if (behaviour instanceof NumberBehavior) {
+            return expression.getNumberValue();
+        } else if (behaviour instanceof BinaryBehavior) {
+            return expression.getStringValue();
+        } else {
+            throw new UnsupportedOperationException("No extraction found for " + behaviour.getClass().getSimpleName());
+        }
+    }
+
     private static Object extractValue(final MetaExpression expression, final Map<MetaExpression, Object> results, final MetaExpressionSerializer metaExpressionSerializer) {
 
         if (results.containsKey(expression)) {
@@ -364,38 +427,7 @@ public abstract class MetaExpression implements Expression, Processable {
         Object result;
         switch (expression.getType()) {
             case ATOMIC:
-                // null
-                if (expression.isNull()) {
-                    return null;
-                }
-
-                result = metaExpressionSerializer.extractValue(expression);
-
-                if (result != null) {
-                    return result;
-                }
-
-                // First we check for the presence of a date
-                Date date = expression.getMeta(Date.class);
-                if (date != null) {
-                    // We have a Date, convert it to a java.util.Date
-                    return java.util.Date.from(date.getZoned().toInstant());
-                }
-
-                Object behaviour = expression.getValue();
-
-                if (behaviour instanceof BooleanBehavior) {
-                    result = expression.getBooleanValue();
-                } else if (behaviour instanceof StringBehavior) {
-                    result = expression.getStringValue();
-                } else if (behaviour instanceof NumberBehavior) {
-                    result = expression.getNumberValue();
-                } else if (behaviour instanceof BinaryBehavior) {
-                    result = expression.getStringValue();
-                } else {
-                    throw new UnsupportedOperationException("No extraction found for " + behaviour.getClass().getSimpleName());
-                }
-                break;
+                return extractAtomicValue(expression, metaExpressionSerializer);
             case LIST:
                 List<Object> resultList = new ArrayList<>();
                 results.put(expression, resultList);
@@ -498,6 +530,55 @@ public abstract class MetaExpression implements Expression, Processable {
         return copied;
     }
 
+    /**
+     * Create a deep copy of this expression that shares its structure with the original.
+     * <p>
+     * Every list and object is forked in constant time, the fork and the original only copy the parts they change.
+     * A plain list or object is given a persistent value the first time it is duplicated, which takes linear time once.
+     * Atomic values cannot be changed in place so they are shared instead of copied, including their metadata.
+     * A collection that occurs more than once, or contains itself, is copied once.
+     *
+     * @return the copy
+     * @throws IllegalStateException if this expression has been closed
+     */
+    public final MetaExpression duplicate() {
+        Map<MetaExpression, MetaExpression> duplicates = new IdentityHashMap<>();
+        Deque<MetaExpression> pending = new ArrayDeque<>();
+        UnaryOperator<MetaExpression> duplicateOf = original -> duplicates.computeIfAbsent(original, key -> {
+            pending.push(key);
+            return key.shallowDuplicate();
+        });
+
+        // Nested collections are copied from a work list rather than recursively, so deep nesting cannot overflow the stack
+        MetaExpression result = duplicateOf.apply(this);
+        while (!pending.isEmpty()) {
+            MetaExpression original = pending.pop();
+            original.duplicateChildren(duplicates.get(original), duplicateOf);
+        }
+        return result;
+    }
+
+    /**
+     * Create a copy of this expression for {@link #duplicate()} that still contains the original children.
+     *
+     * @return the copy
+     * @throws IllegalStateException if this expression has been closed
+     */
+    MetaExpression shallowDuplicate() {
+        assertOpen();
+        return this;
+    }
+
+    /**
+     * Replace the nested collections in a copy made by {@link #shallowDuplicate()} by their own copies.
+     *
+     * @param copy        the copy of this expression
+     * @param duplicateOf gives the copy of a nested collection
+     */
+    void duplicateChildren(final MetaExpression copy, final UnaryOperator<MetaExpression> duplicateOf) {
+        // Atomic values have no children
+    }
+
     /**
      * @return whether this expression has been closed using {@link #close()}
      */
@@ -505,7 +586,6 @@ public abstract class MetaExpression implements Expression, Processable {
         return isClosed;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void close() {
         if (isClosed || this == ExpressionBuilderHelper.NULL) {
@@ -514,8 +594,20 @@ public abstract class MetaExpression implements Expression, Processable {
 
         isClosed = true;
         closeMetaPool();
+        releaseChildren();
+
+        if (!DEBUG) {
+            value = null;
+        } else {
+            closedLocation = new RobotRuntimeException("This is where this expression got closed");
+        }
+    }
 
-        // Close children
+    /**
+     * Releases the references this expression holds on the elements of its list or object value.
+     */
+    @SuppressWarnings("unchecked")
+    void releaseChildren() {
         switch (type) {
             case LIST:
                 ((List<MetaExpression>) value).forEach(nl.xillio.xill.api.components.MetaExpression::releaseReference);
@@ -526,11 +618,6 @@ public abstract class MetaExpression implements Expression, Processable {
             default:
                 break;
         }
-        if (!DEBUG) {
-            value = null;
-        } else {
-            closedLocation = new RobotRuntimeException("This is where this expression got closed");
-        }
     }
 
 
@@ -570,59 +657,56 @@ public abstract class MetaExpression implements Expression, Processable {
      * @throws IllegalArgumentException when the value cannot be parsed
      */
     public static MetaExpression parseObject(final Object value, MetaExpressionDeserializer metaExpressionDeserializer) {
-        return parseObject(value, new IdentityHashMap<>(), metaExpressionDeserializer);
-    }
-
-    @SuppressWarnings("unchecked")
-    private static MetaExpression parseObject(final Object root, final Map<Object, MetaExpression> cache, final MetaExpressionDeserializer metaExpressionDeserializer) {
-        // Check the cache (Don't use key because we need REFERENCE equality not CONTENT)
-        for (Map.Entry<Object, MetaExpression> entry : cache.entrySet()) {
-            if (entry.getKey() == root) {
-                // It seems like we found our match
-                return entry.getValue();
+        // Nested lists and maps are parsed using a stack of frames instead of recursion, so deeply nested objects
+        // do not overflow the thread stack
+        Map<Object, MetaExpression> cache = new IdentityHashMap<>();
+        Deque<ParseFrame> stack = new ArrayDeque<>();
+        MetaExpression result = parseNode(value, cache, metaExpressionDeserializer, stack);
+
+        while (!stack.isEmpty()) {
+            ParseFrame frame = stack.peek();
+            if (frame.hasNext()) {
+                // Children are added as stubs before their own children are parsed to keep the order
+                frame.add(parseNode(frame.next(), cache, metaExpressionDeserializer, stack));
+            } else {
+                stack.pop();
             }
         }
 
-        if (root == null) {
-            return ExpressionBuilder.NULL;
+        return result;
+    }
+
+    /**
+     * Parse a single object. Lists and maps are returned as empty stubs and a frame that fills them is pushed on
+     * the stack.
+     */
+    private static MetaExpression parseNode(final Object root, final Map<Object, MetaExpression> cache, final MetaExpressionDeserializer metaExpressionDeserializer, final Deque<ParseFrame> stack) {
+        // The cache is an IdentityHashMap so this uses REFERENCE equality not CONTENT
+        MetaExpression cached = cache.get(root);
+        if (cached != null) {
+            return cached;
         }
 
         if (root instanceof List) {
-            // Push stub
             MetaExpression result = ExpressionBuilderHelper.emptyList();
             cache.put(root, result);
-            List<MetaExpression> values = result.getValue();
-
-            // Parse children
-            for (Object child : (List<?>) root) {
-                MetaExpression current = parseObject(child, cache, metaExpressionDeserializer);
-                values.add(current);
-                current.registerReference();
-            }
-
-            // Push list
-            result.setValue(values);
-
+            stack.push(new ListParseFrame((List<?>) root, result.getValue()));
             return result;
         }
 
         if (root instanceof Map) {
-            // Push stub
             MetaExpression result = ExpressionBuilderHelper.emptyObject();
             cache.put(root, result);
-            LinkedHashMap<String, MetaExpression> values = result.getValue();
-
-            // Parse children
-            for (Entry<?, ?> child : ((Map<?, ?>) root).entrySet()) {
-                MetaExpression current = parseObject(child.getValue(), cache, metaExpressionDeserializer);
-                values.put(child.getKey().toString(), current);
-                current.registerReference();
-            }
+            stack.push(new ObjectParseFrame((Map<?, ?>) root, result.getValue()));
+            return result;
+        }
 
-            // Push map
-            result.setValue(values);
+        return parseAtomic(root, metaExpressionDeserializer);
+    }
 
-            return result;
+    private static MetaExpression parseAtomic(final Object root, final MetaExpressionDeserializer metaExpressionDeserializer) {
+        if (root == null) {
+            return ExpressionBuilder.NULL;
         }
 
         // No list, no map. This must be an atomic value. No need to cache those since they cannot be circular
@@ -667,6 +751,72 @@ public abstract class MetaExpression implements Expression, Processable {
         throw new IllegalArgumentException("Unable to deserialize " + root.getClass().getName());
     }
 
+    /**
+     * The state of a list or map that is being parsed by {@link #parseObject(Object, MetaExpressionDeserializer)}.
+     */
+    private interface ParseFrame {
+        boolean hasNext();
+
+        Object next();
+
+        void add(MetaExpression child);
+    }
+
+    private static class ListParseFrame implements ParseFrame {
+        private final Iterator<?> children;
+        private final List<MetaExpression> values;
+
+        ListParseFrame(List<?> source, List<MetaExpression> values) {
+            this.children = source.iterator();
+            this.values = values;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return children.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            return children.next();
+        }
+
+        @Override
+        public void add(MetaExpression child) {
+            values.add(child);
+            child.registerReference();
+        }
+    }
+
+    private static class ObjectParseFrame implements ParseFrame {
+        private final Iterator<? extends Entry<?, ?>> children;
+        private final Map<String, MetaExpression> values;
+        private String key;
+
+        ObjectParseFrame(Map<?, ?> source, Map<String, MetaExpression> values) {
+            this.children = source.entrySet().iterator();
+            this.values = values;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return children.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            Entry<?, ?> entry = children.next();
+            key = entry.getKey().toString();
+            return entry.getValue();
+        }
+
+        @Override
+        public void add(MetaExpression child) {
+            values.put(key, child);
+            child.registerReference();
+        }
+    }
+
     /**
      * Make a deep copy of the expression.
      *
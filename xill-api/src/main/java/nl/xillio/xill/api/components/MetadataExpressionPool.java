@@ -18,19 +18,25 @@ package nl.xillio.xill.api.components;
 import me.biesaart.utils.Log;
 import org.slf4j.Logger;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * This class represents an object that is able to
+ * This class represents an object that is able to store objects and look them up by any class or interface they
+ * implement.
+ * <p>
+ * Lookups of a class that was looked up before or that is the exact class of a stored object are resolved using an
+ * index that belongs to the pool, so no classes are kept alive after the pool is gone. The index is filled by lookups
+ * as well, so it is safe for concurrent use by threads that read the same expression.
  *
  * @param <T> The base type of the stored objects
  */
 public class MetadataExpressionPool<T> implements AutoCloseable, Iterable<T> {
     private static final Logger LOGGER = Log.get();
-    private final List<T> data = new ArrayList<>();
+
+    private final List<T> data = new ArrayList<>(2);
+    // The first stored object for every class it was requested by
+    private final Map<Class<?>, T> index = new ConcurrentHashMap<>(4);
 
     /**
      * Fetches a value from the pool.
@@ -43,10 +49,7 @@ public class MetadataExpressionPool<T> implements AutoCloseable, Iterable<T> {
      */
     @SuppressWarnings("unchecked")
     public <C extends T> C get(final Class<C> clazz) {
-        return (C) data.stream()
-                .filter(element -> clazz.isAssignableFrom(element.getClass()))
-                .findAny()
-                .orElse(null);
+        return (C) find(clazz);
     }
 
     /**
@@ -56,6 +59,11 @@ public class MetadataExpressionPool<T> implements AutoCloseable, Iterable<T> {
      */
     @SuppressWarnings("unchecked")
     public void put(final T object) {
+        Class<?> type = object.getClass();
+        // An object stored earlier takes precedence
+        if (find(type) == null) {
+            index.put(type, object);
+        }
         data.add(object);
     }
 
@@ -66,7 +74,32 @@ public class MetadataExpressionPool<T> implements AutoCloseable, Iterable<T> {
      * @return true if an object was mapped else false
      */
     public boolean hasValue(final Class<? extends T> clazz) {
-        return data.stream().anyMatch(element -> clazz.isAssignableFrom(element.getClass()));
+        return find(clazz) != null;
+    }
+
+    /**
+     * Find the first stored object that is an instance of a class.
+     *
+     * @param clazz the class
+     * @return the object or null if none was found
+     */
+    private T find(final Class<?> clazz) {
+        if (data.isEmpty()) {
+            return null;
+        }
+
+        T result = index.get(clazz);
+        if (result != null) {
+            return result;
+        }
+
+        for (T element : data) {
+            if (clazz.isInstance(element)) {
+                index.put(clazz, element);
+                return element;
+            }
+        }
+        return null;
     }
 
     /**
@@ -81,7 +114,25 @@ public class MetadataExpressionPool<T> implements AutoCloseable, Iterable<T> {
      */
     @Override
     public Iterator<T> iterator() {
-        return data.iterator();
+        Iterator<T> iterator = data.iterator();
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                // The index could refer to the removed object, it is filled again by the next lookups
+                index.clear();
+            }
+        };
     }
 
     /**
@@ -100,5 +151,6 @@ public class MetadataExpressionPool<T> implements AutoCloseable, Iterable<T> {
             }
         }
         data.clear();
+        index.clear();
     }
 }
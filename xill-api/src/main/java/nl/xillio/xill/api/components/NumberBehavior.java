@@ -39,6 +39,13 @@ class NumberBehavior extends AbstractBehavior {
         this.value = value;
     }
 
+    /**
+     * Creator for subclasses that store their value without boxing. These must override every getter.
+     */
+    NumberBehavior() {
+        this(null);
+    }
+
     @Override
     public Number getNumberValue() {
         return value;
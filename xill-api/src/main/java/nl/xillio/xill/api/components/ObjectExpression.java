@@ -15,12 +15,15 @@
  */
 package nl.xillio.xill.api.components;
 
+import nl.xillio.util.PersistentLinkedHashMap;
 import nl.xillio.xill.api.Debugger;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
 
 /**
  * <p>
@@ -36,20 +39,77 @@ import java.util.LinkedHashMap;
  */
 class ObjectExpression extends CollectionExpression {
 
-    private final LinkedHashMap<String, MetaExpression> value;
+    private Map<String, MetaExpression> value;
+    private SharedReferences sharedReferences;
 
     /**
-     * @param object the value to set
+     * @param object the value to set, which should keep its entries in insertion order
      */
-    @SuppressWarnings("squid:S1319")
-    // We should use LinkedHashMap as a parameter here to enforce ordering in the map
-    ObjectExpression(final LinkedHashMap<String, MetaExpression> object) {
+    ObjectExpression(final Map<String, MetaExpression> object) {
         value = object;
 
         setValue(value);
         object.values().forEach(MetaExpression::registerReference);
     }
 
+    private ObjectExpression(final PersistentLinkedHashMap<String, MetaExpression> object, final SharedReferences sharedReferences) {
+        value = object;
+        this.sharedReferences = sharedReferences;
+
+        setValue(value);
+        // A changed object no longer matches the chain, so it registers its own references first
+        object.onFirstChange(this::registerOwnReferences);
+    }
+
+    /**
+     * Create an object with the entries of an object followed by other entries, which replace entries with the same
+     * key. The result shares its structure and the references on the values with the object, so only the appended
+     * values are registered. Replacing an entry makes the result register all of its values itself, because the
+     * replaced value is no longer part of it.
+     *
+     * @param object  the object to append to
+     * @param entries the entries to append
+     * @return the object
+     */
+    static ObjectExpression append(final MetaExpression object, final Map<String, MetaExpression> entries) {
+        PersistentLinkedHashMap<String, MetaExpression> result = PersistentLinkedHashMap.copyOf(object.getValue());
+        boolean replaced = false;
+        for (Map.Entry<String, MetaExpression> entry : entries.entrySet()) {
+            replaced |= result.containsKey(entry.getKey());
+            result.put(entry.getKey(), entry.getValue());
+        }
+
+        SharedReferences previous = object instanceof ObjectExpression ? ((ObjectExpression) object).sharedReferences : null;
+        if (replaced) {
+            return new ObjectExpression(result);
+        }
+        if (previous == null) {
+            // The first append registers all values once, the appends after it share them
+            return new ObjectExpression(result, new SharedReferences(null, result.values()));
+        }
+        return new ObjectExpression(result, new SharedReferences(previous, entries.values()));
+    }
+
+    private void registerOwnReferences() {
+        if (sharedReferences == null) {
+            return;
+        }
+        value.values().forEach(MetaExpression::registerReference);
+        sharedReferences.release();
+        sharedReferences = null;
+    }
+
+    @Override
+    void releaseChildren() {
+        if (sharedReferences == null) {
+            super.releaseChildren();
+            return;
+        }
+        SharedReferences references = sharedReferences;
+        sharedReferences = null;
+        references.release();
+    }
+
     @Override
     public InstructionFlow<MetaExpression> process(final Debugger debugger) throws RobotRuntimeException {
         return InstructionFlow.doResume(this);
@@ -63,6 +123,44 @@ class ObjectExpression extends CollectionExpression {
         return new ObjectExpression(copy);
     }
 
+    @Override
+    ObjectExpression shallowDuplicate() {
+        assertOpen();
+        return new ObjectExpression(shareableValue().fork());
+    }
+
+    /**
+     * Replace a plain map by a {@link PersistentLinkedHashMap} with the same entries the first time this object is
+     * duplicated, so it and all its duplicates can be forked in constant time from then on. The plain map itself is
+     * not changed, so iterators over it keep running over the entries it had.
+     *
+     * @return the current value
+     */
+    @SuppressWarnings("unchecked")
+    private PersistentLinkedHashMap<String, MetaExpression> shareableValue() {
+        if (value instanceof PersistentLinkedHashMap) {
+            return (PersistentLinkedHashMap<String, MetaExpression>) value;
+        }
+
+        PersistentLinkedHashMap<String, MetaExpression> persistent = new PersistentLinkedHashMap<>(value);
+        value = persistent;
+        setValue(persistent);
+        return persistent;
+    }
+
+    @Override
+    void duplicateChildren(final MetaExpression copy, final UnaryOperator<MetaExpression> duplicateOf) {
+        // Only nested collections need a copy of their own, the fork changes just the nodes that hold them
+        Map<String, MetaExpression> target = copy.getValue();
+        for (Map.Entry<String, MetaExpression> entry : value.entrySet()) {
+            if (entry.getValue() instanceof CollectionExpression) {
+                MetaExpression childCopy = duplicateOf.apply(entry.getValue());
+                childCopy.registerReference();
+                target.put(entry.getKey(), childCopy).releaseReference();
+            }
+        }
+    }
+
     @Override
     public Collection<Processable> getChildren() {
         return new ArrayList<>(value.values());
@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.api.components;
+
+import nl.xillio.xill.api.data.MetadataExpression;
+
+/**
+ * This class represents a type of metadata that marks an iterable as parallel. When a map or filter construction
+ * consumes an iterable holding this element it will apply its function to multiple items at the same time.
+ */
+public class ParallelIteration implements MetadataExpression {
+    private final int parallelism;
+    private final int window;
+    private final boolean ordered;
+
+    /**
+     * Create a new parallel iteration hint.
+     *
+     * @param parallelism the number of threads that apply the function
+     * @param window      the maximum number of items that are processed or buffered at the same time
+     * @param ordered     true if the output should keep the order of the input
+     */
+    public ParallelIteration(int parallelism, int window, boolean ordered) {
+        this.parallelism = parallelism;
+        this.window = window;
+        this.ordered = ordered;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+}
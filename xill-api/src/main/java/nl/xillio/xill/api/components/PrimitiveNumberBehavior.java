@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.api.components;
+
+/**
+ * This class represents the behavior of an int, long or double that is stored without boxing.
+ * Results of arithmetic operators use this behavior so they do not allocate a boxed number for every operation.
+ * The boxed value is only created when {@link #getNumberValue()} is called.
+ */
+final class PrimitiveNumberBehavior extends NumberBehavior {
+    private final PrimitiveNumbers.Type type;
+    private final long integralValue;
+    private final double doubleValue;
+
+    private PrimitiveNumberBehavior(PrimitiveNumbers.Type type, long integralValue, double doubleValue) {
+        this.type = type;
+        this.integralValue = integralValue;
+        this.doubleValue = doubleValue;
+    }
+
+    static PrimitiveNumberBehavior ofInt(int value) {
+        return new PrimitiveNumberBehavior(PrimitiveNumbers.Type.INT, value, value);
+    }
+
+    static PrimitiveNumberBehavior ofLong(long value) {
+        return new PrimitiveNumberBehavior(PrimitiveNumbers.Type.LONG, value, value);
+    }
+
+    static PrimitiveNumberBehavior ofDouble(double value) {
+        return new PrimitiveNumberBehavior(PrimitiveNumbers.Type.DOUBLE, 0, value);
+    }
+
+    PrimitiveNumbers.Type getType() {
+        return type;
+    }
+
+    long getLongValue() {
+        return integralValue;
+    }
+
+    double getDoubleValue() {
+        return doubleValue;
+    }
+
+    @Override
+    public Number getNumberValue() {
+        switch (type) {
+            case INT:
+                return (int) integralValue;
+            case LONG:
+                return integralValue;
+            default:
+                return doubleValue;
+        }
+    }
+
+    @Override
+    public String getStringValue() {
+        switch (type) {
+            case INT:
+                return Integer.toString((int) integralValue);
+            case LONG:
+                return Long.toString(integralValue);
+            default:
+                return Double.toString(doubleValue);
+        }
+    }
+
+    @Override
+    public boolean getBooleanValue() {
+        if (type != PrimitiveNumbers.Type.DOUBLE) {
+            return integralValue != 0;
+        }
+
+        // Same as the boxed behavior: NaN and positive zero are false, negative zero is true
+        return !(Double.isNaN(doubleValue) || Double.doubleToLongBits(doubleValue) == 0L);
+    }
+
+    @Override
+    public NumberBehavior copy() {
+        return new PrimitiveNumberBehavior(type, integralValue, doubleValue);
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.api.components;
+
+/**
+ * This class gives access to numbers in expressions without boxing them and creates number expressions that store
+ * their value unboxed. It is meant for the fast paths of operators that are evaluated very often, such as loop
+ * counters and accumulators.
+ */
+public final class PrimitiveNumbers {
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1024;
+    private static final MetaExpression[] SMALL_INTEGERS = new MetaExpression[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < SMALL_INTEGERS.length; i++) {
+            SMALL_INTEGERS[i] = new ImmutableLiteral(PrimitiveNumberBehavior.ofInt(CACHE_LOW + i));
+        }
+    }
+
+    /**
+     * The representation of a number in an expression.
+     */
+    public enum Type {
+        /**
+         * The expression is not a number that can be read without boxing.
+         */
+        NONE,
+        /**
+         * The expression holds an int, read it using {@link #longValue(MetaExpression)}.
+         */
+        INT,
+        /**
+         * The expression holds a long, read it using {@link #longValue(MetaExpression)}.
+         */
+        LONG,
+        /**
+         * The expression holds a double, read it using {@link #doubleValue(MetaExpression)}.
+         */
+        DOUBLE
+    }
+
+    private PrimitiveNumbers() {
+        // Utility class
+    }
+
+    /**
+     * Find out how the number in an expression is stored.
+     *
+     * @param expression the expression
+     * @return {@link Type#NONE} if the expression is not an int, long or double number
+     */
+    public static Type typeOf(MetaExpression expression) {
+        if (expression.getType() != ExpressionDataType.ATOMIC) {
+            return Type.NONE;
+        }
+
+        Object behavior = expression.getValue();
+        if (behavior instanceof PrimitiveNumberBehavior) {
+            return ((PrimitiveNumberBehavior) behavior).getType();
+        }
+        if (behavior instanceof NumberBehavior) {
+            Number value = ((NumberBehavior) behavior).getNumberValue();
+            if (value instanceof Integer) {
+                return Type.INT;
+            }
+            if (value instanceof Long) {
+                return Type.LONG;
+            }
+            if (value instanceof Double) {
+                return Type.DOUBLE;
+            }
+        }
+        return Type.NONE;
+    }
+
+    /**
+     * Get the value of an expression of type {@link Type#INT} or {@link Type#LONG}.
+     *
+     * @param expression the expression
+     * @return the value
+     */
+    public static long longValue(MetaExpression expression) {
+        Object behavior = expression.getValue();
+        if (behavior instanceof PrimitiveNumberBehavior) {
+            return ((PrimitiveNumberBehavior) behavior).getLongValue();
+        }
+        return ((NumberBehavior) behavior).getNumberValue().longValue();
+    }
+
+    /**
+     * Get the value of an expression of any type other than {@link Type#NONE} as a double.
+     *
+     * @param expression the expression
+     * @return the value
+     */
+    public static double doubleValue(MetaExpression expression) {
+        Object behavior = expression.getValue();
+        if (behavior instanceof PrimitiveNumberBehavior) {
+            return ((PrimitiveNumberBehavior) behavior).getDoubleValue();
+        }
+        return ((NumberBehavior) behavior).getNumberValue().doubleValue();
+    }
+
+    /**
+     * Create an expression that holds an int.
+     * Values between {@value #CACHE_LOW} and {@value #CACHE_HIGH} are shared immutable literals.
+     *
+     * @param value the value
+     * @return the expression
+     */
+    public static MetaExpression valueOf(int value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return SMALL_INTEGERS[value - CACHE_LOW];
+        }
+        return new AtomicExpression(PrimitiveNumberBehavior.ofInt(value));
+    }
+
+    /**
+     * Create an expression that holds a long.
+     *
+     * @param value the value
+     * @return the expression
+     */
+    public static MetaExpression valueOf(long value) {
+        return new AtomicExpression(PrimitiveNumberBehavior.ofLong(value));
+    }
+
+    /**
+     * Create an expression that holds a double.
+     *
+     * @param value the value
+     * @return the expression
+     */
+    public static MetaExpression valueOf(double value) {
+        return new AtomicExpression(PrimitiveNumberBehavior.ofDouble(value));
+    }
+}
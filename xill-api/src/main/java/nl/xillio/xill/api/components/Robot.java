@@ -59,4 +59,10 @@ public interface Robot extends InstructionSet {
     boolean hasArgument();
 
     UUID getCompilerSerialId();
+
+    /**
+     * Clear all state left behind by processing this robot so it can be processed again.
+     * This removes the argument and the values of all variables in this robot and its libraries.
+     */
+    void reset();
 }
@@ -0,0 +1,197 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.api.components;
+
+import nl.xillio.xill.api.errors.RobotRuntimeException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * <p>
+ * This class represents the behavior of a string that is the concatenation of other strings. The parts are kept in a
+ * tree (a rope) and the string is only built when its value is requested, so appending to a long string in a loop
+ * does not copy that string every time.
+ * </p>
+ * <p>
+ * Values are the same as those of a {@link StringBehavior}.
+ * </p>
+ */
+final class RopeBehavior extends StringBehavior {
+    /**
+     * Concatenations shorter than this are built right away, a small string is cheaper than a rope.
+     */
+    static final int MIN_LENGTH = 1024;
+    private static final int MAX_STRING_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final Node node;
+
+    private RopeBehavior(Node node) {
+        this.node = node;
+    }
+
+    /**
+     * Concatenate the string values of a list of expressions.
+     *
+     * @param parts the expressions
+     * @return a string expression
+     */
+    static MetaExpression concat(List<MetaExpression> parts) {
+        Object[] children = new Object[parts.size()];
+        long length = 0;
+
+        for (int i = 0; i < children.length; i++) {
+            MetaExpression part = parts.get(i);
+            Object behavior = part.getValue();
+            if (part.getType() == ExpressionDataType.ATOMIC && behavior instanceof RopeBehavior) {
+                Node child = ((RopeBehavior) behavior).node;
+                // A rope that was read already links its string, so the old tree can be collected
+                String flatValue = child.flat;
+                children[i] = flatValue == null ? child : flatValue;
+                length += child.length;
+            } else {
+                String child = part.getStringValue();
+                children[i] = child;
+                length += child.length();
+            }
+        }
+
+        if (length < MIN_LENGTH) {
+            StringBuilder builder = new StringBuilder((int) length);
+            for (Object child : children) {
+                builder.append((String) child);
+            }
+            return ExpressionBuilderHelper.fromValue(builder.toString());
+        }
+
+        return new AtomicExpression(new RopeBehavior(new Node(children, length)));
+    }
+
+    @Override
+    public String getStringValue() {
+        return node.flatten();
+    }
+
+    /**
+     * Write the parts of this string to a writer without building the string.
+     *
+     * @param writer the writer
+     * @throws IOException if writing failed
+     */
+    void writeTo(Writer writer) throws IOException {
+        node.appendTo(writer);
+    }
+
+    /**
+     * @return the number of nodes on the longest path from the root of the rope to one of its strings
+     */
+    int depth() {
+        int result = 0;
+        Deque<Node> nodes = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
+        nodes.push(node);
+        depths.push(1);
+
+        while (!nodes.isEmpty()) {
+            Node current = nodes.pop();
+            int depth = depths.pop();
+            result = Math.max(result, depth);
+            Object[] parts = current.children;
+            if (parts != null) {
+                for (Object part : parts) {
+                    if (part instanceof Node) {
+                        nodes.push((Node) part);
+                        depths.push(depth + 1);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public RopeBehavior copy() {
+        // The tree is immutable so it can be shared
+        return new RopeBehavior(node);
+    }
+
+    /**
+     * A node in the rope. The children are either strings or nodes. Once the node is flattened it keeps only the
+     * string, so the memory of a rope that is read after every concatenation does not grow with the number of parts.
+     */
+    private static final class Node {
+        private volatile Object[] children;
+        private final long length;
+        private volatile String flat;
+
+        Node(Object[] children, long length) {
+            this.children = children;
+            this.length = length;
+        }
+
+        String flatten() {
+            String result = flat;
+            if (result == null) {
+                if (length > MAX_STRING_LENGTH) {
+                    throw new RobotRuntimeException("The text of " + length + " characters is too long to be used as a single value. " +
+                            "Write it to a stream using Stream.write instead.");
+                }
+
+                StringBuilder builder = new StringBuilder((int) length);
+                try {
+                    appendTo(builder);
+                } catch (IOException e) {
+                    // A StringBuilder does not throw IOExceptions
+                    throw new IllegalStateException(e);
+                }
+                result = builder.toString();
+                // The string must be set before the children are dropped, readers check them in the opposite order
+                flat = result;
+                children = null;
+            }
+            return result;
+        }
+
+        /**
+         * Append all parts in order. This does not recurse because a rope that was built in a loop is very deep.
+         */
+        void appendTo(Appendable target) throws IOException {
+            Deque<Object> stack = new ArrayDeque<>();
+            stack.push(this);
+
+            while (!stack.isEmpty()) {
+                Object current = stack.pop();
+                if (current instanceof String) {
+                    target.append((String) current);
+                    continue;
+                }
+
+                Node currentNode = (Node) current;
+                Object[] parts = currentNode.children;
+                if (parts == null) {
+                    target.append(currentNode.flat);
+                } else {
+                    for (int i = parts.length - 1; i >= 0; i--) {
+                        stack.push(parts[i]);
+                    }
+                }
+            }
+        }
+    }
+}
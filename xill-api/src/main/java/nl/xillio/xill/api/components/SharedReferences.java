@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.api.components;
+
+import java.util.Collection;
+
+/**
+ * The references that a chain of appended lists or objects holds on its elements.
+ * <p>
+ * The result of an append shares its structure with the collection it was appended to. Instead of registering a
+ * reference on every element again, it holds a link that registers references on just the appended elements and
+ * retains the link of that collection. An element is released once the last collection that contains it through the
+ * chain is closed.
+ */
+final class SharedReferences {
+    private final SharedReferences parent;
+    private final MetaExpression[] elements;
+    private int holders = 1;
+
+    /**
+     * Create a link that is held by one collection.
+     *
+     * @param parent   the link of the collection that was appended to, or null if there is none
+     * @param elements the elements to register references on
+     */
+    SharedReferences(final SharedReferences parent, final Collection<MetaExpression> elements) {
+        this.parent = parent;
+        this.elements = elements.toArray(new MetaExpression[elements.size()]);
+
+        if (parent != null) {
+            parent.holders++;
+        }
+        for (MetaExpression element : this.elements) {
+            element.registerReference();
+        }
+    }
+
+    /**
+     * Release this link for one of its holders. The last release also releases the elements and the parent link.
+     */
+    void release() {
+        // Walk up the chain instead of recursing, it is as long as the number of appends
+        SharedReferences link = this;
+        while (link != null && --link.holders == 0) {
+            for (MetaExpression element : link.elements) {
+                element.releaseReference();
+            }
+            link = link.parent;
+        }
+    }
+}
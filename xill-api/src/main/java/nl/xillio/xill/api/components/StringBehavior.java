@@ -18,7 +18,6 @@ package nl.xillio.xill.api.components;
 import nl.xillio.util.MathUtils;
 
 import java.util.Objects;
-import java.util.regex.Pattern;
 
 /**
  * <p>
@@ -33,7 +32,6 @@ import java.util.regex.Pattern;
  * </ul>
  */
 class StringBehavior extends AbstractBehavior {
-    private static final Pattern NUMBER_PATTERN = Pattern.compile("((-?\\d*\\.\\d+(E[-\\+]\\d+)?)|(-?\\d+))");
     private Number cachedNumber;
     private final String value;
 
@@ -47,14 +45,17 @@ class StringBehavior extends AbstractBehavior {
         this.value = value;
     }
 
+    /**
+     * Constructor for behaviors that compute their value in {@link #getStringValue()}.
+     */
+    StringBehavior() {
+        this.value = null;
+    }
+
     @Override
     public Number getNumberValue() {
         if (cachedNumber == null) {
-            if (value == null || value.isEmpty() || !NUMBER_PATTERN.matcher(value).matches()) {
-                cachedNumber = Double.NaN;
-            } else {
-                cachedNumber = MathUtils.parse(value);
-            }
+            cachedNumber = MathUtils.parseStrict(getStringValue());
         }
 
         return cachedNumber;
@@ -67,15 +68,19 @@ class StringBehavior extends AbstractBehavior {
 
     @Override
     public boolean getBooleanValue() {
-        if("false".equals(value) || "0".equals(value) || "null".equals(value)) {
+        String string = getStringValue();
+        if("false".equals(string) || "0".equals(string) || "null".equals(string)) {
             return false;
         }
 
-        return !value.isEmpty();
+        return !string.isEmpty();
     }
 
     @Override
     public StringBehavior copy() {
-        return new StringBehavior(value);
+        // Numbers are immutable so the copy can share the parsed value
+        StringBehavior copy = new StringBehavior(value);
+        copy.cachedNumber = cachedNumber;
+        return copy;
     }
 }
@@ -15,6 +15,8 @@
  */
 package nl.xillio.xill.api.components;
 
+import nl.xillio.util.MathUtils;
+
 /**
  * <p>
  * This class represents the behavior of a string constant.
@@ -40,6 +42,6 @@ class StringConstantBehavior extends StringBehavior {
 
     @Override
     public Number getNumberValue() {
-        return Double.NaN;
+        return MathUtils.NOT_A_NUMBER;
     }
 }
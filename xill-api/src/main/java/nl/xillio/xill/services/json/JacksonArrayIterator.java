@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.services.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.errors.OperationFailedException;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This iterator reads the elements of an array in a json token stream one at a time, so only a single element has
+ * to be kept in memory.
+ */
+class JacksonArrayIterator implements Iterator<MetaExpression>, AutoCloseable {
+    private final JsonParser parser;
+    private MetaExpression next;
+    private boolean done;
+
+    /**
+     * Create a new iterator and move the token stream to the start of the array.
+     *
+     * @param parser the token stream, it is closed if the array cannot be found
+     * @param path   a JSON pointer to the array
+     * @throws IOException   if reading from the token stream failed
+     * @throws JsonException if the path is invalid, cannot be found or does not point to an array
+     */
+    JacksonArrayIterator(JsonParser parser, String path) throws IOException, JsonException {
+        this.parser = parser;
+        try {
+            moveTo(path);
+        } catch (IOException | JsonException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    private void moveTo(String path) throws IOException, JsonException {
+        JsonPointer pointer;
+        try {
+            pointer = JsonPointer.compile(path);
+        } catch (IllegalArgumentException e) {
+            throw new JsonException("Invalid path " + path + ": " + e.getMessage(), e);
+        }
+
+        JsonToken token = parser.nextToken();
+        while (token != null && !pointer.matches()) {
+            if (token == JsonToken.START_OBJECT && pointer.mayMatchProperty()) {
+                token = moveToField(pointer.getMatchingProperty());
+            } else if (token == JsonToken.START_ARRAY && pointer.mayMatchElement()) {
+                token = moveToElement(pointer.getMatchingIndex());
+            } else {
+                token = null;
+            }
+            pointer = pointer.tail();
+        }
+
+        if (token == null) {
+            throw new JsonException("The path " + path + " does not exist in the json document");
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new JsonException("The path " + path + " does not point to an array but to " + token);
+        }
+    }
+
+    private JsonToken moveToField(String name) throws IOException {
+        for (JsonToken token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String fieldName = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (name.equals(fieldName)) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private JsonToken moveToElement(int index) throws IOException {
+        for (int i = 0; ; i++) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (i == index) {
+                return token;
+            }
+            parser.skipChildren();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            next = read();
+        }
+        return next != null;
+    }
+
+    @Override
+    public MetaExpression next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        MetaExpression result = next;
+        next = null;
+        return result;
+    }
+
+    private MetaExpression read() {
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                close();
+                return null;
+            }
+            return JacksonParser.readValue(parser);
+        } catch (IOException | JsonException e) {
+            done = true;
+            throw new OperationFailedException("read the next json element", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        done = true;
+        parser.close();
+    }
+}
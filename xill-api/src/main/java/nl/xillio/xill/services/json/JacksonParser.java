@@ -16,19 +16,29 @@
 package nl.xillio.xill.services.json;
 
 
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.MetaExpressionSerializer;
+import nl.xillio.xill.api.errors.RobotConcurrentModificationException;
 
-import java.io.IOException;
-import java.io.Writer;
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.*;
+
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.NULL;
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
 
 /**
  * This implementation of the JsonParser uses Jackson.
@@ -52,9 +62,16 @@ public class JacksonParser implements PrettyJsonParser {
         }
     }
 
+    /**
+     * The mapper used for reading. Its configuration never changes so it can be shared by all threads.
+     */
+    private static final ObjectMapper READER = new ObjectMapper();
+
     private final ObjectMapper mapper;
+    private final boolean pretty;
 
     public JacksonParser(boolean pretty) {
+        this.pretty = pretty;
         if (pretty) {
             mapper = new ObjectMapper(new Factory());
             mapper.enable(SerializationFeature.INDENT_OUTPUT);
@@ -79,16 +96,267 @@ public class JacksonParser implements PrettyJsonParser {
 
     @Override
     public String toJson(MetaExpression metaExpression) throws JsonException {
-        return toJson((Object) MetaExpression.extractValue(metaExpression));
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+            write(metaExpression, configure(generator));
+        } catch (IOException e) {
+            throw new JsonException("Failed to write json: " + e.getMessage(), e);
+        }
+        return writer.toString();
+    }
+
+    @Override
+    public void toJson(MetaExpression metaExpression, OutputStream outputStream) throws JsonException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            write(metaExpression, configure(generator));
+        } catch (IOException e) {
+            throw new JsonException("Failed to write json: " + e.getMessage(), e);
+        }
+    }
+
+    private JsonGenerator configure(JsonGenerator generator) {
+        if (pretty) {
+            // The pretty printer keeps track of the nesting level so every generator needs its own
+            generator.setPrettyPrinter(new PrettyPrinter());
+        }
+        return generator;
+    }
+
+    /**
+     * Write an expression to a generator without converting it to java collections first. Lists and objects are
+     * tracked on an explicit stack so deeply nested values do not overflow the thread stack.
+     *
+     * @param root      the expression to write
+     * @param generator the generator
+     * @throws IOException   if writing failed
+     * @throws JsonException if the expression contains a circular reference
+     */
+    private void write(MetaExpression root, JsonGenerator generator) throws IOException, JsonException {
+        Deque<WriteFrame> stack = new ArrayDeque<>();
+        Set<MetaExpression> ancestors = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        try {
+            writeValue(root, generator, stack, ancestors);
+            while (!stack.isEmpty()) {
+                WriteFrame frame = stack.peek();
+                if (!frame.children.hasNext()) {
+                    if (frame.isObject) {
+                        generator.writeEndObject();
+                    } else {
+                        generator.writeEndArray();
+                    }
+                    ancestors.remove(frame.expression);
+                    stack.pop();
+                    continue;
+                }
+
+                Object child = frame.children.next();
+                if (frame.isObject) {
+                    Map.Entry<?, ?> entry = (Map.Entry<?, ?>) child;
+                    generator.writeFieldName((String) entry.getKey());
+                    child = entry.getValue();
+                }
+                writeValue((MetaExpression) child, generator, stack, ancestors);
+            }
+        } catch (ConcurrentModificationException e) {
+            throw new RobotConcurrentModificationException(e);
+        }
+    }
+
+    private void writeValue(MetaExpression expression, JsonGenerator generator, Deque<WriteFrame> stack, Set<MetaExpression> ancestors) throws IOException, JsonException {
+        switch (expression.getType()) {
+            case LIST:
+                enter(expression, ancestors);
+                generator.writeStartArray();
+                stack.push(new WriteFrame(expression, expression.<List<MetaExpression>>getValue().iterator(), false));
+                break;
+            case OBJECT:
+                enter(expression, ancestors);
+                generator.writeStartObject();
+                stack.push(new WriteFrame(expression, expression.<Map<String, MetaExpression>>getValue().entrySet().iterator(), true));
+                break;
+            default:
+                writeAtomic(MetaExpression.extractAtomicValue(expression, MetaExpressionSerializer.NULL), generator);
+        }
+    }
+
+    private static void enter(MetaExpression expression, Set<MetaExpression> ancestors) throws JsonException {
+        if (!ancestors.add(expression)) {
+            throw new JsonException("Failed to write json: the value contains a circular reference.");
+        }
+    }
+
+    private void writeAtomic(Object value, JsonGenerator generator) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            generator.writeNumber(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            generator.writeNumber((Long) value);
+        } else if (value instanceof Double) {
+            generator.writeNumber((Double) value);
+        } else if (value instanceof Float) {
+            generator.writeNumber((Float) value);
+        } else if (value instanceof BigInteger) {
+            generator.writeNumber((BigInteger) value);
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal) value);
+        } else if (value instanceof Date) {
+            // Format the same way the mapper formats dates, the format is cloned because it is not thread safe
+            DateFormat format = (DateFormat) mapper.getSerializationConfig().getDateFormat().clone();
+            generator.writeString(format.format((Date) value));
+        } else {
+            mapper.writeValue(generator, value);
+        }
     }
 
     @Override
     public <T> T fromJson(String json, Class<T> type) throws JsonException {
-        ObjectMapper newMapper = new ObjectMapper();
         try {
-            return newMapper.readValue(json, type);
+            return READER.readValue(json, type);
         } catch (IOException e) {
             throw new JsonException("Failed to parse json: " + e.getMessage(), e);
         }
     }
+
+    @Override
+    public MetaExpression parse(Reader reader) throws JsonException {
+        try (com.fasterxml.jackson.core.JsonParser parser = READER.getFactory().createParser(reader)) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new JsonException("Failed to parse json: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public MetaExpression parse(InputStream stream) throws JsonException {
+        try (com.fasterxml.jackson.core.JsonParser parser = READER.getFactory().createParser(stream)) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new JsonException("Failed to parse json: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Iterator<MetaExpression> iterate(InputStream stream, String path) throws JsonException {
+        try {
+            return new JacksonArrayIterator(READER.getFactory().createParser(stream), path);
+        } catch (IOException e) {
+            throw new JsonException("Failed to parse json: " + e.getMessage(), e);
+        }
+    }
+
+    private static MetaExpression parse(com.fasterxml.jackson.core.JsonParser parser) throws IOException, JsonException {
+        if (parser.nextToken() == null) {
+            throw new JsonException("Failed to parse json: no content to map due to end-of-input");
+        }
+        return readValue(parser);
+    }
+
+    /**
+     * Build an expression from a token stream, starting at the current token. Lists and objects are collected on an
+     * explicit stack so deeply nested documents do not overflow the thread stack.
+     * When this method returns the parser is positioned at the last token of the value.
+     *
+     * @param parser the token stream
+     * @return the expression
+     * @throws IOException   if reading from the token stream failed
+     * @throws JsonException if the token stream ends before the value is complete
+     */
+    static MetaExpression readValue(com.fasterxml.jackson.core.JsonParser parser) throws IOException, JsonException {
+        Deque<Container> stack = new ArrayDeque<>();
+
+        for (JsonToken token = parser.getCurrentToken(); token != null; token = parser.nextToken()) {
+            MetaExpression value;
+            switch (token) {
+                case FIELD_NAME:
+                    stack.peek().name = parser.getCurrentName();
+                    continue;
+                case START_ARRAY:
+                    stack.push(new Container(new ArrayList<>()));
+                    continue;
+                case START_OBJECT:
+                    stack.push(new Container(new LinkedHashMap<>()));
+                    continue;
+                case END_ARRAY:
+                case END_OBJECT:
+                    value = stack.pop().build();
+                    break;
+                case VALUE_STRING:
+                    value = fromValue(parser.getText());
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    value = fromValue(parser.getNumberValue());
+                    break;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    value = fromValue(parser.getBooleanValue());
+                    break;
+                case VALUE_NULL:
+                    value = NULL;
+                    break;
+                default:
+                    throw new JsonException("Failed to parse json: unexpected token " + token);
+            }
+
+            if (stack.isEmpty()) {
+                return value;
+            }
+            stack.peek().add(value);
+        }
+
+        throw new JsonException("Failed to parse json: unexpected end-of-input");
+    }
+
+    /**
+     * A list or object that is being read.
+     */
+    private static class Container {
+        private final List<MetaExpression> list;
+        private final LinkedHashMap<String, MetaExpression> object;
+        private String name;
+
+        Container(List<MetaExpression> list) {
+            this.list = list;
+            this.object = null;
+        }
+
+        Container(LinkedHashMap<String, MetaExpression> object) {
+            this.list = null;
+            this.object = object;
+        }
+
+        void add(MetaExpression value) {
+            if (list != null) {
+                list.add(value);
+            } else {
+                object.put(name, value);
+            }
+        }
+
+        MetaExpression build() {
+            return list != null ? fromValue(list) : fromValue(object);
+        }
+    }
+
+    /**
+     * A list or object that is being written.
+     */
+    private static class WriteFrame {
+        private final MetaExpression expression;
+        private final Iterator<?> children;
+        private final boolean isObject;
+
+        WriteFrame(MetaExpression expression, Iterator<?> children, boolean isObject) {
+            this.expression = expression;
+            this.children = children;
+            this.isObject = isObject;
+        }
+    }
 }
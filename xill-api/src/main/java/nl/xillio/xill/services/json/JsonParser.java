@@ -18,6 +18,11 @@ package nl.xillio.xill.services.json;
 import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.services.XillService;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.Iterator;
+
 /**
  * This service is capable of parsing objects to and from json.
  *
@@ -42,6 +47,16 @@ public interface JsonParser extends XillService {
      */
     String toJson(MetaExpression metaExpression) throws JsonException;
 
+    /**
+     * Writes a {@link MetaExpression} as json to a stream without building the json string in memory.
+     * The json is encoded as UTF-8. The stream is flushed but not closed.
+     *
+     * @param metaExpression the expression
+     * @param outputStream   the stream to write to
+     * @throws JsonException when writing the json failed
+     */
+    void toJson(MetaExpression metaExpression, OutputStream outputStream) throws JsonException;
+
     /**
      * Parses a json string to an object.
      *
@@ -52,4 +67,36 @@ public interface JsonParser extends XillService {
      * @throws JsonException when parsing the json failed
      */
     <T> T fromJson(String json, Class<T> type) throws JsonException;
+
+    /**
+     * Parses a json document directly to a {@link MetaExpression} without building an intermediate object tree.
+     * The reader is closed when the document has been read.
+     *
+     * @param reader the reader that provides the json document
+     * @return the expression
+     * @throws JsonException when parsing the json failed
+     */
+    MetaExpression parse(Reader reader) throws JsonException;
+
+    /**
+     * Parses a json document directly to a {@link MetaExpression} without building an intermediate object tree.
+     * The encoding of the document is detected automatically. The stream is closed when the document has been read.
+     *
+     * @param stream the stream that provides the json document
+     * @return the expression
+     * @throws JsonException when parsing the json failed
+     */
+    MetaExpression parse(InputStream stream) throws JsonException;
+
+    /**
+     * Lazily reads the elements of an array in a json document, one element at a time.
+     * The returned iterator implements {@link AutoCloseable}; closing it closes the stream.
+     *
+     * @param stream the stream that provides the json document
+     * @param path   a JSON pointer to the array, for example {@code /data/items}, or an empty string for the document
+     *               itself
+     * @return the iterator
+     * @throws JsonException when the path is invalid, cannot be found or does not point to an array
+     */
+    Iterator<MetaExpression> iterate(InputStream stream, String path) throws JsonException;
 }
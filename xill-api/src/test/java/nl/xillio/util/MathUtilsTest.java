@@ -20,6 +20,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.math.BigInteger;
+import java.util.regex.Pattern;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -318,4 +319,36 @@ public class MathUtilsTest {
             Assert.assertNull(actual);
         }
     }
+
+    /**
+     * @return An array in the form {@code {{value}}}
+     */
+    @DataProvider(name = "strictNumbers")
+    Object[][] strictNumbers() {
+        return new Object[][]{
+                {""}, {"-"}, {"0"}, {"-0"}, {"42"}, {"007"}, {"-42"},
+                {"2147483647"}, {"2147483648"}, {"-2147483648"}, {"-2147483649"}, {"00000000001"},
+                {"9223372036854775807"}, {"9223372036854775808"}, {"9999999999999999999"},
+                {"-9223372036854775807"}, {"-9223372036854775808"}, {"123456789012345678901234567890"},
+                {"0.0"}, {".5"}, {"-.5"}, {"1.5"}, {"-1.5"}, {"1.5E+3"}, {"1.5E-3"}, {"1.5E3"}, {"1.5e+3"},
+                {"1.5E+"}, {"1.5E"}, {"1."}, {"."}, {"-."}, {"1.5.5"}, {"1E+5"}, {"+5"}, {"--5"}, {"5-"},
+                {" 5"}, {"5 "}, {"NaN"}, {"Infinity"}, {"test string"}, {"0x10"}, {"\u0661"}
+        };
+    }
+
+    @Test(dataProvider = "strictNumbers")
+    public void testParseStrictMatchesRegexAndParse(String value) {
+        Pattern pattern = Pattern.compile("((-?\\d*\\.\\d+(E[-\\+]\\d+)?)|(-?\\d+))");
+        Number expected = value.isEmpty() || !pattern.matcher(value).matches() ? Double.NaN : MathUtils.parse(value);
+
+        Number actual = MathUtils.parseStrict(value);
+
+        assertEquals(actual, expected);
+        assertEquals(actual.getClass(), expected.getClass());
+    }
+
+    @Test
+    public void testParseStrictReturnsSharedNaN() {
+        Assert.assertSame(MathUtils.parseStrict("not a number"), MathUtils.NOT_A_NUMBER);
+    }
 }
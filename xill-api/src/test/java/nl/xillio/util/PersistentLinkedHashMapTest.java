@@ -0,0 +1,184 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.util;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+public class PersistentLinkedHashMapTest {
+
+    @Test
+    public void testInsertionOrderIsKept() {
+        PersistentLinkedHashMap<String, Integer> map = new PersistentLinkedHashMap<>();
+        map.put("c", 1);
+        map.put("a", 2);
+        map.put("b", 3);
+        map.put("a", 4);
+
+        assertEquals(new ArrayList<>(map.keySet()), list("c", "a", "b"));
+        assertEquals(new ArrayList<>(map.values()), list(1, 4, 3));
+        assertEquals(map.toString(), "{c=1, a=4, b=3}");
+    }
+
+    @Test
+    public void testEqualsLinkedHashMap() {
+        LinkedHashMap<String, Integer> expected = new LinkedHashMap<>();
+        expected.put("a", 1);
+        expected.put("b", null);
+
+        PersistentLinkedHashMap<String, Integer> actual = new PersistentLinkedHashMap<>(expected);
+
+        assertEquals(actual, expected);
+        assertEquals(expected, actual);
+        assertEquals(actual.hashCode(), expected.hashCode());
+        assertEquals(new LinkedHashMap<>(actual), expected);
+        assertTrue(actual.containsKey("b"));
+        assertNull(actual.get("b"));
+    }
+
+    @Test
+    public void testForkIsIndependent() {
+        PersistentLinkedHashMap<String, Integer> original = new PersistentLinkedHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            original.put("key" + i, i);
+        }
+
+        PersistentLinkedHashMap<String, Integer> fork = original.fork();
+        fork.put("key0", -1);
+        fork.remove("key1");
+        fork.put("new", 1000);
+        original.put("key2", -2);
+
+        assertEquals(fork.size(), 1000);
+        assertEquals((int) fork.get("key0"), -1);
+        assertFalse(fork.containsKey("key1"));
+        assertEquals((int) fork.get("key2"), 2);
+        assertEquals(original.size(), 1000);
+        assertEquals((int) original.get("key0"), 0);
+        assertEquals((int) original.get("key1"), 1);
+        assertEquals((int) original.get("key2"), -2);
+        assertFalse(original.containsKey("new"));
+    }
+
+    @Test
+    public void testCollidingHashes() {
+        // "Aa" and "BB" have the same hash code
+        PersistentLinkedHashMap<String, Integer> map = new PersistentLinkedHashMap<>();
+        map.put("Aa", 1);
+        map.put("BB", 2);
+        map.put(null, 3);
+
+        assertEquals((int) map.get("Aa"), 1);
+        assertEquals((int) map.get("BB"), 2);
+        assertEquals((int) map.get(null), 3);
+
+        map.remove("Aa");
+        assertNull(map.get("Aa"));
+        assertEquals((int) map.get("BB"), 2);
+    }
+
+    @Test
+    public void testRandomOperationsMatchLinkedHashMap() {
+        Random random = new Random(42);
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        PersistentLinkedHashMap<Integer, Integer> actual = new PersistentLinkedHashMap<>();
+        List<PersistentLinkedHashMap<Integer, Integer>> forks = new ArrayList<>();
+        List<Map<Integer, Integer>> forkContents = new ArrayList<>();
+
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000);
+            int operation = random.nextInt(100);
+            if (operation < 60) {
+                assertEquals(actual.put(key, i), expected.put(key, i));
+            } else if (operation < 95) {
+                assertEquals(actual.remove(key), expected.remove(key));
+            } else if (operation < 98) {
+                assertEquals(actual.get(key), expected.get(key));
+            } else {
+                forks.add(actual.fork());
+                forkContents.add(new LinkedHashMap<>(expected));
+            }
+        }
+
+        assertEquals(new ArrayList<>(actual.entrySet()), new ArrayList<>(expected.entrySet()));
+        for (int i = 0; i < forks.size(); i++) {
+            assertEquals(new ArrayList<>(forks.get(i).entrySet()), new ArrayList<>(forkContents.get(i).entrySet()));
+        }
+    }
+
+    @Test
+    public void testIteratorRemoveAndSetValue() {
+        PersistentLinkedHashMap<String, Integer> map = new PersistentLinkedHashMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        for (Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<String, Integer> entry = iterator.next();
+            if ("b".equals(entry.getKey())) {
+                iterator.remove();
+            } else {
+                entry.setValue(entry.getValue() * 10);
+            }
+        }
+
+        assertEquals(map.toString(), "{a=10, c=30}");
+    }
+
+    @Test(expectedExceptions = ConcurrentModificationException.class)
+    public void testIteratorIsFailFast() {
+        PersistentLinkedHashMap<String, Integer> map = new PersistentLinkedHashMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        for (String key : map.keySet()) {
+            map.put(key + key, 0);
+        }
+    }
+
+    @Test
+    public void testOnFirstChangeRunsOnceBeforeTheChange() {
+        PersistentLinkedHashMap<String, Integer> map = new PersistentLinkedHashMap<>();
+        map.put("a", 1);
+        List<String> seen = new ArrayList<>();
+        map.onFirstChange(() -> seen.add(map.toString()));
+
+        map.fork().put("b", 2);
+        map.remove("c");
+        map.put("a", 3);
+        map.remove("a");
+
+        assertEquals(seen, list("{a=1}"));
+    }
+
+    @SafeVarargs
+    private static <T> List<T> list(T... values) {
+        List<T> result = new ArrayList<>();
+        for (T value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+}
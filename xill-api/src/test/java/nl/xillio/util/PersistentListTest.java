@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.util;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class PersistentListTest {
+
+    @Test
+    public void testAddAndGetAcrossTrieLevels() {
+        PersistentList<Integer> list = new PersistentList<>();
+        for (int i = 0; i < 40000; i++) {
+            list.add(i);
+        }
+
+        assertEquals(list.size(), 40000);
+        for (int i = 0; i < 40000; i++) {
+            assertEquals((int) list.get(i), i);
+        }
+    }
+
+    @Test
+    public void testForkIsIndependent() {
+        PersistentList<Integer> original = new PersistentList<>(range(2000));
+        PersistentList<Integer> fork = original.fork();
+
+        fork.add(2000);
+        fork.set(0, -1);
+        original.set(1500, -2);
+        original.add(-3);
+
+        assertEquals(fork.size(), 2001);
+        assertEquals((int) fork.get(0), -1);
+        assertEquals((int) fork.get(1500), 1500);
+        assertEquals((int) fork.get(2000), 2000);
+        assertEquals(original.size(), 2001);
+        assertEquals((int) original.get(0), 0);
+        assertEquals((int) original.get(1500), -2);
+        assertEquals((int) original.get(2000), -3);
+    }
+
+    @Test
+    public void testCopyOfForksPersistentLists() {
+        PersistentList<Integer> original = new PersistentList<>(range(10));
+        List<Integer> copy = PersistentList.copyOf(original);
+        copy.add(10);
+
+        assertEquals(original, range(10));
+        assertEquals(copy, range(11));
+    }
+
+    @Test
+    public void testRandomOperationsMatchArrayList() {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        PersistentList<Integer> actual = new PersistentList<>();
+        List<PersistentList<Integer>> forks = new ArrayList<>();
+        List<List<Integer>> forkContents = new ArrayList<>();
+
+        for (int i = 0; i < 20000; i++) {
+            int operation = random.nextInt(100);
+            if (operation < 60 || expected.isEmpty()) {
+                expected.add(i);
+                actual.add(i);
+            } else if (operation < 75) {
+                int index = random.nextInt(expected.size());
+                assertEquals(actual.set(index, -i), expected.set(index, -i));
+            } else if (operation < 90) {
+                assertEquals(actual.remove(expected.size() - 1), expected.remove(expected.size() - 1));
+            } else if (operation < 93) {
+                int index = random.nextInt(expected.size());
+                assertEquals(actual.remove(index), expected.remove(index));
+            } else if (operation < 96) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                actual.add(index, i);
+            } else {
+                forks.add(actual.fork());
+                forkContents.add(new ArrayList<>(expected));
+            }
+        }
+
+        assertEquals(actual, expected);
+        assertEquals(actual.toArray(), expected.toArray());
+        for (int i = 0; i < forks.size(); i++) {
+            assertEquals(forks.get(i), forkContents.get(i));
+        }
+    }
+
+    @Test
+    public void testRemoveUntilEmpty() {
+        PersistentList<Integer> list = new PersistentList<>(range(1100));
+        PersistentList<Integer> fork = list.fork();
+
+        while (!list.isEmpty()) {
+            list.remove(list.size() - 1);
+        }
+        list.add(1);
+
+        assertEquals(list, Arrays.asList(1));
+        assertEquals(fork, range(1100));
+    }
+
+    @Test
+    public void testClearAndSubListClear() {
+        PersistentList<Integer> list = new PersistentList<>(range(100));
+        list.subList(10, 90).clear();
+
+        assertEquals(list.size(), 20);
+        assertEquals((int) list.get(10), 90);
+
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        new PersistentList<>(range(10)).get(10);
+    }
+
+    @Test(expectedExceptions = ConcurrentModificationException.class)
+    public void testIteratorIsFailFast() {
+        PersistentList<Integer> list = new PersistentList<>(range(10));
+        for (Iterator<Integer> iterator = list.iterator(); iterator.hasNext(); ) {
+            iterator.next();
+            list.add(0);
+        }
+    }
+
+    @Test
+    public void testOnFirstChangeRunsOnceBeforeTheChange() {
+        PersistentList<Integer> list = new PersistentList<>(range(3));
+        List<List<Integer>> seen = new ArrayList<>();
+        list.onFirstChange(() -> seen.add(new ArrayList<>(list)));
+
+        list.fork().add(3);
+        list.set(0, -1);
+        list.add(4);
+
+        assertEquals(seen, Arrays.asList(range(3)));
+    }
+
+    private static List<Integer> range(int size) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            result.add(i);
+        }
+        return result;
+    }
+}
@@ -15,15 +15,17 @@
  */
 package nl.xillio.xill.api.components;
 
+import nl.xillio.util.PersistentList;
 import nl.xillio.xill.services.json.JacksonParser;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
-import static org.testng.Assert.assertEquals;
-import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.*;
 
 /**
  * This class tests the {@link ListExpression} class.
@@ -86,6 +88,153 @@ public class ListExpressionTest {
         copy.copy();
     }
 
+    @Test
+    public void testDuplicate() {
+        List<MetaExpression> nested = new ArrayList<>();
+        nested.add(new AtomicExpression(new StringBehavior("a")));
+        List<MetaExpression> values = new ArrayList<>();
+        values.add(new AtomicExpression(new NumberBehavior(1)));
+        values.add(new ListExpression(nested));
+        ListExpression original = new ListExpression(values);
+
+        MetaExpression duplicate = original.duplicate();
+        List<MetaExpression> originalValue = original.getValue();
+        originalValue.add(new AtomicExpression(new NumberBehavior(2)));
+        originalValue.get(1).<List<MetaExpression>>getValue().add(new AtomicExpression(new StringBehavior("b")));
+
+        List<MetaExpression> duplicateValue = duplicate.getValue();
+        assertEquals(duplicateValue.size(), 2);
+        assertSame(duplicateValue.get(0), originalValue.get(0));
+        assertNotSame(duplicateValue.get(1), originalValue.get(1));
+        assertEquals(duplicateValue.get(1).getSize(), 1);
+        assertEquals(originalValue.get(1).getSize(), 2);
+    }
+
+    @Test
+    public void testDuplicateChangesDoNotAffectOriginal() {
+        List<MetaExpression> values = new ArrayList<>();
+        values.add(new AtomicExpression(new NumberBehavior(1)));
+        ListExpression original = new ListExpression(values);
+
+        MetaExpression duplicate = original.duplicate();
+        duplicate.<List<MetaExpression>>getValue().set(0, new AtomicExpression(new NumberBehavior(5)));
+
+        assertEquals(original.<List<MetaExpression>>getValue().get(0).getNumberValue().intValue(), 1);
+    }
+
+    @Test
+    public void testDuplicateKeepsCycles() {
+        List<MetaExpression> values = new ArrayList<>();
+        ListExpression original = new ListExpression(values);
+        values.add(original);
+
+        MetaExpression duplicate = original.duplicate();
+
+        assertNotSame(duplicate, original);
+        assertSame(duplicate.<List<MetaExpression>>getValue().get(0), duplicate);
+    }
+
+    @Test
+    public void testDuplicateSharesStructure() {
+        List<MetaExpression> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            values.add(new AtomicExpression(new NumberBehavior(i)));
+        }
+        ListExpression original = new ListExpression(values);
+
+        MetaExpression first = original.duplicate();
+        MetaExpression second = original.duplicate();
+
+        PersistentList<MetaExpression> originalValue = original.getValue();
+        assertTrue(originalValue.sharesStructureWith(first.getValue()));
+        assertTrue(originalValue.sharesStructureWith(second.getValue()));
+    }
+
+    @Test
+    public void testDuplicateKeepsLiveIterators() {
+        List<MetaExpression> values = new ArrayList<>();
+        values.add(new AtomicExpression(new NumberBehavior(1)));
+        values.add(new AtomicExpression(new NumberBehavior(2)));
+        ListExpression original = new ListExpression(values);
+        Iterator<MetaExpression> iterator = original.<List<MetaExpression>>getValue().iterator();
+
+        assertEquals(iterator.next().getNumberValue().intValue(), 1);
+        original.duplicate();
+
+        assertEquals(iterator.next().getNumberValue().intValue(), 2);
+        assertFalse(iterator.hasNext());
+        assertEquals(original.<List<MetaExpression>>getValue(), values);
+    }
+
+    @Test
+    public void testDuplicateDeepNesting() {
+        ListExpression original = new ListExpression(new ArrayList<>());
+        for (int i = 0; i < 100_000; i++) {
+            List<MetaExpression> values = new ArrayList<>();
+            values.add(original);
+            original = new ListExpression(values);
+        }
+
+        MetaExpression duplicate = original.duplicate();
+
+        assertNotSame(duplicate, original);
+        assertNotSame(duplicate.<List<MetaExpression>>getValue().get(0), original.<List<MetaExpression>>getValue().get(0));
+    }
+
+    @Test
+    public void testAppendKeepsSharedElementsOpen() {
+        MetaExpression first = new AtomicExpression(new NumberBehavior(1));
+        MetaExpression second = new AtomicExpression(new NumberBehavior(2));
+        List<MetaExpression> values = new ArrayList<>();
+        values.add(first);
+        ListExpression list = new ListExpression(values);
+        list.registerReference();
+
+        MetaExpression appended = ListExpression.append(list, Collections.singletonList(second));
+        appended.registerReference();
+        list.releaseReference();
+
+        assertEquals(appended.getSize(), 2);
+        first.copy();
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testAppendReleasesElementsWithTheLastList() {
+        MetaExpression first = new AtomicExpression(new NumberBehavior(1));
+        List<MetaExpression> values = new ArrayList<>();
+        values.add(first);
+        ListExpression list = new ListExpression(values);
+        list.registerReference();
+
+        MetaExpression appended = ListExpression.append(list, Collections.singletonList(new AtomicExpression(new NumberBehavior(2))));
+        appended.registerReference();
+        MetaExpression appendedTwice = ListExpression.append(appended, Collections.singletonList(new AtomicExpression(new NumberBehavior(3))));
+        appendedTwice.registerReference();
+        list.releaseReference();
+        appended.releaseReference();
+        appendedTwice.releaseReference();
+
+        first.copy();
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testChangedAppendResultReleasesReplacedElements() {
+        MetaExpression first = new AtomicExpression(new NumberBehavior(1));
+        List<MetaExpression> values = new ArrayList<>();
+        values.add(first);
+        ListExpression list = new ListExpression(values);
+        list.registerReference();
+        MetaExpression appended = ListExpression.append(list, Collections.singletonList(new AtomicExpression(new NumberBehavior(2))));
+        appended.registerReference();
+        list.releaseReference();
+
+        MetaExpression replacement = new AtomicExpression(new NumberBehavior(3));
+        replacement.registerReference();
+        appended.<List<MetaExpression>>getValue().set(0, replacement).releaseReference();
+
+        first.copy();
+    }
+
     @Test
     public void testGetSize() {
         assertEquals(expression.getSize(), 3);
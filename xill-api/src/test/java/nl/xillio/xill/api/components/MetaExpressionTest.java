@@ -27,11 +27,12 @@ import java.lang.reflect.Field;
 import java.sql.Date;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.Collection;
+import java.util.*;
 
 import static org.mockito.Mockito.*;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 
 public class MetaExpressionTest {
@@ -133,6 +134,69 @@ public class MetaExpressionTest {
         assertSame(result, copy);
     }
 
+    @Test
+    public void testParseObjectKeepsOrder() {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("name", "document");
+        document.put("values", Arrays.asList(1, 2.5, true, null, Collections.singletonMap("key", "value")));
+        document.put("empty", Collections.emptyList());
+
+        MetaExpression result = MetaExpression.parseObject(document);
+
+        Map<String, MetaExpression> object = result.getValue();
+        assertEquals(object.keySet(), document.keySet());
+        assertEquals(object.get("name").getStringValue(), "document");
+        List<MetaExpression> values = object.get("values").getValue();
+        assertEquals(values.size(), 5);
+        assertEquals(values.get(1).getNumberValue().doubleValue(), 2.5);
+        assertTrue(values.get(3).isNull());
+        assertEquals(values.get(4).<Map<String, MetaExpression>>getValue().get("key").getStringValue(), "value");
+        assertTrue(object.get("empty").<List<MetaExpression>>getValue().isEmpty());
+    }
+
+    @Test
+    public void testParseObjectKeepsSharedReferences() {
+        List<Object> shared = Collections.singletonList("shared");
+        List<Object> root = Arrays.asList(shared, shared);
+
+        MetaExpression result = MetaExpression.parseObject(root);
+
+        List<MetaExpression> values = result.getValue();
+        assertSame(values.get(0), values.get(1));
+    }
+
+    @Test
+    public void testParseObjectCircularReference() {
+        List<Object> root = new ArrayList<>();
+        root.add("value");
+        root.add(root);
+
+        MetaExpression result = MetaExpression.parseObject(root);
+
+        List<MetaExpression> values = result.getValue();
+        assertSame(values.get(1), result);
+    }
+
+    @Test
+    public void testParseObjectDeepNesting() {
+        List<Object> root = new ArrayList<>();
+        List<Object> current = root;
+        for (int i = 0; i < 100_000; i++) {
+            List<Object> child = new ArrayList<>();
+            current.add(child);
+            current = child;
+        }
+        current.add("bottom");
+
+        MetaExpression result = MetaExpression.parseObject(root);
+
+        MetaExpression node = result;
+        for (int i = 0; i <= 100_000; i++) {
+            node = node.<List<MetaExpression>>getValue().get(0);
+        }
+        assertEquals(node.getStringValue(), "bottom");
+    }
+
     /**
      * Stub implementation of MetaExpression for testing
      */
@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.api.components;
+
+import nl.xillio.xill.api.data.Date;
+import nl.xillio.xill.api.data.MetadataExpression;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
+
+/**
+ * Measures the metadata lookups on the hot paths of the platform: iterating an expression that holds an iterator,
+ * checking for the metadata a construct requires and converting an expression without a date to a java value.
+ * <p>
+ * Run this benchmark using the main method.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetadataExpressionPoolBenchmark {
+    private MetaExpression iterable;
+    private MetaExpression annotated;
+
+    @Setup
+    public void setUp() {
+        iterable = fromValue("iterable");
+        iterable.storeMeta(new MetaExpressionIterator<>(Collections.<String>emptyIterator(), ExpressionBuilderHelper::fromValue));
+
+        annotated = fromValue("annotated");
+        annotated.storeMeta(new Marker());
+        annotated.storeMeta(new OtherMarker());
+    }
+
+    @Benchmark
+    public Object iterateMeta() {
+        // The lookup done by WrappingIterator and ForeachInstruction
+        if (iterable.hasMeta(MetaExpressionIterator.class)) {
+            return iterable.getMeta(MetaExpressionIterator.class);
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Object exactMeta() {
+        // The lookup done by Construct.assertMeta
+        return annotated.getMeta(OtherMarker.class);
+    }
+
+    @Benchmark
+    public boolean missingMeta() {
+        // The date lookup done by MetaExpression.extractValue
+        return annotated.hasMeta(Date.class);
+    }
+
+    @Benchmark
+    public Object extractValue() {
+        return MetaExpression.extractValue(annotated);
+    }
+
+    private static class Marker implements MetadataExpression {
+    }
+
+    private static class OtherMarker implements MetadataExpression {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MetadataExpressionPoolBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
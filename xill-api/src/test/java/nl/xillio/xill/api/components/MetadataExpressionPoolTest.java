@@ -18,7 +18,11 @@ package nl.xillio.xill.api.components;
 import org.testng.annotations.Test;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -43,6 +47,48 @@ public class MetadataExpressionPoolTest {
         assertSame(pool.get(TestObject.class), object);
     }
 
+    @Test
+    public void testFirstStoredObjectTakesPrecedence() {
+        MetadataExpressionPool<Object> pool = new MetadataExpressionPool<>();
+        SubTestObject first = new SubTestObject();
+        TestObject second = new TestObject();
+
+        pool.put(first);
+        pool.put(second);
+
+        assertSame(pool.get(TestObject.class), first);
+        assertSame(pool.get(SubTestObject.class), first);
+        assertSame(pool.get(Serializable.class), first);
+    }
+
+    @Test
+    public void testLookupAfterPut() {
+        MetadataExpressionPool<Object> pool = new MetadataExpressionPool<>();
+        Integer number = 7;
+        String text = "text";
+        pool.put(number);
+
+        assertFalse(pool.hasValue(CharSequence.class));
+        assertSame(pool.get(Number.class), number);
+
+        pool.put(text);
+
+        assertSame(pool.get(CharSequence.class), text);
+        assertSame(pool.get(Comparable.class), number);
+    }
+
+    @Test
+    public void testLookupAfterClose() {
+        MetadataExpressionPool<Object> pool = new MetadataExpressionPool<>();
+        pool.put(new TestObject());
+        assertTrue(pool.hasValue(Serializable.class));
+
+        pool.close();
+
+        assertFalse(pool.hasValue(Serializable.class));
+        assertNull(pool.get(TestObject.class));
+    }
+
     @Test
     public void testClose() {
         MetadataExpressionPool<Object> pool = new MetadataExpressionPool<>();
@@ -75,6 +121,50 @@ public class MetadataExpressionPoolTest {
         assertFalse(iterator.hasNext());
     }
 
+    @Test
+    public void testLookupAfterRemoveThroughIterator() {
+        MetadataExpressionPool<Object> pool = new MetadataExpressionPool<>();
+        Double d = 5.0;
+        pool.put(d);
+        Integer i = 7;
+        pool.put(i);
+        assertSame(pool.get(Number.class), d);
+
+        Iterator<Object> iterator = pool.iterator();
+        iterator.next();
+        iterator.remove();
+
+        assertSame(pool.get(Number.class), i);
+        assertFalse(pool.hasValue(Double.class));
+    }
+
+    @Test
+    public void testConcurrentLookups() throws InterruptedException {
+        MetadataExpressionPool<Object> pool = new MetadataExpressionPool<>();
+        TestObject object = new SubTestObject();
+        pool.put(object);
+        List<Class<?>> types = Arrays.asList(Serializable.class, AutoCloseable.class, TestObject.class, Object.class);
+        AtomicInteger failures = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int n = 0; n < 10_000; n++) {
+                    if (pool.get((Class<Object>) types.get(n % types.size())) != object) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(failures.get(), 0);
+    }
+
     class TestObject implements Serializable, AutoCloseable {
 
         @Override
@@ -82,4 +172,7 @@ public class MetadataExpressionPoolTest {
 
         }
     }
+
+    class SubTestObject extends TestObject {
+    }
 }
@@ -15,12 +15,15 @@
  */
 package nl.xillio.xill.api.components;
 
+import nl.xillio.util.PersistentLinkedHashMap;
 import nl.xillio.xill.services.json.JacksonParser;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.testng.Assert.*;
 
@@ -73,6 +76,71 @@ public class ObjectExpressionTest {
         copy.copy();
     }
 
+    @Test
+    public void testDuplicate() {
+        LinkedHashMap<String, MetaExpression> nested = new LinkedHashMap<>();
+        nested.put("sub", new AtomicExpression("a"));
+        LinkedHashMap<String, MetaExpression> values = new LinkedHashMap<>();
+        values.put("atomic", new AtomicExpression(1));
+        values.put("nested", new ObjectExpression(nested));
+        ObjectExpression original = new ObjectExpression(values);
+
+        MetaExpression duplicate = original.duplicate();
+        Map<String, MetaExpression> originalValue = original.getValue();
+        originalValue.put("atomic", new AtomicExpression(2));
+        originalValue.get("nested").<Map<String, MetaExpression>>getValue().put("sub", new AtomicExpression("b"));
+
+        Map<String, MetaExpression> duplicateValue = duplicate.getValue();
+        assertEquals(duplicateValue.get("atomic").getNumberValue().intValue(), 1);
+        assertEquals(duplicateValue.get("nested").<Map<String, MetaExpression>>getValue().get("sub").getStringValue(), "a");
+    }
+
+    @Test
+    public void testDuplicateSharesStructure() {
+        LinkedHashMap<String, MetaExpression> values = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            values.put("field" + i, new AtomicExpression(i));
+        }
+        ObjectExpression original = new ObjectExpression(values);
+
+        MetaExpression first = original.duplicate();
+        MetaExpression second = original.duplicate();
+
+        PersistentLinkedHashMap<String, MetaExpression> originalValue = original.getValue();
+        assertTrue(originalValue.sharesStructureWith(first.getValue()));
+        assertTrue(originalValue.sharesStructureWith(second.getValue()));
+    }
+
+    @Test
+    public void testDuplicateSharesRepeatedCollections() {
+        ObjectExpression shared = new ObjectExpression(new LinkedHashMap<>());
+        LinkedHashMap<String, MetaExpression> values = new LinkedHashMap<>();
+        values.put("first", shared);
+        values.put("second", shared);
+        ObjectExpression original = new ObjectExpression(values);
+
+        Map<String, MetaExpression> duplicateValue = original.duplicate().getValue();
+
+        assertNotSame(duplicateValue.get("first"), shared);
+        assertSame(duplicateValue.get("second"), duplicateValue.get("first"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testAppendReleasesReplacedValues() {
+        MetaExpression first = new AtomicExpression(1);
+        LinkedHashMap<String, MetaExpression> values = new LinkedHashMap<>();
+        values.put("key", first);
+        ObjectExpression object = new ObjectExpression(values);
+        object.registerReference();
+
+        MetaExpression appended = ObjectExpression.append(object, Collections.singletonMap("key", new AtomicExpression(2)));
+        appended.registerReference();
+        object.releaseReference();
+
+        assertEquals(appended.<Map<String, MetaExpression>>getValue().get("key").getNumberValue().intValue(), 2);
+        first.copy();
+    }
+
     @Test
     public void testGetChildren() {
         List<Processable> children = (List<Processable>) objectExpression.getChildren();
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.api.components;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of parsed JSON documents of 1 MB and 100 MB to a {@link MetaExpression}.
+ * <p>
+ * Run this benchmark using the main method.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ParseObjectBenchmark {
+    private static final int MEGABYTE = 1024 * 1024;
+
+    @Param({"1", "100"})
+    private int sizeInMegabytes;
+
+    private Object document;
+
+    @Setup
+    public void setUp() throws IOException {
+        document = new ObjectMapper().readValue(createJson(sizeInMegabytes * MEGABYTE), Object.class);
+    }
+
+    private static String createJson(int size) {
+        StringBuilder builder = new StringBuilder(size + 256).append('[');
+        for (int i = 0; builder.length() < size; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":").append(i)
+                    .append(",\"name\":\"item ").append(i)
+                    .append("\",\"tags\":[\"a\",\"b\",\"c\"],\"location\":{\"x\":").append(i % 100)
+                    .append(",\"y\":").append(i % 7).append(".5}}");
+        }
+        return builder.append(']').toString();
+    }
+
+    @Benchmark
+    public MetaExpression parseObject() {
+        return MetaExpression.parseObject(document);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ParseObjectBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.api.components;
+
+import org.testng.annotations.Test;
+
+import java.math.BigInteger;
+
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.emptyList;
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
+import static org.testng.Assert.*;
+
+/**
+ * This class tests the {@link PrimitiveNumbers} class.
+ */
+public class PrimitiveNumbersTest {
+
+    @Test
+    public void testTypeOf() {
+        assertEquals(PrimitiveNumbers.typeOf(fromValue(1)), PrimitiveNumbers.Type.INT);
+        assertEquals(PrimitiveNumbers.typeOf(fromValue(1L)), PrimitiveNumbers.Type.LONG);
+        assertEquals(PrimitiveNumbers.typeOf(fromValue(1.0)), PrimitiveNumbers.Type.DOUBLE);
+        assertEquals(PrimitiveNumbers.typeOf(PrimitiveNumbers.valueOf(1L)), PrimitiveNumbers.Type.LONG);
+        assertEquals(PrimitiveNumbers.typeOf(fromValue(BigInteger.ONE)), PrimitiveNumbers.Type.NONE);
+        assertEquals(PrimitiveNumbers.typeOf(fromValue("1")), PrimitiveNumbers.Type.NONE);
+        assertEquals(PrimitiveNumbers.typeOf(emptyList()), PrimitiveNumbers.Type.NONE);
+    }
+
+    @Test
+    public void testBehavesLikeBoxedNumber() {
+        Number[] values = {0, -3, Integer.MAX_VALUE, 0L, Long.MIN_VALUE, 0.0, -0.0, 2.5, Double.NaN, Double.POSITIVE_INFINITY};
+
+        for (Number value : values) {
+            MetaExpression boxed = fromValue(value);
+            MetaExpression unboxed = unboxed(value);
+
+            assertEquals(unboxed.getNumberValue(), boxed.getNumberValue(), "Number value of " + value);
+            assertEquals(unboxed.getStringValue(), boxed.getStringValue(), "String value of " + value);
+            assertEquals(unboxed.getBooleanValue(), boxed.getBooleanValue(), "Boolean value of " + value);
+            assertEquals((Object) MetaExpression.extractValue(unboxed), (Object) MetaExpression.extractValue(boxed));
+            assertTrue(unboxed.valueEquals(boxed));
+        }
+    }
+
+    @Test
+    public void testSmallIntegersAreCached() {
+        assertSame(PrimitiveNumbers.valueOf(100), PrimitiveNumbers.valueOf(100));
+        assertNotSame(PrimitiveNumbers.valueOf(100_000), PrimitiveNumbers.valueOf(100_000));
+    }
+
+    @Test
+    public void testCachedIntegersCannotBeClosed() {
+        MetaExpression cached = PrimitiveNumbers.valueOf(5);
+        cached.registerReference();
+        cached.releaseReference();
+
+        assertEquals(PrimitiveNumbers.valueOf(5).getNumberValue(), 5);
+    }
+
+    private static MetaExpression unboxed(Number value) {
+        if (value instanceof Integer) {
+            return PrimitiveNumbers.valueOf(value.intValue());
+        }
+        if (value instanceof Long) {
+            return PrimitiveNumbers.valueOf(value.longValue());
+        }
+        return PrimitiveNumbers.valueOf(value.doubleValue());
+    }
+}
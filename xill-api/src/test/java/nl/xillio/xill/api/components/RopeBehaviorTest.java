@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.api.components;
+
+import org.apache.commons.lang3.StringUtils;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.emptyList;
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromConcatenation;
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
+import static org.testng.Assert.*;
+
+/**
+ * This class tests the {@link RopeBehavior} class.
+ */
+public class RopeBehaviorTest {
+
+    @Test
+    public void testShortConcatenationIsBuiltRightAway() {
+        MetaExpression result = fromConcatenation(Arrays.asList(fromValue("a"), fromValue(1), emptyList()));
+
+        assertEquals(result.getStringValue(), "a1[]");
+        assertFalse(result.getValue() instanceof RopeBehavior);
+    }
+
+    @Test
+    public void testLongConcatenationIsARope() {
+        String line = StringUtils.repeat('x', RopeBehavior.MIN_LENGTH);
+        MetaExpression result = fromConcatenation(Arrays.asList(fromValue(line), fromValue("y")));
+
+        assertTrue(result.getValue() instanceof RopeBehavior);
+        assertEquals(result.getStringValue(), line + "y");
+    }
+
+    @Test
+    public void testConcatenationInALoop() throws IOException {
+        StringBuilder expected = new StringBuilder();
+        MetaExpression text = fromValue("");
+        for (int i = 0; i < 100000; i++) {
+            text = fromConcatenation(Arrays.asList(text, fromValue(i), fromValue("\n")));
+            expected.append(i).append('\n');
+        }
+
+        StringWriter writer = new StringWriter();
+        text.writeStringValue(writer);
+
+        assertEquals(writer.toString(), expected.toString());
+        assertEquals(text.getStringValue(), expected.toString());
+    }
+
+    @Test
+    public void testReadingInALoopKeepsTheRopeShallow() {
+        String line = StringUtils.repeat('x', RopeBehavior.MIN_LENGTH);
+        MetaExpression text = fromValue(line);
+        for (int i = 0; i < 200; i++) {
+            text = fromConcatenation(Arrays.asList(text, fromValue(line)));
+            assertEquals(text.getStringValue().length(), (i + 2) * line.length());
+        }
+        text = fromConcatenation(Arrays.asList(text, fromValue(line)));
+
+        assertEquals(((RopeBehavior) text.getValue()).depth(), 1);
+    }
+
+    @Test
+    public void testValuesMatchStringBehavior() {
+        String digits = StringUtils.repeat('1', RopeBehavior.MIN_LENGTH);
+        MetaExpression rope = fromConcatenation(Arrays.asList(fromValue(digits), fromValue(".5")));
+        MetaExpression string = fromValue(digits + ".5");
+
+        assertEquals(rope.getNumberValue(), string.getNumberValue());
+        assertTrue(rope.getBooleanValue());
+        assertTrue(rope.valueEquals(string));
+        assertEquals((Object) MetaExpression.extractValue(rope), (Object) (digits + ".5"));
+    }
+
+    @Test
+    public void testCopySharesTheRope() {
+        String line = StringUtils.repeat('x', RopeBehavior.MIN_LENGTH);
+        MetaExpression rope = fromConcatenation(Arrays.asList(fromValue(line), fromValue(line)));
+
+        MetaExpression copy = rope.copy();
+
+        assertTrue(copy.getValue() instanceof RopeBehavior);
+        assertEquals(copy.getStringValue(), line + line);
+    }
+
+    @Test
+    public void testWriteStringValueOfPlainString() throws IOException {
+        StringWriter writer = new StringWriter();
+
+        fromValue("plain").writeStringValue(writer);
+
+        assertEquals(writer.toString(), "plain");
+    }
+}
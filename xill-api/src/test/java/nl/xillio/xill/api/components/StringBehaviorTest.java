@@ -19,6 +19,7 @@ import org.testng.annotations.Test;
 
 import static java.lang.Double.NaN;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -71,4 +72,12 @@ public class StringBehaviorTest {
             assertTrue(stringBehaviors[i] != copy); // different objects
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCopySharesParsedNumber() {
+        StringBehavior behavior = new StringBehavior("123456789012345678901234567890");
+        Number number = behavior.getNumberValue();
+
+        assertSame(behavior.copy().getNumberValue(), number);
+    }
+}
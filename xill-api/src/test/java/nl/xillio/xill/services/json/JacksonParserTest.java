@@ -18,9 +18,11 @@ package nl.xillio.xill.services.json;
 import nl.xillio.xill.api.components.MetaExpression;
 import org.testng.annotations.Test;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 
 import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
 import static org.testng.Assert.*;
@@ -54,4 +56,147 @@ public class JacksonParserTest {
         JsonParser parser = new JacksonParser(false);
         parser.toJson(list);
     }
+
+    @Test
+    public void testParseGivesSameResultAsFromJson() throws JsonException {
+        String json = "{\"a\":[1,2.5,\"three\",true,null],\"b\":{\"c\":{},\"d\":[]},\"e\":false}";
+        JsonParser parser = new JacksonParser(false);
+
+        MetaExpression streamed = parser.parse(new StringReader(json));
+        MetaExpression converted = MetaExpression.parseObject(parser.fromJson(json, Object.class));
+
+        assertEquals(MetaExpression.extractValue(streamed), MetaExpression.extractValue(converted));
+    }
+
+    @Test
+    public void testParseKeepsNumberTypes() throws JsonException {
+        JsonParser parser = new JacksonParser(false);
+
+        List<?> result = (List<?>) MetaExpression.extractValue(parser.parse(new StringReader("[42, 10000000000, 1.5]")));
+
+        assertTrue(result.get(0) instanceof Integer);
+        assertTrue(result.get(1) instanceof Long);
+        assertTrue(result.get(2) instanceof Double);
+    }
+
+    @Test
+    public void testParseInputStream() throws JsonException {
+        JsonParser parser = new JacksonParser(false);
+        byte[] json = "{\"name\":\"\u00e9t\u00e9\"}".getBytes(StandardCharsets.UTF_8);
+
+        Map<?, ?> result = (Map<?, ?>) MetaExpression.extractValue(parser.parse(new ByteArrayInputStream(json)));
+
+        assertEquals(result.get("name"), "\u00e9t\u00e9");
+    }
+
+    @Test
+    public void testParseDeepNesting() throws JsonException {
+        int depth = 100_000;
+        StringBuilder json = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            json.append('[');
+        }
+        for (int i = 0; i < depth; i++) {
+            json.append(']');
+        }
+
+        MetaExpression result = new JacksonParser(false).parse(new StringReader(json.toString()));
+
+        assertEquals(result.<List<MetaExpression>>getValue().size(), 1);
+    }
+
+    @Test(expectedExceptions = JsonException.class)
+    public void testParseInvalid() throws JsonException {
+        new JacksonParser(false).parse(new StringReader("[1, 2"));
+    }
+
+    @Test(expectedExceptions = JsonException.class)
+    public void testParseEmpty() throws JsonException {
+        new JacksonParser(false).parse(new StringReader(""));
+    }
+
+    @Test
+    public void testIterateTopLevelArray() throws JsonException {
+        Iterator<MetaExpression> iterator = new JacksonParser(false).iterate(stream("[1, {\"a\": [2]}, null]"), "");
+
+        List<Object> result = new ArrayList<>();
+        iterator.forEachRemaining(value -> result.add(MetaExpression.extractValue(value)));
+
+        assertEquals(result, Arrays.asList(1, Collections.singletonMap("a", Collections.singletonList(2)), null));
+    }
+
+    @Test
+    public void testIteratePath() throws JsonException {
+        String json = "{\"skip\": {\"items\": [0]}, \"data\": [\"x\", {\"items\": [1, 2]}]}";
+        Iterator<MetaExpression> iterator = new JacksonParser(false).iterate(stream(json), "/data/1/items");
+
+        List<Object> result = new ArrayList<>();
+        iterator.forEachRemaining(value -> result.add(MetaExpression.extractValue(value)));
+
+        assertEquals(result, Arrays.asList(1, 2));
+    }
+
+    @Test
+    public void testIterateIsLazy() throws JsonException {
+        Iterator<MetaExpression> iterator = new JacksonParser(false).iterate(stream("[1, 2, invalid"), "");
+
+        assertEquals(iterator.next().getNumberValue().intValue(), 1);
+        assertEquals(iterator.next().getNumberValue().intValue(), 2);
+    }
+
+    @Test(expectedExceptions = JsonException.class, expectedExceptionsMessageRegExp = ".*does not exist.*")
+    public void testIterateMissingPath() throws JsonException {
+        new JacksonParser(false).iterate(stream("{\"a\": []}"), "/b");
+    }
+
+    @Test(expectedExceptions = JsonException.class, expectedExceptionsMessageRegExp = ".*not point to an array.*")
+    public void testIterateNotAnArray() throws JsonException {
+        new JacksonParser(false).iterate(stream("{\"a\": {}}"), "/a");
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testToJsonGivesSameResultAsObjectMapper() throws JsonException {
+        MetaExpression value = MetaExpression.parseObject(new JacksonParser(false).fromJson(
+                "{\"a\":[1,2.5,\"three\",true,null],\"b\":{\"c\":{},\"d\":[]},\"e\":10000000000}", Object.class));
+
+        for (boolean pretty : new boolean[]{false, true}) {
+            JsonParser parser = new JacksonParser(pretty);
+            assertEquals(parser.toJson(value), parser.toJson((Object) MetaExpression.extractValue(value)));
+        }
+    }
+
+    @Test
+    public void testToJsonOutputStream() throws JsonException {
+        MetaExpression value = fromValue(Collections.singletonList(fromValue("\u00e9t\u00e9")));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        new JacksonParser(false).toJson(value, outputStream);
+
+        assertEquals(new String(outputStream.toByteArray(), StandardCharsets.UTF_8), "[\"\u00e9t\u00e9\"]");
+    }
+
+    @Test
+    public void testToJsonSharedReference() throws JsonException {
+        MetaExpression shared = fromValue(Collections.singletonList(fromValue(1)));
+        MetaExpression value = fromValue(Arrays.asList(shared, shared));
+
+        assertEquals(new JacksonParser(false).toJson(value), "[[1],[1]]");
+    }
+
+    @Test
+    public void testToJsonDeepNesting() throws JsonException {
+        int depth = 100_000;
+        MetaExpression value = fromValue(new ArrayList<>());
+        for (int i = 1; i < depth; i++) {
+            value = fromValue(Collections.singletonList(value));
+        }
+
+        String json = new JacksonParser(false).toJson(value);
+
+        assertEquals(json.length(), depth * 2);
+    }
 }
@@ -15,6 +15,7 @@
  */
 package nl.xillio.xill.cli;
 
+import nl.xillio.xill.api.ExecutionMode;
 import nl.xillio.xill.api.Issue;
 import nl.xillio.xill.api.XillEnvironment;
 import nl.xillio.xill.api.XillProcessor;
@@ -37,6 +38,8 @@ import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
 /**
  * This class is responsible for the execution of Xill robots.
  * It uses a {@link XillEnvironment} to build a {@link XillProcessor} to run a robot.
+ * Robots are executed in {@link ExecutionMode#PRODUCTION production mode} because they cannot be debugged from the
+ * command line.
  *
  * @author Thomas Biesaart
  */
@@ -138,6 +141,7 @@ public class XillRobotExecutor {
             return xillEnvironment.buildProcessor(
                     projectRoot,
                     robotName,
+                    ExecutionMode.PRODUCTION,
                     includePaths
             );
         } catch (IOException e) {
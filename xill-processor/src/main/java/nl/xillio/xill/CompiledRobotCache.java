@@ -0,0 +1,335 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill;
+
+import me.biesaart.utils.Log;
+import nl.xillio.plugins.XillPlugin;
+import nl.xillio.xill.api.Issue;
+import nl.xillio.xill.api.components.RobotID;
+import nl.xillio.xill.api.errors.XillParsingException;
+import nl.xillio.xill.loaders.AbstractRobotLoader;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class holds the parsed and validated form of robots so they do not have to be parsed again every time
+ * they are called using callbot or runBulk.
+ * <p>
+ * Entries are keyed by the robot, the robot loader and the set of plugins. An entry is only handed out if every source
+ * it was parsed from (the robot itself and all included libraries) is unchanged. Sources are compared by size and
+ * modification time first and are only hashed when those differ or are too recent to be trusted. The state of a source
+ * is always taken before it is parsed, so a robot that is saved while it is being parsed is parsed again on next use.
+ * Every lookup results in a fresh {@link nl.xillio.xill.api.components.Robot} so the cached form can be used by
+ * multiple threads at the same time.
+ */
+public class CompiledRobotCache {
+    private static final Logger LOGGER = Log.get();
+    private static final int DEFAULT_MAX_SIZE = 256;
+    /**
+     * A source that was modified this close to the moment it was hashed could have been changed again within the
+     * resolution of the file system clock, so its modification time is not trusted.
+     */
+    static final long MODIFICATION_TIME_RESOLUTION = 2000;
+    private static final CompiledRobotCache INSTANCE = new CompiledRobotCache(
+            Integer.getInteger("xill.robotCache.maxSize", DEFAULT_MAX_SIZE)
+    );
+
+    private final Map<Key, ParsedRobot> cache;
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxSize the maximum number of robots to keep, the least recently used robot is evicted first
+     */
+    public CompiledRobotCache(int maxSize) {
+        cache = Collections.synchronizedMap(new LinkedHashMap<Key, ParsedRobot>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ParsedRobot> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * @return the process-wide cache
+     */
+    public static CompiledRobotCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the parsed form of a robot. If no valid entry exists the parser is used to create one.
+     *
+     * @param robotID the robot
+     * @param loader  the loader used to resolve the robot and its libraries
+     * @param plugins the plugins the robot is compiled against
+     * @param parser  the parser that is invoked on a cache miss
+     * @return the parsed robot
+     * @throws XillParsingException if parsing the robot failed
+     */
+    ParsedRobot get(RobotID robotID, AbstractRobotLoader loader, List<XillPlugin> plugins, Parser parser) throws XillParsingException {
+        Key key = new Key(robotID, loader, plugins);
+        ParsedRobot cached = cache.get(key);
+
+        if (cached != null && cached.isUpToDate()) {
+            return cached;
+        }
+
+        // The state of the sources is taken before parsing, so a change during parsing outdates the entry
+        Map<URL, SourceState> sources = new HashMap<>();
+        sources.put(robotID.getURL(), snapshot(robotID.getURL()));
+        if (cached != null) {
+            cached.sources.keySet().forEach(url -> sources.computeIfAbsent(url, CompiledRobotCache::snapshot));
+        }
+
+        LOGGER.debug("Parsing {}", robotID);
+        ParsedRobot parsed = parser.parse();
+        parsed.setSources(sources);
+        cache.put(key, parsed);
+        return parsed;
+    }
+
+    /**
+     * Remove all entries for a robot.
+     *
+     * @param robotID the robot
+     */
+    public void invalidate(RobotID robotID) {
+        synchronized (cache) {
+            cache.keySet().removeIf(key -> key.robotID.equals(robotID));
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * @return the number of cached robots
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Compute the content hash of a robot source.
+     *
+     * @param url the source
+     * @return the hash or null if the source could not be read
+     */
+    static String hash(URL url) {
+        try (InputStream stream = url.openStream()) {
+            return DigestUtils.sha256Hex(stream);
+        } catch (IOException e) {
+            LOGGER.debug("Could not read " + url, e);
+            return null;
+        }
+    }
+
+    /**
+     * Read the size, modification time and content hash of a robot source. The source is read after its size and
+     * modification time, so a change in between is detected by the next check.
+     *
+     * @param url the source
+     * @return the state of the source
+     */
+    static SourceState snapshot(URL url) {
+        SourceState state = stat(url);
+        return state.withHash(hash(url));
+    }
+
+    /**
+     * Read the size and modification time of a robot source without reading its content.
+     *
+     * @param url the source
+     * @return the state of the source, without a hash
+     */
+    static SourceState stat(URL url) {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                File file = new File(url.toURI());
+                return new SourceState(file.length(), file.lastModified(), null, System.currentTimeMillis());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                LOGGER.debug("Could not resolve " + url, e);
+            }
+        }
+
+        try {
+            URLConnection connection = url.openConnection();
+            SourceState state = new SourceState(connection.getContentLengthLong(), connection.getLastModified(), null, System.currentTimeMillis());
+            // Opening the connection may have opened the stream as well
+            connection.getInputStream().close();
+            return state;
+        } catch (IOException e) {
+            LOGGER.debug("Could not read " + url, e);
+            return new SourceState(-1, 0, null, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * This interface represents the parse step that is executed on a cache miss.
+     */
+    @FunctionalInterface
+    interface Parser {
+        ParsedRobot parse() throws XillParsingException;
+    }
+
+    /**
+     * The parsed and validated form of a robot and all of its libraries.
+     */
+    static class ParsedRobot {
+        private final xill.lang.xill.Robot mainToken;
+        private final Map<xill.lang.xill.Robot, RobotID> tokens;
+        private final List<Issue> issues;
+        private final Map<URL, SourceState> sources = new ConcurrentHashMap<>();
+
+        /**
+         * Create a new parsed robot.
+         *
+         * @param mainToken the token of the robot that was compiled
+         * @param tokens    the tokens of all robots in the resource set, in parse order
+         * @param issues    the issues found during validation
+         */
+        ParsedRobot(xill.lang.xill.Robot mainToken, Map<xill.lang.xill.Robot, RobotID> tokens, List<Issue> issues) {
+            this.mainToken = mainToken;
+            this.tokens = tokens;
+            this.issues = Collections.unmodifiableList(new ArrayList<>(issues));
+        }
+
+        /**
+         * Record the state the sources of this robot had before it was parsed. Sources that were first found while
+         * parsing, such as new libraries, have no known state and make the next check parse the robot again.
+         *
+         * @param before the state of the sources, taken before parsing
+         */
+        void setSources(Map<URL, SourceState> before) {
+            for (RobotID id : tokens.values()) {
+                SourceState state = before.get(id.getURL());
+                sources.put(id.getURL(), state == null ? stat(id.getURL()) : state);
+            }
+        }
+
+        xill.lang.xill.Robot getMainToken() {
+            return mainToken;
+        }
+
+        Map<xill.lang.xill.Robot, RobotID> getTokens() {
+            return tokens;
+        }
+
+        List<Issue> getIssues() {
+            return issues;
+        }
+
+        /**
+         * Check if none of the sources changed since this robot was parsed.
+         *
+         * @return true if this robot can be reused
+         */
+        boolean isUpToDate() {
+            for (Map.Entry<URL, SourceState> source : sources.entrySet()) {
+                SourceState previous = source.getValue();
+                SourceState current = stat(source.getKey());
+                if (previous.isSameAs(current)) {
+                    continue;
+                }
+
+                // The source was touched, only its content can tell if it changed
+                String hash = hash(source.getKey());
+                if (hash == null || !hash.equals(previous.hash)) {
+                    return false;
+                }
+                source.setValue(current.withHash(hash));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The size, modification time and content hash of a robot source at the moment it was checked.
+     */
+    static class SourceState {
+        private final long size;
+        private final long lastModified;
+        private final String hash;
+        private final long checkedAt;
+
+        SourceState(long size, long lastModified, String hash, long checkedAt) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.checkedAt = checkedAt;
+        }
+
+        SourceState withHash(String hash) {
+            return new SourceState(size, lastModified, hash, checkedAt);
+        }
+
+        /**
+         * Check if a source has certainly not changed since this state was taken, without reading its content.
+         *
+         * @param current the current state of the source
+         * @return true if the size and modification time are known, unchanged and old enough to be trusted
+         */
+        boolean isSameAs(SourceState current) {
+            return hash != null &&
+                    size >= 0 &&
+                    lastModified > 0 &&
+                    size == current.size &&
+                    lastModified == current.lastModified &&
+                    lastModified + MODIFICATION_TIME_RESOLUTION < checkedAt;
+        }
+    }
+
+    private static class Key {
+        private final RobotID robotID;
+        private final AbstractRobotLoader loader;
+        private final List<XillPlugin> plugins;
+
+        Key(RobotID robotID, AbstractRobotLoader loader, List<XillPlugin> plugins) {
+            this.robotID = robotID;
+            this.loader = loader;
+            this.plugins = new ArrayList<>(plugins);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(robotID, key.robotID) &&
+                    loader == key.loader &&
+                    Objects.equals(plugins, key.plugins);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(robotID, System.identityHashCode(loader), plugins);
+        }
+    }
+}
@@ -23,10 +23,12 @@ import nl.xillio.plugins.PluginLoadFailure;
 import nl.xillio.plugins.XillPlugin;
 import nl.xillio.util.XillioHomeFolder;
 import nl.xillio.xill.api.Debugger;
+import nl.xillio.xill.api.ExecutionMode;
 import nl.xillio.xill.api.XillEnvironment;
 import nl.xillio.xill.api.XillProcessor;
 import nl.xillio.xill.api.XillThreadFactory;
 import nl.xillio.xill.api.components.RobotID;
+import nl.xillio.xill.debugging.ProductionDebugger;
 import nl.xillio.xill.debugging.XillDebugger;
 import nl.xillio.xill.loaders.AbstractRobotLoader;
 import nl.xillio.xill.loaders.DirectoryRobotLoader;
@@ -129,6 +131,20 @@ public class XillEnvironmentImpl implements XillEnvironment {
         return buildProcessor(workingDirectory, robotId, new XillDebugger(), robotPath);
     }
 
+    @Override
+    public XillProcessor buildProcessor(Path workingDirectory, String robot, ExecutionMode executionMode, Path... robotPath) throws IOException {
+        return buildProcessor(workingDirectory, robot, createDebugger(executionMode), robotPath);
+    }
+
+    @Override
+    public XillProcessor buildProcessor(Path workingDirectory, RobotID robotId, ExecutionMode executionMode, Path... robotPath) throws IOException {
+        return buildProcessor(workingDirectory, robotId, createDebugger(executionMode), robotPath);
+    }
+
+    private Debugger createDebugger(ExecutionMode executionMode) {
+        return executionMode == ExecutionMode.PRODUCTION ? new ProductionDebugger() : new XillDebugger();
+    }
+
     @Override
     public XillProcessor buildProcessor(Path workingDirectory, RobotID robotID, Debugger debugger, Path... robotPath) throws IOException {
         return buildProcessor(
@@ -33,8 +33,10 @@ import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.resource.IResourceFactory;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.validation.CheckMode;
 import org.eclipse.xtext.validation.IResourceValidator;
@@ -62,15 +64,19 @@ import java.util.stream.Collectors;
 public class XillProcessor implements nl.xillio.xill.api.XillProcessor {
     private static final Logger LOGGER = Log.get();
 
-    // Calls to XText are not thread-safe, use this object to synchronize them
-    private static final Object XTEXT_LOCK = new Object();
+    // The language is registered in the global EMF registries only once, after that they are only read
+    private static final Object SETUP_LOCK = new Object();
+    private static boolean emfRegistered;
+
+    // Every processor has its own resource set and validator so calls to XText only have to be synchronized per processor
+    private final Object xtextLock = new Object();
 
     /**
      * The supported file extension
      */
-    private final XillResourceSet resourceSet;
+    private XillResourceSet resourceSet;
 
-    private final IResourceValidator validator;
+    private IResourceValidator validator;
     private final RobotID robotID;
     private final Path workingDirectory;
     private final AbstractRobotLoader robotLoader;
@@ -79,6 +85,7 @@ public class XillProcessor implements nl.xillio.xill.api.XillProcessor {
     private final Map<Construct, String> argumentSignatures = new HashMap<>();
     private Robot robot;
     private OutputHandler outputHandler = new DefaultOutputHandler();
+    private CompiledRobotCache robotCache;
 
     /**
      * Create a new processor that can run a file.
@@ -97,11 +104,55 @@ public class XillProcessor implements nl.xillio.xill.api.XillProcessor {
         this.robotID = robotID;
         this.plugins = plugins;
         this.debugger = debugger;
-        Injector injector = new XillStandaloneSetup(robotLoader).createInjectorAndDoEMFRegistration();
+    }
+
+    /**
+     * Create the Xtext resource set and validator. This is postponed until they are needed because a processor
+     * that compiles from a {@link CompiledRobotCache} does not need them when the robot is cached.
+     */
+    private void initializeXtext() {
+        synchronized (xtextLock) {
+            if (resourceSet != null) {
+                return;
+            }
+
+            Injector injector = createInjector(robotLoader);
+
+            // obtain a resource set
+            validator = injector.getInstance(IResourceValidator.class);
+            resourceSet = injector.getInstance(XillResourceSet.class);
+
+            // Resources in this set are created by this processor's injector, not by the one that was registered globally
+            resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap()
+                    .put(Xill.FILE_EXTENSION, injector.getInstance(IResourceFactory.class));
+        }
+    }
 
-        // obtain a resource set
-        validator = injector.getInstance(IResourceValidator.class);
-        resourceSet = injector.getInstance(XillResourceSet.class);
+    /**
+     * Create an injector for a robot loader. The first call also registers the language in the global EMF registries.
+     * Later calls do not touch those registries, so other processors can read them while this one is set up.
+     *
+     * @param robotLoader the robot loader
+     * @return the injector
+     */
+    private static Injector createInjector(final AbstractRobotLoader robotLoader) {
+        synchronized (SETUP_LOCK) {
+            if (!emfRegistered) {
+                emfRegistered = true;
+                return new XillStandaloneSetup(robotLoader).createInjectorAndDoEMFRegistration();
+            }
+        }
+        return new XillStandaloneSetup(robotLoader).createInjector();
+    }
+
+    /**
+     * Compile robots using a cache of parsed robots. Robots compiled by this processor will be parsed only if
+     * no up-to-date version is available in the cache.
+     *
+     * @param robotCache the cache or null to always parse
+     */
+    public void setRobotCache(final CompiledRobotCache robotCache) {
+        this.robotCache = robotCache;
     }
 
     @Override
@@ -123,7 +174,12 @@ public class XillProcessor implements nl.xillio.xill.api.XillProcessor {
     }
 
     private List<Issue> compile(final RobotID robotID, RobotID rootRobot) throws XillParsingException {
-        Resource resource = findResource(robotID);
+        CompiledRobotCache.ParsedRobot parsedRobot;
+        if (robotCache == null) {
+            parsedRobot = parse(robotID);
+        } else {
+            parsedRobot = robotCache.get(robotID, robotLoader, plugins, () -> parse(robotID));
+        }
 
         if (rootRobot == null) {
             rootRobot = robotID;
@@ -131,6 +187,27 @@ public class XillProcessor implements nl.xillio.xill.api.XillProcessor {
 
         LanguageFactory<xill.lang.xill.Robot> factory = new XillProgramFactory(workingDirectory, plugins, getDebugger(), rootRobot, outputHandler, robotLoader);
 
+        // Parse all resources
+        for (Map.Entry<xill.lang.xill.Robot, RobotID> token : parsedRobot.getTokens().entrySet()) {
+            factory.parse(token.getKey(), token.getValue());
+        }
+
+        factory.compile();
+
+        robot = factory.getRobot(parsedRobot.getMainToken());
+        return new ArrayList<>(parsedRobot.getIssues());
+
+    }
+
+    /**
+     * Load and validate a robot and all of its libraries.
+     *
+     * @param robotID the robot
+     * @return the parsed robot
+     * @throws XillParsingException if the robot contains errors
+     */
+    private CompiledRobotCache.ParsedRobot parse(final RobotID robotID) throws XillParsingException {
+        Resource resource = findResource(robotID);
 
         List<Issue> issues = validateAllResources();
 
@@ -142,23 +219,20 @@ public class XillProcessor implements nl.xillio.xill.api.XillProcessor {
         }
 
         xill.lang.xill.Robot mainRobotToken = null;
-
-        // Parse all resources
+        Map<xill.lang.xill.Robot, RobotID> tokens = new LinkedHashMap<>();
 
         EList<Resource> resources;
-        synchronized (XTEXT_LOCK) {
+        synchronized (xtextLock) {
             resources = resourceSet.getResources();
+
+            // Resolve all references now so the model is no longer modified when it is read by other threads
+            EcoreUtil.resolveAll(resourceSet);
         }
 
         for (Resource currentResource : resources) {
             for (EObject rootToken : currentResource.getContents()) {
                 if (rootToken instanceof xill.lang.xill.Robot) {
-
-                    // Parse
-                    factory.parse(
-                            (xill.lang.xill.Robot) rootToken,
-                            toRobotID(currentResource)
-                    );
+                    tokens.put((xill.lang.xill.Robot) rootToken, toRobotID(currentResource));
 
                     // Check if is main robot token
                     if (rootToken.eResource() == resource) {
@@ -168,11 +242,7 @@ public class XillProcessor implements nl.xillio.xill.api.XillProcessor {
             }
         }
 
-        factory.compile();
-
-        robot = factory.getRobot(mainRobotToken);
-        return issues;
-
+        return new CompiledRobotCache.ParsedRobot(mainRobotToken, tokens, issues);
     }
 
     private URL toURL(URI uri) {
@@ -200,14 +270,15 @@ public class XillProcessor implements nl.xillio.xill.api.XillProcessor {
 
     private RobotID toRobotID(Resource resource) {
         String resourceUri;
-        synchronized (XTEXT_LOCK) {
+        synchronized (xtextLock) {
             resourceUri = resourceSet.getInternalResourcePath(resource.getURI());
         }
         return new RobotID(toURL(resource.getURI()), resourceUri);
     }
 
     private Resource findResource(RobotID robotID) {
-        synchronized (XTEXT_LOCK) {
+        initializeXtext();
+        synchronized (xtextLock) {
             return resourceSet.getResource(robotID.getResourcePath());
         }
     }
@@ -255,7 +326,7 @@ public class XillProcessor implements nl.xillio.xill.api.XillProcessor {
     private List<Issue> doValidate(final Resource resource, final RobotID robotID) {
         // Validate
         List<org.eclipse.xtext.validation.Issue> rawIssues;
-        synchronized (XTEXT_LOCK) {
+        synchronized (xtextLock) {
             rawIssues = validator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl);
         }
 
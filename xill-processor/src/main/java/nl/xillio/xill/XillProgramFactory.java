@@ -78,9 +78,18 @@ import java.util.function.Function;
  * program tree
  */
 public class XillProgramFactory implements LanguageFactory<xill.lang.xill.Robot> {
+    /**
+     * Set the system property xill.compiler.constantFolding to false to disable constant folding.
+     */
+    private static final boolean CONSTANT_FOLDING = Boolean.parseBoolean(System.getProperty("xill.compiler.constantFolding", "true"));
+
     private final DynamicInvoker<EObject> expressionParseInvoker = new DynamicInvoker<>("parseToken", this);
     private final Map<xill.lang.xill.Target, VariableDeclaration> variables = new HashMap<>();
     private final Map<xill.lang.xill.FunctionDeclaration, FunctionDeclaration> functions = new HashMap<>();
+    /**
+     * The scopes that are being parsed. The innermost scope is on top.
+     */
+    private final Deque<VariableScope> scopes = new ArrayDeque<>();
     /**
      * Because functions don't have to be declared before the calls the
      * declaration might not exist while parsing the call. To fix this we will
@@ -97,6 +106,8 @@ public class XillProgramFactory implements LanguageFactory<xill.lang.xill.Robot>
     private final RobotID rootRobot;
     private final Map<EObject, Map.Entry<RobotID, Robot>> compiledRobots = new HashMap<>();
     private final AbstractRobotLoader robotLoader;
+    private final ConstantFolder constantFolder = new ConstantFolder();
+    private boolean constantFolding = CONSTANT_FOLDING;
 
     /**
      * Events for signalling that a robot has started and that a robot has stopped
@@ -142,6 +153,15 @@ public class XillProgramFactory implements LanguageFactory<xill.lang.xill.Robot>
         this.outputHandler = outputHandler;
     }
 
+    /**
+     * Enable or disable folding operations on literals into a single literal at compile time.
+     *
+     * @param constantFolding true to fold constant expressions
+     */
+    public void setConstantFolding(boolean constantFolding) {
+        this.constantFolding = constantFolding;
+    }
+
     @Override
     public void parse(final xill.lang.xill.Robot robot, final RobotID robotID) throws XillParsingException {
         this.robotID.put(robot.eResource(), robotID);
@@ -172,8 +192,13 @@ public class XillProgramFactory implements LanguageFactory<xill.lang.xill.Robot>
         nl.xillio.xill.components.Robot instructionRobot = new nl.xillio.xill.components.Robot(robotID, debugger, robotStartedEvent, robotStoppedEvent, compilerSerialId);
         compiledRobots.put(robot, new SimpleEntry<>(robotID, instructionRobot));
 
-        for (xill.lang.xill.Instruction instruction : robot.getInstructionSet().getInstructions()) {
-            instructionRobot.add(parse(instruction));
+        scopes.push(new VariableScope());
+        try {
+            for (xill.lang.xill.Instruction instruction : robot.getInstructionSet().getInstructions()) {
+                instructionRobot.add(parse(instruction));
+            }
+        } finally {
+            scopes.pop();
         }
 
         debugger.addDebugInfo(info);
@@ -246,7 +271,8 @@ public class XillProgramFactory implements LanguageFactory<xill.lang.xill.Robot>
         }
 
         try {
-            return expressionParseInvoker.invoke(token, Processable.class);
+            Processable expression = expressionParseInvoker.invoke(token, Processable.class);
+            return constantFolding ? constantFolder.fold(expression) : expression;
         } catch (InvocationTargetException | IllegalArgumentException e) {
             Throwable root = ExceptionUtils.getRootCause(e);
 
@@ -362,7 +388,7 @@ public class XillProgramFactory implements LanguageFactory<xill.lang.xill.Robot>
         Target cause = token.getCause();
         VariableDeclaration causeVar = null;
         if (cause != null) {
-            causeVar = VariableDeclaration.nullDeclaration(pos(token.getErrorBlock()), cause.getName());
+            causeVar = declare(VariableDeclaration.nullDeclaration(pos(token.getErrorBlock()), cause.getName()));
             variables.put(cause, causeVar);
         }
 
@@ -382,11 +408,11 @@ public class XillProgramFactory implements LanguageFactory<xill.lang.xill.Robot>
      * @throws XillParsingException
      */
     ForeachInstruction parseToken(final xill.lang.xill.ForEachInstruction token) throws XillParsingException {
-        VariableDeclaration valueDec = VariableDeclaration.nullDeclaration(pos(token), token.getValueVar().getName());
+        VariableDeclaration valueDec = declare(VariableDeclaration.nullDeclaration(pos(token), token.getValueVar().getName()));
         variables.put(token.getValueVar(), valueDec);
 
         if (token.getKeyVar() != null) {
-            VariableDeclaration keyDec = VariableDeclaration.nullDeclaration(pos(token), token.getKeyVar().getName());
+            VariableDeclaration keyDec = declare(VariableDeclaration.nullDeclaration(pos(token), token.getKeyVar().getName()));
             variables.put(token.getKeyVar(), keyDec);
 
             return new ForeachInstruction(parseToken(token.getInstructionBlock().getInstructionSet()),
@@ -440,18 +466,26 @@ public class XillProgramFactory implements LanguageFactory<xill.lang.xill.Robot>
      */
     FunctionDeclaration parseToken(final xill.lang.xill.FunctionDeclaration token) throws XillParsingException {
 
+        VariableScope scope = new VariableScope();
+        scopes.push(scope);
+
         // Push the arguments
         List<VariableDeclaration> parameters = new ArrayList<>(token.getParameters().size());
-        for (Target parameter : token.getParameters()) {
-            // TODO Default values
-            VariableDeclaration declaration = FunctionParameterDeclaration.nullDeclaration(pos(token), parameter.getName());
+        InstructionSet instructions;
+        try {
+            for (Target parameter : token.getParameters()) {
+                // TODO Default values
+                VariableDeclaration declaration = declare(FunctionParameterDeclaration.nullDeclaration(pos(token), parameter.getName()));
 
-            parameters.add(declaration);
-            variables.put(parameter, declaration);
-        }
+                parameters.add(declaration);
+                variables.put(parameter, declaration);
+            }
 
-        InstructionSet instructions = parseToken(token.getInstructionBlock().getInstructionSet());
-        FunctionDeclaration declaration = new FunctionDeclaration(instructions, parameters);
+            instructions = parseToken(token.getInstructionBlock().getInstructionSet());
+        } finally {
+            scopes.pop();
+        }
+        FunctionDeclaration declaration = new FunctionDeclaration(instructions, parameters, scope);
 
         functions.put(token, declaration);
 
@@ -477,13 +511,25 @@ public class XillProgramFactory implements LanguageFactory<xill.lang.xill.Robot>
 
     private VariableDeclaration buildDeclaration(Processable expression, xill.lang.xill.VariableDeclaration token) throws XillParsingException {
         if ("var".equalsIgnoreCase(token.getType())) {
-            return new VariableDeclaration(expression, token.getName().getName());
+            return declare(new VariableDeclaration(expression, token.getName().getName()));
         }
 
         xill.lang.xill.Robot robotToken = findRobot(token);
         Robot robot = compiledRobots.get(robotToken).getValue();
 
-        return new VariableDeclaration(expression, token.getName().getName(), robot);
+        return declare(new VariableDeclaration(expression, token.getName().getName(), robot));
+    }
+
+    /**
+     * Assign a declaration a slot in the scope that is being parsed.
+     *
+     * @param declaration the declaration
+     * @param <T>         the type of the declaration
+     * @return the declaration
+     */
+    private <T extends VariableDeclaration> T declare(T declaration) {
+        declaration.setScope(scopes.peek());
+        return declaration;
     }
 
     private xill.lang.xill.Robot findRobot(EObject object) throws XillParsingException {
@@ -42,6 +42,8 @@ public class Robot extends InstructionSet implements nl.xillio.xill.api.componen
     private boolean initialized = false;
     private boolean closed = false;
     private boolean hasRun = false;
+    private List<VariableDeclaration> declarations;
+    private List<Robot> robots;
 
     private static final Logger LOGGER = Log.get();
 
@@ -216,6 +218,47 @@ public class Robot extends InstructionSet implements nl.xillio.xill.api.componen
         }
     }
 
+    @Override
+    public void reset() {
+        if (declarations == null) {
+            declarations = new ArrayList<>();
+            robots = new ArrayList<>();
+            collectState(this, Collections.newSetFromMap(new IdentityHashMap<>()));
+        }
+
+        declarations.forEach(VariableDeclaration::clear);
+        for (Robot robot : robots) {
+            robot.callArgument = null;
+            robot.hasRun = false;
+            robot.initialized = false;
+            robot.closed = false;
+            robot.libraryProcessedInstructions.clear();
+        }
+    }
+
+    /**
+     * Find all robots and variable declarations in the program tree. These hold the state that has to be cleared when
+     * resetting.
+     *
+     * @param current the current node
+     * @param visited all nodes that have been visited
+     */
+    private void collectState(Processable current, Set<Processable> visited) {
+        if (current == null || !visited.add(current)) {
+            return;
+        }
+
+        if (current instanceof VariableDeclaration) {
+            declarations.add((VariableDeclaration) current);
+        } else if (current instanceof Robot) {
+            robots.add((Robot) current);
+        }
+
+        for (Processable child : current.getChildren()) {
+            collectState(child, visited);
+        }
+    }
+
     /**
      * Close variables and functions in an initialized library
      */
@@ -17,6 +17,7 @@ package nl.xillio.xill.components.expressions;
 
 import me.biesaart.utils.Log;
 import nl.xillio.plugins.XillPlugin;
+import nl.xillio.xill.CompiledRobotCache;
 import nl.xillio.xill.XillProcessor;
 import nl.xillio.xill.api.Debugger;
 import nl.xillio.xill.api.DefaultOutputHandler;
@@ -85,6 +86,7 @@ public class CallbotExpression implements Processable {
             Debugger childDebugger = debugger.createChild();
             XillProcessor processor = new XillProcessor(workingDirectory, new RobotID(robotResource, otherRobot), loader, plugins, childDebugger);
             processor.setOutputHandler(outputHandler);
+            processor.setRobotCache(CompiledRobotCache.getInstance());
             processor.compileAsSubRobot(robotID);
 
             try {
@@ -17,6 +17,7 @@ package nl.xillio.xill.components.expressions.pipeline;
 
 import nl.xillio.xill.api.Debugger;
 import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.ParallelIteration;
 import nl.xillio.xill.api.components.Processable;
 import nl.xillio.xill.api.components.WrappingIterator;
 import nl.xillio.xill.components.instructions.FunctionDeclaration;
@@ -38,9 +39,43 @@ public class FilterExpression extends PipelineExpression {
 
     @Override
     protected WrappingIterator wrap(MetaExpression input, FunctionDeclaration functionDeclaration, Debugger debugger) {
+        if (input.hasMeta(ParallelIteration.class)) {
+            return new ParallelIterator(input, input.getMeta(ParallelIteration.class), debugger,
+                    (item, itemDebugger) -> keep(functionDeclaration, itemDebugger, item) ? item : null);
+        }
         return new FilterIterator(input, functionDeclaration, debugger);
     }
 
+    /**
+     * Check whether an item matches the predicate. An item that does not match is disposed.
+     *
+     * @param function the predicate
+     * @param debugger the debugger to run the predicate with
+     * @param value    the item
+     * @return true if the item should be kept
+     */
+    private static boolean keep(FunctionDeclaration function, Debugger debugger, MetaExpression value) {
+        value.registerReference();
+        MetaExpression shouldKeep = function.run(debugger, Collections.singletonList(value)).get();
+        if (shouldKeep.getBooleanValue()) {
+            // We are done with this but since we are returning it we don't want to dispose
+            boolean isPrevented = value.isDisposalPrevented();
+
+            value.preventDisposal();
+            value.releaseReference();
+
+            if(!isPrevented) {
+                value.allowDisposal();
+            }
+
+            return true;
+        } else {
+            // We are done with this
+            value.releaseReference();
+            return false;
+        }
+    }
+
     @Override
     protected String describe() {
         return "filter";
@@ -70,23 +105,8 @@ public class FilterExpression extends PipelineExpression {
         private void cacheNext() {
             while (next == null && super.hasNext()) {
                 MetaExpression value = super.next();
-                value.registerReference();
-                MetaExpression shouldKeep = function.run(debugger, Collections.singletonList(value)).get();
-                if (shouldKeep.getBooleanValue()) {
-                    // We are done with this but since we are returning it we don't want to dispose
-                    boolean isPrevented = value.isDisposalPrevented();
-
-                    value.preventDisposal();
-                    value.releaseReference();
-
-                    if(!isPrevented) {
-                        value.allowDisposal();
-                    }
-
+                if (keep(function, debugger, value)) {
                     next = value;
-                } else {
-                    // We are done with this
-                    value.releaseReference();
                 }
             }
         }
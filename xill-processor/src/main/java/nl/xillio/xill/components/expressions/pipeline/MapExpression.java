@@ -18,6 +18,7 @@ package nl.xillio.xill.components.expressions.pipeline;
 import nl.xillio.xill.api.Debugger;
 import nl.xillio.xill.api.components.InstructionFlow;
 import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.ParallelIteration;
 import nl.xillio.xill.api.components.Processable;
 import nl.xillio.xill.api.components.WrappingIterator;
 import nl.xillio.xill.components.instructions.FunctionDeclaration;
@@ -38,9 +39,19 @@ public class MapExpression extends PipelineExpression {
 
     @Override
     protected WrappingIterator wrap(MetaExpression input, FunctionDeclaration functionDeclaration, Debugger debugger) {
+        if (input.hasMeta(ParallelIteration.class)) {
+            return new ParallelIterator(input, input.getMeta(ParallelIteration.class), debugger,
+                    (item, itemDebugger) -> apply(functionDeclaration, itemDebugger, item));
+        }
         return new MapIterator(input, functionDeclaration, debugger);
     }
 
+    private static MetaExpression apply(FunctionDeclaration function, Debugger debugger, MetaExpression item) {
+        InstructionFlow<MetaExpression> result = function.run(debugger, Collections.singletonList(item));
+
+        return result.get();
+    }
+
     @Override
     protected String describe() {
         return "map";
@@ -61,9 +72,7 @@ public class MapExpression extends PipelineExpression {
 
         @Override
         protected MetaExpression transformItem(MetaExpression item) {
-            InstructionFlow<MetaExpression> result = function.run(debugger, Collections.singletonList(item));
-
-            return result.get();
+            return apply(function, debugger, item);
         }
     }
 }
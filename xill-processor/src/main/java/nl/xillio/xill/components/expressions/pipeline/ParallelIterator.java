@@ -0,0 +1,177 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.components.expressions.pipeline;
+
+import nl.xillio.xill.api.Debugger;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.ParallelIteration;
+import nl.xillio.xill.api.components.WrappingIterator;
+import nl.xillio.xill.api.errors.RobotRuntimeException;
+import nl.xillio.xill.components.instructions.VariableScope;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * This class represents the parallel runtime of the map and filter constructions.
+ * <p>
+ * Items are read from the input on the consuming thread. The function is applied to at most
+ * {@link ParallelIteration#getWindow()} items at the same time on {@link ParallelIteration#getParallelism()} threads.
+ * Every running function gets its own child debugger and its own copy of the variables it declares.
+ */
+class ParallelIterator extends WrappingIterator {
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final ParallelIteration settings;
+    private final Debugger debugger;
+    private final BiFunction<MetaExpression, Debugger, MetaExpression> task;
+    private final ExecutorService executor;
+    private final CompletionService<MetaExpression> completionService;
+    private final Queue<Future<MetaExpression>> running = new ArrayDeque<>();
+    private final BlockingQueue<Debugger> childDebuggers = new LinkedBlockingQueue<>();
+    private final List<Debugger> allChildDebuggers = new ArrayList<>();
+    private MetaExpression next;
+    private boolean done;
+
+    /**
+     * Create a new parallel iterator.
+     *
+     * @param host     the input
+     * @param settings the parallel iteration settings
+     * @param debugger the debugger of the consuming robot
+     * @param task     the function applied to every item, it returns null to drop an item
+     */
+    ParallelIterator(MetaExpression host, ParallelIteration settings, Debugger debugger, BiFunction<MetaExpression, Debugger, MetaExpression> task) {
+        super(host);
+        this.settings = settings;
+        this.debugger = debugger;
+        this.task = task;
+
+        int pool = POOL_COUNT.incrementAndGet();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(settings.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "Pipeline-" + pool + " Worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        completionService = new ExecutorCompletionService<>(executor);
+
+        // Debuggers are not thread safe so every running function gets its own
+        for (int i = 0; i < settings.getParallelism(); i++) {
+            Debugger child = debugger.createChild();
+            allChildDebuggers.add(child);
+            childDebuggers.add(child);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            submitItems();
+            if (running.isEmpty()) {
+                shutdown();
+                return false;
+            }
+            next = takeResult();
+        }
+        return true;
+    }
+
+    @Override
+    public MetaExpression next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("This iterator is empty");
+        }
+        MetaExpression result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    protected MetaExpression transformItem(MetaExpression item) {
+        return item;
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+        super.close();
+    }
+
+    /**
+     * Fill the window with items from the input.
+     */
+    private void submitItems() {
+        while (!done && running.size() < settings.getWindow() && !debugger.shouldStop() && super.hasNext()) {
+            MetaExpression item = super.next();
+            Callable<MetaExpression> call = () -> apply(item);
+            running.add(settings.isOrdered() ? executor.submit(call) : completionService.submit(call));
+        }
+    }
+
+    /**
+     * Wait for the next result. In order this is the result of the oldest item, otherwise it is whichever result
+     * completes first.
+     *
+     * @return the result or null if the item was dropped
+     */
+    private MetaExpression takeResult() {
+        try {
+            Future<MetaExpression> future;
+            if (settings.isOrdered()) {
+                future = running.remove();
+            } else {
+                future = completionService.take();
+                running.remove(future);
+            }
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            shutdown();
+            throw new RobotRuntimeException("Interrupted while waiting for a parallel function", e);
+        } catch (ExecutionException e) {
+            shutdown();
+            if (e.getCause() instanceof RobotRuntimeException) {
+                throw (RobotRuntimeException) e.getCause();
+            }
+            throw new RobotRuntimeException("An error occurred in a parallel function", e.getCause());
+        }
+    }
+
+    private MetaExpression apply(MetaExpression item) throws InterruptedException {
+        Debugger child = childDebuggers.take();
+        try {
+            return VariableScope.isolated(() -> task.apply(item, child));
+        } finally {
+            childDebuggers.add(child);
+        }
+    }
+
+    private void shutdown() {
+        if (!done) {
+            done = true;
+            executor.shutdownNow();
+            running.clear();
+            allChildDebuggers.forEach(debugger::removeChild);
+        }
+    }
+}
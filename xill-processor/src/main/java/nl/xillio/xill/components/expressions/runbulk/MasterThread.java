@@ -16,6 +16,7 @@
 package nl.xillio.xill.components.expressions.runbulk;
 
 import me.biesaart.utils.Log;
+import nl.xillio.xill.api.components.ExpressionBuilderHelper;
 import nl.xillio.xill.api.components.MetaExpression;
 import org.slf4j.Logger;
 
@@ -24,27 +25,46 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Thread keeping a queue of work to distribute to {@link WorkerThread workers} of the {@link RunBulkExpression}.
+ * Job keeping a queue of work to distribute to {@link WorkerThread workers} of the {@link RunBulkExpression}.
+ * When all items have been queued every worker receives {@link #END_OF_INPUT} so it can finish without waiting.
+ * <p>
+ * The master either runs until all items are queued or is {@link #feed(boolean) fed} step by step by the thread
+ * consuming the results, so a lazy source is always evaluated on the thread of the calling robot.
  */
-class MasterThread extends Thread {
+class MasterThread implements Runnable {
     private static final Logger LOGGER = Log.get();
 
+    /**
+     * The marker that tells a worker no more items will follow. It is compared by identity.
+     */
+    static final RunBulkItem END_OF_INPUT = new RunBulkItem(-1, ExpressionBuilderHelper.NULL);
+
     private final Iterator<MetaExpression> source;
-    private final BlockingQueue<MetaExpression> queue;
+    private final BlockingQueue<RunBulkItem> queue;
     private final RunBulkControl control;
+    private final int workerCount;
 
     /**
-     * Create a master thread.
+     * The item that was read from the source but did not fit in the queue yet.
+     */
+    private RunBulkItem pending;
+    private long index = 0;
+    private boolean exhausted = false;
+    private int endMarkers = 0;
+
+    /**
+     * Create a master.
      *
-     * @param source Source of the jobs
-     * @param queue Queue for passing jobs to workers
-     * @param control Controls runBulk threads
+     * @param source      Source of the jobs
+     * @param queue       Queue for passing jobs to workers
+     * @param control     Controls runBulk threads
+     * @param workerCount The number of workers taking items from the queue
      */
-    public MasterThread(final Iterator<MetaExpression> source, final BlockingQueue<MetaExpression> queue, final RunBulkControl control) {
-        super("RunBulk MasterThread");
+    public MasterThread(final Iterator<MetaExpression> source, final BlockingQueue<RunBulkItem> queue, final RunBulkControl control, final int workerCount) {
         this.source = source;
         this.queue = queue;
         this.control = control;
+        this.workerCount = workerCount;
     }
 
     /**
@@ -53,26 +73,61 @@ class MasterThread extends Thread {
     @Override
     public void run() {
         try {
-            offerItemsToQueue();
+            feed(true);
         } catch (InterruptedException e) {
             LOGGER.error("Interrupted while waiting for queue item", e);
+            // The workers will not receive the end of the input
+            control.signalStop();
             Thread.currentThread().interrupt();
         }
     }
 
     /**
-     * Insert items into the queue while there are items and we should continue running.
+     * Insert items into the queue while there are items and we should continue running. Items are read from the
+     * source on the calling thread.
      *
+     * @param block true to wait for space in the queue, false to return as soon as the queue is full
+     * @return true if no more items have to be queued, false if the queue was full
      * @throws InterruptedException When offering an item to the queue is interrupted
      */
-    private void offerItemsToQueue() throws InterruptedException {
-        while (source.hasNext() && !control.shouldStop()) {
-            MetaExpression item = source.next();
-            while (!queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
-                if (control.shouldStop()) {
-                    return;
+    boolean feed(boolean block) throws InterruptedException {
+        while (!control.shouldStop()) {
+            if (pending == null) {
+                if (!exhausted && source.hasNext()) {
+                    pending = new RunBulkItem(index++, source.next());
+                } else if (endMarkers < workerCount) {
+                    exhausted = true;
+                    pending = END_OF_INPUT;
+                } else {
+                    return true;
+                }
+            }
+
+            if (block ? offer(pending) : queue.offer(pending)) {
+                if (pending == END_OF_INPUT) {
+                    endMarkers++;
                 }
+                pending = null;
+            } else if (!block) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Insert an item into the queue, waiting for space to become available.
+     *
+     * @param item the item
+     * @return false if the item was not inserted because runBulk was stopped
+     * @throws InterruptedException When offering an item to the queue is interrupted
+     */
+    private boolean offer(RunBulkItem item) throws InterruptedException {
+        while (!queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+            if (control.shouldStop()) {
+                return false;
             }
         }
+        return true;
     }
 }
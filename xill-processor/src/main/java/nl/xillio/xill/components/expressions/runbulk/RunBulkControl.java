@@ -16,8 +16,11 @@
 package nl.xillio.xill.components.expressions.runbulk;
 
 import nl.xillio.xill.api.Debugger;
+import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.loaders.AbstractRobotLoader;
 
+import java.util.concurrent.CountDownLatch;
+
 /**
  * Controls the {@link RunBulkExpression} threads.
  */
@@ -27,11 +30,22 @@ class RunBulkControl {
     private final Debugger debugger;
     private final String calledRobotFqn;
     private final AbstractRobotLoader loader;
+    private final CountDownLatch runningWorkers;
+    private RunBulkResults results;
 
-    public RunBulkControl(final Debugger debugger, final String calledRobotFqn, final AbstractRobotLoader loader) {
+    /**
+     * Create a new control.
+     *
+     * @param debugger       the debugger of the robot calling runBulk
+     * @param calledRobotFqn the robot that is run by the workers
+     * @param loader         the loader used to load the robot
+     * @param workerCount    the number of workers that will be started
+     */
+    public RunBulkControl(final Debugger debugger, final String calledRobotFqn, final AbstractRobotLoader loader, final int workerCount) {
         this.debugger = debugger;
         this.calledRobotFqn = calledRobotFqn;
         this.loader = loader;
+        this.runningWorkers = new CountDownLatch(workerCount);
     }
 
     public Debugger getDebugger() {
@@ -50,7 +64,7 @@ class RunBulkControl {
         runCount++;
     }
 
-    public int getRunCount() {
+    public synchronized int getRunCount() {
         return runCount;
     }
 
@@ -61,6 +75,53 @@ class RunBulkControl {
     public synchronized boolean shouldStop() {
         return stop;
     }
-}
 
+    /**
+     * Signal that a worker has finished and will not take any more items.
+     */
+    public void workerFinished() {
+        runningWorkers.countDown();
+    }
+
+    /**
+     * Block until all workers have finished.
+     *
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public void awaitWorkers() throws InterruptedException {
+        runningWorkers.await();
+    }
 
+    /**
+     * Set the buffer the return values of the worker robots are passed to. When no buffer is set the return values
+     * are dropped.
+     *
+     * @param results The result buffer
+     */
+    public void setResults(final RunBulkResults results) {
+        this.results = results;
+    }
+
+    /**
+     * Pass the return value of a worker robot to the consumer. This blocks while the result buffer is full.
+     *
+     * @param index  The position of the item in the input
+     * @param result The return value
+     */
+    public void addResult(final long index, final MetaExpression result) {
+        if (results != null) {
+            results.add(index, result);
+        }
+    }
+
+    /**
+     * Signal that an item will not produce a return value.
+     *
+     * @param index The position of the item in the input
+     */
+    public void skipResult(final long index) {
+        if (results != null) {
+            results.skip(index);
+        }
+    }
+}
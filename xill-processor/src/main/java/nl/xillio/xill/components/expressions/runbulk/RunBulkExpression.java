@@ -28,8 +28,8 @@ import org.slf4j.Logger;
 
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static nl.xillio.xill.api.components.ExpressionDataType.ATOMIC;
 import static nl.xillio.xill.api.components.ExpressionDataType.LIST;
@@ -40,6 +40,13 @@ import static nl.xillio.xill.api.components.ExpressionDataType.LIST;
 public class RunBulkExpression implements Processable {
 
     private static final Logger LOGGER = Log.get();
+    private static final ThreadFactory WORKER_THREAD_FACTORY = workerThreadFactory();
+
+    /**
+     * The thread pool that is used by all runBulk calls with the {@code "executor": "shared"} option. Threads are
+     * kept alive between calls so short batches do not pay for starting threads.
+     */
+    private static final ExecutorService SHARED_EXECUTOR = Executors.newCachedThreadPool(WORKER_THREAD_FACTORY);
     private Path workingDirectory;
     private final Processable path;
     private final RobotID robotID;
@@ -83,9 +90,7 @@ public class RunBulkExpression implements Processable {
         }
 
         options = new RunBulkOptions(optionsProcessable);
-        int robotRunCount = runBulk(debugger, otherRobot, loader);
-
-        return InstructionFlow.doResume(ExpressionBuilderHelper.fromValue(robotRunCount));
+        return InstructionFlow.doResume(runBulk(debugger, otherRobot, loader));
     }
 
     private Iterator<MetaExpression> getIterator(final MetaExpression result) {
@@ -113,12 +118,14 @@ public class RunBulkExpression implements Processable {
     /**
      * Run the called robot multiple times.
      *
-     * @return The number of robot runs
+     * @return The number of robot runs or, when the results are collected, an iterable over the return values
      */
-    private int runBulk(final Debugger debugger, final String calledRobotQualifiedName, final AbstractRobotLoader loader) {
+    private MetaExpression runBulk(final Debugger debugger, final String calledRobotQualifiedName, final AbstractRobotLoader loader) {
+        boolean collect = options.getCollectMode() != RunBulkOptions.CollectMode.NONE;
+
         // Evaluate argument
         if (argument == null) {
-            return 0; // Nothing to do
+            return noRuns(collect); // Nothing to do
         }
 
         maxThreadsVal = options.getMaxThreadsVal();
@@ -127,91 +134,163 @@ public class RunBulkExpression implements Processable {
         }
 
         // Get argument iterator
-        InstructionFlow<MetaExpression> argumentResult = argument.process(debugger);
-        Iterator<MetaExpression> source = getIterator(argumentResult.get());
+        MetaExpression input = argument.process(debugger).get();
+        Iterator<MetaExpression> source = getIterator(input);
         if (source == null) {
-            return 0;
+            return noRuns(collect);
+        }
+
+        int queueSize = options.getQueueSize() == 0 ? maxThreadsVal : options.getQueueSize();
+        BlockingQueue<RunBulkItem> queue = new ArrayBlockingQueue<>(queueSize);
+        RunBulkControl control = new RunBulkControl(debugger, calledRobotQualifiedName, loader, maxThreadsVal);
+
+        if (!collect) {
+            ExecutorService executor = createExecutor(maxThreadsVal);
+            try {
+                execute(executor, source, queue, control);
+            } finally {
+                shutdown(executor);
+            }
+            return ExpressionBuilderHelper.fromValue(control.getRunCount());
         }
 
-        BlockingQueue<MetaExpression> queue = new ArrayBlockingQueue<>(maxThreadsVal);
-        RunBulkControl control = new RunBulkControl(debugger, calledRobotQualifiedName, loader);
+        // The consumer of the results feeds the workers so a lazy input is only evaluated on the robot thread
+        MasterThread master = new MasterThread(source, queue, control, maxThreadsVal);
+        RunBulkResults results = new RunBulkResults(control, queueSize, options.getCollectMode() == RunBulkOptions.CollectMode.INPUT_ORDER, master);
+        control.setResults(results);
+        ExecutorService executor = createExecutor(maxThreadsVal + 1);
+        List<Future<?>> workers = spawnWorkers(executor, queue, control);
+        executor.submit(() -> {
+            try {
+                awaitWorkers(control);
+                rethrowWorkerErrors(workers);
+                results.finish(null);
+            } catch (RobotRuntimeException e) {
+                results.finish(e);
+            } catch (RuntimeException e) {
+                results.finish(new RobotRuntimeException("An error occurred in runBulk", e));
+            } finally {
+                shutdown(executor);
+            }
+        });
+
+        // Give the workers something to do while the robot continues
+        results.feed();
 
-        // Start master thread
-        Thread master = new MasterThread(source, queue, control);
-        master.start();
+        MetaExpression result = ExpressionBuilderHelper.fromValue(String.format("runBulk(%s)", calledRobotQualifiedName));
+        result.storeMeta(new ResultIterator(input, results));
+        return result;
+    }
 
+    /**
+     * Run all items of the source on the workers and wait for them to finish.
+     *
+     * @param executor The executor to run the workers on
+     * @param source   The items to process
+     * @param queue    The queue to pass the items to the workers
+     * @param control  The control to pass to the workers
+     */
+    private void execute(ExecutorService executor, Iterator<MetaExpression> source, BlockingQueue<RunBulkItem> queue, RunBulkControl control) {
         // Start workers
-        List<Thread> workingThreads = spawnWorkers(queue, control);
+        List<Future<?>> workers = spawnWorkers(executor, queue, control);
 
-        // Wait for master to complete
+        // Feed the workers from this thread
         try {
-            master.join();
-        } catch (InterruptedException e) {
-            LOGGER.error("Interrupted while waiting for join", e);
-            Thread.currentThread().interrupt();
+            new MasterThread(source, queue, control, maxThreadsVal).run();
+        } catch (RuntimeException | Error e) {
+            // The workers never receive the end of the input, so they have to be stopped
+            control.signalStop();
+            awaitWorkers(control);
+            throw e;
         }
 
-        waitUntilDone(queue, control);
+        awaitWorkers(control);
+        rethrowWorkerErrors(workers);
+    }
 
-        control.signalStop();
+    private MetaExpression noRuns(boolean collect) {
+        return collect ? ExpressionBuilderHelper.emptyList() : ExpressionBuilderHelper.fromValue(0);
+    }
 
-        joinThreads(workingThreads);
+    private ExecutorService createExecutor(int threads) {
+        return options.useSharedExecutor() ? SHARED_EXECUTOR : Executors.newFixedThreadPool(threads, WORKER_THREAD_FACTORY);
+    }
 
-        return control.getRunCount();
+    private void shutdown(ExecutorService executor) {
+        if (executor != SHARED_EXECUTOR) {
+            // All workers have finished or were told to stop, interrupt the ones still waiting for the queue
+            executor.shutdownNow();
+        }
     }
 
     /**
-     * Create {@link RunBulkOptions#getMaxThreadsVal()} worker threads and start them.
+     * Submit {@link RunBulkOptions#getMaxThreadsVal()} workers to the executor.
      *
-     * @param queue The queue to pass to the workers
-     * @param control The control to pass to the workers
-     * @return The worker threads
+     * @param executor The executor to run the workers on
+     * @param queue    The queue to pass to the workers
+     * @param control  The control to pass to the workers
+     * @return The running workers
      */
-    private List<Thread> spawnWorkers(BlockingQueue<MetaExpression> queue, RunBulkControl control) {
-        // Start working threads
-        List<Thread> workingThreads = new LinkedList<>();
+    private List<Future<?>> spawnWorkers(ExecutorService executor, BlockingQueue<RunBulkItem> queue, RunBulkControl control) {
+        List<Future<?>> workers = new ArrayList<>(maxThreadsVal);
         WorkerRobotFactory robotFactory = new WorkerRobotFactory(workingDirectory, robotID, plugins, outputHandler);
         for (int i = 0; i < maxThreadsVal; i++) {
-            Thread worker = new WorkerThread(queue, control, options.shouldStopOnError(), robotFactory);
-            worker.start();
-            workingThreads.add(worker);
+            workers.add(executor.submit(new WorkerThread(queue, control, options.shouldStopOnError(), robotFactory)));
         }
-        return workingThreads;
+        return workers;
     }
 
     /**
-     * Wait until either the queue is empty or we should stop due to some other reason signalled by {@link RunBulkControl}.
+     * Wait until all workers have finished. Workers finish when they have received the end of the input or when
+     * {@link RunBulkControl} signals to stop.
      *
-     * @param queue The queue to wait for to become empty
-     * @param control Stop waiting when the control signals to stop
+     * @param control The control the workers report to
      */
-    private void waitUntilDone(BlockingQueue<MetaExpression> queue, RunBulkControl control) {
-        // Wait for until entire queue is processed
-        while (!control.shouldStop() && !queue.isEmpty()) {
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                LOGGER.error("Interrupted while sleeping", e);
-                Thread.currentThread().interrupt();
-            }
+    private void awaitWorkers(RunBulkControl control) {
+        try {
+            control.awaitWorkers();
+        } catch (InterruptedException e) {
+            LOGGER.error("Interrupted while waiting for workers", e);
+            control.signalStop();
+            Thread.currentThread().interrupt();
         }
     }
 
     /**
-     * Join all threads and wait until they are joined.
+     * Throw the exception that made a worker fail, if any.
      *
-     * @param workingThreads The threads to join
+     * @param workers The finished workers
      */
-    private void joinThreads(List<Thread> workingThreads) {
-        // Wait for all worker threads to complete
-        workingThreads.forEach(t -> {
+    private void rethrowWorkerErrors(List<Future<?>> workers) {
+        for (Future<?> worker : workers) {
+            if (!worker.isDone()) {
+                // Only the case if we were interrupted while waiting
+                continue;
+            }
             try {
-                t.join();
+                worker.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RobotRuntimeException) {
+                    throw (RobotRuntimeException) e.getCause();
+                }
+                throw new RobotRuntimeException("An error occurred in a runBulk worker", e.getCause());
             } catch (InterruptedException e) {
-                LOGGER.error("Interrupted while waiting for join", e);
+                LOGGER.error("Interrupted while waiting for a worker", e);
                 Thread.currentThread().interrupt();
             }
-        });
+        }
+    }
+
+    /**
+     * Create daemon threads for the runBulk workers.
+     */
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "RunBulk WorkerThread-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 
     @Override
@@ -228,6 +307,30 @@ public class RunBulkExpression implements Processable {
         this.argument = argument;
     }
 
+    /**
+     * This class exposes the collected return values to the iterating constructs. It keeps the input alive while
+     * runBulk is still reading it and stops the workers when the results are no longer needed.
+     */
+    private static class ResultIterator extends WrappingIterator {
+        private final RunBulkResults results;
+
+        ResultIterator(MetaExpression input, RunBulkResults results) {
+            super(input, results);
+            this.results = results;
+        }
+
+        @Override
+        protected MetaExpression transformItem(MetaExpression item) {
+            return item;
+        }
+
+        @Override
+        public void close() {
+            results.close();
+            super.close();
+        }
+    }
+
     /**
      * Set the options that will be used when running called robots
      *
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.components.expressions.runbulk;
+
+import nl.xillio.xill.api.components.MetaExpression;
+
+/**
+ * An item of the runBulk input together with its position in the input.
+ */
+class RunBulkItem {
+    private final long index;
+    private final MetaExpression value;
+
+    /**
+     * Create a new item.
+     *
+     * @param index The position of the item in the input
+     * @param value The value that is passed to the worker robot
+     */
+    public RunBulkItem(long index, MetaExpression value) {
+        this.index = index;
+        this.value = value;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public MetaExpression getValue() {
+        return value;
+    }
+}
@@ -33,6 +33,9 @@ class RunBulkOptions {
 
     private boolean stopOnError;
     private int maxThreadsVal;
+    private int queueSize;
+    private boolean sharedExecutor;
+    private CollectMode collect;
 
     /**
      * @param options The processable to parse options from.
@@ -41,6 +44,9 @@ class RunBulkOptions {
         this.options = options;
         this.stopOnError = false;
         this.maxThreadsVal = 0;
+        this.queueSize = 0;
+        this.sharedExecutor = false;
+        this.collect = CollectMode.NONE;
         parseOptions();
     }
 
@@ -62,6 +68,34 @@ class RunBulkOptions {
         return maxThreadsVal;
     }
 
+    /**
+     * Get the queueSize option.
+     *
+     * @return The number of items that are read ahead of the workers or 0 to use the number of workers
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Get the executor option.
+     *
+     * @return True if the workers should run on the process-wide shared thread pool, false if dedicated threads
+     * should be started for this runBulk call
+     */
+    public boolean useSharedExecutor() {
+        return sharedExecutor;
+    }
+
+    /**
+     * Get the collect option.
+     *
+     * @return Whether and in which order the return values of the worker robots should be collected
+     */
+    public CollectMode getCollectMode() {
+        return collect;
+    }
+
     /**
      * Parse the option expression.
      */
@@ -100,10 +134,19 @@ class RunBulkOptions {
                 case "stopOnError":
                     parseStopOnError(entry.getValue());
                     break;
+                case "queueSize":
+                    parseQueueSize(entry.getValue());
+                    break;
+                case "executor":
+                    parseExecutor(entry.getValue());
+                    break;
+                case "collect":
+                    parseCollect(entry.getValue());
+                    break;
                 default:
                     throw new InvalidUserInputException("A key in the \"options\" argument was not a valid option name",
                             optionVar.toString(),
-                            "\"maxThreads\" or \"stopOnError\"",
+                            "\"maxThreads\", \"stopOnError\", \"queueSize\", \"executor\" or \"collect\"",
                             OPTIONS_EXAMPLE);
             }
         }
@@ -143,4 +186,80 @@ class RunBulkOptions {
         }
     }
 
+    /**
+     * Parse the queueSize option from a {@link MetaExpression}.
+     *
+     * @param value The option value
+     */
+    private void parseQueueSize(MetaExpression value) {
+        queueSize = value.getNumberValue().intValue();
+        if (queueSize < 1) {
+            throw new InvalidUserInputException("The \"queueSize\" value in the \"options\" argument was not valid",
+                    value.toString(),
+                    "A positive number",
+                    OPTIONS_EXAMPLE);
+        }
+    }
+
+    /**
+     * Parse the executor option from a {@link MetaExpression}.
+     *
+     * @param value The option value
+     */
+    private void parseExecutor(MetaExpression value) {
+        String stringValue = value.getStringValue();
+        if ("shared".equals(stringValue)) {
+            sharedExecutor = true;
+        } else if ("dedicated".equals(stringValue)) {
+            sharedExecutor = false;
+        } else {
+            throw new InvalidUserInputException("The \"executor\" value in the \"options\" argument was not valid",
+                    value.toString(),
+                    "\"dedicated\" or \"shared\"",
+                    OPTIONS_EXAMPLE);
+        }
+    }
+
+    /**
+     * Parse the collect option from a {@link MetaExpression}.
+     *
+     * @param value The option value
+     */
+    private void parseCollect(MetaExpression value) {
+        String stringValue = value.getStringValue();
+        switch (stringValue) {
+            case "none":
+                collect = CollectMode.NONE;
+                break;
+            case "inputOrder":
+                collect = CollectMode.INPUT_ORDER;
+                break;
+            case "completionOrder":
+                collect = CollectMode.COMPLETION_ORDER;
+                break;
+            default:
+                throw new InvalidUserInputException("The \"collect\" value in the \"options\" argument was not valid",
+                        value.toString(),
+                        "\"none\", \"inputOrder\" or \"completionOrder\"",
+                        OPTIONS_EXAMPLE);
+        }
+    }
+
+    /**
+     * The ways the return values of the worker robots can be collected.
+     */
+    enum CollectMode {
+        /**
+         * Return values are dropped and runBulk returns the number of runs.
+         */
+        NONE,
+        /**
+         * Return values are returned in the same order as the input.
+         */
+        INPUT_ORDER,
+        /**
+         * Return values are returned as soon as a worker has produced them.
+         */
+        COMPLETION_ORDER
+    }
 }
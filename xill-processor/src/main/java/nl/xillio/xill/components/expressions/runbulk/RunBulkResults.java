@@ -0,0 +1,240 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.components.expressions.runbulk;
+
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.errors.RobotRuntimeException;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+/**
+ * This class hands the return values of the worker robots to the robot consuming the result of runBulk.
+ * <p>
+ * At most {@code capacity} results are buffered. A worker that produces a result too far ahead of the consumer blocks
+ * until the consumer catches up, so memory stays bounded when the consumer is slower than the workers. In input order
+ * a result is only handed out when all results of earlier items have been handed out or skipped.
+ * <p>
+ * The input of runBulk is fed to the workers by the thread consuming the results, so lazy inputs that evaluate user
+ * functions are never evaluated concurrently with the robot that called runBulk.
+ */
+class RunBulkResults implements Iterator<MetaExpression>, AutoCloseable {
+    private final RunBulkControl control;
+    private final int capacity;
+    private final boolean inputOrder;
+    private final MasterThread feeder;
+    private volatile boolean fed = false;
+
+    /**
+     * The buffered results by position. A null value marks an item that did not produce a result.
+     */
+    private final TreeMap<Long, MetaExpression> buffer = new TreeMap<>();
+    private long nextPosition = 0;
+    private long completed = 0;
+    private boolean finished = false;
+    private boolean closed = false;
+    private RobotRuntimeException error;
+
+    /**
+     * Create a new result buffer.
+     *
+     * @param control    Controls runBulk threads
+     * @param capacity   The maximum number of results to buffer
+     * @param inputOrder True if results should be handed out in input order, false for completion order
+     */
+    public RunBulkResults(RunBulkControl control, int capacity, boolean inputOrder) {
+        this(control, capacity, inputOrder, null);
+    }
+
+    /**
+     * Create a new result buffer that feeds the workers while the results are consumed.
+     *
+     * @param control    Controls runBulk threads
+     * @param capacity   The maximum number of results to buffer
+     * @param inputOrder True if results should be handed out in input order, false for completion order
+     * @param feeder     The master that passes the input to the workers, or null if the input is fed elsewhere
+     */
+    public RunBulkResults(RunBulkControl control, int capacity, boolean inputOrder, MasterThread feeder) {
+        this.control = control;
+        this.capacity = capacity;
+        this.inputOrder = inputOrder;
+        this.feeder = feeder;
+    }
+
+    /**
+     * Add the result of an item, waiting for space in the buffer.
+     *
+     * @param index  The position of the item in the input
+     * @param result The value returned by the worker robot
+     */
+    public synchronized void add(long index, MetaExpression result) {
+        while (position(index) >= nextPosition + capacity && !shouldStop()) {
+            waitForChange();
+        }
+        if (closed) {
+            return;
+        }
+        buffer.put(position(index), result);
+        completed++;
+        notifyAll();
+    }
+
+    /**
+     * Mark an item that will not produce a result so results of later items can be handed out.
+     *
+     * @param index The position of the item in the input
+     */
+    public synchronized void skip(long index) {
+        if (inputOrder && !closed) {
+            buffer.put(index, null);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Signal that no more results will be added.
+     *
+     * @param error The error that stopped runBulk or null if it completed normally
+     */
+    public synchronized void finish(RobotRuntimeException error) {
+        this.finished = true;
+        this.error = error;
+        notifyAll();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (true) {
+            // Read the input outside of the lock so the workers can hand in their results meanwhile
+            feed();
+            synchronized (this) {
+                Boolean available = available();
+                if (available != null) {
+                    return available;
+                }
+                waitForChange();
+            }
+        }
+    }
+
+    @Override
+    public MetaExpression next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("There are no more results");
+        }
+        synchronized (this) {
+            Map.Entry<Long, MetaExpression> first = buffer.pollFirstEntry();
+            nextPosition = first.getKey() + 1;
+            notifyAll();
+            return first.getValue();
+        }
+    }
+
+    /**
+     * Pass as many input items to the workers as fit in their queue, without blocking.
+     * The input is read on the calling thread.
+     */
+    void feed() {
+        if (feeder == null) {
+            return;
+        }
+        synchronized (feeder) {
+            if (!fed) {
+                feed(feeder);
+            }
+        }
+    }
+
+    private void feed(MasterThread feeder) {
+        try {
+            fed = feeder.feed(false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            control.signalStop();
+            throw new RobotRuntimeException("Interrupted while feeding runBulk", e);
+        } catch (RuntimeException | Error e) {
+            // The workers never receive the end of the input, so they have to be stopped
+            control.signalStop();
+            throw e;
+        }
+    }
+
+    /**
+     * Check if a result can be handed out.
+     *
+     * @return true if a result is available, false if there are no more results or null if the consumer has to wait
+     */
+    private Boolean available() {
+        while (true) {
+            Map.Entry<Long, MetaExpression> first = buffer.firstEntry();
+
+            // When all workers are done a gap can only be caused by an item that was never processed
+            if (first != null && (first.getKey() == nextPosition || finished)) {
+                if (first.getValue() != null) {
+                    return true;
+                }
+                buffer.pollFirstEntry();
+                nextPosition = first.getKey() + 1;
+                notifyAll();
+            } else if (finished || closed) {
+                throwError();
+                return false;
+            } else {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Stop the workers and drop all buffered results. This is called when the consumer no longer needs the results.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        control.signalStop();
+        buffer.clear();
+        notifyAll();
+    }
+
+    private long position(long index) {
+        return inputOrder ? index : completed;
+    }
+
+    private boolean shouldStop() {
+        return closed || control.shouldStop() || control.getDebugger().shouldStop();
+    }
+
+    private void throwError() {
+        if (error != null) {
+            RobotRuntimeException e = error;
+            error = null;
+            throw e;
+        }
+    }
+
+    private void waitForChange() {
+        try {
+            // Wake up regularly to check whether runBulk was stopped
+            wait(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            control.signalStop();
+            throw new RobotRuntimeException("Interrupted while waiting for runBulk results", e);
+        }
+    }
+}
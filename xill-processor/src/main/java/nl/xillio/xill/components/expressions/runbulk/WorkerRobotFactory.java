@@ -16,6 +16,7 @@
 package nl.xillio.xill.components.expressions.runbulk;
 
 import nl.xillio.plugins.XillPlugin;
+import nl.xillio.xill.CompiledRobotCache;
 import nl.xillio.xill.XillProcessor;
 import nl.xillio.xill.api.OutputHandler;
 import nl.xillio.xill.api.StoppableDebugger;
@@ -65,6 +66,7 @@ class WorkerRobotFactory {
             }
             processor = new XillProcessor(workingDirectory, new RobotID(robotResource, robotPath), loader, plugins, childDebugger);
             processor.setOutputHandler(outputHandler);
+            processor.setRobotCache(CompiledRobotCache.getInstance());
             processor.compileAsSubRobot(robotID);
         } catch (XillParsingException e) {
             throw new WorkerCompileException("Could not parse robot", e);
@@ -18,30 +18,38 @@ package nl.xillio.xill.components.expressions.runbulk;
 import me.biesaart.utils.Log;
 import nl.xillio.xill.api.Debugger;
 import nl.xillio.xill.api.StoppableDebugger;
+import nl.xillio.xill.api.components.ExpressionBuilderHelper;
+import nl.xillio.xill.api.components.InstructionFlow;
 import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.api.components.Robot;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
-import nl.xillio.xill.api.errors.XillParsingException;
 import nl.xillio.xill.loaders.AbstractRobotLoader;
 import org.slf4j.Logger;
 
-import java.io.IOException;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Thread executing the {@link RunBulkExpression} jobs.
+ * Job executing the {@link RunBulkExpression} items. Every worker runs on its own thread until it receives
+ * {@link MasterThread#END_OF_INPUT} or runBulk is stopped.
  */
-class WorkerThread extends Thread {
+class WorkerThread implements Runnable {
     private static final Logger LOGGER = Log.get();
 
-    private final BlockingQueue<MetaExpression> queue;
+    private final BlockingQueue<RunBulkItem> queue;
     private final RunBulkControl control;
 
     private boolean stopOnError = false;
 
     private final WorkerRobotFactory robotFactory;
 
+    /**
+     * The robot is compiled once per worker and reset after every item, it is bound to the child debugger it was
+     * compiled with.
+     */
+    private StoppableDebugger childDebugger;
+    private Robot robot;
+
     /**
      * Create a worker.
      *
@@ -50,9 +58,8 @@ class WorkerThread extends Thread {
      * @param stopOnError  Whether to stop the thread when an error occurs
      * @param robotFactory The factory compiling robots
      */
-    public WorkerThread(final BlockingQueue<MetaExpression> queue, final RunBulkControl control,
+    public WorkerThread(final BlockingQueue<RunBulkItem> queue, final RunBulkControl control,
                         boolean stopOnError, WorkerRobotFactory robotFactory) {
-        super("RunBulk WorkerThread");
         this.queue = queue;
         this.control = control;
 
@@ -68,11 +75,24 @@ class WorkerThread extends Thread {
     public void run() {
         try {
             while (!control.shouldStop()) {
-                processQueueItem(queue.poll(100, TimeUnit.MILLISECONDS));
+                RunBulkItem item = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (item == MasterThread.END_OF_INPUT) {
+                    break;
+                }
+                processQueueItem(item);
             }
         } catch (InterruptedException e) {
             LOGGER.error("Interrupted while processing queue item", e);
             Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Stop the other workers, the exception is rethrown by the RunBulkExpression
+            control.signalStop();
+            throw e;
+        } finally {
+            if (childDebugger != null) {
+                control.getDebugger().removeChild(childDebugger);
+            }
+            control.workerFinished();
         }
     }
 
@@ -81,24 +101,23 @@ class WorkerThread extends Thread {
      *
      * @param item The item to process
      */
-    private void processQueueItem(final MetaExpression item) {
+    private void processQueueItem(final RunBulkItem item) {
         if (item != null) {
-            if (!processRobot(control.getDebugger(), control.getCalledRobotFqn(), control.getLoader(), item)) {
+            MetaExpression result = processRobot(control.getDebugger(), control.getCalledRobotFqn(), control.getLoader(), item.getValue());
+            if (result == null || control.getDebugger().shouldStop()) {
+                control.skipResult(item.getIndex());
                 control.signalStop();
             } else {
-                if (control.getDebugger().shouldStop()) {
-                    control.signalStop();
-                } else {
-                    control.incRunCount();
-                }
+                control.incRunCount();
+                control.addResult(item.getIndex(), result);
             }
         }
     }
 
     /**
-     * @return true if the robot ended up successfully, false if there was an error or interruption, etc.
+     * @return the value returned by the robot or null if there was an error or interruption, etc.
      */
-    private boolean processRobot(final Debugger debugger, final String calledRobotQualifiedName, AbstractRobotLoader loader, final MetaExpression arg) {
+    private MetaExpression processRobot(final Debugger debugger, final String calledRobotQualifiedName, AbstractRobotLoader loader, final MetaExpression arg) {
         // Process the robot
         try {
             return runRobot(debugger, calledRobotQualifiedName, loader, arg);
@@ -108,33 +127,42 @@ class WorkerThread extends Thread {
             debugger.handle(e);
         }
 
-        return false; // Something went wrong
+        return null; // Something went wrong
     }
 
     /**
-     * Run a single robot.
+     * Run a single robot. The robot is compiled on the first call and reused for all subsequent calls.
      *
      * @param debugger                 The debugger to use as parent debugger
      * @param calledRobotQualifiedName The qualified name of the robot to process
      * @param loader                   The RobotLoader that will be used
      * @param arg                      The argument input to the robot
-     * @return True if the robot was successful, false otherwise
-     * @throws IOException          When reading the robot fails
-     * @throws XillParsingException When a compile error occurs
+     * @return The value returned by the robot if it was successful, null otherwise
+     * @throws WorkerCompileException When a compile error occurs
      */
-    private boolean runRobot(Debugger debugger, String calledRobotQualifiedName, AbstractRobotLoader loader, MetaExpression arg) throws WorkerCompileException {
-        StoppableDebugger childDebugger = (StoppableDebugger) debugger.createChild();
-        childDebugger.setStopOnError(stopOnError);
+    private MetaExpression runRobot(Debugger debugger, String calledRobotQualifiedName, AbstractRobotLoader loader, MetaExpression arg) throws WorkerCompileException {
+        if (childDebugger == null) {
+            childDebugger = (StoppableDebugger) debugger.createChild();
+            childDebugger.setStopOnError(stopOnError);
+        }
 
-        Robot robot = robotFactory.construct(calledRobotQualifiedName, loader, childDebugger);
+        if (robot == null) {
+            robot = robotFactory.construct(calledRobotQualifiedName, loader, childDebugger);
+        }
 
+        MetaExpression result = ExpressionBuilderHelper.NULL;
+        boolean success;
         try {
             robot.setArgument(arg);
 
-            robot.process(childDebugger);
-            // Ignoring the returned value from the bot as it won't be processed anyway
+            InstructionFlow<MetaExpression> flow = robot.process(childDebugger);
+            if (flow.hasValue()) {
+                // Make sure resetting the robot does not dispose the result
+                result = flow.get();
+                result.preventDisposal();
+            }
 
-            return !(stopOnError && childDebugger.hasErrorOccurred());
+            success = !(stopOnError && childDebugger.hasErrorOccurred());
 
         } catch (RobotRuntimeException e) {
             int line = childDebugger.getStackTrace().get(childDebugger.getStackDepth()).getLineNumber();
@@ -143,7 +171,11 @@ class WorkerThread extends Thread {
         } catch (Exception e) {
             throw new RobotRuntimeException("An exception occurred while evaluating " + calledRobotQualifiedName, e);
         } finally {
-            debugger.removeChild(childDebugger);
+            robot.reset();
+            childDebugger.reset();
         }
+
+        result.allowDisposal();
+        return success ? result : null;
     }
 }
@@ -34,6 +34,7 @@ public class FunctionDeclaration extends Instruction {
 
     private final InstructionSet instructions;
     private final List<VariableDeclaration> parameters;
+    private final VariableScope scope;
 
     /**
      * Create a new {@link FunctionDeclaration}
@@ -42,7 +43,19 @@ public class FunctionDeclaration extends Instruction {
      * @param parameters      The function parameters.
      */
     public FunctionDeclaration(final InstructionSet instructions, final List<VariableDeclaration> parameters) {
+        this(instructions, parameters, new VariableScope());
+    }
+
+    /**
+     * Create a new {@link FunctionDeclaration}
+     *
+     * @param instructions    The instructions associated with the function.
+     * @param parameters      The function parameters.
+     * @param scope           The scope that holds the parameters and the variables declared in the function.
+     */
+    public FunctionDeclaration(final InstructionSet instructions, final List<VariableDeclaration> parameters, final VariableScope scope) {
         this.instructions = instructions;
+        this.scope = scope;
         instructions.setParentInstruction(this);
         this.parameters = parameters;
         parameters.forEach(param -> param.setHostInstruction(instructions));
@@ -66,6 +79,15 @@ public class FunctionDeclaration extends Instruction {
     public InstructionFlow<MetaExpression> run(final Debugger debugger, final List<MetaExpression> arguments)
             throws RobotRuntimeException {
 
+        scope.enter();
+        try {
+            return runInScope(debugger, arguments);
+        } finally {
+            scope.exit();
+        }
+    }
+
+    private InstructionFlow<MetaExpression> runInScope(final Debugger debugger, final List<MetaExpression> arguments) {
         // Initiate the parameters
         for (VariableDeclaration parameter : parameters) {
             parameter.process(debugger);
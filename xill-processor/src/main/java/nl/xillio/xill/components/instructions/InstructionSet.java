@@ -31,7 +31,7 @@ import java.util.*;
  * lines of valid code
  */
 public class InstructionSet implements nl.xillio.xill.api.components.InstructionSet, Iterable<Instruction> {
-    private final List<Instruction> instructions = new LinkedList<>();
+    private final List<Instruction> instructions = new ArrayList<>();
     private final Debugger debugger;
     private Instruction parentInstruction;
 
@@ -70,9 +70,11 @@ public class InstructionSet implements nl.xillio.xill.api.components.Instruction
     @Override
     public InstructionFlow<MetaExpression> process(final Debugger debugger) throws RobotRuntimeException {
         InstructionFlow<MetaExpression> processResult = null;
-        List<Instruction> processedInstructions = new ArrayList<>();
+        int processedCount = 0;
+        int size = instructions.size();
 
-        for (Instruction instruction : instructions) {
+        for (int i = 0; i < size; i++) {
+            Instruction instruction = instructions.get(i);
             if (debugger.shouldStop()) {
                 processResult = InstructionFlow.doReturn(ExpressionBuilderHelper.NULL);
                 debugger.returning(this, processResult);
@@ -91,7 +93,7 @@ public class InstructionSet implements nl.xillio.xill.api.components.Instruction
             }
 
             InstructionFlow<MetaExpression> result = processInstruction(instruction, debugger);
-            processedInstructions.add(instruction);
+            processedCount++;
 
             if (!instruction.preventDebugging()) {
                 debugger.endInstruction(instruction, result);
@@ -110,9 +112,9 @@ public class InstructionSet implements nl.xillio.xill.api.components.Instruction
         }
 
         // Dispose all processed instructions
-        for (Instruction instruction : processedInstructions) {
+        for (int i = 0; i < processedCount; i++) {
             try {
-                instruction.close();
+                instructions.get(i).close();
             } catch (Exception e) {
                 LOGGER.error(e.getMessage(), e);
             }
@@ -20,13 +20,10 @@ import nl.xillio.xill.api.Debugger;
 import nl.xillio.xill.api.components.*;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
 import nl.xillio.xill.components.operators.Assign;
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Stack;
 
 /**
  * This {@link Instruction} represents the start of a variable's lifespan.
@@ -36,13 +33,16 @@ import java.util.Stack;
  * set to the value after the assignment operator (or null).
  * In argument mode the value of this variable will be set to the argument passed to this robot, or use the expression
  * value as a fallback.
+ * <p>
+ * The value is stored in a slot of the {@link VariableScope} this declaration belongs to, so accessing a variable
+ * does not require a lookup.
  *
  * @author Thomas biesaart
  */
 public class VariableDeclaration extends Instruction {
     private final Processable assignation;
-    // A stack of stack position, value pairs
-    private final Stack<Pair<Integer, MetaExpression>> valueStack = new Stack<>();
+    private VariableScope scope;
+    private int slot;
     /**
      * This is here for debugging purposes.
      */
@@ -65,6 +65,26 @@ public class VariableDeclaration extends Instruction {
         this(expression, name, null);
     }
 
+    /**
+     * Assign this declaration a slot in a scope. A declaration that is not assigned to a scope has a scope of its own.
+     *
+     * @param scope the scope this variable is declared in
+     */
+    public void setScope(VariableScope scope) {
+        this.scope = scope;
+        this.slot = scope.allocate();
+    }
+
+    /**
+     * @return the scope of this declaration, a scope of its own is created if it was never assigned one
+     */
+    private VariableScope scope() {
+        if (scope == null) {
+            setScope(new VariableScope());
+        }
+        return scope;
+    }
+
     @Override
     public InstructionFlow<MetaExpression> process(final Debugger debugger) {
         pushVariable(ExpressionBuilderHelper.NULL, getInsertionIndex(debugger));
@@ -86,10 +106,9 @@ public class VariableDeclaration extends Instruction {
      * @return the expression of the variable or null
      */
     public MetaExpression getVariable() {
-        if (!valueStack.isEmpty()) {
-            return valueStack.peek().getValue();
-        }
-        return ExpressionBuilder.NULL;
+        VariableScope.Frame frame = scope().frame();
+        MetaExpression value = frame == null ? null : frame.values[slot];
+        return value == null ? ExpressionBuilder.NULL : value;
     }
 
     /**
@@ -98,32 +117,52 @@ public class VariableDeclaration extends Instruction {
      * @param value The value to which the variable needs to be set.
      */
     public void replaceVariable(final MetaExpression value) {
-        if (hasValue()) {
-            Pair<Integer, MetaExpression> replace = valueStack.pop();
-            MetaExpression current = replace.getValue();
-            pushVariable(value, replace.getKey());
-            current.releaseReference();
-        } else {
+        VariableScope.Frame frame = scope().frame();
+        MetaExpression current = frame == null ? null : frame.values[slot];
+        if (current == null) {
             throw new RobotRuntimeException("Reference to unknown variable '" + getName() + "', could not assign value.");
         }
+        value.registerReference();
+        frame.values[slot] = value;
+        current.releaseReference();
     }
 
     /**
-     * Set the value of the variable without popping the last one
+     * Set the value of the variable.
      *
      * @param value         The value of the variable.
      * @param stackPosition The position the variable is in counting from the robot root, starting at 0
      */
     public void pushVariable(final MetaExpression value, final int stackPosition) {
         value.registerReference();
-        valueStack.push(new ImmutablePair<>(stackPosition, value));
+        VariableScope.Frame frame = scope().writableFrame();
+        MetaExpression current = frame.values[slot];
+        frame.values[slot] = value;
+        frame.positions[slot] = stackPosition;
+        if (current != null) {
+            current.releaseReference();
+        }
     }
 
     /**
      * Release the current variable.
      */
     public void releaseVariable() {
-        valueStack.pop().getValue().releaseReference();
+        VariableScope.Frame frame = scope().frame();
+        MetaExpression value = frame == null ? null : frame.values[slot];
+        if (value != null) {
+            frame.values[slot] = null;
+            value.releaseReference();
+        }
+    }
+
+    /**
+     * Release all values of this variable.
+     */
+    public void clear() {
+        while (hasValue()) {
+            releaseVariable();
+        }
     }
 
     /**
@@ -165,7 +204,8 @@ public class VariableDeclaration extends Instruction {
      * @return True if a value exists, false if not
      */
     public boolean hasValue() {
-        return !valueStack.empty();
+        VariableScope.Frame frame = scope().frame();
+        return frame != null && frame.values[slot] != null;
     }
 
     /**
@@ -175,17 +215,7 @@ public class VariableDeclaration extends Instruction {
      * @return The variable at the stack position, or null of it does not exist
      */
     public MetaExpression peek(int stackPosition) {
-        for (Pair<Integer, MetaExpression> stackElement : valueStack) {
-            // Already past the stack position
-            int position = stackElement.getKey();
-            if (position > stackPosition) {
-                return null;
-            }
-            if (position == stackPosition) {
-                return stackElement.getValue();
-            }
-        }
-        return null;
+        return scope().peek(slot, stackPosition);
     }
 
     /**
@@ -0,0 +1,188 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.components.instructions;
+
+import nl.xillio.xill.api.components.MetaExpression;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * This class holds the values of the variables declared in one scope: a function or the top level of a robot.
+ * <p>
+ * Every {@link VariableDeclaration} in the scope is assigned a slot at compile time. The values live in a frame that
+ * has one slot per declaration. A function gets a new frame for every invocation so recursive calls do not share
+ * values. The top level of a robot has a single frame that is created when it is first used.
+ */
+public class VariableScope {
+    /**
+     * The frames entered by isolated threads. An isolated thread keeps the frames it enters to itself and sees the
+     * shared frames of all other scopes.
+     */
+    private static final ThreadLocal<Map<VariableScope, Frame>> ISOLATED_FRAMES = new ThreadLocal<>();
+    private static final AtomicInteger ISOLATED_THREADS = new AtomicInteger();
+
+    private int size = 0;
+    private Frame current;
+
+    /**
+     * Assign a new slot in this scope.
+     *
+     * @return the index of the slot
+     */
+    int allocate() {
+        return size++;
+    }
+
+    /**
+     * @return the number of slots in this scope
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Create a new frame for an invocation of this scope. The frame of the previous invocation is restored by
+     * {@link #exit()}.
+     */
+    public void enter() {
+        Map<VariableScope, Frame> isolated = isolatedFrames();
+        if (isolated == null) {
+            current = new Frame(size, current);
+        } else {
+            isolated.put(this, new Frame(size, isolated.get(this)));
+        }
+    }
+
+    /**
+     * Drop the frame of the current invocation of this scope.
+     */
+    public void exit() {
+        Map<VariableScope, Frame> isolated = isolatedFrames();
+        if (isolated == null || !isolated.containsKey(this)) {
+            current = current.parent;
+        } else {
+            Frame parent = isolated.get(this).parent;
+            if (parent == null) {
+                isolated.remove(this);
+            } else {
+                isolated.put(this, parent);
+            }
+        }
+    }
+
+    /**
+     * @return the frame of the current invocation or null if this scope has not been entered
+     */
+    Frame frame() {
+        if (ISOLATED_THREADS.get() == 0) {
+            return current;
+        }
+        Map<VariableScope, Frame> isolated = ISOLATED_FRAMES.get();
+        Frame frame = isolated == null ? null : isolated.get(this);
+        return frame == null ? current : frame;
+    }
+
+    /**
+     * @return the frame of the current invocation, the top level frame is created if this scope was not entered
+     */
+    Frame writableFrame() {
+        Frame frame = frame();
+        if (frame == null) {
+            current = new Frame(size, null);
+            frame = current;
+        }
+        return frame;
+    }
+
+    /**
+     * Find the value of a slot at a debugger stack position.
+     *
+     * @param slot          the slot
+     * @param stackPosition the position in the stack counting from the root of the robot, starting at 0
+     * @return the value or null if it does not exist
+     */
+    MetaExpression peek(int slot, int stackPosition) {
+        // Search from the oldest invocation to the newest
+        Deque<Frame> frames = new ArrayDeque<>();
+        for (Frame frame = frame(); frame != null; frame = frame.parent) {
+            frames.push(frame);
+        }
+
+        for (Frame frame : frames) {
+            MetaExpression value = frame.values[slot];
+            if (value == null) {
+                continue;
+            }
+            // Already past the stack position
+            int position = frame.positions[slot];
+            if (position > stackPosition) {
+                return null;
+            }
+            if (position == stackPosition) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Run an action in isolation. All frames entered while running the action are only visible to the current
+     * thread, so the same function can be run by multiple threads at the same time. Variables of scopes that were
+     * entered outside the action are shared.
+     *
+     * @param action the action
+     * @param <T>    the type of the result
+     * @return the result of the action
+     */
+    public static <T> T isolated(Supplier<T> action) {
+        Map<VariableScope, Frame> previous = ISOLATED_FRAMES.get();
+        ISOLATED_THREADS.incrementAndGet();
+        ISOLATED_FRAMES.set(new IdentityHashMap<>());
+        try {
+            return action.get();
+        } finally {
+            ISOLATED_FRAMES.set(previous);
+            ISOLATED_THREADS.decrementAndGet();
+        }
+    }
+
+    private static Map<VariableScope, Frame> isolatedFrames() {
+        return ISOLATED_THREADS.get() == 0 ? null : ISOLATED_FRAMES.get();
+    }
+
+    /**
+     * The values of one invocation of a scope.
+     */
+    static class Frame {
+        final MetaExpression[] values;
+        /**
+         * The debugger stack position every value was declared at.
+         */
+        final int[] positions;
+        final Frame parent;
+
+        Frame(int size, Frame parent) {
+            this.values = new MetaExpression[size];
+            this.positions = new int[size];
+            this.parent = parent;
+        }
+    }
+}
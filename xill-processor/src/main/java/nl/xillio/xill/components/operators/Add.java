@@ -21,19 +21,23 @@ import nl.xillio.xill.api.components.*;
 import nl.xillio.xill.api.components.ExpressionBuilderHelper;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
 
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromAppended;
 import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
 
 /**
  * This class represents the + operation.
+ * <p>
+ * Lists and objects are appended to the left operand with {@link ExpressionBuilderHelper#fromAppended(MetaExpression, List)},
+ * so {@code result = result + [item]} does not copy {@code result} or register its elements again every time.
  */
 public final class Add extends BinaryNumberOperator {
 
     public Add(final Processable left, final Processable right) {
-        super(left, right, MathUtils::add);
+        super(left, right, MathUtils::add, PrimitiveArithmetic::add);
     }
 
     @SuppressWarnings("unchecked")
@@ -49,15 +53,13 @@ public final class Add extends BinaryNumberOperator {
             // If both entries are a list, then add them as such
             if (leftValue.getType() == rightValue.getType() && leftValue.getType() == ExpressionDataType.LIST) {
                 return InstructionFlow.doResume(
-                        processLists((List<MetaExpression>) leftValue.getValue(),
-                                (List<MetaExpression>) rightValue.getValue()));
+                        processLists(leftValue, (List<MetaExpression>) rightValue.getValue()));
             }
 
             // If both entries are an object, then add them as such
             if (leftValue.getType() == rightValue.getType() && leftValue.getType() == ExpressionDataType.OBJECT) {
                 return InstructionFlow.doResume(
-                        processObjects((LinkedHashMap<String, MetaExpression>) leftValue.getValue(),
-                                (LinkedHashMap<String, MetaExpression>) rightValue.getValue()));
+                        processObjects(leftValue, (Map<String, MetaExpression>) rightValue.getValue()));
             }
 
             // If the left entry is a list and the right entry is an object,
@@ -65,15 +67,14 @@ public final class Add extends BinaryNumberOperator {
             if (leftValue.getType() == ExpressionDataType.LIST && rightValue.getType() == ExpressionDataType.OBJECT) {
                 return InstructionFlow.doResume(
                         processListObject((List<MetaExpression>) leftValue.getValue(),
-                                (LinkedHashMap<String, MetaExpression>) rightValue.getValue()));
+                                (Map<String, MetaExpression>) rightValue.getValue()));
             }
 
             // If the left entry is an object and the right entry is a list,
             // then convert the list to an object and put it at the end of the object.
             if (leftValue.getType() == ExpressionDataType.OBJECT && rightValue.getType() == ExpressionDataType.LIST) {
                 return InstructionFlow.doResume(
-                        processObjectList((LinkedHashMap<String, MetaExpression>) leftValue.getValue(),
-                                (List<MetaExpression>) rightValue.getValue()));
+                        processObjectList(leftValue, (List<MetaExpression>) rightValue.getValue()));
             }
 
             // The left and right entries are atomics so add them as numbers.
@@ -85,21 +86,15 @@ public final class Add extends BinaryNumberOperator {
 
     }
 
-    private static MetaExpression processLists(final List<MetaExpression> leftValue, final List<MetaExpression> rightValue) {
-        List<MetaExpression> result = new ArrayList<>(leftValue);
-        result.addAll(rightValue);
-
-        return fromValue(result);
+    private static MetaExpression processLists(final MetaExpression leftValue, final List<MetaExpression> rightValue) {
+        return fromAppended(leftValue, rightValue);
     }
 
-    private static MetaExpression processObjects(final LinkedHashMap<String, MetaExpression> leftValue, final LinkedHashMap<String, MetaExpression> rightValue) {
-        LinkedHashMap<String, MetaExpression> result = new LinkedHashMap<>(leftValue);
-        result.putAll(rightValue);
-
-        return fromValue(result);
+    private static MetaExpression processObjects(final MetaExpression leftValue, final Map<String, MetaExpression> rightValue) {
+        return fromAppended(leftValue, rightValue);
     }
 
-    private static MetaExpression processListObject(final List<MetaExpression> leftValue, final LinkedHashMap<String, MetaExpression> rightValue) {
+    private static MetaExpression processListObject(final List<MetaExpression> leftValue, final Map<String, MetaExpression> rightValue) {
         LinkedHashMap<String, MetaExpression> result = new LinkedHashMap<>();
         for (int i = 0; i < leftValue.size(); i++) {
             result.put(Integer.toString(i), leftValue.get(i));
@@ -109,12 +104,12 @@ public final class Add extends BinaryNumberOperator {
         return fromValue(result);
     }
 
-    private static MetaExpression processObjectList(final LinkedHashMap<String, MetaExpression> leftValue, final List<MetaExpression> rightValue) {
-        LinkedHashMap<String, MetaExpression> result = new LinkedHashMap<>(leftValue);
+    private static MetaExpression processObjectList(final MetaExpression leftValue, final List<MetaExpression> rightValue) {
+        LinkedHashMap<String, MetaExpression> entries = new LinkedHashMap<>();
         for (int i = 0; i < rightValue.size(); i++) {
-            result.put(Integer.toString(i), rightValue.get(i));
+            entries.put(Integer.toString(i), rightValue.get(i));
         }
 
-        return fromValue(result);
+        return fromAppended(leftValue, entries);
     }
 }
@@ -52,9 +52,12 @@ abstract class BinaryNumberComparisonOperator implements Processable {
         left.registerReference();
         right.registerReference();
 
-        Number leftValue = left.getNumberValue();
-        Number rightValue = right.getNumberValue();
-        int comparisonResult = MathUtils.compare(leftValue, rightValue);
+        int comparisonResult;
+        if (PrimitiveArithmetic.canCompare(left, right)) {
+            comparisonResult = PrimitiveArithmetic.compare(left, right);
+        } else {
+            comparisonResult = MathUtils.compare(left.getNumberValue(), right.getNumberValue());
+        }
         MetaExpression result = ExpressionBuilder.fromValue(translate(comparisonResult));
 
         left.releaseReference();
@@ -26,6 +26,7 @@ import nl.xillio.xill.api.errors.RobotRuntimeException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 
 /**
  * This class represents an abstract operation that involved two number operands and results in a new number.
@@ -37,11 +38,25 @@ abstract class BinaryNumberOperator implements Processable {
     protected final Processable left;
     protected final Processable right;
     private final BiFunction<Number, Number, Number> operator;
+    private final BinaryOperator<MetaExpression> primitiveOperator;
 
     protected BinaryNumberOperator(Processable left, Processable right, BiFunction<Number, Number, Number> operator) {
+        this(left, right, operator, (a, b) -> null);
+    }
+
+    /**
+     * Create an operator with an unboxed fast path.
+     *
+     * @param left              the left operand
+     * @param right             the right operand
+     * @param operator          the operation on boxed numbers
+     * @param primitiveOperator the fast path, which returns null if it cannot handle the operands
+     */
+    protected BinaryNumberOperator(Processable left, Processable right, BiFunction<Number, Number, Number> operator, BinaryOperator<MetaExpression> primitiveOperator) {
         this.left = left;
         this.right = right;
         this.operator = operator;
+        this.primitiveOperator = primitiveOperator;
     }
 
     @Override
@@ -58,11 +73,15 @@ abstract class BinaryNumberOperator implements Processable {
         }
         leftValue.registerReference();
         rightValue.registerReference();
-        Number result = operator.apply(leftValue.getNumberValue(), rightValue.getNumberValue());
+        // The fast path only skips boxing, temporary operands are still released
+        MetaExpression result = primitiveOperator.apply(leftValue, rightValue);
+        if (result == null) {
+            result = ExpressionBuilder.fromValue(operator.apply(leftValue.getNumberValue(), rightValue.getNumberValue()));
+        }
         leftValue.releaseReference();
         rightValue.releaseReference();
 
-        return InstructionFlow.doResume(ExpressionBuilder.fromValue(result));
+        return InstructionFlow.doResume(result);
     }
 
     @Override
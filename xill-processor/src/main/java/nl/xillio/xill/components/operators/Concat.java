@@ -21,13 +21,18 @@ import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.api.components.Processable;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
-import static nl.xillio.xill.api.components.ExpressionBuilder.fromValue;
+import static nl.xillio.xill.api.components.ExpressionBuilder.fromConcatenation;
 
 /**
- * This class represents the :: operator
+ * This class represents the :: operator.
+ * <p>
+ * Long results are not built right away, so {@code text = text :: line} in a loop does not copy {@code text} every
+ * iteration.
  */
 public class Concat implements Processable {
 
@@ -44,18 +49,19 @@ public class Concat implements Processable {
 
     @Override
     public InstructionFlow<MetaExpression> process(final Debugger debugger) throws RobotRuntimeException {
-        StringBuilder sb = new StringBuilder();
+        List<MetaExpression> values = new ArrayList<>(parts.length);
 
-        for (Processable expression : parts) {
-            MetaExpression part = expression.process(debugger).get();
-            part.registerReference();
-            sb.append(part.getStringValue());
-            part.releaseReference();
-        }
-
-        String result = sb.toString();
+        try {
+            for (Processable expression : parts) {
+                MetaExpression part = expression.process(debugger).get();
+                part.registerReference();
+                values.add(part);
+            }
 
-        return InstructionFlow.doResume(fromValue(result));
+            return InstructionFlow.doResume(fromConcatenation(values));
+        } finally {
+            values.forEach(MetaExpression::releaseReference);
+        }
     }
 
     @Override
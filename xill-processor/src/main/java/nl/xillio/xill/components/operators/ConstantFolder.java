@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.components.operators;
+
+import me.biesaart.utils.Log;
+import nl.xillio.xill.api.NullDebugger;
+import nl.xillio.xill.api.components.*;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * This class replaces operations on literals by the literal they evaluate to, so they are not evaluated again every
+ * time the robot runs.
+ * <p>
+ * Only operators without side effects are folded and only if all of their operands are atomic literals. Operations
+ * that fail are left as they are so the error is reported when the robot runs.
+ */
+public class ConstantFolder {
+    private static final Logger LOGGER = Log.get();
+    private static final Set<Class<? extends Processable>> FOLDABLE = new HashSet<>(Arrays.asList(
+            Add.class,
+            Subtract.class,
+            Multiply.class,
+            Divide.class,
+            Modulo.class,
+            Power.class,
+            Concat.class,
+            Negate.class,
+            Equals.class,
+            NotEquals.class,
+            GreaterThan.class,
+            GreaterThanOrEquals.class,
+            SmallerThan.class,
+            SmallerThanOrEquals.class
+    ));
+
+    private final NullDebugger debugger = new NullDebugger();
+
+    /**
+     * Fold an expression.
+     *
+     * @param expression the expression
+     * @return a literal holding the result of the expression or the expression itself if it cannot be folded
+     */
+    public Processable fold(Processable expression) {
+        if (!FOLDABLE.contains(expression.getClass()) || !expression.getChildren().stream().allMatch(ConstantFolder::isLiteral)) {
+            return expression;
+        }
+
+        MetaExpression result;
+        try {
+            result = expression.process(debugger).get();
+        } catch (RuntimeException e) {
+            LOGGER.debug("Could not fold constant expression", e);
+            return expression;
+        }
+
+        if (result instanceof ImmutableLiteral) {
+            return result;
+        }
+        if (result.getType() != ExpressionDataType.ATOMIC) {
+            return expression;
+        }
+        return new ImmutableLiteral(result.getValue());
+    }
+
+    /**
+     * Check if a processable always results in the same atomic value.
+     *
+     * @param processable the processable
+     * @return true if the processable is an atomic literal
+     */
+    public static boolean isLiteral(Processable processable) {
+        if (processable instanceof ExpressionBuilder) {
+            return ((ExpressionBuilder) processable).isConstant();
+        }
+        return processable instanceof ImmutableLiteral;
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.components.operators;
+
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.PrimitiveNumbers;
+import nl.xillio.xill.api.components.PrimitiveNumbers.Type;
+
+/**
+ * This class contains the unboxed fast paths of the number operators. They produce the same results as
+ * {@link nl.xillio.util.MathUtils} for int, long and double operands: int results that overflow are promoted to long
+ * and any double operand makes the result a double.
+ * <p>
+ * Every operation returns null when its operands are not supported or when a long result would overflow. The
+ * operator then falls back to {@link nl.xillio.util.MathUtils}, which promotes the result to a BigInteger.
+ */
+final class PrimitiveArithmetic {
+    /**
+     * Set the system property xill.operators.primitiveNumbers to false to disable the fast paths.
+     */
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("xill.operators.primitiveNumbers", "true"));
+
+    private PrimitiveArithmetic() {
+        // Utility class
+    }
+
+    static MetaExpression add(MetaExpression a, MetaExpression b) {
+        Type typeA = PrimitiveNumbers.typeOf(a);
+        Type typeB = PrimitiveNumbers.typeOf(b);
+        if (!supports(typeA, typeB)) {
+            return null;
+        }
+        if (typeA == Type.DOUBLE || typeB == Type.DOUBLE) {
+            return PrimitiveNumbers.valueOf(PrimitiveNumbers.doubleValue(a) + PrimitiveNumbers.doubleValue(b));
+        }
+
+        long x = PrimitiveNumbers.longValue(a);
+        long y = PrimitiveNumbers.longValue(b);
+        long r = x + y;
+        if (typeA == Type.INT && typeB == Type.INT) {
+            return integral(r);
+        }
+        if (((x ^ r) & (y ^ r)) < 0) {
+            return null;
+        }
+        return PrimitiveNumbers.valueOf(r);
+    }
+
+    static MetaExpression subtract(MetaExpression a, MetaExpression b) {
+        Type typeA = PrimitiveNumbers.typeOf(a);
+        Type typeB = PrimitiveNumbers.typeOf(b);
+        if (!supports(typeA, typeB)) {
+            return null;
+        }
+        if (typeA == Type.DOUBLE || typeB == Type.DOUBLE) {
+            return PrimitiveNumbers.valueOf(PrimitiveNumbers.doubleValue(a) - PrimitiveNumbers.doubleValue(b));
+        }
+
+        long x = PrimitiveNumbers.longValue(a);
+        long y = PrimitiveNumbers.longValue(b);
+        long r = x - y;
+        if (typeA == Type.INT && typeB == Type.INT) {
+            return integral(r);
+        }
+        if (((x ^ y) & (x ^ r)) < 0) {
+            return null;
+        }
+        return PrimitiveNumbers.valueOf(r);
+    }
+
+    static MetaExpression multiply(MetaExpression a, MetaExpression b) {
+        Type typeA = PrimitiveNumbers.typeOf(a);
+        Type typeB = PrimitiveNumbers.typeOf(b);
+        if (!supports(typeA, typeB)) {
+            return null;
+        }
+        if (typeA == Type.DOUBLE || typeB == Type.DOUBLE) {
+            return PrimitiveNumbers.valueOf(PrimitiveNumbers.doubleValue(a) * PrimitiveNumbers.doubleValue(b));
+        }
+
+        long x = PrimitiveNumbers.longValue(a);
+        long y = PrimitiveNumbers.longValue(b);
+        long r = x * y;
+        if (typeA == Type.INT && typeB == Type.INT) {
+            // The product of two ints always fits in a long
+            return integral(r);
+        }
+        if (((Math.abs(x) | Math.abs(y)) >>> 31 != 0) && ((y != 0 && r / y != x) || (x == Long.MIN_VALUE && y == -1))) {
+            return null;
+        }
+        return PrimitiveNumbers.valueOf(r);
+    }
+
+    /**
+     * Check if two expressions can be compared by {@link #compare(MetaExpression, MetaExpression)}.
+     *
+     * @param a the left operand
+     * @param b the right operand
+     * @return true if both operands are int, long or double numbers
+     */
+    static boolean canCompare(MetaExpression a, MetaExpression b) {
+        return supports(PrimitiveNumbers.typeOf(a), PrimitiveNumbers.typeOf(b));
+    }
+
+    /**
+     * Compare two expressions for which {@link #canCompare(MetaExpression, MetaExpression)} is true.
+     *
+     * @param a the left operand
+     * @param b the right operand
+     * @return the value {@code 0} if {@code a == b};
+     * a value less than {@code 0} if {@code a < b}; and
+     * a value greater than {@code 0} if {@code a > b}
+     */
+    static int compare(MetaExpression a, MetaExpression b) {
+        if (PrimitiveNumbers.typeOf(a) == Type.DOUBLE || PrimitiveNumbers.typeOf(b) == Type.DOUBLE) {
+            return Double.compare(PrimitiveNumbers.doubleValue(a), PrimitiveNumbers.doubleValue(b));
+        }
+        return Long.compare(PrimitiveNumbers.longValue(a), PrimitiveNumbers.longValue(b));
+    }
+
+    private static boolean supports(Type typeA, Type typeB) {
+        return ENABLED && typeA != Type.NONE && typeB != Type.NONE;
+    }
+
+    private static MetaExpression integral(long value) {
+        if ((int) value == value) {
+            return PrimitiveNumbers.valueOf((int) value);
+        }
+        return PrimitiveNumbers.valueOf(value);
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.debugging;
+
+import nl.xillio.xill.api.ExecutionMode;
+import nl.xillio.xill.api.components.Instruction;
+import nl.xillio.xill.api.components.InstructionFlow;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.Processable;
+import nl.xillio.xill.api.components.Robot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents the debugger that is used in {@link ExecutionMode#PRODUCTION production mode}.
+ * <p>
+ * It supports stopping, error handling and child debuggers like the {@link XillDebugger} but it ignores breakpoints,
+ * pause requests and stepping. The only work done for every instruction is keeping an unsynchronized stack so errors
+ * can still be traced back to a line.
+ */
+public class ProductionDebugger extends XillDebugger {
+    private final List<Instruction> currentStack = new ArrayList<>();
+
+    @Override
+    public void startInstruction(final Instruction instruction) {
+        currentStack.add(instruction);
+    }
+
+    @Override
+    public void endInstruction(final Instruction instruction, final InstructionFlow<MetaExpression> result) {
+        currentStack.remove(currentStack.size() - 1);
+    }
+
+    @Override
+    public void pause(boolean userAction) {
+        // Pausing is not supported in production mode
+    }
+
+    @Override
+    public void startFunction(Processable functionDeclaration) {
+        // Function calls are only tracked for debugging
+    }
+
+    @Override
+    public void endFunction(Processable functionDeclaration) {
+        // Function calls are only tracked for debugging
+    }
+
+    @Override
+    public void robotStarted(final Robot robot) {
+        super.robotStarted(robot);
+        currentStack.clear();
+    }
+
+    @Override
+    public List<Instruction> getStackTrace() {
+        return currentStack;
+    }
+
+    @Override
+    public int getStackDepth() {
+        int stackSize = currentStack.size();
+        // The stack size is 0 for variable initializers in included robots, those should be on depth 0 too
+        return stackSize > 0 ? stackSize - 1 : 0;
+    }
+}
@@ -35,6 +35,7 @@ import org.slf4j.MarkerFactory;
 import xill.lang.xill.Target;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -44,7 +45,7 @@ import java.util.stream.Collectors;
  */
 public class XillDebugger implements Debugger {
     private static final Logger LOGGER = Log.get();
-    private final List<Breakpoint> breakpoints;
+    private final Map<RobotID, Set<Integer>> breakpoints;
     private final EventHost<RobotStartedAction> onRobotStarted = new EventHost<>();
     private final EventHost<RobotStoppedAction> onRobotStopped = new EventHost<>();
     private final EventHost<RobotPausedAction> onRobotPaused = new EventHost<>();
@@ -64,7 +65,7 @@ public class XillDebugger implements Debugger {
      * Create a new {@link XillDebugger}.
      */
     public XillDebugger() {
-        breakpoints = new ArrayList<>();
+        breakpoints = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -113,11 +114,11 @@ public class XillDebugger implements Debugger {
     }
 
     private void checkBreakpoints(Instruction instruction) {
-        if (mode != Mode.STOPPED) {
-            breakpoints.stream()
-                    .filter(bp -> bp.matches(instruction))
-                    .findAny()
-                    .ifPresent(bp -> this.mode = Mode.PAUSED);
+        if (mode != Mode.STOPPED && !breakpoints.isEmpty()) {
+            Set<Integer> lines = breakpoints.get(instruction.getRobotID());
+            if (lines != null && lines.contains(instruction.getLineNumber())) {
+                mode = Mode.PAUSED;
+            }
         }
     }
 
@@ -180,7 +181,8 @@ public class XillDebugger implements Debugger {
      */
     @Override
     public void addBreakpoint(final Breakpoint breakpoint) {
-        breakpoints.add(breakpoint);
+        breakpoints.computeIfAbsent(breakpoint.getRobotID(), id -> ConcurrentHashMap.newKeySet())
+                .add(breakpoint.getLineNumber());
     }
 
     /**
@@ -239,7 +241,7 @@ public class XillDebugger implements Debugger {
     @Override
     public void setBreakpoints(final List<Breakpoint> breakpoints) {
         clearBreakpoints();
-        this.breakpoints.addAll(breakpoints);
+        breakpoints.forEach(this::addBreakpoint);
     }
 
     @Override
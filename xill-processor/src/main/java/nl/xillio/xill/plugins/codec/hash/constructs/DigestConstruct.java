@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.codec.hash.constructs;
+
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.construct.Argument;
+import nl.xillio.xill.api.construct.Construct;
+import nl.xillio.xill.api.construct.ConstructContext;
+import nl.xillio.xill.api.construct.ConstructProcessor;
+import nl.xillio.xill.api.errors.InvalidUserInputException;
+import nl.xillio.xill.api.errors.OperationFailedException;
+import nl.xillio.xill.api.io.IOStream;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This construct will consume an input stream or string and compute multiple hashes in a single pass.
+ * It will optionally forward the input data to an output stream.
+ * <p>
+ * Every chunk is read into one buffer that is passed to all digests and the output.
+ */
+public class DigestConstruct extends Construct {
+    private static final String EXAMPLE = "use Hash, File;\n\n" +
+            "var hashes = Hash.digest(File.openRead(\"C:/tmp/note.pdf\"), [\"md5\", \"sha1\", \"sha256\"]);";
+    private static final Pattern SHA = Pattern.compile("sha-?(\\d+)", Pattern.CASE_INSENSITIVE);
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    @Override
+    public ConstructProcessor prepareProcess(ConstructContext context) {
+        return new ConstructProcessor(
+                DigestConstruct::tryProcess,
+                new Argument("input", ATOMIC),
+                new Argument("algorithms", ATOMIC, LIST),
+                new Argument("output", NULL, ATOMIC)
+        );
+    }
+
+    @SuppressWarnings("squid:UnusedPrivateMethod") // Sonar still doesn't support method references
+    private static MetaExpression tryProcess(MetaExpression input, MetaExpression algorithms, MetaExpression output) {
+        try {
+            return process(input, algorithms, output);
+        } catch (IOException e) {
+            throw new OperationFailedException("get digest", e.getMessage(), e);
+        }
+    }
+
+    static MetaExpression process(MetaExpression input, MetaExpression algorithms, MetaExpression output) throws IOException {
+        if (input.isNull()) {
+            throw new InvalidUserInputException("The provided input cannot be null.", "null", "A string or input stream.", EXAMPLE);
+        }
+
+        Map<String, MessageDigest> digests = getDigests(algorithms);
+        OutputStream outputStream = getOutputStream(output);
+        IOStream binaryValue = input.getBinaryValue();
+
+        if (binaryValue.hasInputStream()) {
+            update(binaryValue.getInputStream(), digests.values(), outputStream);
+        } else {
+            try (InputStream inputStream = IOUtils.toInputStream(input.getStringValue())) {
+                update(inputStream, digests.values(), outputStream);
+            }
+        }
+
+        LinkedHashMap<String, MetaExpression> result = new LinkedHashMap<>();
+        digests.forEach((name, digest) -> result.put(name, fromValue(new String(Hex.encodeHex(digest.digest())))));
+        return fromValue(result);
+    }
+
+    private static Map<String, MessageDigest> getDigests(MetaExpression algorithms) {
+        List<MetaExpression> names = algorithms.getType() == LIST ? algorithms.<List<MetaExpression>>getValue() : Collections.singletonList(algorithms);
+        if (names.isEmpty()) {
+            throw new InvalidUserInputException("No algorithms were provided.", "[]", "A list of algorithms.", EXAMPLE);
+        }
+
+        Map<String, MessageDigest> digests = new LinkedHashMap<>();
+        for (MetaExpression name : names) {
+            digests.put(name.getStringValue(), getDigest(name.getStringValue()));
+        }
+        return digests;
+    }
+
+    /**
+     * Create a digest for an algorithm name. Algorithm names are not case sensitive and the SHA algorithms can be
+     * written without a dash, e.g. sha256.
+     *
+     * @param algorithm the name of the algorithm
+     * @return the digest
+     */
+    static MessageDigest getDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            Matcher matcher = SHA.matcher(algorithm);
+            if (matcher.matches()) {
+                try {
+                    return MessageDigest.getInstance("SHA-" + matcher.group(1));
+                } catch (NoSuchAlgorithmException ignored) {
+                    // Report the name the user passed
+                }
+            }
+            throw new InvalidUserInputException("Unknown algorithm.", algorithm, "md5, sha1, sha256, sha384 or sha512", EXAMPLE, e);
+        }
+    }
+
+    private static OutputStream getOutputStream(MetaExpression output) throws IOException {
+        if (output.isNull()) {
+            return null;
+        }
+
+        if (output.getBinaryValue().hasOutputStream()) {
+            return output.getBinaryValue().getOutputStream();
+        }
+
+        throw new InvalidUserInputException("The output parameter is invalid.", output.getStringValue(), "An output stream.", EXAMPLE);
+    }
+
+    private static void update(InputStream inputStream, Iterable<MessageDigest> digests, OutputStream outputStream) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            consume(buffer, read, digests, outputStream);
+        }
+    }
+
+    private static void consume(byte[] buffer, int length, Iterable<MessageDigest> digests, OutputStream outputStream) throws IOException {
+        for (MessageDigest digest : digests) {
+            digest.update(buffer, 0, length);
+        }
+        if (outputStream != null) {
+            outputStream.write(buffer, 0, length);
+        }
+    }
+}
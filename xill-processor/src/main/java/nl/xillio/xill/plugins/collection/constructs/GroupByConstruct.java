@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.collection.constructs;
+
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.construct.Argument;
+import nl.xillio.xill.api.construct.Construct;
+import nl.xillio.xill.api.construct.ConstructContext;
+import nl.xillio.xill.api.construct.ConstructProcessor;
+import nl.xillio.xill.plugins.collection.data.index.CollectionIndex;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups the elements of a list or object by the value of a field.
+ */
+public class GroupByConstruct extends Construct {
+
+    @Override
+    public ConstructProcessor prepareProcess(final ConstructContext context) {
+        return new ConstructProcessor(
+                GroupByConstruct::process,
+                new Argument("collection", LIST, OBJECT),
+                new Argument("keyField", NULL, ATOMIC));
+    }
+
+    /**
+     * Groups the elements of the list or the values of the object by their key.
+     *
+     * @param collection the list or object
+     * @param keyField   the field to group on, or null to group equal elements
+     * @return an object with a list of elements for every key
+     */
+    static MetaExpression process(final MetaExpression collection, final MetaExpression keyField) {
+        LinkedHashMap<String, MetaExpression> result = new LinkedHashMap<>();
+
+        try (CollectionIndex index = CollectionIndex.of(collection, keyField.isNull() ? null : keyField.getStringValue())) {
+            for (Map.Entry<String, List<MetaExpression>> group : index.getGroups().entrySet()) {
+                result.put(group.getKey(), fromValue(new ArrayList<>(group.getValue())));
+            }
+        }
+
+        return fromValue(result);
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.collection.constructs;
+
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.construct.Argument;
+import nl.xillio.xill.api.construct.Construct;
+import nl.xillio.xill.api.construct.ConstructContext;
+import nl.xillio.xill.api.construct.ConstructProcessor;
+import nl.xillio.xill.plugins.collection.data.index.CollectionIndex;
+
+/**
+ * Returns true if an index contains the given key, otherwise false.
+ */
+public class HasKeyConstruct extends Construct {
+
+    @Override
+    public ConstructProcessor prepareProcess(final ConstructContext context) {
+        return new ConstructProcessor(
+                HasKeyConstruct::process,
+                new Argument("index", ATOMIC),
+                new Argument("key", ATOMIC, LIST, OBJECT));
+    }
+
+    /**
+     * Returns true if the index contains the given key.
+     *
+     * @param index the index created by {@link IndexConstruct}
+     * @param key   the key to check
+     * @return true if at least one indexed element has the key
+     */
+    static MetaExpression process(final MetaExpression index, final MetaExpression key) {
+        return fromValue(assertMeta(index, "index", CollectionIndex.class, "collection index").containsKey(key));
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.collection.constructs;
+
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.construct.Argument;
+import nl.xillio.xill.api.construct.Construct;
+import nl.xillio.xill.api.construct.ConstructContext;
+import nl.xillio.xill.api.construct.ConstructProcessor;
+import nl.xillio.xill.plugins.collection.data.index.CollectionIndex;
+
+/**
+ * Builds a hash index over a list or object that can be used with {@link LookupConstruct}, {@link HasKeyConstruct}
+ * and {@link JoinConstruct}.
+ */
+public class IndexConstruct extends Construct {
+
+    @Override
+    public ConstructProcessor prepareProcess(final ConstructContext context) {
+        return new ConstructProcessor(
+                IndexConstruct::process,
+                new Argument("collection", LIST, OBJECT),
+                new Argument("keyField", NULL, ATOMIC));
+    }
+
+    /**
+     * Builds an index over the elements of the list or the values of the object.
+     *
+     * @param collection the list or object
+     * @param keyField   the field to index on, or null to index the elements themselves
+     * @return an atomic value carrying the index
+     */
+    static MetaExpression process(final MetaExpression collection, final MetaExpression keyField) {
+        CollectionIndex index = CollectionIndex.of(collection, keyField.isNull() ? null : keyField.getStringValue());
+
+        MetaExpression result = fromValue("[Index of " + index.size() + " elements]");
+        result.storeMeta(index);
+        return result;
+    }
+}
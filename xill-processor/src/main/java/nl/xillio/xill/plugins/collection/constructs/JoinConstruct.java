@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.collection.constructs;
+
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.construct.Argument;
+import nl.xillio.xill.api.construct.Construct;
+import nl.xillio.xill.api.construct.ConstructContext;
+import nl.xillio.xill.api.construct.ConstructProcessor;
+import nl.xillio.xill.api.errors.InvalidUserInputException;
+import nl.xillio.xill.plugins.collection.data.index.CollectionIndex;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joins two collections of objects on the value of a field. Every object on the left is merged with every object on
+ * the right that has the same key. Objects without a match are left out.
+ */
+public class JoinConstruct extends Construct {
+
+    @Override
+    public ConstructProcessor prepareProcess(final ConstructContext context) {
+        return new ConstructProcessor(
+                JoinConstruct::process,
+                new Argument("left", LIST, OBJECT),
+                new Argument("right", LIST, OBJECT, ATOMIC),
+                new Argument("key", ATOMIC));
+    }
+
+    /**
+     * Joins the left collection with the right collection.
+     *
+     * @param left  the left list or object
+     * @param right the right list or object or an index created by {@link IndexConstruct}
+     * @param key   the field to join on
+     * @return a list with the merged objects, fields from the right overwrite fields from the left
+     */
+    static MetaExpression process(final MetaExpression left, final MetaExpression right, final MetaExpression key) {
+        String keyField = key.getStringValue();
+
+        if (right.getType() == ATOMIC) {
+            CollectionIndex index = assertMeta(right, "right", CollectionIndex.class, "list, object or collection index");
+            if (!keyField.equals(index.getKeyField())) {
+                throw new InvalidUserInputException(
+                        "The index was not built on the join key.",
+                        String.valueOf(index.getKeyField()),
+                        keyField,
+                        "Collection.join(left, Collection.index(right, \"id\"), \"id\");");
+            }
+            return join(left, index);
+        }
+
+        try (CollectionIndex index = CollectionIndex.of(right, keyField)) {
+            return join(left, index);
+        }
+    }
+
+    private static MetaExpression join(MetaExpression left, CollectionIndex index) {
+        List<MetaExpression> result = new ArrayList<>();
+
+        for (MetaExpression leftElement : CollectionIndex.values(left)) {
+            MetaExpression leftKey = index.keyOf(leftElement);
+            if (leftKey == null) {
+                continue;
+            }
+            for (MetaExpression rightElement : index.get(leftKey)) {
+                LinkedHashMap<String, MetaExpression> merged = new LinkedHashMap<>(leftElement.<Map<String, MetaExpression>>getValue());
+                merged.putAll(rightElement.getValue());
+                result.add(fromValue(merged));
+            }
+        }
+
+        return fromValue(result);
+    }
+}
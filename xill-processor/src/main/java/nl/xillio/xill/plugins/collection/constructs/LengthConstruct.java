@@ -22,7 +22,6 @@ import nl.xillio.xill.api.construct.Construct;
 import nl.xillio.xill.api.construct.ConstructContext;
 import nl.xillio.xill.api.construct.ConstructProcessor;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -48,7 +47,7 @@ public class LengthConstruct extends Construct {
 
         if (input.getType() == LIST) {
             @SuppressWarnings("unchecked")
-            List<MetaExpression> list = (ArrayList<MetaExpression>) input.getValue();
+            List<MetaExpression> list = (List<MetaExpression>) input.getValue();
             elements = list.size();
 
         } else {
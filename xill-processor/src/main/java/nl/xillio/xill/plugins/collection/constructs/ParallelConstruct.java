@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.collection.constructs;
+
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.ParallelIteration;
+import nl.xillio.xill.api.components.WrappingIterator;
+import nl.xillio.xill.api.construct.Argument;
+import nl.xillio.xill.api.construct.Construct;
+import nl.xillio.xill.api.construct.ConstructContext;
+import nl.xillio.xill.api.construct.ConstructProcessor;
+import nl.xillio.xill.api.errors.InvalidUserInputException;
+
+import java.util.Map;
+
+/**
+ * This construct marks an iterable as parallel. A map or filter that consumes the result applies its function to
+ * multiple items at the same time.
+ */
+public class ParallelConstruct extends Construct {
+    private static final String EXAMPLE = "use Collection;\n\n" +
+            "var hashes = map<hash>(Collection.parallel(files, {\"threads\": 4, \"ordered\": false}));";
+
+    @Override
+    public ConstructProcessor prepareProcess(final ConstructContext context) {
+        return new ConstructProcessor(
+                ParallelConstruct::process,
+                new Argument("iterable", ATOMIC, LIST, OBJECT),
+                new Argument("options", NULL, OBJECT)
+        );
+    }
+
+    static MetaExpression process(final MetaExpression iterable, final MetaExpression options) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int window = 0;
+        boolean ordered = true;
+
+        if (!options.isNull()) {
+            for (Map.Entry<String, MetaExpression> option : options.<Map<String, MetaExpression>>getValue().entrySet()) {
+                switch (option.getKey()) {
+                    case "threads":
+                        threads = positive(option.getKey(), option.getValue());
+                        break;
+                    case "window":
+                        window = positive(option.getKey(), option.getValue());
+                        break;
+                    case "ordered":
+                        ordered = option.getValue().getBooleanValue();
+                        break;
+                    default:
+                        throw new InvalidUserInputException("Invalid option.", option.getKey(), "\"threads\", \"window\" or \"ordered\"", EXAMPLE);
+                }
+            }
+        }
+
+        // By default keep every thread busy while the consumer takes results
+        if (window == 0) {
+            window = threads * 2;
+        }
+
+        MetaExpression result = fromValue(String.format("parallel(%s)", iterable.getStringValue()));
+        result.storeMeta(WrappingIterator.identity(iterable));
+        result.storeMeta(new ParallelIteration(threads, window, ordered));
+        return result;
+    }
+
+    private static int positive(String option, MetaExpression value) {
+        int number = value.getNumberValue().intValue();
+        if (number < 1) {
+            throw new InvalidUserInputException("Invalid value for option \"" + option + "\".", value.getStringValue(), "A positive number", EXAMPLE);
+        }
+        return number;
+    }
+}
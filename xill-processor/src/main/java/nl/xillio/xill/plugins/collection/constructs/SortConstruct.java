@@ -21,14 +21,20 @@ import nl.xillio.xill.api.construct.Argument;
 import nl.xillio.xill.api.construct.Construct;
 import nl.xillio.xill.api.construct.ConstructContext;
 import nl.xillio.xill.api.construct.ConstructProcessor;
+import nl.xillio.xill.api.errors.InvalidUserInputException;
 import nl.xillio.xill.plugins.collection.services.sort.Sort;
 
+import java.util.List;
+
 /**
  * returns the sorted list.
  * <p>
  * if recursive is true it will also sort lists inside the list.
  * <p>
  * if onKeys is true it will sort by key.
+ * <p>
+ * if by is set it will sort by the value at that field path in every element. Non-recursive sorts work on the
+ * expressions directly instead of converting the whole collection.
  *
  * @author Sander Visser
  */
@@ -40,11 +46,40 @@ public class SortConstruct extends Construct {
     @Override
     public ConstructProcessor prepareProcess(final ConstructContext context) {
         return new ConstructProcessor(
-                (list, recursive, onKeys, reverse) -> process(list, recursive, onKeys, reverse, sort),
+                (list, recursive, onKeys, reverse, by) -> process(list, recursive, onKeys, reverse, by, sort),
                 new Argument("collection", LIST, OBJECT),
                 new Argument("recursive", FALSE, ATOMIC),
                 new Argument("onKeys", FALSE, ATOMIC),
-                new Argument("reverse", FALSE, ATOMIC));
+                new Argument("reverse", FALSE, ATOMIC),
+                new Argument("by", NULL, ATOMIC, LIST));
+    }
+
+    static MetaExpression process(final MetaExpression inputList, final MetaExpression recursive, final MetaExpression onKeys, final MetaExpression reverse, final MetaExpression by, final Sort sort) {
+        if (!by.isNull() && (recursive.getBooleanValue() || onKeys.getBooleanValue())) {
+            throw new InvalidUserInputException(
+                    "Sorting by a field cannot be combined with recursive sorting or sorting on keys.",
+                    by.getStringValue(),
+                    "null when recursive or onKeys is true",
+                    "Collection.sort(list, false, false, false, \"name\");");
+        }
+
+        if (recursive.getBooleanValue()) {
+            return process(inputList, recursive, onKeys, reverse, sort);
+        }
+
+        return sort.asSortedExpression(inputList, onKeys.getBooleanValue(), reverse.getBooleanValue(), getPath(by));
+    }
+
+    private static String[] getPath(final MetaExpression by) {
+        if (by.isNull()) {
+            return new String[0];
+        }
+        if (by.getType() == LIST) {
+            return by.<List<MetaExpression>>getValue().stream()
+                    .map(MetaExpression::getStringValue)
+                    .toArray(String[]::new);
+        }
+        return by.getStringValue().split("\\.");
     }
 
     static MetaExpression process(final MetaExpression inputList, final MetaExpression recursive, final MetaExpression onKeys, final MetaExpression reverse, final Sort sort) {
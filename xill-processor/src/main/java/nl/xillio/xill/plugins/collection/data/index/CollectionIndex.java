@@ -0,0 +1,223 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.collection.data.index;
+
+import nl.xillio.xill.api.components.ExpressionDataType;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.data.MetadataExpression;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * This class represents a hash index over the elements of a list or object. Elements are indexed by the value of a
+ * field or, if no field is given, by the element itself.
+ * <p>
+ * Keys are matched by value: numbers are equal when they have the same numeric value (so {@code 1}, {@code 1.0} and
+ * {@code "1"} are the same key) and all other atomic values are equal when they have the same text. Booleans are
+ * matched by their text. Lists and objects are matched using {@link MetaExpression#equals(Object)}.
+ * <p>
+ * The index holds a reference to every indexed element until it is closed.
+ */
+public class CollectionIndex implements MetadataExpression, AutoCloseable {
+    private static final Object NULL_KEY = new Object();
+    private static final String TRUE = "true";
+    private static final String FALSE = "false";
+
+    private final Map<Object, Group> groups = new LinkedHashMap<>();
+    private final String keyField;
+    private int size;
+
+    /**
+     * Create a new index.
+     *
+     * @param elements the elements to index
+     * @param keyField the field of the elements to index on or null to index the elements themselves
+     */
+    public CollectionIndex(Iterable<MetaExpression> elements, String keyField) {
+        this.keyField = keyField;
+        for (MetaExpression element : elements) {
+            add(element);
+        }
+    }
+
+    /**
+     * Build an index over the elements of a list or the values of an object.
+     *
+     * @param collection the list or object
+     * @param keyField   the field of the elements to index on or null to index the elements themselves
+     * @return the index
+     */
+    public static CollectionIndex of(MetaExpression collection, String keyField) {
+        return new CollectionIndex(values(collection), keyField);
+    }
+
+    /**
+     * Get the elements of a list or the values of an object.
+     *
+     * @param collection the list or object
+     * @return the elements
+     * @throws IllegalArgumentException if the collection is not a list or object
+     */
+    public static Collection<MetaExpression> values(MetaExpression collection) {
+        switch (collection.getType()) {
+            case LIST:
+                return collection.<List<MetaExpression>>getValue();
+            case OBJECT:
+                return collection.<Map<String, MetaExpression>>getValue().values();
+            default:
+                throw new IllegalArgumentException("Only lists and objects can be indexed");
+        }
+    }
+
+    private void add(MetaExpression element) {
+        MetaExpression key = keyOf(element);
+        if (key == null) {
+            return;
+        }
+        groups.computeIfAbsent(normalize(key), k -> new Group(key.getStringValue())).elements.add(element);
+        element.registerReference();
+        size++;
+    }
+
+    /**
+     * Get the key of an element in this index.
+     *
+     * @param element the element
+     * @return the key or null if the element does not have the key field
+     */
+    public MetaExpression keyOf(MetaExpression element) {
+        if (keyField == null) {
+            return element;
+        }
+        if (element.getType() != ExpressionDataType.OBJECT) {
+            return null;
+        }
+        return element.<Map<String, MetaExpression>>getValue().get(keyField);
+    }
+
+    /**
+     * Get all elements with a key.
+     *
+     * @param key the key
+     * @return the elements in the order they were indexed, or an empty list if the key is not in this index
+     */
+    public List<MetaExpression> get(MetaExpression key) {
+        Group group = groups.get(normalize(key));
+        return group == null ? Collections.emptyList() : group.elements;
+    }
+
+    /**
+     * Check if this index contains a key.
+     *
+     * @param key the key
+     * @return true if at least one element has the key
+     */
+    public boolean containsKey(MetaExpression key) {
+        return groups.containsKey(normalize(key));
+    }
+
+    /**
+     * Get all elements grouped by their key. The name of a group is the text of the key of its first element.
+     *
+     * @return the groups in the order their first element was indexed
+     */
+    public Map<String, List<MetaExpression>> getGroups() {
+        Map<String, List<MetaExpression>> result = new LinkedHashMap<>();
+        for (Group group : groups.values()) {
+            result.computeIfAbsent(group.name, name -> new ArrayList<>()).addAll(group.elements);
+        }
+        return result;
+    }
+
+    /**
+     * @return the field this index is built on or null if the elements themselves are the keys
+     */
+    public String getKeyField() {
+        return keyField;
+    }
+
+    /**
+     * @return the number of indexed elements
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        for (Group group : groups.values()) {
+            group.elements.forEach(MetaExpression::releaseReference);
+        }
+        groups.clear();
+        size = 0;
+    }
+
+    /**
+     * Convert a key to an object that can be used in a hash map.
+     *
+     * @param key the key
+     * @return the hash key
+     */
+    static Object normalize(MetaExpression key) {
+        if (key.getType() != ExpressionDataType.ATOMIC) {
+            return key;
+        }
+        if (key.isNull()) {
+            return NULL_KEY;
+        }
+
+        Number number = key.getNumberValue();
+        double value = number.doubleValue();
+        if (Double.isNaN(value)) {
+            return key.getStringValue();
+        }
+        if (value == 0 || value == 1) {
+            // Booleans have a number value as well
+            String text = key.getStringValue();
+            if (TRUE.equals(text) || FALSE.equals(text)) {
+                return text;
+            }
+        }
+        return normalize(number);
+    }
+
+    private static Object normalize(Number number) {
+        if (number instanceof BigInteger) {
+            BigInteger bigInteger = (BigInteger) number;
+            return bigInteger.bitLength() < Long.SIZE ? (Object) bigInteger.longValue() : bigInteger;
+        }
+        if (number instanceof Double || number instanceof Float || number instanceof BigDecimal) {
+            double value = number.doubleValue();
+            long integral = (long) value;
+            if (integral == value && integral != Long.MAX_VALUE && integral != Long.MIN_VALUE) {
+                return integral;
+            }
+            return value;
+        }
+        return number.longValue();
+    }
+
+    private static class Group {
+        private final String name;
+        private final List<MetaExpression> elements = new ArrayList<>(1);
+
+        private Group(String name) {
+            this.name = name;
+        }
+    }
+}
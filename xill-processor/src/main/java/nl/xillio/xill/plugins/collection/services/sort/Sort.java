@@ -16,6 +16,7 @@
 package nl.xillio.xill.plugins.collection.services.sort;
 
 import com.google.inject.ImplementedBy;
+import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.plugins.collection.CollectionXillPlugin;
 import nl.xillio.xill.services.XillService;
 
@@ -38,4 +39,16 @@ public interface Sort extends XillService {
      */
     public Object asSorted(Object input, boolean recursive, boolean onKeys, boolean reverse);
 
+    /**
+     * Sorts the elements of a LIST or the values of an OBJECT without converting them. The sort key of every element
+     * is computed once before sorting, large collections are sorted in parallel.
+     *
+     * @param input   the list or object
+     * @param onKeys  whether it should sort by key
+     * @param reverse if true it sorts highest first
+     * @param path    the field path of the sort key in every element, empty to sort on the elements themselves
+     * @return the sorted list or object, containing the same elements as the input
+     */
+    public MetaExpression asSortedExpression(MetaExpression input, boolean onKeys, boolean reverse, String... path);
+
 }
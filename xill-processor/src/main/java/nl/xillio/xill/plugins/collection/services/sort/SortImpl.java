@@ -16,6 +16,10 @@
 package nl.xillio.xill.plugins.collection.services.sort;
 
 import com.google.inject.Singleton;
+import nl.xillio.xill.api.components.ExpressionBuilderHelper;
+import nl.xillio.xill.api.components.ExpressionDataType;
+import nl.xillio.xill.api.components.MetaExpression;
+
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
@@ -27,6 +31,10 @@ import java.util.stream.Collectors;
  */
 @Singleton
 public class SortImpl implements Sort {
+    /**
+     * The number of elements from which {@link Arrays#parallelSort(Object[], Comparator)} is used.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 13;
 
     @Override
     public Object asSorted(final Object input, final boolean recursive, final boolean onKeys, final boolean reverse) {
@@ -98,6 +106,106 @@ public class SortImpl implements Sort {
         return map;
     }
 
+    @Override
+    public MetaExpression asSortedExpression(final MetaExpression input, final boolean onKeys, final boolean reverse, final String... path) {
+        if (input.getType() == ExpressionDataType.LIST) {
+            return ExpressionBuilderHelper.fromValue(asSortedExpressionList(input.<List<MetaExpression>>getValue(), onKeys, reverse, path));
+        }
+        return ExpressionBuilderHelper.fromValue(asSortedExpressionMap(input.<Map<String, MetaExpression>>getValue(), onKeys, reverse, path));
+    }
+
+    static List<MetaExpression> asSortedExpressionList(final List<MetaExpression> list, final boolean onKeys, final boolean reverse, final String... path) {
+        List<MetaExpression> result = new ArrayList<>(list.size());
+
+        if (onKeys) {
+            // Comparing on keys in a list keeps the order, or reverses it
+            result.addAll(list);
+            if (reverse) {
+                Collections.reverse(result);
+            }
+            return result;
+        }
+
+        KeyedElement[] elements = new KeyedElement[list.size()];
+        int i = 0;
+        for (MetaExpression element : list) {
+            elements[i++] = new KeyedElement(SortKey.of(select(element, path)), null, element);
+        }
+        sort(elements, reverse);
+
+        for (KeyedElement element : elements) {
+            result.add(element.value);
+        }
+        return result;
+    }
+
+    static LinkedHashMap<String, MetaExpression> asSortedExpressionMap(final Map<String, MetaExpression> map, final boolean onKeys, final boolean reverse, final String... path) {
+        KeyedElement[] elements = new KeyedElement[map.size()];
+        int i = 0;
+        for (Entry<String, MetaExpression> entry : map.entrySet()) {
+            SortKey key = onKeys ? SortKey.ofValue(entry.getKey()) : SortKey.of(select(entry.getValue(), path));
+            elements[i++] = new KeyedElement(key, entry.getKey(), entry.getValue());
+        }
+        sort(elements, reverse);
+
+        LinkedHashMap<String, MetaExpression> result = new LinkedHashMap<>();
+        for (KeyedElement element : elements) {
+            result.put(element.name, element.value);
+        }
+        return result;
+    }
+
+    private static void sort(final KeyedElement[] elements, final boolean reverse) {
+        Comparator<KeyedElement> comparator = reverse ?
+                (a, b) -> b.key.compareTo(a.key) :
+                (a, b) -> a.key.compareTo(b.key);
+
+        // Both sorts are stable so equal elements keep their order
+        if (elements.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(elements, comparator);
+        } else {
+            Arrays.sort(elements, comparator);
+        }
+    }
+
+    /**
+     * Follow a path of object keys and list indices.
+     *
+     * @param element the element to start from
+     * @param path    the path
+     * @return the value at the end of the path or null if the path does not exist
+     */
+    static MetaExpression select(final MetaExpression element, final String... path) {
+        MetaExpression current = element;
+        for (String field : path) {
+            current = getChild(current, field);
+            if (current == null) {
+                return ExpressionBuilderHelper.NULL;
+            }
+        }
+        return current;
+    }
+
+    private static MetaExpression getChild(final MetaExpression parent, final String field) {
+        switch (parent.getType()) {
+            case OBJECT:
+                return parent.<Map<String, MetaExpression>>getValue().get(field);
+            case LIST:
+                List<MetaExpression> list = parent.getValue();
+                int index = parseIndex(field);
+                return index >= 0 && index < list.size() ? list.get(index) : null;
+            default:
+                return null;
+        }
+    }
+
+    private static int parseIndex(final String field) {
+        if (field.isEmpty() || field.length() > 9 || !field.chars().allMatch(Character::isDigit)) {
+            return -1;
+        }
+        return Integer.parseInt(field);
+    }
+
     //returns the priority of the type of the input.
     static int getPriorityIndex(final Object object) {
 
@@ -125,6 +233,18 @@ public class SortImpl implements Sort {
         return index;
     }
 
+    private static final class KeyedElement {
+        private final SortKey key;
+        private final String name;
+        private final MetaExpression value;
+
+        private KeyedElement(SortKey key, String name, MetaExpression value) {
+            this.key = key;
+            this.name = name;
+            this.value = value;
+        }
+    }
+
     static class Sorter implements Comparator<Object> {
         static final Sorter NORMAL = new Sorter(false);
         static final Sorter REVERSE = new Sorter(true);
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.collection.services.sort;
+
+import nl.xillio.xill.api.components.MetaExpression;
+
+import java.util.List;
+
+/**
+ * This class represents the precomputed sort key of a single element. The ordering is the same as the ordering of
+ * {@link SortImpl.Sorter}: lists by size, objects, booleans, numbers, other values and finally null. Other values that
+ * are not strings, like dates, are ordered by their string value, so every pair of keys has an order.
+ */
+final class SortKey implements Comparable<SortKey> {
+    private static final int LIST = 0;
+    private static final int OBJECT = 1;
+    private static final int BOOLEAN = 2;
+    private static final int NUMBER = 3;
+    private static final int OTHER = 4;
+    private static final int NULL = 5;
+
+    private final int priority;
+    private final double number;
+    private final String text;
+
+    private SortKey(int priority, double number, String text) {
+        this.priority = priority;
+        this.number = number;
+        this.text = text;
+    }
+
+    /**
+     * Compute the sort key of an expression.
+     *
+     * @param expression the expression
+     * @return the key
+     */
+    static SortKey of(MetaExpression expression) {
+        switch (expression.getType()) {
+            case LIST:
+                return new SortKey(LIST, expression.<List<?>>getValue().size(), null);
+            case OBJECT:
+                // Objects are all equal to each other, so they keep their order
+                return new SortKey(OBJECT, 0, null);
+            default:
+                Object value = MetaExpression.extractValue(expression);
+                return isOther(value) ? new SortKey(OTHER, 0, expression.getStringValue()) : ofValue(value);
+        }
+    }
+
+    /**
+     * Compute the sort key of an extracted atomic value.
+     *
+     * @param value the value
+     * @return the key
+     */
+    static SortKey ofValue(Object value) {
+        if (value == null) {
+            return new SortKey(NULL, 0, null);
+        } else if (value instanceof Boolean) {
+            return new SortKey(BOOLEAN, (Boolean) value ? 1 : 0, null);
+        } else if (value instanceof Number) {
+            return new SortKey(NUMBER, ((Number) value).doubleValue(), null);
+        }
+        return new SortKey(OTHER, 0, String.valueOf(value));
+    }
+
+    private static boolean isOther(Object value) {
+        return value != null && !(value instanceof Boolean) && !(value instanceof Number) && !(value instanceof String);
+    }
+
+    @Override
+    public int compareTo(SortKey other) {
+        if (priority != other.priority) {
+            return Integer.compare(priority, other.priority);
+        }
+        if (priority == OTHER) {
+            return text.compareTo(other.text);
+        }
+        return Double.compare(number, other.number);
+    }
+}
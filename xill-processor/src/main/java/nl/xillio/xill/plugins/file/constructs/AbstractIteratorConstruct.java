@@ -21,49 +21,77 @@ import nl.xillio.xill.api.construct.Argument;
 import nl.xillio.xill.api.construct.Construct;
 import nl.xillio.xill.api.construct.ConstructContext;
 import nl.xillio.xill.api.construct.ConstructProcessor;
+import nl.xillio.xill.api.data.Date;
+import nl.xillio.xill.api.data.DateFactory;
+import nl.xillio.xill.api.errors.InvalidUserInputException;
 import nl.xillio.xill.api.errors.OperationFailedException;
 import nl.xillio.xill.plugins.file.services.FileSystemIterator;
+import nl.xillio.xill.plugins.file.utils.FileEntry;
 
 import java.io.IOException;
 import java.nio.file.FileSystemException;
+import java.nio.file.FileSystems;
 import java.nio.file.Path;
-import java.util.Iterator;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * This class provides a base for constructs that provide an iterator.
+ * <p>
+ * If options are passed the folders are listed by multiple threads, the results can be filtered by name and they can
+ * include the attributes that were read while listing.
  *
  * @author Thomas Biesaart
  * @see IterateFoldersConstruct
  * @see IterateFilesConstruct
  */
 abstract class AbstractIteratorConstruct extends Construct {
+    private static final String EXAMPLE = "use File, System;\n\n" +
+            "var files = File.iterateFiles(\"/content\", true, {\"parallelism\": 8, \"extensions\": [\"pdf\", \"docx\"], \"includeAttributes\": true});\n" +
+            "foreach (file in files) {\n" +
+            "    System.print(file.path :: \" \" :: file.size);\n" +
+            "}";
 
     private FileSystemIterator fileIterator;
+    private DateFactory dateFactory;
 
     @Inject
     void setFileIterator(FileSystemIterator iterator) {
         this.fileIterator = iterator;
     }
 
+    @Inject
+    void setDateFactory(DateFactory dateFactory) {
+        this.dateFactory = dateFactory;
+    }
+
     @Override
     public ConstructProcessor prepareProcess(final ConstructContext context) {
         return new ConstructProcessor(
-                (path, recursive) -> process(context, path, recursive),
+                (path, recursive, options) -> process(context, path, recursive, options),
                 new Argument("path", ATOMIC),
-                new Argument("recursive", FALSE, ATOMIC));
+                new Argument("recursive", FALSE, ATOMIC),
+                new Argument("options", NULL, OBJECT));
     }
 
 
-    private MetaExpression process(ConstructContext context, MetaExpression path, MetaExpression recursive) {
+    private MetaExpression process(ConstructContext context, MetaExpression path, MetaExpression recursive, MetaExpression options) {
         Path file = getPath(context, path);
         boolean isRecursive = recursive.getBooleanValue();
 
-        return tryBuildIterator(file, isRecursive);
+        if (options.isNull()) {
+            return tryBuildIterator(file, isRecursive, null);
+        }
+        return tryBuildIterator(file, isRecursive, parseOptions(options));
     }
 
-    private MetaExpression tryBuildIterator(Path file, boolean isRecursive) {
+    private MetaExpression tryBuildIterator(Path file, boolean isRecursive, WalkOptions options) {
         try {
-            return buildIterator(file, isRecursive);
+            return options == null ? buildIterator(file, isRecursive) : buildIterator(file, isRecursive, options);
         } catch (FileSystemException e) {
             throw new OperationFailedException("read " + e.getFile(), e.getMessage(), e);
         } catch (IOException e) {
@@ -71,9 +99,78 @@ abstract class AbstractIteratorConstruct extends Construct {
         }
     }
 
+    private static WalkOptions parseOptions(MetaExpression options) {
+        WalkOptions result = new WalkOptions();
+
+        for (Map.Entry<String, MetaExpression> option : options.<Map<String, MetaExpression>>getValue().entrySet()) {
+            MetaExpression value = option.getValue();
+            switch (option.getKey()) {
+                case "parallelism":
+                    result.parallelism = value.getNumberValue().intValue();
+                    if (result.parallelism < 1) {
+                        throw new InvalidUserInputException("Invalid value for option \"parallelism\".", value.getStringValue(), "A positive number", EXAMPLE);
+                    }
+                    break;
+                case "filter":
+                    result.filter = result.filter.and(globFilter(value));
+                    break;
+                case "extensions":
+                    result.filter = result.filter.and(extensionFilter(value));
+                    break;
+                case "includeAttributes":
+                    result.includeAttributes = value.getBooleanValue();
+                    break;
+                default:
+                    throw new InvalidUserInputException("Invalid option.", option.getKey(), "\"parallelism\", \"filter\", \"extensions\" or \"includeAttributes\"", EXAMPLE);
+            }
+        }
+
+        return result;
+    }
+
+    private static Predicate<Path> globFilter(MetaExpression glob) {
+        PathMatcher matcher;
+        try {
+            matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob.getStringValue());
+        } catch (PatternSyntaxException e) {
+            throw new InvalidUserInputException("Invalid value for option \"filter\": " + e.getDescription(), glob.getStringValue(), "A glob pattern like *.txt", EXAMPLE, e);
+        }
+        return path -> path.getFileName() != null && matcher.matches(path.getFileName());
+    }
+
+    private static Predicate<Path> extensionFilter(MetaExpression extensions) {
+        List<MetaExpression> values = extensions.getType() == LIST ? extensions.<List<MetaExpression>>getValue() : Collections.singletonList(extensions);
+        Set<String> allowed = new HashSet<>();
+        for (MetaExpression extension : values) {
+            allowed.add(normalizeExtension(extension.getStringValue()));
+        }
+
+        return path -> {
+            String name = path.getFileName() == null ? "" : path.getFileName().toString();
+            int dot = name.lastIndexOf('.');
+            return dot >= 0 && allowed.contains(normalizeExtension(name.substring(dot + 1)));
+        };
+    }
+
+    private static String normalizeExtension(String extension) {
+        String result = extension.startsWith(".") ? extension.substring(1) : extension;
+        return result.toLowerCase(Locale.ROOT);
+    }
+
 
     protected abstract MetaExpression buildIterator(Path file, boolean isRecursive) throws IOException;
 
+    /**
+     * Build an iterator that uses the options that were passed to this construct.
+     *
+     * @param file        the folder to iterate
+     * @param isRecursive whether sub folders should be iterated as well
+     * @param options     the options
+     * @return the expression holding the iterator
+     * @throws IOException if the folder could not be read
+     */
+    protected abstract MetaExpression buildIterator(Path file, boolean isRecursive, WalkOptions options) throws IOException;
+
 
     protected Iterator<Path> iterateFiles(Path folder, boolean recursive) throws IOException {
         return fileIterator.iterateFiles(folder, recursive);
@@ -82,4 +179,48 @@ abstract class AbstractIteratorConstruct extends Construct {
     protected Iterator<Path> iterateFolders(Path folder, boolean recursive) throws IOException {
         return fileIterator.iterateFolders(folder, recursive);
     }
+
+    protected Iterator<FileEntry> walkFiles(Path folder, boolean recursive, WalkOptions options) throws IOException {
+        return fileIterator.walkFiles(folder, recursive, options.parallelism, options.filter);
+    }
+
+    protected Iterator<FileEntry> walkFolders(Path folder, boolean recursive, WalkOptions options) throws IOException {
+        return fileIterator.walkFolders(folder, recursive, options.parallelism, options.filter);
+    }
+
+    /**
+     * Add the attributes that were read while listing an entry to its expression value.
+     *
+     * @param value the value to add the attributes to
+     * @param entry the entry
+     */
+    protected void putAttributes(Map<String, MetaExpression> value, FileEntry entry) {
+        BasicFileAttributes attributes = entry.getAttributes();
+        if (attributes.isRegularFile()) {
+            value.put("size", fromValue(attributes.size()));
+        }
+        value.put("creationDate", dateValue(attributes.creationTime()));
+        value.put("lastModifiedDate", dateValue(attributes.lastModifiedTime()));
+    }
+
+    private MetaExpression dateValue(FileTime time) {
+        Date date = dateFactory.from(time.toInstant());
+
+        MetaExpression result = fromValue(date.toString());
+        result.storeMeta(date);
+        return result;
+    }
+
+    /**
+     * The options that can be passed to the iterate constructs.
+     */
+    protected static class WalkOptions {
+        private int parallelism = 1;
+        private Predicate<Path> filter = path -> true;
+        private boolean includeAttributes;
+
+        boolean isIncludeAttributes() {
+            return includeAttributes;
+        }
+    }
 }
@@ -18,14 +18,18 @@ package nl.xillio.xill.plugins.file.constructs;
 import com.google.inject.Singleton;
 import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.api.components.MetaExpressionIterator;
+import nl.xillio.xill.plugins.file.utils.FileEntry;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 
 /**
  * Creates an iterator that iterates over all files in a specific folder. If recursive is set to true the iterator will
  * also cover all files in the subdirectories
+ * <p>
+ * If options are passed the files are listed by multiple threads and each file can include its size and dates.
  */
 @Singleton
 public class IterateFilesConstruct extends AbstractIteratorConstruct {
@@ -37,4 +41,23 @@ public class IterateFilesConstruct extends AbstractIteratorConstruct {
         result.storeMeta(new MetaExpressionIterator<>(iterator, entry -> fromValue(entry.toString())));
         return result;
     }
+
+    @Override
+    protected MetaExpression buildIterator(Path file, boolean isRecursive, WalkOptions options) throws IOException {
+        MetaExpression result = fromValue("List files " + (isRecursive ? "recursively " : "") + "in " + file);
+        Iterator<FileEntry> iterator = walkFiles(file, isRecursive, options);
+        result.storeMeta(new MetaExpressionIterator<>(iterator, entry -> createExpression(entry, options)));
+        return result;
+    }
+
+    private MetaExpression createExpression(FileEntry entry, WalkOptions options) {
+        if (!options.isIncludeAttributes()) {
+            return fromValue(entry.getPath().toString());
+        }
+
+        LinkedHashMap<String, MetaExpression> value = new LinkedHashMap<>();
+        value.put("path", fromValue(entry.getPath().toString()));
+        putAttributes(value, entry);
+        return fromValue(value);
+    }
 }
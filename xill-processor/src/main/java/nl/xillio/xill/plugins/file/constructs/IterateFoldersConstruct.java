@@ -18,6 +18,7 @@ package nl.xillio.xill.plugins.file.constructs;
 import com.google.inject.Singleton;
 import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.api.components.MetaExpressionIterator;
+import nl.xillio.xill.plugins.file.utils.FileEntry;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -28,6 +29,8 @@ import java.util.LinkedHashMap;
 /**
  * Creates an iterator that iterates over all files in a specific folder. If recursive is set to true the iterator will
  * also cover all files in the subdirectories.
+ * <p>
+ * If options are passed the folders are listed by multiple threads and each folder can include its dates.
  *
  * @author Thomas biesaart
  */
@@ -42,6 +45,22 @@ public class IterateFoldersConstruct extends AbstractIteratorConstruct {
         return result;
     }
 
+    @Override
+    protected MetaExpression buildIterator(Path file, boolean isRecursive, WalkOptions options) throws IOException {
+        MetaExpression result = fromValue("List folders " + (isRecursive ? "recursively " : "") + "in " + file);
+        Iterator<FileEntry> iterator = walkFolders(file, isRecursive, options);
+        result.storeMeta(new MetaExpressionIterator<>(iterator, entry -> createEntryExpression(entry, options)));
+        return result;
+    }
+
+    private MetaExpression createEntryExpression(FileEntry entry, WalkOptions options) {
+        LinkedHashMap<String, MetaExpression> value = createValue(entry.getPath());
+        if (options.isIncludeAttributes()) {
+            putAttributes(value, entry);
+        }
+        return fromValue(value);
+    }
+
     /**
      * Build a MetaExpression from a Folder
      *
@@ -50,6 +69,10 @@ public class IterateFoldersConstruct extends AbstractIteratorConstruct {
      */
     @SuppressWarnings("squid:UnusedPrivateMethod") // Sonar doesn't do lambdas
     private static MetaExpression createExpression(Path folder) {
+        return fromValue(createValue(folder));
+    }
+
+    private static LinkedHashMap<String, MetaExpression> createValue(Path folder) {
         LinkedHashMap<String, MetaExpression> value = new LinkedHashMap<>();
 
         boolean read = Files.isReadable(folder);
@@ -64,6 +87,6 @@ public class IterateFoldersConstruct extends AbstractIteratorConstruct {
             value.put("parent", fromValue(folder.getParent().toString()));
         }
 
-        return fromValue(value);
+        return value;
     }
 }
@@ -17,10 +17,12 @@ package nl.xillio.xill.plugins.file.services;
 
 import com.google.inject.ImplementedBy;
 import nl.xillio.xill.plugins.file.services.files.FileUtilitiesImpl;
+import nl.xillio.xill.plugins.file.utils.FileEntry;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Iterator;
+import java.util.function.Predicate;
 
 /**
  * This interface represents an object that is capable of providing iterators for files.
@@ -49,4 +51,32 @@ public interface FileSystemIterator {
      * @throws IOException when the folder does not exist or is not a folder at all
      */
     Iterator<Path> iterateFolders(Path folder, boolean recursive) throws IOException;
+
+    /**
+     * Create an Iterator that will cover only files in a specific directory. The folders are listed by multiple threads
+     * and the attributes of every file are read once, so the order of the files is not defined.
+     * The iterator should be closed if it is not consumed completely.
+     *
+     * @param folder      the folder to list files from
+     * @param recursive   if this is set to true the iterator will also contain all files in all subdirectories
+     * @param parallelism the number of folders that are listed at the same time
+     * @param filter      only files that pass this filter are returned
+     * @return the iterator
+     * @throws IOException when the folder does not exist or is not a folder at all
+     */
+    Iterator<FileEntry> walkFiles(Path folder, boolean recursive, int parallelism, Predicate<Path> filter) throws IOException;
+
+    /**
+     * Create an Iterator that will cover only folders in a specific directory. The folders are listed by multiple
+     * threads and the attributes of every folder are read once, so the order of the folders is not defined.
+     * The iterator should be closed if it is not consumed completely.
+     *
+     * @param folder      the folder to list folders from
+     * @param recursive   if this is set to true the iterator will also contain all folders in all subdirectories
+     * @param parallelism the number of folders that are listed at the same time
+     * @param filter      only folders that pass this filter are returned
+     * @return the iterator
+     * @throws IOException when the folder does not exist or is not a folder at all
+     */
+    Iterator<FileEntry> walkFolders(Path folder, boolean recursive, int parallelism, Predicate<Path> filter) throws IOException;
 }
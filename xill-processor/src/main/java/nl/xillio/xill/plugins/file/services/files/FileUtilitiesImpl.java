@@ -18,13 +18,16 @@ package nl.xillio.xill.plugins.file.services.files;
 import com.google.inject.Singleton;
 import nl.xillio.xill.plugins.file.services.FileSizeCalculator;
 import nl.xillio.xill.plugins.file.services.FileSystemIterator;
+import nl.xillio.xill.plugins.file.utils.FileEntry;
 import nl.xillio.xill.plugins.file.utils.FileIterator;
 import nl.xillio.xill.plugins.file.utils.FolderIterator;
+import nl.xillio.xill.plugins.file.utils.ParallelFileWalker;
 
 import java.io.IOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Iterator;
+import java.util.function.Predicate;
 
 /**
  * This is the main implementation of the {@link FileUtilities} service.
@@ -120,6 +123,18 @@ public class FileUtilitiesImpl implements FileUtilities, FileSizeCalculator, Fil
         return new FolderIterator(folder, recursive);
     }
 
+    @Override
+    public Iterator<FileEntry> walkFiles(Path folder, boolean recursive, int parallelism, Predicate<Path> filter) throws IOException {
+        return new ParallelFileWalker(folder, recursive, parallelism,
+                entry -> entry.getAttributes().isRegularFile() && filter.test(entry.getPath()));
+    }
+
+    @Override
+    public Iterator<FileEntry> walkFolders(Path folder, boolean recursive, int parallelism, Predicate<Path> filter) throws IOException {
+        return new ParallelFileWalker(folder, recursive, parallelism,
+                entry -> entry.getAttributes().isDirectory() && filter.test(entry.getPath()));
+    }
+
     @Override
     public long getSize(Path path) throws IOException {
         if (Files.isRegularFile(path)) {
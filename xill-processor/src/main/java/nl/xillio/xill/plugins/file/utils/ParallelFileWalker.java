@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.file.utils;
+
+import me.biesaart.utils.Log;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * This class iterates over a folder tree while the folders are listed on a pool of threads.
+ * <p>
+ * The attributes of every entry are read once while listing, so the results carry them and no extra call is needed
+ * to tell files from folders. The listing threads feed a bounded queue, so they wait when the consumer falls behind.
+ * The order of the results is not defined.
+ *
+ * @see FileSystemIterator
+ */
+public class ParallelFileWalker implements Iterator<FileEntry>, AutoCloseable {
+    private static final Logger LOGGER = Log.get();
+    private static final FileEntry END = new FileEntry(null, null);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    static final int QUEUE_CAPACITY = 1024;
+
+    private final boolean recursive;
+    private final Predicate<FileEntry> resultChecker;
+    private final BlockingQueue<FileEntry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicInteger pendingFolders = new AtomicInteger(1);
+    private final ExecutorService executor;
+    private FileEntry nextValue;
+    private volatile boolean done;
+
+    /**
+     * Create a new ParallelFileWalker and start listing the rootFolder.
+     *
+     * @param rootFolder    the root folder
+     * @param recursive     whether sub folders should be listed as well
+     * @param parallelism   the number of folders that are listed at the same time
+     * @param resultChecker the check an entry must pass to be returned
+     * @throws IOException if the rootFolder does not exist or is not a folder
+     */
+    public ParallelFileWalker(Path rootFolder, boolean recursive, int parallelism, Predicate<FileEntry> resultChecker) throws IOException {
+        this.recursive = recursive;
+        this.resultChecker = resultChecker;
+
+        // Open the root on this thread so a missing folder fails here
+        DirectoryStream<Path> rootStream = Files.newDirectoryStream(rootFolder);
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "File Walker-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(() -> walk(rootStream));
+    }
+
+    private void walk(Path folder) {
+        try {
+            walk(Files.newDirectoryStream(folder));
+        } catch (IOException e) {
+            LOGGER.error("Failed to open " + folder.toAbsolutePath(), e);
+            finishFolder();
+        }
+    }
+
+    private void walk(DirectoryStream<Path> stream) {
+        try (DirectoryStream<Path> folder = stream) {
+            for (Path path : folder) {
+                visit(path);
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            LOGGER.error("Failed to list a folder.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            finishFolder();
+        }
+    }
+
+    private void visit(Path path) throws InterruptedException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // Broken links and entries that were removed in the meantime are neither files nor folders
+            LOGGER.debug("Failed to read the attributes of " + path, e);
+            return;
+        }
+
+        if (attributes.isDirectory() && recursive) {
+            schedule(path);
+        }
+
+        FileEntry entry = new FileEntry(path, attributes);
+        if (resultChecker.test(entry)) {
+            queue.put(entry);
+        }
+    }
+
+    private void schedule(Path folder) {
+        pendingFolders.incrementAndGet();
+        try {
+            executor.execute(() -> walk(folder));
+        } catch (RejectedExecutionException e) {
+            // This walker was closed
+            pendingFolders.decrementAndGet();
+        }
+    }
+
+    private void finishFolder() {
+        if (pendingFolders.decrementAndGet() == 0) {
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Check if there is a next value in this iterator. This waits until the next value has been found.
+     *
+     * @return true if there is a next value
+     */
+    @Override
+    public boolean hasNext() {
+        if (nextValue == null && !done) {
+            try {
+                FileEntry entry = queue.take();
+                if (entry == END) {
+                    close();
+                } else {
+                    nextValue = entry;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+            }
+        }
+
+        return nextValue != null;
+    }
+
+    @Override
+    public FileEntry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No next file present");
+        }
+
+        FileEntry next = nextValue;
+        nextValue = null;
+        return next;
+    }
+
+    /**
+     * Stop listing folders and release the threads.
+     */
+    @Override
+    public void close() {
+        done = true;
+        executor.shutdownNow();
+        queue.clear();
+    }
+}
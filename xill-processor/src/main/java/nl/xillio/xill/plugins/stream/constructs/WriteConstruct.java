@@ -23,6 +23,7 @@ import nl.xillio.xill.api.construct.ConstructProcessor;
 import nl.xillio.xill.api.errors.InvalidUserInputException;
 import nl.xillio.xill.api.errors.OperationFailedException;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CountingOutputStream;
 
 import java.io.*;
 
@@ -59,12 +60,16 @@ class WriteConstruct extends Construct {
                             "Stream.write(\"Hello World\\n\", target, 100)");
         }
 
+        String outputCharsetName = outputCharset.isNull() ? null : outputCharset.getStringValue();
+        if (!source.getBinaryValue().hasInputStream() && limit.getNumberValue().longValue() < 0) {
+            return fromValue(writeString(source, getOutputStream(target, "target"), outputCharsetName));
+        }
+
         InputStream inputStream = openInputStream(source);
         OutputStream outputStream = getOutputStream(target, "target");
 
         // Ignore input encoding if the input is a string (not a stream)
         String inputCharsetName = !source.getBinaryValue().hasInputStream() || inputCharset.isNull() ? null : inputCharset.getStringValue();
-        String outputCharsetName = outputCharset.isNull() ? null : outputCharset.getStringValue();
 
         long dataCount = write(inputStream, outputStream, outputCharsetName, inputCharsetName,
                 limit.getNumberValue().longValue());
@@ -78,6 +83,26 @@ class WriteConstruct extends Construct {
         return IOUtils.toInputStream(source.getStringValue());
     }
 
+    /**
+     * Write the string value of the source without converting it to an input stream first. This lets a long text that
+     * was built using concatenation be written without ever building it in memory.
+     *
+     * @return the number of bytes written if no charset is given, the number of characters otherwise
+     */
+    private long writeString(MetaExpression source, OutputStream outputStream, String outputCharset) {
+        try {
+            CountingOutputStream countingStream = new CountingOutputStream(outputStream);
+            CountingWriter writer = new CountingWriter(outputCharset == null ?
+                    new OutputStreamWriter(countingStream) : new OutputStreamWriter(countingStream, outputCharset));
+            source.writeStringValue(writer);
+            // We should not close the writer as this will close the underlying stream, which can be reused
+            writer.flush();
+            return outputCharset == null ? countingStream.getByteCount() : writer.count;
+        } catch (IOException e) {
+            throw new OperationFailedException("write to stream", e.getMessage(), e);
+        }
+    }
+
     private long write(InputStream inputStream, OutputStream outputStream, String outputCharset, String inputCharset, long limit) {
         try {
             // Copy the buffer one-to-one if no charset conversion is required
@@ -99,5 +124,32 @@ class WriteConstruct extends Construct {
         }
     }
 
+    /**
+     * A writer that counts the characters written to it.
+     */
+    private static class CountingWriter extends FilterWriter {
+        private long count;
+
+        CountingWriter(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            super.write(c);
+            count++;
+        }
 
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            super.write(buffer, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void write(String string, int offset, int length) throws IOException {
+            super.write(string, offset, length);
+            count += length;
+        }
+    }
 }
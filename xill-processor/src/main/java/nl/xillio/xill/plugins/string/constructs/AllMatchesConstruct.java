@@ -23,6 +23,7 @@ import nl.xillio.xill.api.construct.ConstructContext;
 import nl.xillio.xill.api.construct.ConstructProcessor;
 import nl.xillio.xill.api.errors.InvalidUserInputException;
 import nl.xillio.xill.plugins.string.services.string.RegexService;
+import nl.xillio.xill.plugins.string.services.string.RegexTimeoutMode;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -48,22 +49,24 @@ public class AllMatchesConstruct extends Construct {
     @Override
     public ConstructProcessor prepareProcess(final ConstructContext context) {
         return new ConstructProcessor(
-                (valueVar, regexVar, timeout) -> process(valueVar, regexVar, timeout),
+                (valueVar, regexVar, timeout, timeoutMode) -> process(valueVar, regexVar, timeout, timeoutMode),
                 new Argument("value", ATOMIC),
                 new Argument("regex", ATOMIC),
-                new Argument("timeout", fromValue(regexService.getRegexTimeout()), ATOMIC));
+                new Argument("timeout", fromValue(regexService.getRegexTimeout()), ATOMIC),
+                new Argument("timeoutMode", fromValue(RegexTimeoutMode.STRICT.getName()), ATOMIC));
     }
 
-    private MetaExpression process(final MetaExpression textVar, final MetaExpression regexVar, final MetaExpression timeoutVar) {
+    private MetaExpression process(final MetaExpression textVar, final MetaExpression regexVar, final MetaExpression timeoutVar, final MetaExpression timeoutModeVar) {
 
         List<MetaExpression> list = new ArrayList<>();
 
         String text = textVar.getStringValue();
         String regex = regexVar.getStringValue();
         int timeout = (int) timeoutVar.getNumberValue().doubleValue();
+        RegexTimeoutMode timeoutMode = RegexTimeoutMode.forName(timeoutModeVar.getStringValue());
 
         try {
-            Matcher matcher = regexService.getMatcher(regex, text, timeout);
+            Matcher matcher = regexService.getMatcher(regex, text, timeout, timeoutMode);
             List<String> results = regexService.tryMatch(matcher);
             for (String s : results) {
                 list.add(fromValue(s));
@@ -24,6 +24,7 @@ import nl.xillio.xill.api.construct.ConstructProcessor;
 import nl.xillio.xill.api.errors.InvalidUserInputException;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
 import nl.xillio.xill.plugins.string.services.string.RegexService;
+import nl.xillio.xill.plugins.string.services.string.RegexTimeoutMode;
 
 import java.util.regex.Matcher;
 import java.util.regex.PatternSyntaxException;
@@ -48,18 +49,20 @@ public class MatchesConstruct extends Construct {
                 this::process,
                 new Argument("value", ATOMIC),
                 new Argument("regex", ATOMIC),
-                new Argument("timeout", fromValue(regexService.getRegexTimeout()), ATOMIC));
+                new Argument("timeout", fromValue(regexService.getRegexTimeout()), ATOMIC),
+                new Argument("timeoutMode", fromValue(RegexTimeoutMode.STRICT.getName()), ATOMIC));
     }
 
     @SuppressWarnings("squid:S1166")
-    private MetaExpression process(final MetaExpression valueVar, final MetaExpression regexVar, final MetaExpression timeoutVar) {
+    private MetaExpression process(final MetaExpression valueVar, final MetaExpression regexVar, final MetaExpression timeoutVar, final MetaExpression timeoutModeVar) {
         String value = valueVar.getStringValue();
         String regex = regexVar.getStringValue();
 
         int timeout = (int) timeoutVar.getNumberValue().doubleValue();
+        RegexTimeoutMode timeoutMode = RegexTimeoutMode.forName(timeoutModeVar.getStringValue());
 
         try {
-            Matcher matcher = regexService.getMatcher(regex, value, timeout);
+            Matcher matcher = regexService.getMatcher(regex, value, timeout, timeoutMode);
             return fromValue(regexService.matches(matcher));
         } catch (PatternSyntaxException p) {
             throw new InvalidUserInputException("Invalid pattern in regex().", regex, "A valid regular expression.", "use String;\nString.matches(\"I need help!\", \".*help.*\");", p);
@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.string.constructs;
+
+import com.google.inject.Inject;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.construct.Construct;
+import nl.xillio.xill.api.construct.ConstructContext;
+import nl.xillio.xill.api.construct.ConstructProcessor;
+import nl.xillio.xill.plugins.string.services.string.PatternCache;
+import nl.xillio.xill.plugins.string.services.string.RegexService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Returns the statistics of the cache that holds the compiled regular expressions.
+ */
+public class RegexCacheInfoConstruct extends Construct {
+
+    private final RegexService regexService;
+
+    @Inject
+    public RegexCacheInfoConstruct(RegexService regexService) {
+        this.regexService = regexService;
+    }
+
+    @Override
+    public ConstructProcessor prepareProcess(final ConstructContext context) {
+        return new ConstructProcessor(this::process);
+    }
+
+    private MetaExpression process() {
+        PatternCache cache = regexService.getPatternCache();
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("size", cache.size());
+        values.put("maxSize", cache.getMaxSize());
+        values.put("hits", cache.getHits());
+        values.put("misses", cache.getMisses());
+
+        return parseObject(values);
+    }
+}
@@ -25,6 +25,7 @@ import nl.xillio.xill.api.construct.ConstructProcessor;
 import nl.xillio.xill.api.errors.InvalidUserInputException;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
 import nl.xillio.xill.plugins.string.services.string.RegexService;
+import nl.xillio.xill.plugins.string.services.string.RegexTimeoutMode;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -55,17 +56,19 @@ public class RegexConstruct extends Construct {
                 this::process,
                 new Argument("string", ATOMIC),
                 new Argument("regex", ATOMIC),
-                new Argument("timeout", fromValue(regexService.getRegexTimeout()), ATOMIC));
+                new Argument("timeout", fromValue(regexService.getRegexTimeout()), ATOMIC),
+                new Argument("timeoutMode", fromValue(RegexTimeoutMode.STRICT.getName()), ATOMIC));
     }
 
     @SuppressWarnings("squid:S1166")
-    private MetaExpression process(final MetaExpression valueVar, final MetaExpression regexVar, final MetaExpression timeoutVar) {
+    private MetaExpression process(final MetaExpression valueVar, final MetaExpression regexVar, final MetaExpression timeoutVar, final MetaExpression timeoutModeVar) {
 
         String regex = regexVar.getStringValue();
         int timeout = (int) timeoutVar.getNumberValue().doubleValue();
+        RegexTimeoutMode timeoutMode = RegexTimeoutMode.forName(timeoutModeVar.getStringValue());
 
         try {
-            Matcher matcher = regexService.getMatcher(regex, valueVar.getStringValue(), timeout);
+            Matcher matcher = regexService.getMatcher(regex, valueVar.getStringValue(), timeout, timeoutMode);
 
             if (regexService.matches(matcher)) {
                 return fromValue(makeList(matcher));
@@ -24,6 +24,7 @@ import nl.xillio.xill.api.construct.ConstructProcessor;
 import nl.xillio.xill.api.errors.InvalidUserInputException;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
 import nl.xillio.xill.plugins.string.services.string.RegexService;
+import nl.xillio.xill.plugins.string.services.string.RegexTimeoutMode;
 import nl.xillio.xill.plugins.string.services.string.StringUtilityService;
 
 import java.util.regex.Matcher;
@@ -58,7 +59,8 @@ public class ReplaceConstruct extends Construct {
                 new Argument("replacement", ATOMIC),
                 new Argument("useRegex", TRUE, ATOMIC),
                 new Argument("replaceAll", TRUE, ATOMIC),
-                new Argument("timeout", fromValue(regexService.getRegexTimeout()), ATOMIC)};
+                new Argument("timeout", fromValue(regexService.getRegexTimeout()), ATOMIC),
+                new Argument("timeoutMode", fromValue(RegexTimeoutMode.STRICT.getName()), ATOMIC)};
 
         return new ConstructProcessor(this::process, args);
 
@@ -79,8 +81,9 @@ public class ReplaceConstruct extends Construct {
         int timeout = (int) input[5].getNumberValue().doubleValue();
 
         if (useregex) {
+            RegexTimeoutMode timeoutMode = RegexTimeoutMode.forName(input[6].getStringValue());
             try {
-                Matcher m = regexService.getMatcher(needle, text, timeout);
+                Matcher m = regexService.getMatcher(needle, text, timeout, timeoutMode);
                 if (replaceall) {
                     return fromValue(regexService.replaceAll(m, replacement));
                 }
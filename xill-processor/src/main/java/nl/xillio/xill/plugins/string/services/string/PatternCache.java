@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.string.services.string;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * This class holds compiled regular expressions so a pattern that is used many times is only compiled once.
+ * <p>
+ * The cache is bounded, the least recently used pattern is evicted first. Lookups do not take a global lock so
+ * workers of runBulk and parallel pipelines do not wait for each other. Patterns are immutable so the cached
+ * instances can be used by multiple threads at the same time.
+ */
+public class PatternCache {
+    private static final int DEFAULT_MAX_SIZE = 512;
+
+    private final Cache<String, Pattern> cache;
+    private final int maxSize;
+    private final int flags;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Create a new cache with the size set by the system property xill.regex.cacheSize.
+     *
+     * @param flags the flags used to compile every pattern
+     */
+    public PatternCache(int flags) {
+        this(Integer.getInteger("xill.regex.cacheSize", DEFAULT_MAX_SIZE), flags);
+    }
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxSize the maximum number of patterns to keep, 0 disables the cache
+     * @param flags   the flags used to compile every pattern
+     */
+    public PatternCache(int maxSize, int flags) {
+        this.maxSize = maxSize;
+        this.flags = flags;
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Get the compiled form of a regular expression.
+     *
+     * @param regex the regular expression
+     * @return the pattern
+     * @throws PatternSyntaxException if the expression is not valid
+     */
+    public Pattern get(String regex) {
+        Pattern pattern = cache.getIfPresent(regex);
+        if (pattern != null) {
+            hits.incrementAndGet();
+            return pattern;
+        }
+
+        misses.incrementAndGet();
+        pattern = Pattern.compile(regex, flags);
+        if (maxSize > 0) {
+            cache.put(regex, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * @return the number of lookups that found a compiled pattern
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of lookups that had to compile the pattern
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of cached patterns
+     */
+    public int size() {
+        return (int) cache.size();
+    }
+
+    /**
+     * @return the maximum number of cached patterns
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Remove all patterns and reset the counters.
+     */
+    public void clear() {
+        cache.invalidateAll();
+        hits.set(0);
+        misses.set(0);
+    }
+}
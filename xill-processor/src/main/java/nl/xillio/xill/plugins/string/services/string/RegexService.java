@@ -36,6 +36,22 @@ public interface RegexService {
      */
     Matcher getMatcher(String regex, String value, int timeout);
 
+    /**
+     * @param regex   the pattern
+     * @param value   the haystack
+     * @param timeout in milliseconds
+     * @param mode    the way the timeout is enforced
+     * @return the matcher
+     * @throws PatternSyntaxException      Is thrown when the regular expression has a syntax error.
+     */
+    Matcher getMatcher(String regex, String value, int timeout, RegexTimeoutMode mode);
+
+    /**
+     * Returns the cache that holds the compiled patterns used by {@link #getMatcher(String, String, int)}.
+     *
+     * @return the pattern cache
+     */
+    PatternCache getPatternCache();
 
     /**
      * Returns the default Timeout time.
@@ -22,6 +22,7 @@ import nl.xillio.xill.api.errors.RobotRuntimeException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.IntStream;
@@ -36,36 +37,79 @@ public class RegexServiceImpl implements RegexService {
     public static final Pattern REGEX_ESCAPE_PATTERN = Pattern.compile("\\\\[a-zA-Z0-9_]|\\W");
     // The default timeout for regular expressions.
     private static final int REGEX_TIMEOUT = 5000;
+    // The number of characters read between two checks of the timeout in sampled mode.
+    static final int SAMPLE_INTERVAL = 4096;
 
-    private final CachedTimer cachedTimer;
+    private final XillThreadFactory xillThreadFactory;
+    private final PatternCache patternCache;
+    private CachedTimer cachedTimer;
 
     /**
      * The implementation of the {@link RegexService}
      */
     @Inject
     public RegexServiceImpl(XillThreadFactory xillThreadFactory) {
-        cachedTimer = new CachedTimer();
-        Thread thread = xillThreadFactory.create(cachedTimer, "Regex Cached Timer");
-        thread.setDaemon(true);
-        thread.start();
+        this(xillThreadFactory, new PatternCache(Pattern.DOTALL));
+    }
+
+    RegexServiceImpl(XillThreadFactory xillThreadFactory, PatternCache patternCache) {
+        this.xillThreadFactory = xillThreadFactory;
+        this.patternCache = patternCache;
     }
 
 
     @Override
     public Matcher getMatcher(final String regex, final String value, int timeout) {
+        return getMatcher(regex, value, timeout, RegexTimeoutMode.STRICT);
+    }
+
+    @Override
+    public Matcher getMatcher(final String regex, final String value, int timeout, RegexTimeoutMode mode) {
+        Pattern pattern = patternCache.get(regex);
+
+        if (mode == RegexTimeoutMode.SAMPLED) {
+            if (timeout == 0) {
+                // Use no time out
+                return pattern.matcher(value);
+            }
+            long duration = timeout < 0 ? REGEX_TIMEOUT : timeout;
+            return pattern.matcher(new SampledTimeoutCharSequence(value, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(duration)));
+        }
+
         long targetTime;
+        CachedTimer timer = getCachedTimer();
 
         if (timeout < 0) {
             // If no (valid) timeout is given, use the default timeout
-            targetTime = REGEX_TIMEOUT + cachedTimer.getCachedTime();
+            targetTime = REGEX_TIMEOUT + timer.getCachedTime();
         } else if (timeout == 0) {
             // Use no time out
             targetTime = Long.MAX_VALUE;
         } else {
-            targetTime = timeout + cachedTimer.getCachedTime();
+            targetTime = timeout + timer.getCachedTime();
         }
 
-        return Pattern.compile(regex, Pattern.DOTALL).matcher(new TimeoutCharSequence(value, targetTime));
+        return pattern.matcher(new TimeoutCharSequence(value, targetTime));
+    }
+
+    /**
+     * Get the timer used in strict mode. The timer thread is only started when it is first needed.
+     *
+     * @return the timer
+     */
+    private synchronized CachedTimer getCachedTimer() {
+        if (cachedTimer == null) {
+            cachedTimer = new CachedTimer();
+            Thread thread = xillThreadFactory.create(cachedTimer, "Regex Cached Timer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return cachedTimer;
+    }
+
+    @Override
+    public PatternCache getPatternCache() {
+        return patternCache;
     }
 
     @Override
@@ -160,12 +204,54 @@ public class RegexServiceImpl implements RegexService {
         }
     }
 
+    /**
+     * Char sequence that checks the timeout once every {@link #SAMPLE_INTERVAL} characters. Sub sequences are only
+     * requested to build the results of a match, so they are not wrapped.
+     */
+    private static class SampledTimeoutCharSequence implements CharSequence {
+
+        private final String inner;
+        private final long deadline;
+        private int countdown = SAMPLE_INTERVAL;
+
+        SampledTimeoutCharSequence(final String inner, long deadline) {
+            this.inner = inner;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (--countdown == 0) {
+                countdown = SAMPLE_INTERVAL;
+                if (System.nanoTime() - deadline > 0) {
+                    throw new RobotRuntimeException("Pattern match timed out!");
+                }
+            }
+            return inner.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return inner.length();
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return inner.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return inner;
+        }
+    }
+
     /**
      * Class to cache time retrieved from System.currentTimeMillis.
      * This is cached because the high precision is not necessary and would be a too great performance hit.
      */
     private class CachedTimer implements Runnable {
-        private long cachedTime;
+        private long cachedTime = System.currentTimeMillis();
 
         @Override
         public void run() {
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.string.services.string;
+
+import nl.xillio.xill.api.errors.InvalidUserInputException;
+
+/**
+ * This enum represents the ways the timeout of a regular expression can be enforced.
+ */
+public enum RegexTimeoutMode {
+    /**
+     * Check the time on every character the pattern reads.
+     */
+    STRICT("strict"),
+    /**
+     * Check the time once every {@link RegexServiceImpl#SAMPLE_INTERVAL} characters the pattern reads. This removes
+     * most of the overhead on large documents but a match can run slightly longer than the timeout.
+     */
+    SAMPLED("sampled");
+
+    private final String name;
+
+    RegexTimeoutMode(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the name of this mode as used in robots
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Find the mode with a name.
+     *
+     * @param name the name as used in robots
+     * @return the mode
+     * @throws InvalidUserInputException if no mode has this name
+     */
+    public static RegexTimeoutMode forName(String name) {
+        for (RegexTimeoutMode mode : values()) {
+            if (mode.name.equals(name)) {
+                return mode;
+            }
+        }
+        throw new InvalidUserInputException("Unknown timeout mode.", name, "strict or sampled", "use String;\nString.matches(\"I need help!\", \".*help.*\", 5000, \"sampled\");");
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.system.constructs;
+
+import com.google.inject.Inject;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.MetaExpressionIterator;
+import nl.xillio.xill.api.construct.Argument;
+import nl.xillio.xill.api.construct.Construct;
+import nl.xillio.xill.api.construct.ConstructContext;
+import nl.xillio.xill.api.construct.ConstructProcessor;
+import nl.xillio.xill.api.errors.OperationFailedException;
+import nl.xillio.xill.services.json.JsonException;
+import nl.xillio.xill.services.json.JsonParser;
+
+import java.util.Iterator;
+import java.util.function.Function;
+
+import static nl.xillio.xill.plugins.stream.utils.StreamUtils.getInputStream;
+
+/**
+ * Lazily iterates over the elements of a JSON array in a stream.
+ */
+public class IterateJSONConstruct extends Construct {
+
+    @Inject
+    private JsonParser jsonParser;
+
+    @Override
+    public ConstructProcessor prepareProcess(final ConstructContext context) {
+        return new ConstructProcessor(
+                (stream, path) -> process(stream, path, jsonParser),
+                new Argument("stream", ATOMIC),
+                new Argument("path", fromValue(""), ATOMIC));
+    }
+
+    static MetaExpression process(final MetaExpression stream, final MetaExpression path, final JsonParser jsonParser) {
+        assertNotNull(path, "path");
+
+        Iterator<MetaExpression> elements;
+        try {
+            elements = jsonParser.iterate(getInputStream(stream, "stream"), path.getStringValue());
+        } catch (JsonException e) {
+            throw new OperationFailedException("iterate JSON input", e.getMessage(), e);
+        }
+
+        // The iterator reads from the stream after this construct has returned, so the stream has to stay open
+        // until the iterator is closed
+        stream.registerReference();
+        MetaExpressionIterator<MetaExpression> iterator = new MetaExpressionIterator<MetaExpression>(elements, Function.identity()) {
+            @Override
+            public void close() throws Exception {
+                super.close();
+                stream.releaseReference();
+            }
+        };
+
+        MetaExpression result = fromValue(buildStringValue(stream, path));
+        result.storeMeta(iterator);
+        return result;
+    }
+
+    private static String buildStringValue(MetaExpression stream, MetaExpression path) {
+        String description = stream.getBinaryValue().getDescription();
+        String pathValue = path.getStringValue();
+
+        if (description == null) {
+            return "[JSON Iterator]";
+        }
+
+        if (pathValue.isEmpty()) {
+            return "[JSON Iterator: " + description + "]";
+        }
+
+        return "[JSON Iterator: " + description + ":" + pathValue + "]";
+    }
+}
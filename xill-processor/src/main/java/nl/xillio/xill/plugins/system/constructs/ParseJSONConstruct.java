@@ -28,11 +28,14 @@ import nl.xillio.xill.services.json.JsonException;
 import nl.xillio.xill.services.json.JsonParser;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * Forwards a JSON string to GSON
+ * Parses a JSON string or stream directly to an expression.
  */
 public class ParseJSONConstruct extends Construct {
 
@@ -50,7 +53,7 @@ public class ParseJSONConstruct extends Construct {
         assertNotNull(json, "input");
 
         if (json.getType() == ExpressionDataType.LIST) {
-            ArrayList<MetaExpression> input = json.getValue();
+            List<MetaExpression> input = json.getValue();
 
             if (input.isEmpty()) {
                 throw new InvalidUserInputException("The provided LIST is empty", json.getStringValue(),
@@ -75,11 +78,13 @@ public class ParseJSONConstruct extends Construct {
                     atomicJson.getStringValue(), "An ATOMIC representing a JSON string", "\"{\\\"1\\\":\\\"value\\\",\\\"2\\\":\\\"anotherValue\\\"}\"");
         }
 
-        String jsonValue = atomicJson.getStringValue();
-
         try {
-            Object result = jsonParser.fromJson(jsonValue, Object.class);
-            return parseObject(result);
+            if (atomicJson.getBinaryValue().hasInputStream()) {
+                return jsonParser.parse(atomicJson.getBinaryValue().getInputStream());
+            }
+            return jsonParser.parse(new StringReader(atomicJson.getStringValue()));
+        } catch (IOException e) {
+            throw new OperationFailedException("read JSON input", e.getMessage(), e);
         } catch (JsonException e) {
             Throwable exception = ExceptionUtils.getRootCause(e);
             if (exception == null) {
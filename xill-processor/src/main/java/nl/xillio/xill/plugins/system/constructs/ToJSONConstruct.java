@@ -25,9 +25,12 @@ import nl.xillio.xill.api.errors.RobotRuntimeException;
 import nl.xillio.xill.services.json.JsonException;
 import nl.xillio.xill.services.json.JsonParser;
 import nl.xillio.xill.services.json.PrettyJsonParser;
+import org.apache.commons.io.output.CountingOutputStream;
+
+import static nl.xillio.xill.plugins.stream.utils.StreamUtils.getOutputStream;
 
 /**
- * Returns a json string representation of the input.
+ * Returns a json string representation of the input or writes it to a stream.
  *
  * @author Thomas Biesaart
  */
@@ -40,13 +43,27 @@ public class ToJSONConstruct extends Construct {
 
     @Override
     public ConstructProcessor prepareProcess(final ConstructContext context) {
-        return new ConstructProcessor((expression, pretty) -> process(expression, pretty, jsonParser, prettyJsonParser), new Argument("expression"), new Argument("pretty", FALSE, ATOMIC));
+        return new ConstructProcessor(
+                (expression, pretty, output) -> process(expression, pretty, output, jsonParser, prettyJsonParser),
+                new Argument("expression"),
+                new Argument("pretty", FALSE, ATOMIC),
+                new Argument("output", NULL, ATOMIC)
+        );
     }
 
     static MetaExpression process(final MetaExpression expression, final MetaExpression pretty, final JsonParser parser, final JsonParser prettyParser) {
+        return process(expression, pretty, NULL, parser, prettyParser);
+    }
+
+    static MetaExpression process(final MetaExpression expression, final MetaExpression pretty, final MetaExpression output, final JsonParser parser, final JsonParser prettyParser) {
         JsonParser jsonParser = pretty.getBooleanValue() ? prettyParser : parser;
 
         try {
+            if (!output.isNull()) {
+                CountingOutputStream outputStream = new CountingOutputStream(getOutputStream(output, "output"));
+                jsonParser.toJson(expression, outputStream);
+                return fromValue(outputStream.getByteCount());
+            }
             return fromValue(jsonParser.toJson(expression));
         } catch (JsonException e) {
             throw new RobotRuntimeException(e.getMessage(), e);
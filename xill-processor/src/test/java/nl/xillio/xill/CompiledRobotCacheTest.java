@@ -0,0 +1,185 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill;
+
+import nl.xillio.plugins.XillPlugin;
+import nl.xillio.xill.api.components.RobotID;
+import nl.xillio.xill.api.errors.XillParsingException;
+import nl.xillio.xill.loaders.AbstractRobotLoader;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+public class CompiledRobotCacheTest {
+    private Path robotFile;
+    private RobotID robotID;
+    private AbstractRobotLoader loader;
+    private List<XillPlugin> plugins;
+    private CompiledRobotCache.Parser parser;
+
+    @BeforeMethod
+    public void setUp() throws IOException, XillParsingException {
+        robotFile = Files.createTempFile(getClass().getSimpleName(), ".xill");
+        Files.write(robotFile, Collections.singletonList("use System;"));
+        robotID = new RobotID(robotFile.toUri().toURL(), "robot.xill");
+        loader = mock(AbstractRobotLoader.class);
+        plugins = Collections.singletonList(mock(XillPlugin.class));
+
+        xill.lang.xill.Robot token = mock(xill.lang.xill.Robot.class);
+        Map<xill.lang.xill.Robot, RobotID> tokens = Collections.singletonMap(token, robotID);
+        parser = mock(CompiledRobotCache.Parser.class);
+        when(parser.parse()).thenAnswer(invocation -> new CompiledRobotCache.ParsedRobot(token, tokens, Collections.emptyList()));
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(robotFile);
+    }
+
+    @Test
+    public void testRobotIsParsedOnce() throws XillParsingException {
+        CompiledRobotCache cache = new CompiledRobotCache(10);
+
+        CompiledRobotCache.ParsedRobot first = cache.get(robotID, loader, plugins, parser);
+        CompiledRobotCache.ParsedRobot second = cache.get(robotID, loader, plugins, parser);
+
+        assertSame(second, first);
+        verify(parser, times(1)).parse();
+    }
+
+    @Test
+    public void testChangedRobotIsParsedAgain() throws XillParsingException, IOException {
+        CompiledRobotCache cache = new CompiledRobotCache(10);
+
+        CompiledRobotCache.ParsedRobot first = cache.get(robotID, loader, plugins, parser);
+        Files.write(robotFile, Collections.singletonList("use String;"));
+        CompiledRobotCache.ParsedRobot second = cache.get(robotID, loader, plugins, parser);
+
+        assertNotSame(second, first);
+        verify(parser, times(2)).parse();
+    }
+
+    @Test
+    public void testUnchangedSizeAndModificationTimeAreNotHashed() throws XillParsingException, IOException {
+        FileTime modified = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1));
+        Files.setLastModifiedTime(robotFile, modified);
+        CompiledRobotCache cache = new CompiledRobotCache(10);
+
+        CompiledRobotCache.ParsedRobot first = cache.get(robotID, loader, plugins, parser);
+        // Same size and modification time, so the content is not read again
+        Files.write(robotFile, Collections.singletonList("use String;"));
+        Files.setLastModifiedTime(robotFile, modified);
+        CompiledRobotCache.ParsedRobot second = cache.get(robotID, loader, plugins, parser);
+
+        assertSame(second, first);
+        verify(parser, times(1)).parse();
+    }
+
+    @Test
+    public void testTouchedRobotWithSameContentIsNotParsedAgain() throws XillParsingException, IOException {
+        CompiledRobotCache cache = new CompiledRobotCache(10);
+
+        CompiledRobotCache.ParsedRobot first = cache.get(robotID, loader, plugins, parser);
+        Files.setLastModifiedTime(robotFile, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+        CompiledRobotCache.ParsedRobot second = cache.get(robotID, loader, plugins, parser);
+
+        assertSame(second, first);
+        verify(parser, times(1)).parse();
+    }
+
+    @Test
+    public void testRobotSavedWhileParsingIsParsedAgain() throws XillParsingException, IOException {
+        CompiledRobotCache cache = new CompiledRobotCache(10);
+        CompiledRobotCache.Parser savingParser = () -> {
+            CompiledRobotCache.ParsedRobot parsed = parser.parse();
+            Files.write(robotFile, Collections.singletonList("use String;"));
+            return parsed;
+        };
+
+        CompiledRobotCache.ParsedRobot first = cache.get(robotID, loader, plugins, savingParser);
+        CompiledRobotCache.ParsedRobot second = cache.get(robotID, loader, plugins, parser);
+
+        assertNotSame(second, first);
+        verify(parser, times(2)).parse();
+    }
+
+    @Test
+    public void testLibraryFoundWhileParsingIsTrustedAfterNextParse() throws XillParsingException, IOException {
+        Path libraryFile = Files.createTempFile(getClass().getSimpleName(), ".xill");
+        try {
+            RobotID libraryID = new RobotID(libraryFile.toUri().toURL(), "library.xill");
+            Map<xill.lang.xill.Robot, RobotID> tokens = new LinkedHashMap<>();
+            tokens.put(mock(xill.lang.xill.Robot.class), robotID);
+            tokens.put(mock(xill.lang.xill.Robot.class), libraryID);
+            when(parser.parse()).thenAnswer(invocation -> new CompiledRobotCache.ParsedRobot(null, tokens, Collections.emptyList()));
+            CompiledRobotCache cache = new CompiledRobotCache(10);
+
+            cache.get(robotID, loader, plugins, parser);
+            CompiledRobotCache.ParsedRobot second = cache.get(robotID, loader, plugins, parser);
+            CompiledRobotCache.ParsedRobot third = cache.get(robotID, loader, plugins, parser);
+
+            assertSame(third, second);
+            verify(parser, times(2)).parse();
+        } finally {
+            Files.deleteIfExists(libraryFile);
+        }
+    }
+
+    @Test
+    public void testDifferentPluginsAreCachedSeparately() throws XillParsingException {
+        CompiledRobotCache cache = new CompiledRobotCache(10);
+
+        cache.get(robotID, loader, plugins, parser);
+        cache.get(robotID, loader, Collections.singletonList(mock(XillPlugin.class)), parser);
+
+        assertEquals(cache.size(), 2);
+        verify(parser, times(2)).parse();
+    }
+
+    @Test
+    public void testInvalidate() throws XillParsingException {
+        CompiledRobotCache cache = new CompiledRobotCache(10);
+
+        cache.get(robotID, loader, plugins, parser);
+        cache.invalidate(robotID);
+        cache.get(robotID, loader, plugins, parser);
+
+        verify(parser, times(2)).parse();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws XillParsingException {
+        CompiledRobotCache cache = new CompiledRobotCache(1);
+
+        cache.get(robotID, loader, plugins, parser);
+        cache.get(robotID, mock(AbstractRobotLoader.class), plugins, parser);
+
+        assertEquals(cache.size(), 1);
+    }
+}
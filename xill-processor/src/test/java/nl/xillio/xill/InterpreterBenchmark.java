@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill;
+
+import me.biesaart.utils.FileUtils;
+import nl.xillio.xill.api.Debugger;
+import nl.xillio.xill.api.ExecutionMode;
+import nl.xillio.xill.api.XillProcessor;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.Robot;
+import nl.xillio.xill.api.errors.XillParsingException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the number of times per second a loop-heavy robot can be executed in debug mode compared to production
+ * mode. The robot is compiled once and reset between executions so only the interpreter is measured.
+ * <p>
+ * Run this benchmark using the main method.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterpreterBenchmark {
+    private static final String ROBOT = "robot.xill";
+
+    @Param({"DEBUG", "PRODUCTION"})
+    private ExecutionMode executionMode;
+
+    private Path projectFolder;
+    private XillEnvironmentImpl environment;
+    private XillProcessor processor;
+    private Robot robot;
+    private Debugger debugger;
+
+    @Setup
+    public void setUp() throws IOException, XillParsingException {
+        projectFolder = Files.createTempDirectory(getClass().getSimpleName());
+        Files.write(projectFolder.resolve(ROBOT), Arrays.asList(
+                "function isEven(n) {",
+                "    return n % 2 == 0;",
+                "}",
+                "var total = 0;",
+                "var i = 0;",
+                "while (i < 10000) {",
+                "    if (isEven(i)) {",
+                "        total = total + i;",
+                "    } else {",
+                "        total = total - 1;",
+                "    }",
+                "    i = i + 1;",
+                "}",
+                "return total;"
+        ));
+
+        environment = new XillEnvironmentImpl();
+        environment.setLoadHomeFolder(false);
+        environment.loadPlugins();
+
+        processor = environment.buildProcessor(projectFolder, ROBOT, executionMode);
+        processor.compile();
+        robot = processor.getRobot();
+        debugger = processor.getDebugger();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        processor.close();
+        environment.close();
+        FileUtils.deleteDirectory(projectFolder.toFile());
+    }
+
+    @Benchmark
+    public MetaExpression process() {
+        try {
+            return robot.process(debugger).get();
+        } finally {
+            robot.reset();
+            debugger.reset();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InterpreterBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
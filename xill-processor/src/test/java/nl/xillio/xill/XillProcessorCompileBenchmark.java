@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill;
+
+import me.biesaart.utils.FileUtils;
+import nl.xillio.xill.api.NullDebugger;
+import nl.xillio.xill.api.components.Robot;
+import nl.xillio.xill.api.components.RobotID;
+import nl.xillio.xill.api.errors.XillParsingException;
+import nl.xillio.xill.loaders.DirectoryRobotLoader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the number of robots that can be compiled per second. The main method runs the benchmark with an
+ * increasing number of threads to show how compilation scales with the number of cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XillProcessorCompileBenchmark {
+    private static final String ROBOT = "robot.xill";
+
+    private Path projectFolder;
+    private XillEnvironmentImpl environment;
+    private RobotID robotID;
+
+    @Setup
+    public void setUp() throws IOException {
+        projectFolder = Files.createTempDirectory(getClass().getSimpleName());
+        Files.write(projectFolder.resolve(ROBOT), Arrays.asList(
+                "use String, System, Collection;",
+                "function fib(n) {",
+                "    if (n < 2) {",
+                "        return n;",
+                "    }",
+                "    return fib(n - 1) + fib(n - 2);",
+                "}",
+                "var list = [];",
+                "foreach (i in Collection.range(0, 10)) {",
+                "    list[] = String.toUpper(\"item\" :: fib(i));",
+                "}",
+                "System.print(list);"
+        ));
+
+        environment = new XillEnvironmentImpl();
+        environment.setLoadHomeFolder(false);
+        environment.loadPlugins();
+        robotID = new RobotID(projectFolder.resolve(ROBOT).toUri().toURL(), ROBOT);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        environment.close();
+        FileUtils.deleteDirectory(projectFolder.toFile());
+    }
+
+    @Benchmark
+    public Robot compile() throws IOException, XillParsingException {
+        XillProcessor processor = new XillProcessor(
+                projectFolder,
+                robotID,
+                new DirectoryRobotLoader(null, projectFolder),
+                environment.getPlugins(),
+                new NullDebugger()
+        );
+        processor.compile();
+        return processor.getRobot();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            new Runner(new OptionsBuilder()
+                    .include(XillProcessorCompileBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()
+            ).run();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill;
+
+import me.biesaart.utils.FileUtils;
+import nl.xillio.xill.api.Issue;
+import nl.xillio.xill.api.NullDebugger;
+import nl.xillio.xill.api.components.RobotID;
+import nl.xillio.xill.loaders.DirectoryRobotLoader;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+public class XillProcessorTest {
+    private static final int THREADS = 8;
+    private static final int ROBOTS_PER_THREAD = 10;
+
+    private Path projectFolder;
+    private XillEnvironmentImpl environment;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        projectFolder = Files.createTempDirectory(getClass().getSimpleName());
+        Files.write(projectFolder.resolve("lib.xill"), Arrays.asList(
+                "use String;",
+                "function shout(text) {",
+                "    return String.toUpper(text);",
+                "}"
+        ));
+        Files.write(projectFolder.resolve("robot.xill"), Arrays.asList(
+                "use System;",
+                "include lib;",
+                "System.print(shout(\"hello\"));"
+        ));
+
+        environment = new XillEnvironmentImpl();
+        environment.setLoadHomeFolder(false);
+        environment.loadPlugins();
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        environment.close();
+        FileUtils.deleteDirectory(projectFolder.toFile());
+    }
+
+    @Test
+    public void testConcurrentCompilation() throws Exception {
+        RobotID robotID = new RobotID(projectFolder.resolve("robot.xill").toUri().toURL(), "robot.xill");
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < ROBOTS_PER_THREAD; j++) {
+                        // Every processor has its own loader, so it also sets up its own injector
+                        XillProcessor processor = new XillProcessor(
+                                projectFolder,
+                                robotID,
+                                new DirectoryRobotLoader(null, projectFolder),
+                                environment.getPlugins(),
+                                new NullDebugger()
+                        );
+                        List<Issue> issues = processor.compile();
+
+                        assertTrue(issues.stream().noneMatch(issue -> issue.getSeverity() == Issue.Type.ERROR), issues.toString());
+                        assertNotNull(processor.getRobot());
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> result : results) {
+                result.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -20,6 +20,7 @@ import nl.xillio.xill.api.Debugger;
 import nl.xillio.xill.api.components.InstructionFlow;
 import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.api.components.MetaExpressionIterator;
+import nl.xillio.xill.api.components.ParallelIteration;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
 import nl.xillio.xill.components.expressions.pipeline.FilterExpression;
 import nl.xillio.xill.components.expressions.pipeline.MapExpression;
@@ -33,6 +34,7 @@ import java.util.List;
 import java.util.NoSuchElementException;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 
@@ -52,6 +54,24 @@ public class FilterExpressionTest extends TestUtils {
         assertFalse(iterator.hasNext());
     }
 
+    @Test
+    public void testParallel() {
+        MetaExpression input = parseObject(Arrays.asList(1, 2, 3, 4, 5, 6));
+        input.storeMeta(new ParallelIteration(2, 3, true));
+        FilterExpression expression = new FilterExpression(input);
+        expression.setFunction(new IsEvenFunction());
+        Debugger debugger = mock(Debugger.class);
+        when(debugger.createChild()).thenReturn(mock(Debugger.class));
+
+        MetaExpression result = expression.process(debugger).get();
+        MetaExpressionIterator iterator = result.getMeta(MetaExpressionIterator.class);
+
+        assertEquals(iterator.next(), fromValue(2));
+        assertEquals(iterator.next(), fromValue(4));
+        assertEquals(iterator.next(), fromValue(6));
+        assertFalse(iterator.hasNext());
+    }
+
     @Test
     public void testNull() {
         MapExpression expression = new MapExpression(NULL);
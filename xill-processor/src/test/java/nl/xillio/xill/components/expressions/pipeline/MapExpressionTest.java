@@ -20,6 +20,7 @@ import nl.xillio.xill.api.Debugger;
 import nl.xillio.xill.api.components.InstructionFlow;
 import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.api.components.MetaExpressionIterator;
+import nl.xillio.xill.api.components.ParallelIteration;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
 import nl.xillio.xill.components.expressions.pipeline.MapExpression;
 import nl.xillio.xill.components.instructions.FunctionDeclaration;
@@ -28,9 +29,12 @@ import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
-import static org.mockito.Mockito.mock;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 
@@ -64,6 +68,46 @@ public class MapExpressionTest extends TestUtils {
         assertFalse(iterator.hasNext());
     }
 
+    @Test
+    public void testParallel() {
+        MetaExpression input = parseObject(Arrays.asList(1, 2, 3, 4, 5));
+        input.storeMeta(new ParallelIteration(3, 2, true));
+        MapExpression expression = new MapExpression(input);
+        expression.setFunction(new IdentityFunction());
+        Debugger debugger = mock(Debugger.class);
+        when(debugger.createChild()).thenReturn(mock(Debugger.class));
+
+        MetaExpression result = expression.process(debugger).get();
+        MetaExpressionIterator iterator = result.getMeta(MetaExpressionIterator.class);
+
+        assertEquals(iterator.next(), fromValue(1));
+        assertEquals(iterator.next(), fromValue(2));
+        assertEquals(iterator.next(), fromValue(3));
+        assertEquals(iterator.next(), fromValue(4));
+        assertEquals(iterator.next(), fromValue(5));
+        assertFalse(iterator.hasNext());
+        verify(debugger, times(3)).removeChild(any());
+    }
+
+    @Test
+    public void testParallelUnordered() {
+        MetaExpression input = parseObject(Arrays.asList(1, 2, 3, 4, 5));
+        input.storeMeta(new ParallelIteration(2, 4, false));
+        MapExpression expression = new MapExpression(input);
+        expression.setFunction(new IdentityFunction());
+        Debugger debugger = mock(Debugger.class);
+        when(debugger.createChild()).thenReturn(mock(Debugger.class));
+
+        MetaExpression result = expression.process(debugger).get();
+        MetaExpressionIterator iterator = result.getMeta(MetaExpressionIterator.class);
+
+        Set<Integer> values = new HashSet<>();
+        while (iterator.hasNext()) {
+            values.add(iterator.next().getNumberValue().intValue());
+        }
+        assertEquals(values, new HashSet<>(Arrays.asList(1, 2, 3, 4, 5)));
+    }
+
     private class IdentityFunction extends FunctionDeclaration {
 
         public IdentityFunction() {
@@ -18,6 +18,7 @@ package nl.xillio.xill.components.expressions.runbulk;
 import nl.xillio.xill.TestUtils;
 import nl.xillio.xill.api.components.ExpressionDataType;
 import nl.xillio.xill.api.components.MetaExpression;
+import org.mockito.ArgumentCaptor;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
@@ -27,6 +28,9 @@ import java.util.concurrent.BlockingQueue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.*;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Tests for {@link MasterThread}.
@@ -45,17 +49,41 @@ public class MasterThreadTest extends TestUtils {
         MetaExpression metaExpression = mockExpression(ExpressionDataType.ATOMIC);
         sourceList.add(metaExpression);
         Iterator<MetaExpression> source = sourceList.iterator();
-        BlockingQueue<MetaExpression> queue = mock(BlockingQueue.class);
+        BlockingQueue<RunBulkItem> queue = mock(BlockingQueue.class);
         when(queue.offer(any(), anyInt(), any())).thenReturn(true);
         RunBulkControl control = mock(RunBulkControl.class);
 
-        MasterThread masterThread = new MasterThread(source, queue, control);
+        MasterThread masterThread = new MasterThread(source, queue, control, 1);
 
         // Run
         masterThread.run();
 
         // Verify
-        verify(queue).offer(eq(metaExpression), anyInt(), any());
+        ArgumentCaptor<RunBulkItem> items = ArgumentCaptor.forClass(RunBulkItem.class);
+        verify(queue, times(2)).offer(items.capture(), anyInt(), any());
+        assertSame(items.getAllValues().get(0).getValue(), metaExpression);
+        assertEquals(items.getAllValues().get(0).getIndex(), 0);
+        assertSame(items.getAllValues().get(1), MasterThread.END_OF_INPUT);
+    }
+
+    /**
+     * Test {@link MasterThread#run()} signals the end of the input to every worker.
+     */
+    @Test
+    public void testRunSignalsEndToAllWorkers() throws InterruptedException {
+        // Mock
+        Iterator<MetaExpression> source = new ArrayList<MetaExpression>().iterator();
+        BlockingQueue<RunBulkItem> queue = mock(BlockingQueue.class);
+        when(queue.offer(any(), anyInt(), any())).thenReturn(true);
+        RunBulkControl control = mock(RunBulkControl.class);
+
+        MasterThread masterThread = new MasterThread(source, queue, control, 3);
+
+        // Run
+        masterThread.run();
+
+        // Verify
+        verify(queue, times(3)).offer(same(MasterThread.END_OF_INPUT), anyInt(), any());
     }
 
     /**
@@ -67,14 +95,41 @@ public class MasterThreadTest extends TestUtils {
         ArrayList<MetaExpression> sourceList = new ArrayList<>();
         sourceList.add(mockExpression(ExpressionDataType.ATOMIC));
         Iterator<MetaExpression> source = sourceList.iterator();
-        BlockingQueue<MetaExpression> queue = mock(BlockingQueue.class);
+        BlockingQueue<RunBulkItem> queue = mock(BlockingQueue.class);
         when(queue.offer(any(), anyInt(), any())).thenReturn(true).thenThrow(new InterruptedException());
         RunBulkControl control = mock(RunBulkControl.class);
 
-        MasterThread masterThread = new MasterThread(source, queue, control);
+        MasterThread masterThread = new MasterThread(source, queue, control, 1);
 
         // Run
         masterThread.run();
+
+        // Verify
+        verify(control).signalStop();
+        assertTrue(Thread.interrupted());
+    }
+
+    /**
+     * Test an exception thrown by the source propagates out of {@link MasterThread#run()} without queueing the end
+     * of the input.
+     */
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testRunSourceFails() throws InterruptedException {
+        // Mock
+        Iterator<MetaExpression> source = mock(Iterator.class);
+        when(source.hasNext()).thenReturn(true);
+        when(source.next()).thenThrow(new IllegalStateException());
+        BlockingQueue<RunBulkItem> queue = mock(BlockingQueue.class);
+        RunBulkControl control = mock(RunBulkControl.class);
+
+        MasterThread masterThread = new MasterThread(source, queue, control, 1);
+
+        // Run
+        try {
+            masterThread.run();
+        } finally {
+            verify(queue, never()).offer(any(), anyInt(), any());
+        }
     }
 
     /**
@@ -87,17 +142,20 @@ public class MasterThreadTest extends TestUtils {
         MetaExpression metaExpression = mockExpression(ExpressionDataType.ATOMIC);
         sourceList.add(metaExpression);
         Iterator<MetaExpression> source = sourceList.iterator();
-        BlockingQueue<MetaExpression> queue = mock(BlockingQueue.class);
+        BlockingQueue<RunBulkItem> queue = mock(BlockingQueue.class);
         when(queue.offer(any(), anyInt(), any())).thenReturn(false, false);
         RunBulkControl control = mock(RunBulkControl.class);
         when(control.shouldStop()).thenReturn(false, false, true);
 
-        MasterThread masterThread = new MasterThread(source, queue, control);
+        MasterThread masterThread = new MasterThread(source, queue, control, 1);
 
         // Run
         masterThread.run();
 
         // Verify
-        verify(queue, times(2)).offer(eq(metaExpression), anyInt(), any());
+        ArgumentCaptor<RunBulkItem> items = ArgumentCaptor.forClass(RunBulkItem.class);
+        verify(queue, times(2)).offer(items.capture(), anyInt(), any());
+        assertSame(items.getAllValues().get(0).getValue(), metaExpression);
+        assertSame(items.getAllValues().get(1).getValue(), metaExpression);
     }
 }
@@ -41,7 +41,7 @@ public class RunBulkControlTest {
     public void setupControl() {
         debugger = mock(Debugger.class);
         loader = mock(AbstractRobotLoader.class);
-        control = new RunBulkControl(debugger, robotFqn, loader);
+        control = new RunBulkControl(debugger, robotFqn, loader, 2);
     }
 
     /**
@@ -89,4 +89,16 @@ public class RunBulkControlTest {
         control.signalStop();
         assertTrue(control.shouldStop());
     }
+
+    /**
+     * Test {@link RunBulkControl#awaitWorkers()} returns once every worker called {@link RunBulkControl#workerFinished()}.
+     */
+    @Test(timeOut = 5000)
+    public void testAwaitWorkers() throws InterruptedException {
+        control.workerFinished();
+        Thread worker = new Thread(control::workerFinished);
+        worker.start();
+
+        control.awaitWorkers();
+    }
 }
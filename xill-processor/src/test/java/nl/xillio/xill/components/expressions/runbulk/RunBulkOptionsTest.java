@@ -133,4 +133,66 @@ public class RunBulkOptionsTest extends TestUtils {
         // Run
         new RunBulkOptions(optionsProcessable);
     }
+
+    /**
+     * Test the queueSize and executor options.
+     */
+    @Test
+    public void testRunBulkOptionsExecutor() {
+        // Mock
+        Processable optionsProcessable = mockOptions(createMap("queueSize", 16, "executor", "shared"));
+
+        // Run
+        RunBulkOptions runBulkOptions = new RunBulkOptions(optionsProcessable);
+
+        // Assert
+        assertEquals(runBulkOptions.getQueueSize(), 16);
+        assertEquals(runBulkOptions.useSharedExecutor(), true);
+    }
+
+    /**
+     * Test {@link RunBulkOptions#RunBulkOptions(Processable)} when a wrong value for the queueSize option is given.
+     */
+    @Test(expectedExceptions = RobotRuntimeException.class, expectedExceptionsMessageRegExp = ".*The \"queueSize\" value in the \"options\" argument was not valid.*")
+    public void testRunBulkOptionsWrongQueueSize() {
+        // Mock
+        Processable optionsProcessable = mockOptions(createMap("queueSize", 0));
+
+        // Run
+        new RunBulkOptions(optionsProcessable);
+    }
+
+    /**
+     * Test {@link RunBulkOptions#RunBulkOptions(Processable)} when a wrong value for the executor option is given.
+     */
+    @Test(expectedExceptions = RobotRuntimeException.class, expectedExceptionsMessageRegExp = ".*The \"executor\" value in the \"options\" argument was not valid.*")
+    public void testRunBulkOptionsWrongExecutor() {
+        // Mock
+        Processable optionsProcessable = mockOptions(createMap("executor", "virtual"));
+
+        // Run
+        new RunBulkOptions(optionsProcessable);
+    }
+
+    /**
+     * Test the collect option.
+     */
+    @Test
+    public void testRunBulkOptionsCollect() {
+        assertEquals(new RunBulkOptions(null).getCollectMode(), RunBulkOptions.CollectMode.NONE);
+        assertEquals(new RunBulkOptions(mockOptions(createMap("collect", "inputOrder"))).getCollectMode(), RunBulkOptions.CollectMode.INPUT_ORDER);
+        assertEquals(new RunBulkOptions(mockOptions(createMap("collect", "completionOrder"))).getCollectMode(), RunBulkOptions.CollectMode.COMPLETION_ORDER);
+    }
+
+    /**
+     * Test {@link RunBulkOptions#RunBulkOptions(Processable)} when a wrong value for the collect option is given.
+     */
+    @Test(expectedExceptions = RobotRuntimeException.class, expectedExceptionsMessageRegExp = ".*The \"collect\" value in the \"options\" argument was not valid.*")
+    public void testRunBulkOptionsWrongCollect() {
+        // Mock
+        Processable optionsProcessable = mockOptions(createMap("collect", "random"));
+
+        // Run
+        new RunBulkOptions(optionsProcessable);
+    }
 }
@@ -0,0 +1,194 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.components.expressions.runbulk;
+
+import nl.xillio.xill.api.Debugger;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.errors.RobotRuntimeException;
+import nl.xillio.xill.loaders.AbstractRobotLoader;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.*;
+
+/**
+ * Tests for {@link RunBulkResults}.
+ */
+public class RunBulkResultsTest {
+
+    private RunBulkControl control;
+
+    @BeforeMethod
+    public void setupControl() {
+        control = new RunBulkControl(mock(Debugger.class), "some.robot", mock(AbstractRobotLoader.class), 1);
+    }
+
+    /**
+     * Test results are handed out in input order, skipping items without a result.
+     */
+    @Test(timeOut = 5000)
+    public void testInputOrder() {
+        RunBulkResults results = new RunBulkResults(control, 4, true);
+
+        results.add(2, fromValue("c"));
+        results.skip(1);
+        results.add(0, fromValue("a"));
+        results.finish(null);
+
+        assertEquals(values(results), new String[]{"a", "c"});
+    }
+
+    /**
+     * Test results are handed out in the order they were added.
+     */
+    @Test(timeOut = 5000)
+    public void testCompletionOrder() {
+        RunBulkResults results = new RunBulkResults(control, 4, false);
+
+        results.add(2, fromValue("c"));
+        results.skip(1);
+        results.add(0, fromValue("a"));
+        results.finish(null);
+
+        assertEquals(values(results), new String[]{"c", "a"});
+    }
+
+    /**
+     * Test a worker blocks when the buffer is full until the consumer takes a result.
+     */
+    @Test(timeOut = 5000)
+    public void testAddBlocksWhenFull() throws InterruptedException {
+        RunBulkResults results = new RunBulkResults(control, 1, false);
+        results.add(0, fromValue("a"));
+
+        Thread worker = new Thread(() -> {
+            results.add(1, fromValue("b"));
+            results.finish(null);
+        });
+        worker.start();
+        worker.join(300);
+        assertTrue(worker.isAlive());
+
+        assertEquals(values(results), new String[]{"a", "b"});
+        worker.join();
+    }
+
+    /**
+     * Test the error that stopped runBulk is thrown after the remaining results.
+     */
+    @Test(timeOut = 5000, expectedExceptions = RobotRuntimeException.class, expectedExceptionsMessageRegExp = "Robot error")
+    public void testFinishWithError() {
+        RunBulkResults results = new RunBulkResults(control, 4, true);
+        results.add(0, fromValue("a"));
+        results.finish(new RobotRuntimeException("Robot error"));
+
+        assertTrue(results.hasNext());
+        results.next();
+        results.hasNext();
+    }
+
+    /**
+     * Test closing the results stops runBulk.
+     */
+    @Test
+    public void testClose() {
+        RunBulkResults results = new RunBulkResults(control, 4, true);
+        results.add(0, fromValue("a"));
+
+        results.close();
+
+        assertTrue(control.shouldStop());
+        assertFalse(results.hasNext());
+    }
+
+    /**
+     * Test the input is read by the thread consuming the results while a worker processes it.
+     */
+    @Test(timeOut = 5000)
+    public void testInputIsReadOnConsumingThread() throws InterruptedException {
+        List<Thread> readers = new ArrayList<>();
+        Iterator<MetaExpression> input = Arrays.asList(fromValue("a"), fromValue("b"), fromValue("c")).iterator();
+        Iterator<MetaExpression> source = new Iterator<MetaExpression>() {
+            @Override
+            public boolean hasNext() {
+                return input.hasNext();
+            }
+
+            @Override
+            public MetaExpression next() {
+                readers.add(Thread.currentThread());
+                return input.next();
+            }
+        };
+        BlockingQueue<RunBulkItem> queue = new ArrayBlockingQueue<>(1);
+        RunBulkResults results = new RunBulkResults(control, 1, true, new MasterThread(source, queue, control, 1));
+
+        Thread worker = new Thread(() -> {
+            try {
+                RunBulkItem item;
+                while ((item = queue.take()) != MasterThread.END_OF_INPUT) {
+                    results.add(item.getIndex(), item.getValue());
+                }
+                results.finish(null);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        worker.start();
+
+        assertEquals(values(results), new String[]{"a", "b", "c"});
+        assertEquals(readers, Arrays.asList(Thread.currentThread(), Thread.currentThread(), Thread.currentThread()));
+        worker.join();
+    }
+
+    /**
+     * Test an error while reading the input is thrown to the consumer and stops runBulk.
+     */
+    @Test(timeOut = 5000)
+    public void testFailingInputStopsRunBulk() {
+        Iterator<MetaExpression> source = mock(Iterator.class);
+        when(source.hasNext()).thenReturn(true);
+        when(source.next()).thenThrow(new RobotRuntimeException("Input error"));
+        RunBulkResults results = new RunBulkResults(control, 4, true, new MasterThread(source, new ArrayBlockingQueue<>(1), control, 1));
+
+        try {
+            results.hasNext();
+            fail("The input error was not thrown");
+        } catch (RobotRuntimeException e) {
+            assertEquals(e.getMessage(), "Input error");
+        }
+        assertTrue(control.shouldStop());
+    }
+
+    private String[] values(RunBulkResults results) {
+        List<String> values = new ArrayList<>();
+        while (results.hasNext()) {
+            MetaExpression next = results.next();
+            values.add(next.getStringValue());
+        }
+        return values.toArray(new String[values.size()]);
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.components.expressions.runbulk;
+
+import me.biesaart.utils.FileUtils;
+import nl.xillio.xill.XillEnvironmentImpl;
+import nl.xillio.xill.api.DefaultOutputHandler;
+import nl.xillio.xill.api.NullDebugger;
+import nl.xillio.xill.api.StoppableDebugger;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.Robot;
+import nl.xillio.xill.api.components.RobotID;
+import nl.xillio.xill.loaders.AbstractRobotLoader;
+import nl.xillio.xill.loaders.DirectoryRobotLoader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
+
+/**
+ * Compares the number of items per second a runBulk worker can process when it compiles the worker robot for every
+ * item against a worker that compiles once and resets the robot between items.
+ * <p>
+ * Run this benchmark using the main method.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorkerRobotBenchmark {
+    private static final String WORKER_ROBOT = "worker.xill";
+
+    private Path projectFolder;
+    private XillEnvironmentImpl environment;
+    private AbstractRobotLoader loader;
+    private WorkerRobotFactory factory;
+    private MetaExpression item;
+
+    @Setup
+    public void setUp() throws IOException {
+        projectFolder = Files.createTempDirectory(getClass().getSimpleName());
+        Files.write(projectFolder.resolve(WORKER_ROBOT), Arrays.asList(
+                "use String;",
+                "argument item;",
+                "var result = String.toUpper(item :: \"-\" :: item);",
+                "return result;"
+        ));
+
+        environment = new XillEnvironmentImpl();
+        environment.setLoadHomeFolder(false);
+        environment.loadPlugins();
+
+        loader = new DirectoryRobotLoader(null, projectFolder);
+        RobotID rootRobot = new RobotID(projectFolder.resolve(WORKER_ROBOT).toUri().toURL(), WORKER_ROBOT);
+        factory = new WorkerRobotFactory(projectFolder, rootRobot, environment.getPlugins(), new DefaultOutputHandler());
+        item = fromValue("item");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        environment.close();
+        FileUtils.deleteDirectory(projectFolder.toFile());
+    }
+
+    /**
+     * The worker robot of a single thread.
+     */
+    @State(Scope.Thread)
+    public static class ReusedRobot {
+        private StoppableDebugger debugger;
+        private Robot robot;
+
+        @Setup
+        public void setUp(WorkerRobotBenchmark benchmark) throws WorkerCompileException {
+            debugger = new StoppableDebugger(new NullDebugger());
+            robot = benchmark.factory.construct(WORKER_ROBOT, benchmark.loader, debugger);
+        }
+    }
+
+    @Benchmark
+    public MetaExpression compilePerItem() throws WorkerCompileException {
+        StoppableDebugger debugger = new StoppableDebugger(new NullDebugger());
+        Robot robot = factory.construct(WORKER_ROBOT, loader, debugger);
+        robot.setArgument(item);
+        return robot.process(debugger).get();
+    }
+
+    @Benchmark
+    public MetaExpression reusePerThread(ReusedRobot state) {
+        try {
+            state.robot.setArgument(item);
+            return state.robot.process(state.debugger).get();
+        } finally {
+            state.robot.reset();
+            state.debugger.reset();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WorkerRobotBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
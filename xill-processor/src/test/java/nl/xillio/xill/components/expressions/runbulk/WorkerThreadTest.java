@@ -20,6 +20,7 @@ import nl.xillio.xill.api.Debugger;
 import nl.xillio.xill.api.OutputHandler;
 import nl.xillio.xill.api.StoppableDebugger;
 import nl.xillio.xill.api.components.ExpressionDataType;
+import nl.xillio.xill.api.components.InstructionFlow;
 import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.api.components.Robot;
 import nl.xillio.xill.api.components.RobotID;
@@ -41,7 +42,7 @@ import static org.mockito.Mockito.*;
  */
 public class WorkerThreadTest extends TestUtils {
 
-    private BlockingQueue<MetaExpression> queue;
+    private BlockingQueue<RunBulkItem> queue;
     private RunBulkControl control;
     private OutputHandler outputHandler;
     private RobotID robotID;
@@ -67,6 +68,7 @@ public class WorkerThreadTest extends TestUtils {
         outputHandler = mock(OutputHandler.class);
         robotID = mock(RobotID.class);
         robot = mock(Robot.class);
+        when(robot.process(any())).thenReturn(InstructionFlow.doResume());
         workerRobotFactory = mock(WorkerRobotFactory.class);
     }
 
@@ -78,9 +80,9 @@ public class WorkerThreadTest extends TestUtils {
         // mock
         when(control.shouldStop()).thenReturn(false, true);
         MetaExpression item = mockExpression(ExpressionDataType.ATOMIC);
-        when(queue.poll(anyInt(), any())).thenReturn(item);
+        when(queue.poll(anyInt(), any())).thenReturn(new RunBulkItem(0, item));
         when(debugger.shouldStop()).thenReturn(false);
-        when(workerRobotFactory.construct(any(), any(), any())).thenReturn(mock(Robot.class));
+        when(workerRobotFactory.construct(any(), any(), any())).thenReturn(robot);
 
         WorkerThread workerThread = new WorkerThread(queue, control, false, workerRobotFactory);
 
@@ -91,6 +93,55 @@ public class WorkerThreadTest extends TestUtils {
         verify(control).incRunCount();
     }
 
+    /**
+     * Test that {@link WorkerThread#run()} compiles the robot once and resets it after every item.
+     */
+    @Test
+    public void testRunReusesRobot() throws InterruptedException, WorkerCompileException {
+        // mock
+        when(control.shouldStop()).thenReturn(false, false, false, true);
+        MetaExpression item = mockExpression(ExpressionDataType.ATOMIC);
+        when(queue.poll(anyInt(), any())).thenReturn(new RunBulkItem(0, item));
+        when(debugger.shouldStop()).thenReturn(false);
+        when(workerRobotFactory.construct(any(), any(), any())).thenReturn(robot);
+
+        WorkerThread workerThread = new WorkerThread(queue, control, false, workerRobotFactory);
+
+        // run
+        workerThread.run();
+
+        // verify
+        verify(workerRobotFactory, times(1)).construct(any(), any(), any());
+        verify(robot, times(3)).process(childDebugger);
+        verify(robot, times(3)).reset();
+        verify(control, times(3)).incRunCount();
+        verify(debugger, times(1)).createChild();
+        verify(debugger).removeChild(childDebugger);
+    }
+
+    /**
+     * Test {@link WorkerThread#run()} stops without waiting when it receives the end of the input.
+     */
+    @Test
+    public void testRunEndOfInput() throws InterruptedException, WorkerCompileException {
+        // mock
+        when(control.shouldStop()).thenReturn(false);
+        MetaExpression item = mockExpression(ExpressionDataType.ATOMIC);
+        when(queue.poll(anyInt(), any())).thenReturn(new RunBulkItem(0, item), MasterThread.END_OF_INPUT);
+        when(debugger.shouldStop()).thenReturn(false);
+        when(workerRobotFactory.construct(any(), any(), any())).thenReturn(robot);
+
+        WorkerThread workerThread = new WorkerThread(queue, control, false, workerRobotFactory);
+
+        // run
+        workerThread.run();
+
+        // verify
+        verify(robot, times(1)).process(childDebugger);
+        verify(control).incRunCount();
+        verify(control).workerFinished();
+    }
+
     /**
      * Test {@link WorkerThread#run()} when the debugger signals to stop.
      */
@@ -99,9 +150,9 @@ public class WorkerThreadTest extends TestUtils {
         // mock
         when(control.shouldStop()).thenReturn(false, true);
         MetaExpression item = mockExpression(ExpressionDataType.ATOMIC);
-        when(queue.poll(anyInt(), any())).thenReturn(item);
+        when(queue.poll(anyInt(), any())).thenReturn(new RunBulkItem(0, item));
         when(debugger.shouldStop()).thenReturn(true);
-        when(workerRobotFactory.construct(any(), any(), any())).thenReturn(mock(Robot.class));
+        when(workerRobotFactory.construct(any(), any(), any())).thenReturn(robot);
 
         WorkerThread workerThread = new WorkerThread(queue, control, false, workerRobotFactory);
 
@@ -120,7 +171,7 @@ public class WorkerThreadTest extends TestUtils {
         // mock
         when(control.shouldStop()).thenReturn(false, true);
         MetaExpression item = mockExpression(ExpressionDataType.ATOMIC);
-        when(queue.poll(anyInt(), any())).thenReturn(item);
+        when(queue.poll(anyInt(), any())).thenReturn(new RunBulkItem(0, item));
         when(debugger.shouldStop()).thenReturn(false);
         when(workerRobotFactory.construct(any(), any(), any())).thenThrow(new WorkerCompileException("Robot error", new Exception()));
 
@@ -138,7 +189,7 @@ public class WorkerThreadTest extends TestUtils {
         // mock
         when(control.shouldStop()).thenReturn(false, true);
         MetaExpression item = mockExpression(ExpressionDataType.ATOMIC);
-        when(queue.poll(anyInt(), any())).thenReturn(item);
+        when(queue.poll(anyInt(), any())).thenReturn(new RunBulkItem(0, item));
         when(debugger.shouldStop()).thenReturn(false);
         RobotRuntimeException runtimeException = new RobotRuntimeException("Error running robot");
         when(workerRobotFactory.construct(any(), any(), any())).thenReturn(robot);
@@ -162,7 +213,7 @@ public class WorkerThreadTest extends TestUtils {
         // mock
         when(control.shouldStop()).thenReturn(false, true);
         MetaExpression item = mockExpression(ExpressionDataType.ATOMIC);
-        when(queue.poll(anyInt(), any())).thenReturn(item);
+        when(queue.poll(anyInt(), any())).thenReturn(new RunBulkItem(0, item));
         when(debugger.shouldStop()).thenReturn(false);
         RuntimeException runtimeException = new RuntimeException("Error running robot");
         when(workerRobotFactory.construct(any(), any(), any())).thenReturn(robot);
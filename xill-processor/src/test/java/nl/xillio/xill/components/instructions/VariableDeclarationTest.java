@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.components.instructions;
+
+import nl.xillio.xill.TestUtils;
+import nl.xillio.xill.api.components.MetaExpression;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.*;
+
+public class VariableDeclarationTest extends TestUtils {
+
+    @Test
+    public void testIsolatedDeclarationIsNotShared() throws InterruptedException {
+        VariableScope function = new VariableScope();
+        VariableDeclaration declaration = new VariableDeclaration(NULL, "local");
+        declaration.setScope(function);
+        AtomicReference<MetaExpression> seenByOtherThread = new AtomicReference<>();
+
+        VariableScope.isolated(() -> {
+            function.enter();
+            declaration.pushVariable(fromValue("isolated"), 0);
+
+            Thread other = new Thread(() -> seenByOtherThread.set(declaration.getVariable()));
+            other.start();
+            try {
+                other.join();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+
+            assertEquals(declaration.getVariable().getStringValue(), "isolated");
+            declaration.releaseVariable();
+            function.exit();
+            return null;
+        });
+
+        assertTrue(seenByOtherThread.get().isNull());
+        assertFalse(declaration.hasValue());
+    }
+
+    @Test
+    public void testIsolatedThreadSeesSharedDeclaration() {
+        VariableDeclaration declaration = new VariableDeclaration(NULL, "global");
+        declaration.pushVariable(fromValue("shared"), 0);
+
+        String value = VariableScope.isolated(() -> {
+            declaration.replaceVariable(fromValue("changed"));
+            return declaration.getVariable().getStringValue();
+        });
+
+        assertEquals(value, "changed");
+        assertEquals(declaration.getVariable().getStringValue(), "changed");
+    }
+
+    @Test
+    public void testEveryInvocationHasItsOwnValue() {
+        VariableScope function = new VariableScope();
+        VariableDeclaration declaration = new VariableDeclaration(NULL, "n");
+        declaration.setScope(function);
+
+        function.enter();
+        declaration.pushVariable(fromValue(1), 1);
+        function.enter();
+        declaration.pushVariable(fromValue(2), 2);
+
+        assertEquals(declaration.getVariable().getNumberValue().intValue(), 2);
+        assertEquals(declaration.peek(1).getNumberValue().intValue(), 1);
+        assertEquals(declaration.peek(2).getNumberValue().intValue(), 2);
+        assertNull(declaration.peek(3));
+
+        declaration.releaseVariable();
+        function.exit();
+
+        assertEquals(declaration.getVariable().getNumberValue().intValue(), 1);
+        declaration.releaseVariable();
+        function.exit();
+
+        assertFalse(declaration.hasValue());
+    }
+
+    @Test
+    public void testDeclarationsInScopeUseSeparateSlots() {
+        VariableScope scope = new VariableScope();
+        VariableDeclaration first = new VariableDeclaration(NULL, "first");
+        VariableDeclaration second = new VariableDeclaration(NULL, "second");
+        first.setScope(scope);
+        second.setScope(scope);
+
+        first.pushVariable(fromValue("a"), 0);
+        second.pushVariable(fromValue("b"), 0);
+
+        assertEquals(scope.size(), 2);
+        assertEquals(first.getVariable().getStringValue(), "a");
+        assertEquals(second.getVariable().getStringValue(), "b");
+    }
+}
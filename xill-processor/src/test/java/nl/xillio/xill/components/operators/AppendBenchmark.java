@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.components.operators;
+
+import nl.xillio.xill.api.NullDebugger;
+import nl.xillio.xill.api.components.MetaExpression;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.emptyList;
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromAppended;
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
+
+/**
+ * Measures {@code list = list + [i]} on lists of different sizes, including the reference counting that the
+ * assignment does. The scores are appends per second, so {@link Add} should score the same for every size while
+ * copying the list and registering all of its elements again slows down as the list grows.
+ * <p>
+ * Run this benchmark using the main method, which also reports the allocation rate per append.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppendBenchmark {
+    private static final int APPENDS = 1000;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private NullDebugger debugger;
+    private MetaExpression initial;
+
+    @Setup
+    public void setUp() {
+        List<MetaExpression> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(fromValue(i));
+        }
+
+        // Start from the result of an append, like every list in the loop after the first iteration
+        debugger = new NullDebugger();
+        initial = fromAppended(emptyList(), elements);
+        initial.registerReference();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(APPENDS)
+    public int add() {
+        return appendAll(true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(APPENDS)
+    public int copyAndAdd() {
+        return appendAll(false);
+    }
+
+    private int appendAll(boolean shareStructure) {
+        MetaExpression list = initial;
+        list.registerReference();
+        for (int i = 0; i < APPENDS; i++) {
+            MetaExpression item = fromValue(Collections.singletonList(fromValue(i)));
+            MetaExpression next = shareStructure ? new Add(list, item).process(debugger).get() : copyAndAdd(list, item);
+            next.registerReference();
+            list.releaseReference();
+            list = next;
+        }
+        int result = list.getSize().intValue();
+        list.releaseReference();
+        return result;
+    }
+
+    private static MetaExpression copyAndAdd(MetaExpression list, MetaExpression item) {
+        List<MetaExpression> result = new ArrayList<>(list.<List<MetaExpression>>getValue());
+        result.addAll(item.<List<MetaExpression>>getValue());
+        MetaExpression copy = fromValue(result);
+        item.close();
+        return copy;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AppendBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.components.operators;
+
+import nl.xillio.xill.TestUtils;
+import nl.xillio.xill.api.NullDebugger;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.data.MetadataExpression;
+import org.testng.annotations.Test;
+
+import java.math.BigInteger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Checks that the number operators release their operands on both the unboxed and the boxed path.
+ */
+public class BinaryNumberOperatorTest extends TestUtils {
+
+    @Test
+    public void testPrimitivePathReleasesOperands() throws Exception {
+        CloseableMetadata leftMeta = mock(CloseableMetadata.class);
+        CloseableMetadata rightMeta = mock(CloseableMetadata.class);
+        MetaExpression left = fromValue(2);
+        MetaExpression right = fromValue(3);
+        left.storeMeta(leftMeta);
+        right.storeMeta(rightMeta);
+
+        MetaExpression result = new Add(left, right).process(new NullDebugger()).get();
+
+        assertEquals(result.getNumberValue().intValue(), 5);
+        verify(leftMeta).close();
+        verify(rightMeta).close();
+    }
+
+    @Test
+    public void testBoxedPathReleasesOperands() throws Exception {
+        CloseableMetadata leftMeta = mock(CloseableMetadata.class);
+        MetaExpression left = fromValue(BigInteger.TEN);
+        MetaExpression right = fromValue(3);
+        left.storeMeta(leftMeta);
+
+        MetaExpression result = new Multiply(left, right).process(new NullDebugger()).get();
+
+        assertEquals(result.getNumberValue().intValue(), 30);
+        verify(leftMeta).close();
+    }
+
+    private interface CloseableMetadata extends MetadataExpression, AutoCloseable {
+    }
+}
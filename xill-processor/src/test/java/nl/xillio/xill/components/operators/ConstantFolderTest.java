@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.components.operators;
+
+import nl.xillio.xill.TestUtils;
+import nl.xillio.xill.api.NullDebugger;
+import nl.xillio.xill.api.components.ExpressionBuilder;
+import nl.xillio.xill.api.components.ImmutableLiteral;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.Processable;
+import nl.xillio.xill.components.expressions.VariableAccessExpression;
+import nl.xillio.xill.components.instructions.VariableDeclaration;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+import static org.testng.Assert.*;
+
+/**
+ * Checks that folded expressions evaluate to the same value as the original expressions.
+ */
+public class ConstantFolderTest extends TestUtils {
+    private final ConstantFolder folder = new ConstantFolder();
+
+    @DataProvider(name = "constantExpressions")
+    public Object[][] constantExpressions() {
+        return new Object[][]{
+                {new Concat(literal("prefix"), literal("suffix"))},
+                {new Concat(literal("value: "), literal(5))},
+                {new Concat(literal("flag: "), literal(true))},
+                {new Add(literal(1), literal(2))},
+                {new Add(literal(1.5), literal(2))},
+                {new Add(literal(Integer.MAX_VALUE), literal(1))},
+                {new Add(literal("a"), literal(1))},
+                {new Subtract(literal(0), literal(5))},
+                {new Multiply(new Multiply(literal(60), literal(60)), literal(24))},
+                {new Divide(literal(1), literal(3))},
+                {new Modulo(literal(10), literal(3))},
+                {new Power(literal(2), literal(10))},
+                {new Negate(literal(true))},
+                {new Negate(literal("text"))},
+                {new Equals(literal(1), literal("1"))},
+                {new NotEquals(literal("a"), literal("b"))},
+                {new GreaterThan(literal(2), literal(1))},
+                {new GreaterThanOrEquals(literal(1), literal(1.0))},
+                {new SmallerThan(literal("a"), literal(1))},
+                {new SmallerThanOrEquals(literal(-1), literal(0))}
+        };
+    }
+
+    @Test(dataProvider = "constantExpressions")
+    public void testFoldedValueIsEquivalent(Processable expression) {
+        MetaExpression expected = expression.process(new NullDebugger()).get();
+
+        Processable folded = folder.fold(expression);
+
+        assertTrue(folded instanceof ImmutableLiteral, "Expression was not folded");
+        MetaExpression result = folded.process(new NullDebugger()).get();
+        assertEquals(result.getType(), expected.getType());
+        assertEquals(result.getStringValue(), expected.getStringValue());
+        assertEquals(result.getNumberValue(), expected.getNumberValue());
+        assertEquals(result.getBooleanValue(), expected.getBooleanValue());
+        assertEquals(result.isNull(), expected.isNull());
+    }
+
+    @Test
+    public void testFoldedLiteralIsReused() {
+        Processable folded = folder.fold(new Concat(literal("a"), literal("b")));
+
+        MetaExpression first = folded.process(new NullDebugger()).get();
+        first.registerReference();
+        first.releaseReference();
+        MetaExpression second = folded.process(new NullDebugger()).get();
+
+        assertSame(second, first);
+        assertEquals(second.getStringValue(), "ab");
+    }
+
+    @Test
+    public void testVariableOperandIsNotFolded() {
+        VariableDeclaration declaration = new VariableDeclaration(NULL, "variable");
+        Processable expression = new Add(literal(1), new VariableAccessExpression(declaration));
+
+        assertSame(folder.fold(expression), expression);
+    }
+
+    @Test
+    public void testListOperandIsNotFolded() {
+        Processable expression = new Add(new ExpressionBuilder(Collections.singletonList(literal(1))), literal(1));
+
+        assertSame(folder.fold(expression), expression);
+    }
+
+    @Test
+    public void testOtherOperatorIsNotFolded() {
+        Processable expression = new And(literal(true), literal(false));
+
+        assertSame(folder.fold(expression), expression);
+    }
+
+    private static ExpressionBuilder literal(String value) {
+        return new ExpressionBuilder(value);
+    }
+
+    private static ExpressionBuilder literal(Number value) {
+        return new ExpressionBuilder(value);
+    }
+
+    private static ExpressionBuilder literal(boolean value) {
+        return new ExpressionBuilder(value);
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.components.operators;
+
+import me.biesaart.utils.FileUtils;
+import nl.xillio.xill.XillEnvironmentImpl;
+import nl.xillio.xill.XillProcessor;
+import nl.xillio.xill.api.NullDebugger;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.Robot;
+import nl.xillio.xill.api.components.RobotID;
+import nl.xillio.xill.api.errors.XillParsingException;
+import nl.xillio.xill.loaders.DirectoryRobotLoader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a robot that runs a counting loop with an accumulator, with and without the unboxed number fast paths.
+ * <p>
+ * Run this benchmark using the main method, which also reports the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NumberLoopBenchmark {
+    private static final String ROBOT = "loop.xill";
+
+    /**
+     * Every parameter value runs in its own fork, so the property is set before the operators are loaded.
+     */
+    @Param({"true", "false"})
+    private boolean primitiveNumbers;
+
+    private Path projectFolder;
+    private XillEnvironmentImpl environment;
+    private NullDebugger debugger;
+    private Robot robot;
+
+    @Setup
+    public void setUp() throws IOException, XillParsingException {
+        System.setProperty("xill.operators.primitiveNumbers", Boolean.toString(primitiveNumbers));
+
+        projectFolder = Files.createTempDirectory(getClass().getSimpleName());
+        Files.write(projectFolder.resolve(ROBOT), Arrays.asList(
+                "var sum = 0;",
+                "var i = 0;",
+                "while (i < 10000) {",
+                "    sum = sum + i * 2 - 1;",
+                "    i = i + 1;",
+                "}",
+                "return sum;"
+        ));
+
+        environment = new XillEnvironmentImpl();
+        environment.setLoadHomeFolder(false);
+        environment.loadPlugins();
+
+        RobotID robotID = new RobotID(projectFolder.resolve(ROBOT).toUri().toURL(), ROBOT);
+        debugger = new NullDebugger();
+        XillProcessor processor = new XillProcessor(
+                projectFolder,
+                robotID,
+                new DirectoryRobotLoader(null, projectFolder),
+                environment.getPlugins(),
+                debugger
+        );
+        processor.compile();
+        robot = processor.getRobot();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        environment.close();
+        FileUtils.deleteDirectory(projectFolder.toFile());
+    }
+
+    @Benchmark
+    public MetaExpression loop() {
+        try {
+            return robot.process(debugger).get();
+        } finally {
+            robot.reset();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NumberLoopBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
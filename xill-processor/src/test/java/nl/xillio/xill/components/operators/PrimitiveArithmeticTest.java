@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.components.operators;
+
+import nl.xillio.util.MathUtils;
+import nl.xillio.xill.TestUtils;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.PrimitiveNumbers;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.math.BigInteger;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+import static org.testng.Assert.*;
+
+/**
+ * Checks that the unboxed fast paths give the same results as {@link MathUtils}.
+ */
+public class PrimitiveArithmeticTest extends TestUtils {
+
+    @DataProvider(name = "operands")
+    public Object[][] operands() {
+        Number[] numbers = {0, 1, -7, 1000, Integer.MAX_VALUE, Integer.MIN_VALUE, 3L, Long.MAX_VALUE, Long.MIN_VALUE,
+                -1L, 2.5, -0.0, Double.NaN};
+        Object[][] result = new Object[numbers.length * numbers.length][];
+        int i = 0;
+        for (Number a : numbers) {
+            for (Number b : numbers) {
+                result[i++] = new Object[]{a, b};
+            }
+        }
+        return result;
+    }
+
+    @Test(dataProvider = "operands")
+    public void testAdd(Number a, Number b) {
+        assertSameResult(a, b, PrimitiveArithmetic::add, MathUtils::add);
+    }
+
+    @Test(dataProvider = "operands")
+    public void testSubtract(Number a, Number b) {
+        assertSameResult(a, b, PrimitiveArithmetic::subtract, MathUtils::subtract);
+    }
+
+    @Test(dataProvider = "operands")
+    public void testMultiply(Number a, Number b) {
+        assertSameResult(a, b, PrimitiveArithmetic::multiply, MathUtils::multiply);
+    }
+
+    @Test(dataProvider = "operands")
+    public void testCompare(Number a, Number b) {
+        MetaExpression left = fromValue(a);
+        MetaExpression right = fromValue(b);
+
+        assertTrue(PrimitiveArithmetic.canCompare(left, right));
+        assertEquals(Integer.signum(PrimitiveArithmetic.compare(left, right)), Integer.signum(MathUtils.compare(a, b)));
+    }
+
+    @Test
+    public void testUnsupportedOperands() {
+        assertNull(PrimitiveArithmetic.add(fromValue("1"), fromValue(1)));
+        assertNull(PrimitiveArithmetic.add(fromValue(BigInteger.ONE), fromValue(1)));
+        assertNull(PrimitiveArithmetic.multiply(fromValue(1), emptyList()));
+        assertFalse(PrimitiveArithmetic.canCompare(fromValue(1.5f), fromValue(1)));
+    }
+
+    @Test
+    public void testSmallIntegersAreShared() {
+        assertSame(PrimitiveArithmetic.add(fromValue(40), fromValue(2)), PrimitiveNumbers.valueOf(42));
+    }
+
+    private void assertSameResult(Number a, Number b, BinaryOperator<MetaExpression> primitive, BiFunction<Number, Number, Number> boxed) {
+        Number expected = boxed.apply(a, b);
+
+        // Operands created from boxed numbers and operands that are results of earlier fast path operations
+        for (MetaExpression[] operands : new MetaExpression[][]{{fromValue(a), fromValue(b)}, {unboxed(a), unboxed(b)}}) {
+            MetaExpression result = primitive.apply(operands[0], operands[1]);
+
+            if (expected instanceof BigInteger) {
+                // Overflowing longs are handled by the boxed implementation
+                assertNull(result);
+            } else {
+                assertNotNull(result);
+                assertEquals(result.getNumberValue(), expected);
+                assertEquals(result.getNumberValue().getClass(), expected.getClass());
+                assertEquals(result.getStringValue(), expected.toString());
+                assertEquals(result.getBooleanValue(), fromValue(expected).getBooleanValue());
+            }
+        }
+    }
+
+    private static MetaExpression unboxed(Number value) {
+        if (value instanceof Integer) {
+            return PrimitiveNumbers.valueOf(value.intValue());
+        }
+        if (value instanceof Long) {
+            return PrimitiveNumbers.valueOf(value.longValue());
+        }
+        return PrimitiveNumbers.valueOf(value.doubleValue());
+    }
+}
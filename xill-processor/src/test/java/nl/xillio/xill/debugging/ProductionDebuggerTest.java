@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.debugging;
+
+import nl.xillio.xill.api.Breakpoint;
+import nl.xillio.xill.api.components.Instruction;
+import nl.xillio.xill.api.components.RobotID;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+/**
+ * Tests for {@link ProductionDebugger}
+ */
+public class ProductionDebuggerTest {
+    private ProductionDebugger debugger;
+
+    @BeforeMethod
+    public void setUp() {
+        debugger = new ProductionDebugger();
+    }
+
+    @Test
+    public void testStackIsTracked() {
+        Instruction first = mock(Instruction.class);
+        Instruction second = mock(Instruction.class);
+
+        debugger.startInstruction(first);
+        debugger.startInstruction(second);
+
+        assertEquals(debugger.getStackDepth(), 1);
+        assertSame(debugger.getStackTrace().get(debugger.getStackDepth()), second);
+
+        debugger.endInstruction(second, null);
+
+        assertEquals(debugger.getStackDepth(), 0);
+        assertSame(debugger.getStackTrace().get(0), first);
+    }
+
+    @Test
+    public void testBreakpointsAndPausesAreIgnored() {
+        RobotID robotID = RobotID.dummyRobot();
+        Instruction instruction = mock(Instruction.class);
+        when(instruction.getRobotID()).thenReturn(robotID);
+        when(instruction.getLineNumber()).thenReturn(1);
+        AtomicInteger pauses = new AtomicInteger();
+        debugger.getOnRobotPause().addListener(action -> pauses.incrementAndGet());
+
+        debugger.addBreakpoint(new Breakpoint(robotID, 1));
+        debugger.pause(true);
+        debugger.startInstruction(instruction);
+        debugger.endInstruction(instruction, null);
+
+        assertEquals(pauses.get(), 0);
+        assertFalse(debugger.shouldStop());
+    }
+
+    @Test
+    public void testStop() {
+        debugger.stop();
+
+        assertTrue(debugger.shouldStop());
+    }
+}
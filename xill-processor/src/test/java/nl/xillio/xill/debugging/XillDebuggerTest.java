@@ -16,7 +16,9 @@
 package nl.xillio.xill.debugging;
 
 import nl.xillio.xill.TestUtils;
+import nl.xillio.xill.api.Breakpoint;
 import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.RobotID;
 import nl.xillio.xill.components.instructions.FunctionDeclaration;
 import nl.xillio.xill.components.instructions.Instruction;
 import nl.xillio.xill.components.instructions.VariableDeclaration;
@@ -24,10 +26,13 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import xill.lang.xill.Target;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.Mockito.*;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
 
 /**
@@ -133,6 +138,60 @@ public class XillDebuggerTest extends TestUtils{
         assertSame(value, results[1]);
     }
 
+    /**
+     * Test that the debugger pauses on an instruction that matches a breakpoint.
+     */
+    @Test
+    public void testBreakpointPausesOnMatchingLine() {
+        RobotID robotID = RobotID.dummyRobot();
+        AtomicInteger pauses = countPauses();
+        debugger.setBreakpoints(Collections.singletonList(new Breakpoint(robotID, 3)));
+
+        debugger.startInstruction(instructionAt(robotID, 2));
+        debugger.startInstruction(instructionAt(robotID, 3));
+
+        assertEquals(pauses.get(), 1);
+    }
+
+    /**
+     * Test that breakpoints in other robots and cleared breakpoints are ignored.
+     */
+    @Test
+    public void testBreakpointOnOtherRobotIsIgnored() {
+        RobotID robotID = RobotID.dummyRobot();
+        AtomicInteger pauses = countPauses();
+        debugger.addBreakpoint(new Breakpoint(RobotID.build("file:///path/to/project", "my/Other.xill"), 3));
+        debugger.addBreakpoint(new Breakpoint(robotID, 5));
+        debugger.clearBreakpoints();
+        debugger.addBreakpoint(new Breakpoint(robotID, 7));
+
+        debugger.startInstruction(instructionAt(robotID, 3));
+        debugger.startInstruction(instructionAt(robotID, 5));
+
+        assertEquals(pauses.get(), 0);
+    }
+
+    /**
+     * Count the pauses of the tested debugger, resuming immediately.
+     *
+     * @return the number of pauses
+     */
+    private AtomicInteger countPauses() {
+        AtomicInteger pauses = new AtomicInteger();
+        debugger.getOnRobotPause().addListener(action -> {
+            pauses.incrementAndGet();
+            debugger.resume();
+        });
+        return pauses;
+    }
+
+    private Instruction instructionAt(RobotID robotID, int line) {
+        Instruction instruction = mock(Instruction.class);
+        when(instruction.getRobotID()).thenReturn(robotID);
+        when(instruction.getLineNumber()).thenReturn(line);
+        return instruction;
+    }
+
     /**
      * Start a number of instructions on the tested debugger
      * @param num The number of instructions to start
@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.codec.hash.constructs;
+
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.io.SimpleIOStream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.NULL;
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
+
+/**
+ * Compares reading a file three times to compute one hash per pass, like calling Hash.toMD5, Hash.toSHA1 and
+ * Hash.toSHA256 in a row, against a single pass of Hash.digest.
+ * <p>
+ * Run this benchmark using the main method.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DigestBenchmark {
+    @Param({"1048576", "134217728"})
+    private int fileSize;
+
+    private Path file;
+    private MetaExpression algorithms;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] content = new byte[fileSize];
+        new Random(42).nextBytes(content);
+        file = Files.createTempFile(getClass().getSimpleName(), ".bin");
+        Files.write(file, content);
+        algorithms = fromValue(Arrays.asList(fromValue("md5"), fromValue("sha1"), fromValue("sha256")));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public MetaExpression[] passPerAlgorithm() throws IOException {
+        return new MetaExpression[]{
+                digestInputStream(fromValue("md5")),
+                digestInputStream(fromValue("sha1")),
+                digestInputStream(fromValue("sha256"))
+        };
+    }
+
+    @Benchmark
+    public MetaExpression singlePass() throws IOException {
+        return digestInputStream(algorithms);
+    }
+
+    private MetaExpression digestInputStream(MetaExpression algorithms) throws IOException {
+        try (SimpleIOStream stream = new SimpleIOStream(Files.newInputStream(file), file.toString())) {
+            return DigestConstruct.process(fromValue(stream), algorithms, NULL);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DigestBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
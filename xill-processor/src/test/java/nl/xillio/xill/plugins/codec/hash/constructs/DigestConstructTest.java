@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.codec.hash.constructs;
+
+import nl.xillio.xill.TestUtils;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.errors.RobotRuntimeException;
+import nl.xillio.xill.api.io.SimpleIOStream;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.ByteArrayOutputStream;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+
+public class DigestConstructTest extends TestUtils {
+    private final DigestConstruct construct = new DigestConstruct();
+    private final MetaExpression algorithms = fromValue(Arrays.asList(fromValue("md5"), fromValue("sha1"), fromValue("sha256")));
+    private Path file;
+    private byte[] content;
+
+    @BeforeClass
+    public void createTestFile() throws IOException {
+        content = new byte[3 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(content);
+        file = Files.createTempFile(getClass().getSimpleName(), ".bin");
+        Files.write(file, content);
+    }
+
+    @AfterClass
+    public void deleteTestFile() throws IOException {
+        Files.delete(file);
+    }
+
+    @Test
+    public void testStringInput() {
+        String inputString = "Dearest reader, I will now be pitched in to the depths from where I cannot return. I say farewell";
+
+        Map<String, MetaExpression> result = process(construct, fromValue(inputString), algorithms).getValue();
+
+        assertEquals(result.get("md5").getStringValue(), "898bc4d930a42e95741c8e747c5c8d5c");
+        assertEquals(result.get("sha1").getStringValue(), DigestUtils.sha1Hex(inputString));
+        assertEquals(result.get("sha256").getStringValue(), DigestUtils.sha256Hex(inputString));
+    }
+
+    @Test
+    public void testStreamInput() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        MetaExpression input = fromValue(new SimpleIOStream(IOUtils.toInputStream("I'll see you on the other side"), getClass().getSimpleName()));
+        MetaExpression output = fromValue(new SimpleIOStream(outputStream, getClass().getSimpleName()));
+
+        Map<String, MetaExpression> result = process(construct, input, algorithms, output).getValue();
+
+        assertEquals(result.get("md5").getStringValue(), "00fbf1126c5b3008d38a0e3c170c3a32");
+        assertEquals(outputStream.toString(), "I'll see you on the other side");
+    }
+
+    @Test
+    public void testFileInput() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        SimpleIOStream stream = new SimpleIOStream(Files.newInputStream(file), file.toString());
+        MetaExpression output = fromValue(new SimpleIOStream(outputStream, getClass().getSimpleName()));
+
+        Map<String, MetaExpression> result = process(construct, fromValue(stream), algorithms, output).getValue();
+
+        assertEquals(result.get("md5").getStringValue(), DigestUtils.md5Hex(content));
+        assertEquals(result.get("sha1").getStringValue(), DigestUtils.sha1Hex(content));
+        assertEquals(result.get("sha256").getStringValue(), DigestUtils.sha256Hex(content));
+        assertEquals(outputStream.toByteArray(), content);
+        stream.close();
+    }
+
+    @Test
+    public void testAlgorithmNames() {
+        assertEquals(DigestConstruct.getDigest("SHA-512").getAlgorithm(), "SHA-512");
+        assertEquals(DigestConstruct.getDigest("sha512").getAlgorithm(), "SHA-512");
+        assertEquals(DigestConstruct.getDigest("MD5").getAlgorithm(), "MD5");
+    }
+
+    @Test(expectedExceptions = RobotRuntimeException.class)
+    public void testUnknownAlgorithm() {
+        process(construct, fromValue("Hello World"), fromValue("crc32"));
+    }
+
+    @Test(expectedExceptions = RobotRuntimeException.class)
+    public void testOutputNotStream() {
+        process(construct, fromValue("Hello World"), algorithms, fromValue("I am not a stream"));
+    }
+
+    @Test(expectedExceptions = RobotRuntimeException.class)
+    public void testNullInput() {
+        process(construct, NULL, algorithms);
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.collection.constructs;
+
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.plugins.collection.data.index.CollectionIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.NULL;
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
+
+/**
+ * Compares a membership check using {@link ContainsConstruct} against {@link HasKeyConstruct} on an index of a list
+ * of one million strings. The probed value is near the end of the list.
+ * <p>
+ * Run this benchmark using the main method.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectionIndexBenchmark {
+    private static final int SIZE = 1_000_000;
+
+    private MetaExpression list;
+    private MetaExpression index;
+    private MetaExpression probe;
+
+    @Setup
+    public void setUp() {
+        List<MetaExpression> values = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            values.add(fromValue("item" + i));
+        }
+        list = fromValue(values);
+        index = IndexConstruct.process(list, NULL);
+        probe = fromValue("item" + (SIZE - 1));
+    }
+
+    @Benchmark
+    public MetaExpression contains() {
+        return ContainsConstruct.process(list, probe);
+    }
+
+    @Benchmark
+    public MetaExpression hasKey() {
+        return HasKeyConstruct.process(index, probe);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public int buildIndex() {
+        MetaExpression result = IndexConstruct.process(list, NULL);
+        try {
+            return result.getMeta(CollectionIndex.class).size();
+        } finally {
+            result.close();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CollectionIndexBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.collection.constructs;
+
+import nl.xillio.util.PersistentLinkedHashMap;
+import nl.xillio.xill.api.components.MetaExpression;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
+
+/**
+ * Compares duplicating an object with ten thousand fields by converting it to Java objects and back against
+ * {@link DuplicateConstruct}, which shares the structure of the original. The set up checks that it does. The last
+ * benchmark keeps one hundred thousand duplicates alive at the same time.
+ * <p>
+ * Run this benchmark using the main method, which also reports the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DuplicateBenchmark {
+    private static final int FIELDS = 10_000;
+    private static final int DUPLICATES = 100_000;
+
+    private MetaExpression template;
+
+    @Setup
+    public void setUp() {
+        LinkedHashMap<String, MetaExpression> fields = new LinkedHashMap<>();
+        for (int i = 0; i < FIELDS; i++) {
+            fields.put("field" + i, fromValue("value" + i));
+        }
+        template = fromValue(fields);
+        template.registerReference();
+
+        // The first duplicate gives the template a persistent value, every duplicate after it must share that value
+        DuplicateConstruct.process(template).close();
+        MetaExpression duplicate = DuplicateConstruct.process(template);
+        PersistentLinkedHashMap<String, MetaExpression> templateValue = template.getValue();
+        if (!templateValue.sharesStructureWith(duplicate.getValue())) {
+            throw new IllegalStateException("The duplicate does not share its structure with the template");
+        }
+        duplicate.close();
+    }
+
+    @Benchmark
+    public MetaExpression extractAndParse() {
+        return MetaExpression.parseObject(MetaExpression.extractValue(template));
+    }
+
+    @Benchmark
+    public MetaExpression duplicate() {
+        MetaExpression result = DuplicateConstruct.process(template);
+        result.close();
+        return result;
+    }
+
+    @Benchmark
+    public MetaExpression duplicateAndChangeTwoFields() {
+        MetaExpression result = DuplicateConstruct.process(template);
+        Map<String, MetaExpression> value = result.getValue();
+        value.put("field0", fromValue("changed")).releaseReference();
+        value.put("field1", fromValue("changed")).releaseReference();
+        result.close();
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DUPLICATES)
+    public MetaExpression[] duplicateHundredThousandTimes() {
+        MetaExpression[] results = new MetaExpression[DUPLICATES];
+        for (int i = 0; i < DUPLICATES; i++) {
+            results[i] = DuplicateConstruct.process(template);
+        }
+        for (MetaExpression result : results) {
+            result.close();
+        }
+        return results;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DuplicateBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
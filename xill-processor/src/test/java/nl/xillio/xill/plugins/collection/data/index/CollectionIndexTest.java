@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.collection.data.index;
+
+import nl.xillio.xill.api.components.ExpressionBuilderHelper;
+import nl.xillio.xill.api.components.MetaExpression;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the {@link CollectionIndex}.
+ */
+public class CollectionIndexTest extends ExpressionBuilderHelper {
+
+    @DataProvider(name = "equalKeys")
+    public Object[][] equalKeys() {
+        return new Object[][]{
+                {fromValue(1), fromValue(1.0)},
+                {fromValue(1), fromValue("1")},
+                {fromValue(1L), fromValue(new BigInteger("1"))},
+                {fromValue(0.5), fromValue("0.5")},
+                {fromValue(true), fromValue("true")},
+                {fromValue("text"), fromValue("text")},
+                {NULL, NULL}
+        };
+    }
+
+    @DataProvider(name = "differentKeys")
+    public Object[][] differentKeys() {
+        return new Object[][]{
+                {fromValue(1), fromValue(2)},
+                {fromValue(true), fromValue(1)},
+                {fromValue("null"), NULL},
+                {fromValue("Text"), fromValue("text")},
+                {fromValue(1), fromValue(1.5)}
+        };
+    }
+
+    @Test(dataProvider = "equalKeys")
+    public void testEqualKeysMatch(MetaExpression indexed, MetaExpression key) {
+        CollectionIndex index = new CollectionIndex(Arrays.asList(indexed), null);
+
+        assertTrue(index.containsKey(key));
+        assertSame(index.get(key).get(0), indexed);
+    }
+
+    @Test(dataProvider = "differentKeys")
+    public void testDifferentKeysDoNotMatch(MetaExpression indexed, MetaExpression key) {
+        CollectionIndex index = new CollectionIndex(Arrays.asList(indexed), null);
+
+        assertFalse(index.containsKey(key));
+        assertTrue(index.get(key).isEmpty());
+    }
+
+    @Test
+    public void testIndexOnField() {
+        MetaExpression first = object("id", fromValue(1));
+        MetaExpression second = object("id", fromValue(1));
+        MetaExpression other = object("name", fromValue(1));
+        CollectionIndex index = CollectionIndex.of(fromValue(Arrays.asList(first, second, other, fromValue(1))), "id");
+
+        assertEquals(index.size(), 2);
+        assertEquals(index.get(fromValue(1)), Arrays.asList(first, second));
+        assertNull(index.keyOf(other));
+    }
+
+    @Test
+    public void testGroups() {
+        MetaExpression a = fromValue("a");
+        MetaExpression b = fromValue("b");
+        CollectionIndex index = new CollectionIndex(Arrays.asList(b, a, fromValue("b")), null);
+
+        Map<String, List<MetaExpression>> groups = index.getGroups();
+
+        assertEquals(groups.keySet().toArray(), new Object[]{"b", "a"});
+        assertEquals(groups.get("b").size(), 2);
+    }
+
+    @Test
+    public void testCloseReleasesReferences() {
+        MetaExpression element = fromValue("element");
+        element.registerReference();
+        CollectionIndex index = new CollectionIndex(Arrays.asList(element), null);
+
+        index.close();
+
+        assertEquals(index.size(), 0);
+        assertEquals(element.getStringValue(), "element");
+    }
+
+    private MetaExpression object(String key, MetaExpression value) {
+        LinkedHashMap<String, MetaExpression> map = new LinkedHashMap<>();
+        map.put(key, value);
+        return fromValue(map);
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.collection.services.sort;
+
+import nl.xillio.xill.api.components.MetaExpression;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
+
+/**
+ * Compares sorting a list by converting it to Java objects and back against sorting the expressions directly using
+ * precomputed sort keys. The last benchmark sorts a list of objects by a field, which the conversion path cannot do.
+ * <p>
+ * Run this benchmark using the main method.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SortBenchmark {
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private final SortImpl sort = new SortImpl();
+    private MetaExpression values;
+    private MetaExpression rows;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<MetaExpression> valueList = new ArrayList<>(size);
+        List<MetaExpression> rowList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String value = "item" + random.nextInt(size);
+            valueList.add(fromValue(value));
+
+            LinkedHashMap<String, MetaExpression> row = new LinkedHashMap<>();
+            row.put("id", fromValue(i));
+            row.put("name", fromValue(value));
+            rowList.add(fromValue(row));
+        }
+        values = fromValue(valueList);
+        rows = fromValue(rowList);
+    }
+
+    @Benchmark
+    public MetaExpression extractAndParse() {
+        return MetaExpression.parseObject(sort.asSorted(MetaExpression.extractValue(values), false, false, false));
+    }
+
+    @Benchmark
+    public MetaExpression sortKeys() {
+        return sort.asSortedExpression(values, false, false);
+    }
+
+    @Benchmark
+    public MetaExpression sortKeysByField() {
+        return sort.asSortedExpression(rows, false, false, "name");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SortBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
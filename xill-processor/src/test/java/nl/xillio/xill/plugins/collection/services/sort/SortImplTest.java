@@ -15,14 +15,22 @@
  */
 package nl.xillio.xill.plugins.collection.services.sort;
 
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.data.Date;
 import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
 
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.*;
 
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.NULL;
+import static nl.xillio.xill.api.components.ExpressionBuilderHelper.fromValue;
 import static nl.xillio.xill.plugins.collection.services.sort.SortImpl.Sorter;
 import static nl.xillio.xill.plugins.collection.services.sort.SortImpl.getPriorityIndex;
 import static nl.xillio.xill.plugins.collection.services.sort.SortImplTest.SortHelpers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
@@ -137,6 +145,115 @@ public class SortImplTest {
     }
 
 
+    @Test
+    public void testAsSortedExpressionMatchesExtractedSort() {
+        SortImpl sort = new SortImpl();
+        for (boolean reverse : new boolean[]{false, true}) {
+            MetaExpression input = fromValue(Arrays.asList(
+                    fromValue(2), fromValue("c"), NULL, fromValue(1.5), fromValue(true), fromValue("a"),
+                    fromValue(Arrays.asList(fromValue(1), fromValue(2))), object("a", fromValue(2)), fromValue(false),
+                    fromValue(Collections.singletonList(fromValue(1)))
+            ));
+
+            Object expected = sort.asSorted(MetaExpression.extractValue(input), false, false, reverse);
+            Object actual = MetaExpression.extractValue(sort.asSortedExpression(input, false, reverse));
+
+            assertEquals(actual, expected);
+        }
+    }
+
+    @Test
+    public void testAsSortedExpressionByPath() {
+        MetaExpression bob = person("Bob", "Utrecht");
+        MetaExpression alice = person("Alice", "Amsterdam");
+        MetaExpression nobody = object("name", fromValue("Nobody"));
+        List<MetaExpression> list = Arrays.asList(bob, nobody, alice);
+
+        assertEquals(SortImpl.asSortedExpressionList(list, false, false, "name"), Arrays.asList(alice, bob, nobody));
+        assertEquals(SortImpl.asSortedExpressionList(list, false, false, "address", "city"), Arrays.asList(alice, bob, nobody));
+        assertEquals(SortImpl.asSortedExpressionList(list, false, true, "address", "city"), Arrays.asList(nobody, bob, alice));
+    }
+
+    @Test
+    public void testAsSortedExpressionMap() {
+        LinkedHashMap<String, MetaExpression> map = new LinkedHashMap<>();
+        map.put("b", fromValue(1));
+        map.put("c", fromValue(3));
+        map.put("a", fromValue(2));
+
+        assertEquals(SortImpl.asSortedExpressionMap(map, false, false).keySet().toArray(), new Object[]{"b", "a", "c"});
+        assertEquals(SortImpl.asSortedExpressionMap(map, true, false).keySet().toArray(), new Object[]{"a", "b", "c"});
+        assertEquals(SortImpl.asSortedExpressionMap(map, true, true).keySet().toArray(), new Object[]{"c", "b", "a"});
+    }
+
+    @Test
+    public void testAsSortedExpressionListIsStableInParallel() {
+        List<MetaExpression> list = new ArrayList<>();
+        for (int i = 0; i < SortImpl.PARALLEL_THRESHOLD * 2; i++) {
+            MetaExpression element = object("group", fromValue(i % 3));
+            element.<Map<String, MetaExpression>>getValue().put("index", fromValue(i));
+            list.add(element);
+        }
+
+        List<MetaExpression> sorted = SortImpl.asSortedExpressionList(list, false, false, "group");
+
+        for (int i = 1; i < sorted.size(); i++) {
+            MetaExpression previous = sorted.get(i - 1);
+            MetaExpression current = sorted.get(i);
+            int previousGroup = SortImpl.select(previous, "group").getNumberValue().intValue();
+            int currentGroup = SortImpl.select(current, "group").getNumberValue().intValue();
+            assertTrue(previousGroup < currentGroup || previousGroup == currentGroup &&
+                    SortImpl.select(previous, "index").getNumberValue().intValue() < SortImpl.select(current, "index").getNumberValue().intValue());
+        }
+    }
+
+    @Test
+    public void testAsSortedExpressionListOrdersDatesAndStrings() {
+        List<MetaExpression> list = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < SortImpl.PARALLEL_THRESHOLD * 2; i++) {
+            int day = random.nextInt(28) + 1;
+            list.add(i % 2 == 0 ? fromValue(String.format("2016-02-%02d", day)) : date(ZonedDateTime.of(2016, 1, day, 0, 0, 0, 0, ZoneOffset.UTC)));
+        }
+
+        List<MetaExpression> sorted = SortImpl.asSortedExpressionList(list, false, false);
+
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(sorted.get(i - 1).getStringValue().compareTo(sorted.get(i).getStringValue()) <= 0);
+        }
+    }
+
+    private static MetaExpression date(ZonedDateTime value) {
+        Date date = mock(Date.class);
+        when(date.getZoned()).thenReturn(value);
+        MetaExpression result = fromValue(value.toLocalDate().toString());
+        result.storeMeta(date);
+        return result;
+    }
+
+    @Test
+    public void testSelect() {
+        MetaExpression element = object("list", fromValue(Arrays.asList(fromValue("first"), fromValue("second"))));
+
+        assertEquals(SortImpl.select(element, "list", "1").getStringValue(), "second");
+        assertEquals(SortImpl.select(element, "list", "2"), NULL);
+        assertEquals(SortImpl.select(element, "list", "x"), NULL);
+        assertEquals(SortImpl.select(element, "other"), NULL);
+        assertEquals(SortImpl.select(element), element);
+    }
+
+    private static MetaExpression person(String name, String city) {
+        MetaExpression person = object("name", fromValue(name));
+        person.<Map<String, MetaExpression>>getValue().put("address", object("city", fromValue(city)));
+        return person;
+    }
+
+    private static MetaExpression object(String key, MetaExpression value) {
+        LinkedHashMap<String, MetaExpression> map = new LinkedHashMap<>();
+        map.put(key, value);
+        return fromValue(map);
+    }
+
     @Test
     public void testGetPriorityIndex() throws Exception {
         assertEquals(getPriorityIndex(new ArrayList<String>()), 0);
@@ -19,7 +19,10 @@ import nl.xillio.xill.TestUtils;
 import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.api.components.MetaExpressionIterator;
 import nl.xillio.xill.api.construct.ConstructProcessor;
+import nl.xillio.xill.api.data.Date;
+import nl.xillio.xill.api.errors.InvalidUserInputException;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
+import nl.xillio.xill.plugins.date.services.DateServiceImpl;
 import nl.xillio.xill.plugins.file.services.files.FileUtilitiesImpl;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -29,9 +32,10 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-import static org.testng.Assert.assertEquals;
-import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.*;
 
 public class IterateFilesConstructTest extends TestUtils {
     private Path testFile;
@@ -47,7 +51,11 @@ public class IterateFilesConstructTest extends TestUtils {
             Files.createFile(file);
         }
 
+        Path folder = Files.createDirectory(testFile.resolve("documents"));
+        Files.createFile(folder.resolve("document.PDF"));
+
         construct.setFileIterator(fileUtilities);
+        construct.setDateFactory(new DateServiceImpl());
     }
 
     @AfterClass
@@ -77,6 +85,62 @@ public class IterateFilesConstructTest extends TestUtils {
         assertEquals(count, 3);
     }
 
+    @Test
+    public void testOptions() {
+        LinkedHashMap<String, MetaExpression> options = new LinkedHashMap<>();
+        options.put("parallelism", fromValue(4));
+        options.put("extensions", fromValue("pdf"));
+        options.put("includeAttributes", fromValue(true));
+
+        ConstructProcessor processor = construct.prepareProcess(context(construct));
+        processor.setArgument(0, fromValue(testFile.toString()));
+        processor.setArgument(1, fromValue(true));
+        processor.setArgument(2, fromValue(options));
+
+        setFileResolverReturnValue(testFile);
+        MetaExpression result = processor.process();
+
+        MetaExpressionIterator iterator = result.getMeta(MetaExpressionIterator.class);
+        Map<String, MetaExpression> file = iterator.next().getValue();
+        assertEquals(file.get("path").getStringValue(), testFile.resolve("documents").resolve("document.PDF").toString());
+        assertEquals(file.get("size").getNumberValue().intValue(), 0);
+        assertNotNull(file.get("lastModifiedDate").getMeta(Date.class));
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testGlobFilter() {
+        LinkedHashMap<String, MetaExpression> options = new LinkedHashMap<>();
+        options.put("filter", fromValue("file[01]"));
+
+        ConstructProcessor processor = construct.prepareProcess(context(construct));
+        processor.setArgument(0, fromValue(testFile.toString()));
+        processor.setArgument(2, fromValue(options));
+
+        setFileResolverReturnValue(testFile);
+        MetaExpressionIterator iterator = processor.process().getMeta(MetaExpressionIterator.class);
+
+        int count = 0;
+        while (iterator.hasNext()) {
+            assertTrue(iterator.next().getStringValue().matches(".*file[01]"));
+            count++;
+        }
+        assertEquals(count, 2);
+    }
+
+    @Test(expectedExceptions = InvalidUserInputException.class)
+    public void testInvalidOption() {
+        LinkedHashMap<String, MetaExpression> options = new LinkedHashMap<>();
+        options.put("threads", fromValue(4));
+
+        ConstructProcessor processor = construct.prepareProcess(context(construct));
+        processor.setArgument(0, fromValue(testFile.toString()));
+        processor.setArgument(2, fromValue(options));
+
+        setFileResolverReturnValue(testFile);
+        processor.process();
+    }
+
     @Test(expectedExceptions = RobotRuntimeException.class, expectedExceptionsMessageRegExp = ".*Unit Test File.*")
     public void testFileNotExist() {
         Path noExistFile = Paths.get("Unit Test File");
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.file.utils;
+
+import me.biesaart.utils.FileUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares listing a tree of ten thousand files using the {@link FileIterator} against the {@link ParallelFileWalker}
+ * with a growing number of threads. The difference grows with the latency of the file system, so run it on a network
+ * share to see the effect on migrations.
+ * <p>
+ * Run this benchmark using the main method.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileWalkerBenchmark {
+    private static final int FOLDERS = 100;
+    private static final int FILES_PER_FOLDER = 100;
+
+    @Param({"1", "4", "16"})
+    private int parallelism;
+
+    private Path root;
+
+    @Setup
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory(getClass().getSimpleName());
+        for (int i = 0; i < FOLDERS; i++) {
+            Path folder = Files.createDirectory(root.resolve("folder" + i));
+            for (int j = 0; j < FILES_PER_FOLDER; j++) {
+                Files.createFile(folder.resolve("file" + j + ".txt"));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(root.toFile());
+    }
+
+    @Benchmark
+    public int fileIterator() throws IOException {
+        return count(new FileIterator(root, true));
+    }
+
+    @Benchmark
+    public int parallelFileWalker() throws IOException {
+        return count(new ParallelFileWalker(root, true, parallelism, entry -> entry.getAttributes().isRegularFile()));
+    }
+
+    private static int count(Iterator<?> iterator) {
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FileWalkerBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.file.utils;
+
+import nl.xillio.xill.plugins.file.services.files.FileUtilitiesImpl;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.testng.Assert.*;
+
+public class ParallelFileWalkerTest {
+    private final FileUtilitiesImpl fileUtilities = new FileUtilitiesImpl();
+    private Path root;
+    private Set<Path> allFiles;
+    private Set<Path> topFiles;
+
+    @BeforeClass
+    public void createTestFiles() throws IOException {
+        root = Files.createTempDirectory(getClass().getSimpleName());
+        allFiles = new HashSet<>();
+        topFiles = new HashSet<>();
+
+        for (int i = 0; i < 3; i++) {
+            Path file = Files.write(root.resolve("file" + i + ".txt"), new byte[i]);
+            allFiles.add(file);
+            topFiles.add(file);
+        }
+        for (int i = 0; i < 10; i++) {
+            Path folder = Files.createDirectories(root.resolve("folder" + i).resolve("sub"));
+            allFiles.add(Files.createFile(folder.resolve("deep" + i + ".txt")));
+        }
+    }
+
+    @AfterClass
+    public void deleteTestFiles() throws IOException {
+        fileUtilities.delete(root);
+    }
+
+    @Test
+    public void testRecursive() throws IOException {
+        ParallelFileWalker walker = new ParallelFileWalker(root, true, 4, entry -> entry.getAttributes().isRegularFile());
+
+        assertEquals(collect(walker), allFiles);
+    }
+
+    @Test
+    public void testNotRecursive() throws IOException {
+        ParallelFileWalker walker = new ParallelFileWalker(root, false, 4, entry -> entry.getAttributes().isRegularFile());
+
+        assertEquals(collect(walker), topFiles);
+    }
+
+    @Test
+    public void testAttributesAreIncluded() throws IOException {
+        ParallelFileWalker walker = new ParallelFileWalker(root, false, 1, entry -> entry.getPath().endsWith("file2.txt"));
+
+        FileEntry entry = walker.next();
+
+        assertEquals(entry.getAttributes().size(), 2);
+        assertFalse(walker.hasNext());
+    }
+
+    @Test
+    public void testFolders() throws IOException {
+        ParallelFileWalker walker = new ParallelFileWalker(root, true, 2, entry -> entry.getAttributes().isDirectory());
+
+        assertEquals(collect(walker).size(), 20);
+    }
+
+    @Test
+    public void testCloseBeforeEnd() throws IOException {
+        Path folder = Files.createTempDirectory(getClass().getSimpleName());
+        try {
+            for (int i = 0; i < ParallelFileWalker.QUEUE_CAPACITY * 2; i++) {
+                Files.createFile(folder.resolve("file" + i));
+            }
+
+            ParallelFileWalker walker = new ParallelFileWalker(folder, false, 2, entry -> true);
+            assertTrue(walker.hasNext());
+            walker.next();
+            walker.close();
+
+            assertFalse(walker.hasNext());
+        } finally {
+            fileUtilities.delete(folder);
+        }
+    }
+
+    @Test(expectedExceptions = NoSuchFileException.class)
+    public void testFolderNotExist() throws IOException {
+        new ParallelFileWalker(Paths.get("Unit Test Folder"), true, 2, entry -> true);
+    }
+
+    private static Set<Path> collect(ParallelFileWalker walker) {
+        Set<Path> result = new HashSet<>();
+        while (walker.hasNext()) {
+            assertTrue(result.add(walker.next().getPath()));
+        }
+        return result;
+    }
+}
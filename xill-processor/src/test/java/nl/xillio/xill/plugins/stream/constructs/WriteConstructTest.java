@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
@@ -118,6 +119,35 @@ public class WriteConstructTest extends TestUtils {
         assertEquals(result.getNumberValue().intValue(), inputText.length());
     }
 
+    @Test
+    public void testWriteConcatenatedString() {
+        StringBuilder expected = new StringBuilder();
+        MetaExpression input = fromValue("");
+        for (int i = 0; i < 1000; i++) {
+            input = fromConcatenation(Arrays.asList(input, fromValue("line " + i + "\n")));
+            expected.append("line ").append(i).append('\n');
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        MetaExpression output = fromValue(new SimpleIOStream(outputStream, "UnitTest"));
+
+        MetaExpression result = process(construct, input, output);
+
+        assertEquals(outputStream.toString(), expected.toString());
+        assertEquals(result.getNumberValue().intValue(), expected.length());
+    }
+
+    @Test
+    public void testWriteStringWithCharsetCountsCharacters() throws UnsupportedEncodingException {
+        String inputText = "caf\u00e9";
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        MetaExpression output = fromValue(new SimpleIOStream(outputStream, "UnitTest"));
+
+        MetaExpression result = process(construct, fromValue(inputText), output, fromValue(-1), fromValue("UTF-8"));
+
+        assertEquals(outputStream.toByteArray(), inputText.getBytes("UTF-8"));
+        assertEquals(result.getNumberValue().intValue(), 4);
+    }
+
     /**
      * Test converting a stream to a different character set
      */
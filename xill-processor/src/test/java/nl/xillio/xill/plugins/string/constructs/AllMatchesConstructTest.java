@@ -20,6 +20,7 @@ import nl.xillio.xill.api.components.ExpressionBuilderHelper;
 import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
 import nl.xillio.xill.plugins.string.services.string.RegexService;
+import nl.xillio.xill.plugins.string.services.string.RegexTimeoutMode;
 import nl.xillio.xill.services.json.JacksonParser;
 import nl.xillio.xill.services.json.JsonException;
 import org.testng.Assert;
@@ -69,7 +70,7 @@ public class AllMatchesConstructTest extends TestUtils {
 
         // Verify
         verify(regexService, times(1)).tryMatch(any());
-        verify(regexService, times(1)).getMatcher(regexValue, text, timeoutValue);
+        verify(regexService, times(1)).getMatcher(regexValue, text, timeoutValue, RegexTimeoutMode.STRICT);
 
         // Assert
         Assert.assertEquals(result.getType(), LIST);
@@ -98,7 +99,7 @@ public class AllMatchesConstructTest extends TestUtils {
 
         RegexService regexService = mock(RegexService.class);
         Arrays.asList("abc", "def", "ghi", "jkl", "Mno");
-        when(regexService.getMatcher(regexValue, text, timeoutValue)).thenThrow(new PatternSyntaxException(regexValue, text, timeoutValue));
+        when(regexService.getMatcher(regexValue, text, timeoutValue, RegexTimeoutMode.STRICT)).thenThrow(new PatternSyntaxException(regexValue, text, timeoutValue));
 
         AllMatchesConstruct construct = new AllMatchesConstruct(regexService);
         // Run
@@ -106,7 +107,7 @@ public class AllMatchesConstructTest extends TestUtils {
 
         // Verify
         verify(regexService, times(0)).tryMatch(any());
-        verify(regexService, times(1)).getMatcher(regexValue, text, timeoutValue);
+        verify(regexService, times(1)).getMatcher(regexValue, text, timeoutValue, RegexTimeoutMode.STRICT);
     }
 
     /**
@@ -131,7 +132,7 @@ public class AllMatchesConstructTest extends TestUtils {
 
         RegexService regexService = mock(RegexService.class);
         Arrays.asList("abc", "def", "ghi", "jkl", "Mno");
-        when(regexService.getMatcher(regexValue, text, timeoutValue)).thenThrow(new IllegalArgumentException());
+        when(regexService.getMatcher(regexValue, text, timeoutValue, RegexTimeoutMode.STRICT)).thenThrow(new IllegalArgumentException());
 
         AllMatchesConstruct construct = new AllMatchesConstruct(regexService);
         // Run
@@ -139,6 +140,6 @@ public class AllMatchesConstructTest extends TestUtils {
 
         // Verify
         verify(regexService, times(0)).tryMatch(any());
-        verify(regexService, times(1)).getMatcher(regexValue, text, timeoutValue);
+        verify(regexService, times(1)).getMatcher(regexValue, text, timeoutValue, RegexTimeoutMode.STRICT);
     }
 }
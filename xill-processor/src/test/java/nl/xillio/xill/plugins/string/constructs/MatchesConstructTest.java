@@ -20,6 +20,7 @@ import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.api.errors.InvalidUserInputException;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
 import nl.xillio.xill.plugins.string.services.string.RegexService;
+import nl.xillio.xill.plugins.string.services.string.RegexTimeoutMode;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -64,7 +65,7 @@ public class MatchesConstructTest extends TestUtils {
 
         // Verify
         verify(regexService, times(1)).matches(any());
-        verify(regexService, times(1)).getMatcher(regexValue, valueValue, timeoutValue);
+        verify(regexService, times(1)).getMatcher(regexValue, valueValue, timeoutValue, RegexTimeoutMode.STRICT);
 
         // Assert
         Assert.assertEquals(result.getBooleanValue(), returnValue);
@@ -92,7 +93,7 @@ public class MatchesConstructTest extends TestUtils {
 
         Exception returnValue = new PatternSyntaxException(regexValue, regexValue, timeoutValue);
         RegexService regexService = mock(RegexService.class);
-        when(regexService.getMatcher(regexValue, valueValue, timeoutValue)).thenThrow(returnValue);
+        when(regexService.getMatcher(regexValue, valueValue, timeoutValue, RegexTimeoutMode.STRICT)).thenThrow(returnValue);
 
         MatchesConstruct construct = new MatchesConstruct(regexService);
         //Run
@@ -100,7 +101,7 @@ public class MatchesConstructTest extends TestUtils {
 
         // Verify
         verify(regexService, times(1)).matches(any());
-        verify(regexService, times(1)).getMatcher(regexValue, valueValue, timeoutValue);
+        verify(regexService, times(1)).getMatcher(regexValue, valueValue, timeoutValue, RegexTimeoutMode.STRICT);
     }
 
     /**
@@ -125,7 +126,7 @@ public class MatchesConstructTest extends TestUtils {
 
         Exception returnValue = new IllegalArgumentException();
         RegexService regexService = mock(RegexService.class);
-        when(regexService.getMatcher(regexValue, valueValue, timeoutValue)).thenThrow(returnValue);
+        when(regexService.getMatcher(regexValue, valueValue, timeoutValue, RegexTimeoutMode.STRICT)).thenThrow(returnValue);
 
         MatchesConstruct construct = new MatchesConstruct(regexService);
         //Run
@@ -133,6 +134,6 @@ public class MatchesConstructTest extends TestUtils {
 
         // Verify
         verify(regexService, times(1)).matches(any());
-        verify(regexService, times(1)).getMatcher(regexValue, valueValue, timeoutValue);
+        verify(regexService, times(1)).getMatcher(regexValue, valueValue, timeoutValue, RegexTimeoutMode.STRICT);
     }
 }
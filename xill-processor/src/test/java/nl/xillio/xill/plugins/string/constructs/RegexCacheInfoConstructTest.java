@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.string.constructs;
+
+import nl.xillio.xill.TestUtils;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.plugins.string.services.string.PatternCache;
+import nl.xillio.xill.plugins.string.services.string.RegexService;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for the {@link RegexCacheInfoConstruct}
+ */
+public class RegexCacheInfoConstructTest extends TestUtils {
+
+    @Test
+    public void testProcess() {
+        PatternCache cache = new PatternCache(10, 0);
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+        RegexService regexService = mock(RegexService.class);
+        when(regexService.getPatternCache()).thenReturn(cache);
+
+        MetaExpression result = process(new RegexCacheInfoConstruct(regexService));
+
+        Map<String, MetaExpression> info = result.getValue();
+        assertEquals(info.get("size").getNumberValue().intValue(), 2);
+        assertEquals(info.get("maxSize").getNumberValue().intValue(), 10);
+        assertEquals(info.get("hits").getNumberValue().intValue(), 1);
+        assertEquals(info.get("misses").getNumberValue().intValue(), 2);
+    }
+}
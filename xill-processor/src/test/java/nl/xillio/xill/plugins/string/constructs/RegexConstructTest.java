@@ -20,6 +20,7 @@ import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.api.errors.InvalidUserInputException;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
 import nl.xillio.xill.plugins.string.services.string.RegexService;
+import nl.xillio.xill.plugins.string.services.string.RegexTimeoutMode;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -68,7 +69,7 @@ public class RegexConstructTest extends TestUtils {
         // Verify
         verify(regexService, times(1)).matches(any());
         verify(regexService, times(1)).tryMatchElseNull(any());
-        verify(regexService, times(1)).getMatcher(regexValue, valueValue, timeoutValue);
+        verify(regexService, times(1)).getMatcher(regexValue, valueValue, timeoutValue, RegexTimeoutMode.STRICT);
 
         // Assert
         Assert.assertEquals(result.getType(), LIST);
@@ -101,7 +102,7 @@ public class RegexConstructTest extends TestUtils {
 
         Exception returnValue = new PatternSyntaxException(regexValue, regexValue, timeoutValue);
         RegexService regexService = mock(RegexService.class);
-        when(regexService.getMatcher(regexValue, valueValue, timeoutValue)).thenThrow(returnValue);
+        when(regexService.getMatcher(regexValue, valueValue, timeoutValue, RegexTimeoutMode.STRICT)).thenThrow(returnValue);
 
         RegexConstruct construct = new RegexConstruct(regexService);
         // Run
@@ -109,7 +110,7 @@ public class RegexConstructTest extends TestUtils {
 
         // Verify
         verify(regexService, times(1)).matches(any());
-        verify(regexService, times(1)).getMatcher(regexValue, valueValue, timeoutValue);
+        verify(regexService, times(1)).getMatcher(regexValue, valueValue, timeoutValue, RegexTimeoutMode.STRICT);
     }
 
     /**
@@ -134,7 +135,7 @@ public class RegexConstructTest extends TestUtils {
 
         Exception returnValue = new IllegalArgumentException();
         RegexService regexService = mock(RegexService.class);
-        when(regexService.getMatcher(regexValue, valueValue, timeoutValue)).thenThrow(returnValue);
+        when(regexService.getMatcher(regexValue, valueValue, timeoutValue, RegexTimeoutMode.STRICT)).thenThrow(returnValue);
 
         RegexConstruct construct = new RegexConstruct(regexService);
         // Run
@@ -142,7 +143,7 @@ public class RegexConstructTest extends TestUtils {
 
         // Verify
         verify(regexService, times(1)).matches(any());
-        verify(regexService, times(1)).getMatcher(regexValue, valueValue, timeoutValue);
+        verify(regexService, times(1)).getMatcher(regexValue, valueValue, timeoutValue, RegexTimeoutMode.STRICT);
     }
 
     /**
@@ -177,7 +178,7 @@ public class RegexConstructTest extends TestUtils {
         // Verify
         verify(regexService, times(1)).matches(any());
         verify(regexService, times(0)).tryMatchElseNull(any());
-        verify(regexService, times(1)).getMatcher(regexValue, valueValue, timeoutValue);
+        verify(regexService, times(1)).getMatcher(regexValue, valueValue, timeoutValue, RegexTimeoutMode.STRICT);
 
         // Assert
         Assert.assertEquals(result, NULL);
@@ -20,6 +20,7 @@ import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.api.errors.InvalidUserInputException;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
 import nl.xillio.xill.plugins.string.services.string.RegexService;
+import nl.xillio.xill.plugins.string.services.string.RegexTimeoutMode;
 import nl.xillio.xill.plugins.string.services.string.StringUtilityService;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -80,7 +81,7 @@ public class ReplaceConstructTest extends TestUtils {
         MetaExpression result = process(construct, args);
 
         // Verify
-        verify(regexService, times(1)).getMatcher(needleValue, textValue, timeoutValue);
+        verify(regexService, times(1)).getMatcher(needleValue, textValue, timeoutValue, RegexTimeoutMode.STRICT);
         verify(regexService, times(1)).replaceAll(any(), eq(replacementValue));
         verify(regexService, times(0)).replaceFirst(any(), eq(replacementValue));
         verify(stringService, times(0)).replaceAll(textValue, needleValue, replacementValue);
@@ -134,7 +135,7 @@ public class ReplaceConstructTest extends TestUtils {
         MetaExpression result = process(construct, args);
 
         // Verify
-        verify(regexService, times(1)).getMatcher(needleValue, textValue, timeoutValue);
+        verify(regexService, times(1)).getMatcher(needleValue, textValue, timeoutValue, RegexTimeoutMode.STRICT);
         verify(regexService, times(0)).replaceAll(any(), eq(replacementValue));
         verify(regexService, times(1)).replaceFirst(any(), eq(replacementValue));
         verify(stringService, times(0)).replaceAll(textValue, needleValue, replacementValue);
@@ -188,7 +189,7 @@ public class ReplaceConstructTest extends TestUtils {
         MetaExpression result = process(construct, args);
 
         // Verify
-        verify(regexService, times(0)).getMatcher(needleValue, textValue, timeoutValue);
+        verify(regexService, times(0)).getMatcher(needleValue, textValue, timeoutValue, RegexTimeoutMode.STRICT);
         verify(regexService, times(0)).replaceAll(any(), eq(replacementValue));
         verify(regexService, times(0)).replaceFirst(any(), eq(replacementValue));
         verify(stringService, times(1)).replaceAll(textValue, needleValue, replacementValue);
@@ -242,7 +243,7 @@ public class ReplaceConstructTest extends TestUtils {
         MetaExpression result = process(construct, args);
 
         // Verify
-        verify(regexService, times(0)).getMatcher(needleValue, textValue, timeoutValue);
+        verify(regexService, times(0)).getMatcher(needleValue, textValue, timeoutValue, RegexTimeoutMode.STRICT);
         verify(regexService, times(0)).replaceAll(any(), eq(replacementValue));
         verify(regexService, times(0)).replaceFirst(any(), eq(replacementValue));
         verify(stringService, times(0)).replaceAll(textValue, needleValue, replacementValue);
@@ -288,7 +289,7 @@ public class ReplaceConstructTest extends TestUtils {
         Exception returnValue = new PatternSyntaxException(needleValue, textValue, timeoutValue);
         RegexService regexService = mock(RegexService.class);
         StringUtilityService stringService = mock(StringUtilityService.class);
-        when(regexService.getMatcher(needleValue, textValue, timeoutValue)).thenThrow(returnValue);
+        when(regexService.getMatcher(needleValue, textValue, timeoutValue, RegexTimeoutMode.STRICT)).thenThrow(returnValue);
 
         ReplaceConstruct construct = new ReplaceConstruct(regexService, stringService);
         // Run
@@ -296,7 +297,7 @@ public class ReplaceConstructTest extends TestUtils {
         process(construct, args);
 
         // Verify
-        verify(regexService, times(1)).getMatcher(needleValue, textValue, timeoutValue);
+        verify(regexService, times(1)).getMatcher(needleValue, textValue, timeoutValue, RegexTimeoutMode.STRICT);
         verify(regexService, times(0)).replaceAll(any(), eq(replacementValue));
         verify(regexService, times(0)).replaceFirst(any(), eq(replacementValue));
         verify(stringService, times(0)).replaceAll(textValue, needleValue, replacementValue);
@@ -339,7 +340,7 @@ public class ReplaceConstructTest extends TestUtils {
         Exception returnValue = new IllegalArgumentException();
         RegexService regexService = mock(RegexService.class);
         StringUtilityService stringService = mock(StringUtilityService.class);
-        when(regexService.getMatcher(needleValue, textValue, timeoutValue)).thenThrow(returnValue);
+        when(regexService.getMatcher(needleValue, textValue, timeoutValue, RegexTimeoutMode.STRICT)).thenThrow(returnValue);
 
         ReplaceConstruct construct = new ReplaceConstruct(regexService, stringService);
         // Run
@@ -347,7 +348,7 @@ public class ReplaceConstructTest extends TestUtils {
         process(construct, args);
 
         // Verify
-        verify(regexService, times(1)).getMatcher(needleValue, textValue, timeoutValue);
+        verify(regexService, times(1)).getMatcher(needleValue, textValue, timeoutValue, RegexTimeoutMode.STRICT);
         verify(regexService, times(0)).replaceAll(any(), eq(replacementValue));
         verify(regexService, times(0)).replaceFirst(any(), eq(replacementValue));
         verify(stringService, times(0)).replaceAll(textValue, needleValue, replacementValue);
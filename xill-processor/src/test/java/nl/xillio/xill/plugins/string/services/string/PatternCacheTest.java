@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.string.services.string;
+
+import org.testng.annotations.Test;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.testng.Assert.*;
+
+public class PatternCacheTest {
+
+    @Test
+    public void testPatternIsCompiledOnce() {
+        PatternCache cache = new PatternCache(10, Pattern.DOTALL);
+
+        Pattern first = cache.get("a.b");
+        Pattern second = cache.get("a.b");
+
+        assertSame(second, first);
+        assertEquals(first.flags(), Pattern.DOTALL);
+        assertEquals(cache.getMisses(), 1);
+        assertEquals(cache.getHits(), 1);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        PatternCache cache = new PatternCache(2, 0);
+
+        Pattern a = cache.get("a");
+        cache.get("b");
+        cache.get("a");
+        cache.get("c");
+
+        assertEquals(cache.size(), 2);
+        assertSame(cache.get("a"), a);
+        assertEquals(cache.getMisses(), 3);
+    }
+
+    @Test
+    public void testZeroSizeDisablesCache() {
+        PatternCache cache = new PatternCache(0, 0);
+
+        Pattern first = cache.get("a");
+        Pattern second = cache.get("a");
+
+        assertNotSame(second, first);
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.getMisses(), 2);
+    }
+
+    @Test(expectedExceptions = PatternSyntaxException.class)
+    public void testInvalidPatternIsNotCached() {
+        PatternCache cache = new PatternCache(10, 0);
+
+        try {
+            cache.get("(");
+        } finally {
+            assertEquals(cache.size(), 0);
+        }
+    }
+
+    @Test
+    public void testClear() {
+        PatternCache cache = new PatternCache(10, 0);
+        cache.get("a");
+        cache.get("a");
+
+        cache.clear();
+
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.getHits(), 0);
+        assertEquals(cache.getMisses(), 0);
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.string.services.string;
+
+import nl.xillio.xill.XillThreadFactoryImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the throughput of the regex paths used by String.matches, String.regex and String.replace with and
+ * without the pattern cache.
+ * <p>
+ * Run this benchmark using the main method.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegexBenchmark {
+    private static final String EMAIL = "[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}";
+    private static final String DATE = "(\\d{4})-(\\d{2})-(\\d{2})";
+    private static final String VALUE = "Contact john.doe@example.com before 2017-03-01";
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private RegexService service;
+
+    @Setup
+    public void setUp() {
+        service = new RegexServiceImpl(new XillThreadFactoryImpl(), new PatternCache(cached ? 512 : 0, Pattern.DOTALL));
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return service.matches(service.getMatcher(".*" + EMAIL + ".*", VALUE, 0));
+    }
+
+    @Benchmark
+    public Object regex() {
+        Matcher matcher = service.getMatcher(".*" + DATE, VALUE, 0);
+        return service.matches(matcher) ? service.tryMatchElseNull(matcher) : null;
+    }
+
+    @Benchmark
+    public String replace() {
+        return service.replaceAll(service.getMatcher(EMAIL, VALUE, 0), "[email]");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RegexBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
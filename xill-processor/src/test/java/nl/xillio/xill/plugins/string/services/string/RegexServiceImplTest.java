@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.string.services.string;
+
+import nl.xillio.xill.XillThreadFactoryImpl;
+import nl.xillio.xill.api.errors.RobotRuntimeException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class RegexServiceImplTest {
+    private static final String CATASTROPHIC_PATTERN = "(a+)+b";
+
+    private RegexServiceImpl service;
+    private String catastrophicInput;
+
+    @BeforeClass
+    public void setUp() {
+        service = new RegexServiceImpl(new XillThreadFactoryImpl());
+        char[] input = new char[40];
+        Arrays.fill(input, 'a');
+        catastrophicInput = new String(input);
+    }
+
+    @Test
+    public void testTimeoutModesGiveSameResult() {
+        String value = "one 2017-03-01 two 2018-04-02";
+        String regex = "(\\d{4})-(\\d{2})-(\\d{2})";
+
+        for (RegexTimeoutMode mode : RegexTimeoutMode.values()) {
+            Matcher matcher = service.getMatcher(regex, value, 1000, mode);
+            assertEquals(service.tryMatch(matcher), Arrays.asList("2017-03-01", "2018-04-02"), mode.getName());
+            assertEquals(service.replaceAll(service.getMatcher(regex, value, 0, mode), "$1"), "one 2017 two 2018", mode.getName());
+        }
+    }
+
+    @Test(expectedExceptions = RobotRuntimeException.class, expectedExceptionsMessageRegExp = "Pattern match timed out!")
+    public void testStrictTimeout() {
+        service.matches(service.getMatcher(CATASTROPHIC_PATTERN, catastrophicInput, 100, RegexTimeoutMode.STRICT));
+    }
+
+    @Test(expectedExceptions = RobotRuntimeException.class, expectedExceptionsMessageRegExp = "Pattern match timed out!")
+    public void testSampledTimeout() {
+        service.matches(service.getMatcher(CATASTROPHIC_PATTERN, catastrophicInput, 100, RegexTimeoutMode.SAMPLED));
+    }
+
+    @Test
+    public void testSampledWithoutTimeout() {
+        Matcher matcher = service.getMatcher("b", "abc", 0, RegexTimeoutMode.SAMPLED);
+
+        assertTrue(service.matches(matcher.region(1, 2)));
+    }
+
+    @Test
+    public void testForName() {
+        assertEquals(RegexTimeoutMode.forName("strict"), RegexTimeoutMode.STRICT);
+        assertEquals(RegexTimeoutMode.forName("sampled"), RegexTimeoutMode.SAMPLED);
+    }
+
+    @Test(expectedExceptions = RobotRuntimeException.class)
+    public void testForNameUnknown() {
+        RegexTimeoutMode.forName("never");
+    }
+}
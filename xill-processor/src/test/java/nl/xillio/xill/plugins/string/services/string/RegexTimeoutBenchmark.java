@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.string.services.string;
+
+import nl.xillio.xill.XillThreadFactoryImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the strict and sampled regex timeout modes on a large document.
+ * <p>
+ * Run this benchmark using the main method.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegexTimeoutBenchmark {
+    private static final String LINE = "<p class=\"text\">Contact john.doe@example.com before 2017-03-01</p>\n";
+
+    @Param({"strict", "sampled"})
+    private String timeoutMode;
+
+    private RegexService service;
+    private RegexTimeoutMode mode;
+    private String document;
+
+    @Setup
+    public void setUp() {
+        service = new RegexServiceImpl(new XillThreadFactoryImpl());
+        mode = RegexTimeoutMode.forName(timeoutMode);
+
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < 1024 * 1024) {
+            builder.append(LINE);
+        }
+        document = builder.toString();
+    }
+
+    @Benchmark
+    public List<String> allMatches() {
+        return service.tryMatch(service.getMatcher("\\d{4}-\\d{2}-\\d{2}", document, 5000, mode));
+    }
+
+    @Benchmark
+    public String replace() {
+        return service.replaceAll(service.getMatcher("<p\\b[^>]*>(.*?)</p>", document, 5000, mode), "$1");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RegexTimeoutBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
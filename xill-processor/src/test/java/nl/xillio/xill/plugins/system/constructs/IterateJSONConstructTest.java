@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2014 Xillio (support@xillio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.xillio.xill.plugins.system.constructs;
+
+import nl.xillio.xill.TestUtils;
+import nl.xillio.xill.api.components.MetaExpression;
+import nl.xillio.xill.api.components.MetaExpressionIterator;
+import nl.xillio.xill.api.errors.OperationFailedException;
+import nl.xillio.xill.api.errors.RobotRuntimeException;
+import nl.xillio.xill.api.io.SimpleIOStream;
+import nl.xillio.xill.services.json.JacksonParser;
+import nl.xillio.xill.services.json.JsonException;
+import nl.xillio.xill.services.json.JsonParser;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Test the {@link IterateJSONConstruct}
+ */
+public class IterateJSONConstructTest extends TestUtils {
+
+    @Test
+    public void testProcess() throws Exception {
+        MetaExpression stream = fromValue(new SimpleIOStream(new ByteArrayInputStream("{\"a\": [1, 2, 3]}".getBytes()), "data.json"));
+
+        MetaExpression result = IterateJSONConstruct.process(stream, fromValue("/a"), new JacksonParser(false));
+
+        assertEquals(result.getStringValue(), "[JSON Iterator: data.json:/a]");
+        List<Object> values = new ArrayList<>();
+        try (MetaExpressionIterator<?> iterator = result.getMeta(MetaExpressionIterator.class)) {
+            iterator.forEachRemaining(value -> values.add(value.getNumberValue().intValue()));
+        }
+        assertEquals(values, Arrays.asList(1, 2, 3));
+    }
+
+    @Test(expectedExceptions = OperationFailedException.class, expectedExceptionsMessageRegExp = "Could not iterate JSON input..*")
+    public void testProcessInvalidPath() throws JsonException {
+        MetaExpression stream = fromValue(new SimpleIOStream(new ByteArrayInputStream("[]".getBytes()), "data.json"));
+        JsonParser parser = mock(JsonParser.class);
+        when(parser.iterate(any(InputStream.class), anyString())).thenThrow(new JsonException("CORRECT"));
+
+        IterateJSONConstruct.process(stream, fromValue("/a"), parser);
+    }
+
+    @Test(expectedExceptions = RobotRuntimeException.class)
+    public void testProcessNoStream() {
+        IterateJSONConstruct.process(fromValue("[1, 2]"), fromValue(""), new JacksonParser(false));
+    }
+}
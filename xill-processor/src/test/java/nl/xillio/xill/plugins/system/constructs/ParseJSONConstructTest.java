@@ -20,16 +20,20 @@ import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.api.errors.InvalidUserInputException;
 import nl.xillio.xill.api.errors.OperationFailedException;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
+import nl.xillio.xill.api.io.SimpleIOStream;
 import nl.xillio.xill.services.json.JsonException;
 import nl.xillio.xill.services.json.JsonParser;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyString;
-import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -53,13 +57,13 @@ public class ParseJSONConstructTest extends TestUtils {
 
         // Mock context
         JsonParser parser = mock(JsonParser.class);
-        when(parser.fromJson(eq(json), any())).thenReturn(expectedOutput);
+        when(parser.parse(any(Reader.class))).thenReturn(parseObject(expectedOutput));
 
         // Run method
         MetaExpression result = ParseJSONConstruct.process(expression, parser);
 
         // Verify calls to service
-        verify(parser).fromJson(eq(json), any());
+        verify(parser).parse(any(Reader.class));
 
         // Assertions
         Assert.assertEquals((ArrayList) result.getValue(), parseObject(expectedOutput).getValue());
@@ -89,20 +93,71 @@ public class ParseJSONConstructTest extends TestUtils {
 
         // Mock context
         JsonParser parser = mock(JsonParser.class);
-        when(parser.fromJson(eq("[\"this\", \"is\"]"), any())).thenReturn(outputList1);
-        when(parser.fromJson(eq("[\"valid\", \"json\"]"), any())).thenReturn(outputList2);
+        when(parser.parse(any(Reader.class))).thenReturn(parseObject(outputList1), parseObject(outputList2));
 
         // Run method
         MetaExpression result = ParseJSONConstruct.process(expression, parser);
 
         // Verify calls to service
-        verify(parser, times(2)).fromJson(any(), any());
+        verify(parser, times(2)).parse(any(Reader.class));
 
         // Assertions
         Assert.assertEquals((ArrayList) result.getValue(), parseObject(expectedOutput).getValue());
         Assert.assertTrue(result.getValue() instanceof ArrayList);
     }
 
+    /**
+     * Test the process method with a LIST that was built by concatenation
+     */
+    @Test
+    public void testAppendedListProcess() throws JsonException {
+        // Initialize
+        ArrayList<MetaExpression> json = new ArrayList<>();
+        json.add(fromValue("[\"this\", \"is\"]"));
+        MetaExpression expression = fromAppended(fromValue(json), Collections.singletonList(fromValue("[\"valid\", \"json\"]")));
+
+        // Mock context
+        JsonParser parser = mock(JsonParser.class);
+        when(parser.parse(any(Reader.class))).thenReturn(fromValue("first"), fromValue("second"));
+
+        // Run method
+        MetaExpression result = ParseJSONConstruct.process(expression, parser);
+
+        // Verify calls to service
+        verify(parser, times(2)).parse(any(Reader.class));
+
+        // Assertions
+        List<MetaExpression> output = result.getValue();
+        Assert.assertEquals(output.size(), 2);
+        Assert.assertEquals(output.get(0).getStringValue(), "first");
+        Assert.assertEquals(output.get(1).getStringValue(), "second");
+    }
+
+    /**
+     * Test the process method with a stream as argument
+     */
+    @Test
+    public void testStreamProcess() throws JsonException {
+        // Initialize
+        InputStream stream = new ByteArrayInputStream("[1, 2]".getBytes());
+        MetaExpression expression = fromValue(new SimpleIOStream(stream, "json"));
+        MetaExpression expectedOutput = parseJson("[1, 2]");
+
+        // Mock context
+        JsonParser parser = mock(JsonParser.class);
+        when(parser.parse(any(InputStream.class))).thenReturn(expectedOutput);
+
+        // Run method
+        MetaExpression result = ParseJSONConstruct.process(expression, parser);
+
+        // Verify calls to service
+        verify(parser).parse(any(InputStream.class));
+        verify(parser, never()).parse(any(Reader.class));
+
+        // Assertions
+        Assert.assertSame(result, expectedOutput);
+    }
+
     /**
      * Test the process method when a nested list is given
      */
@@ -160,9 +215,9 @@ public class ParseJSONConstructTest extends TestUtils {
     @Test(expectedExceptions = OperationFailedException.class, expectedExceptionsMessageRegExp = "Could not parse JSON input..*")
     public void testProcessInvalid() throws Throwable {
         // Mock context
-        MetaExpression expression = mockExpression(ATOMIC);
+        MetaExpression expression = fromValue("{");
         JsonParser parser = mock(JsonParser.class);
-        when(parser.fromJson(anyString(), any())).thenThrow(new JsonException("CORRECT", null));
+        when(parser.parse(any(Reader.class))).thenThrow(new JsonException("CORRECT", null));
 
         // Run method
         ParseJSONConstruct.process(expression, parser);
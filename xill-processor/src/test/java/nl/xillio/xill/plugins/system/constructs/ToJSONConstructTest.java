@@ -18,13 +18,16 @@ package nl.xillio.xill.plugins.system.constructs;
 import nl.xillio.xill.TestUtils;
 import nl.xillio.xill.api.components.MetaExpression;
 import nl.xillio.xill.api.errors.RobotRuntimeException;
+import nl.xillio.xill.api.io.SimpleIOStream;
 import nl.xillio.xill.services.json.JacksonParser;
 import nl.xillio.xill.services.json.JsonException;
 import nl.xillio.xill.services.json.JsonParser;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 
 import static org.mockito.Mockito.*;
 
@@ -82,7 +85,24 @@ public class ToJSONConstructTest extends TestUtils {
     }
 
     /**
-     * Test the process when a StackOverflowError occurs
+     * Test the process method when writing to a stream
+     */
+    @Test
+    public void testProcessOutputStream() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        MetaExpression output = fromValue(new SimpleIOStream(outputStream, "output"));
+        MetaExpression input = parseObject(Collections.singletonMap("a", 1));
+
+        // Run
+        MetaExpression result = ToJSONConstruct.process(input, fromValue(false), output, new JacksonParser(false), null);
+
+        // Assert
+        Assert.assertEquals(outputStream.toString(), "{\"a\":1}");
+        Assert.assertEquals(result.getNumberValue().intValue(), 7);
+    }
+
+    /**
+     * Test the process when a circular reference occurs
      */
     @Test(expectedExceptions = {RobotRuntimeException.class})
     public void testProcessCircularReference() throws Exception {